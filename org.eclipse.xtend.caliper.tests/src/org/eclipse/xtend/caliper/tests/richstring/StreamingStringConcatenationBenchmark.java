@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.caliper.tests.richstring;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.eclipse.xtend.core.richstring.StreamingStringConcatenation;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtend2.lib.StringConcatenationClient;
+
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+/**
+ * Writes the same template to a writer, once through a {@link StringConcatenation} that is converted to a string
+ * and once through a {@link StreamingStringConcatenation}. The template mimics what the compiler produces for a
+ * template with a nested <code>FOR</code> loop. Run it with Caliper's memory measurement to compare the allocations,
+ * the string concatenation holds the whole content until it is written.
+ */
+public class StreamingStringConcatenationBenchmark extends SimpleBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	int size;
+
+	private StringConcatenationClient template;
+
+	@Override
+	protected void setUp() throws Exception {
+		final StringConcatenationClient member = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation builder) {
+				builder.append("public String getName() {");
+				builder.newLine();
+				builder.append("\t");
+				builder.append("return this.name;");
+				builder.newLine();
+				builder.append("}");
+				builder.newLine();
+			}
+		};
+		template = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation builder) {
+				builder.append("public class Generated {");
+				builder.newLine();
+				for (int i = 0; i < size; i++) {
+					builder.append("\t");
+					builder.append("// member ");
+					builder.append(Integer.valueOf(i), "\t");
+					builder.newLineIfNotEmpty();
+					builder.append("\t");
+					builder.append(member, "\t");
+					builder.newLineIfNotEmpty();
+				}
+				builder.append("}");
+				builder.newLine();
+			}
+		};
+	}
+
+	public int timeStringConcatenation(int reps) throws IOException {
+		int result = 0;
+		for (int i = 0; i < reps; i++) {
+			CountingWriter writer = new CountingWriter();
+			StringConcatenation concatenation = new StringConcatenation("\n");
+			concatenation.append(template);
+			writer.write(concatenation.toString());
+			result += writer.count;
+		}
+		return result;
+	}
+
+	public int timeStreamingStringConcatenation(int reps) throws IOException {
+		int result = 0;
+		for (int i = 0; i < reps; i++) {
+			CountingWriter writer = new CountingWriter();
+			StreamingStringConcatenation concatenation = new StreamingStringConcatenation(writer, "\n");
+			concatenation.append(template);
+			concatenation.close();
+			result += writer.count;
+		}
+		return result;
+	}
+
+	private static class CountingWriter extends Writer {
+		private int count;
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			count += len;
+		}
+
+		@Override
+		public void write(String str) {
+			count += str.length();
+		}
+
+		@Override
+		public Writer append(CharSequence csq) {
+			count += csq.length();
+			return this;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	public static void main(String[] args) {
+		Runner.main(StreamingStringConcatenationBenchmark.class, args);
+	}
+}
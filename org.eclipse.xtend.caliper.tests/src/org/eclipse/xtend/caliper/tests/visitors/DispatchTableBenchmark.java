@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.caliper.tests.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.caliper.Param;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+/**
+ * Compares the instanceof chain of a dispatch method with the lookup of the case in a {@link ClassValue}. Both
+ * dispatchers mirror the code that the Xtend compiler generates for a dispatch method with 16 cases.
+ */
+public class DispatchTableBenchmark extends SimpleBenchmark {
+
+	static class Node {}
+	static class N00 extends Node {}
+	static class N01 extends Node {}
+	static class N02 extends Node {}
+	static class N03 extends Node {}
+	static class N04 extends Node {}
+	static class N05 extends Node {}
+	static class N06 extends Node {}
+	static class N07 extends Node {}
+	static class N08 extends Node {}
+	static class N09 extends Node {}
+	static class N10 extends Node {}
+	static class N11 extends Node {}
+	static class N12 extends Node {}
+	static class N13 extends Node {}
+	static class N14 extends N13 {}
+
+	@Param({ "1", "10", "100" })
+	int size;
+
+	private final List<Node> nodes = new ArrayList<Node>();
+
+	@Override
+	protected void setUp() throws Exception {
+		for (int i = 0; i < size; i++) {
+			nodes.addAll(Arrays.asList(new N00(), new N01(), new N02(), new N03(), new N04(), new N05(), new N06(),
+					new N07(), new N08(), new N09(), new N10(), new N11(), new N12(), new N13(), new N14(), new Node()));
+		}
+	}
+
+	public int timeInstanceOfChain(int reps) {
+		int result = 0;
+		for (int i = 0; i < reps; i++) {
+			for (Node node : nodes) {
+				result += chain(node);
+			}
+		}
+		return result;
+	}
+
+	public int timeDispatchTable(int reps) {
+		int result = 0;
+		for (int i = 0; i < reps; i++) {
+			for (Node node : nodes) {
+				result += table(node);
+			}
+		}
+		return result;
+	}
+
+	protected int _visit(N00 n) { return 0; }
+	protected int _visit(N01 n) { return 1; }
+	protected int _visit(N02 n) { return 2; }
+	protected int _visit(N03 n) { return 3; }
+	protected int _visit(N04 n) { return 4; }
+	protected int _visit(N05 n) { return 5; }
+	protected int _visit(N06 n) { return 6; }
+	protected int _visit(N07 n) { return 7; }
+	protected int _visit(N08 n) { return 8; }
+	protected int _visit(N09 n) { return 9; }
+	protected int _visit(N10 n) { return 10; }
+	protected int _visit(N11 n) { return 11; }
+	protected int _visit(N12 n) { return 12; }
+	protected int _visit(N14 n) { return 14; }
+	protected int _visit(N13 n) { return 13; }
+	protected int _visit(Node n) { return -1; }
+
+	public int chain(final Node n) {
+		if (n instanceof N00) {
+			return _visit((N00) n);
+		} else if (n instanceof N01) {
+			return _visit((N01) n);
+		} else if (n instanceof N02) {
+			return _visit((N02) n);
+		} else if (n instanceof N03) {
+			return _visit((N03) n);
+		} else if (n instanceof N04) {
+			return _visit((N04) n);
+		} else if (n instanceof N05) {
+			return _visit((N05) n);
+		} else if (n instanceof N06) {
+			return _visit((N06) n);
+		} else if (n instanceof N07) {
+			return _visit((N07) n);
+		} else if (n instanceof N08) {
+			return _visit((N08) n);
+		} else if (n instanceof N09) {
+			return _visit((N09) n);
+		} else if (n instanceof N10) {
+			return _visit((N10) n);
+		} else if (n instanceof N11) {
+			return _visit((N11) n);
+		} else if (n instanceof N12) {
+			return _visit((N12) n);
+		} else if (n instanceof N14) {
+			return _visit((N14) n);
+		} else if (n instanceof N13) {
+			return _visit((N13) n);
+		} else if (n != null) {
+			return _visit(n);
+		} else {
+			throw new IllegalArgumentException("Unhandled parameter types: " +
+				Arrays.<Object>asList(n).toString());
+		}
+	}
+
+	private static final ClassValue<Integer> _dispatchTable_table = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(final Class<?> type) {
+			List<Class<?>> cases = Arrays.<Class<?>>asList(N00.class, N01.class, N02.class, N03.class, N04.class,
+					N05.class, N06.class, N07.class, N08.class, N09.class, N10.class, N11.class, N12.class, N14.class,
+					N13.class, Node.class);
+			for (int i = 0; i < cases.size(); i++) {
+				if (cases.get(i).isAssignableFrom(type)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	};
+
+	public int table(final Node n) {
+		final int _case = n == null ? -1 : _dispatchTable_table.get(n.getClass()).intValue();
+		switch (_case) {
+			case 0:
+				return _visit((N00) n);
+			case 1:
+				return _visit((N01) n);
+			case 2:
+				return _visit((N02) n);
+			case 3:
+				return _visit((N03) n);
+			case 4:
+				return _visit((N04) n);
+			case 5:
+				return _visit((N05) n);
+			case 6:
+				return _visit((N06) n);
+			case 7:
+				return _visit((N07) n);
+			case 8:
+				return _visit((N08) n);
+			case 9:
+				return _visit((N09) n);
+			case 10:
+				return _visit((N10) n);
+			case 11:
+				return _visit((N11) n);
+			case 12:
+				return _visit((N12) n);
+			case 13:
+				return _visit((N14) n);
+			case 14:
+				return _visit((N13) n);
+			case 15:
+				return _visit(n);
+			default:
+				throw new IllegalArgumentException("Unhandled parameter types: " +
+					Arrays.<Object>asList(n).toString());
+		}
+	}
+
+	public static void main(String[] args) {
+		Runner.main(DispatchTableBenchmark.class, args);
+	}
+}
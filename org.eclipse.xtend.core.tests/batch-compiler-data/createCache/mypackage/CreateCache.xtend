@@ -0,0 +1,15 @@
+package mypackage
+
+import java.util.ArrayList
+
+class CreateCache {
+
+	def create new ArrayList<String> single(String name) {
+		add(name)
+	}
+
+	def create new ArrayList<String> multiple(String first, String second) {
+		add(first)
+		add(second)
+	}
+}
@@ -0,0 +1,20 @@
+package mypackage
+
+class DispatchTable {
+
+	def dispatch String describe(CharSequence s) {
+		'chars'
+	}
+
+	def dispatch String describe(String s) {
+		'string'
+	}
+
+	def dispatch String describe(Number n) {
+		'number'
+	}
+
+	def dispatch String describe(Void v) {
+		'null'
+	}
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtext.xbase.compiler.IGeneratorConfigProvider;
+
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+
+/**
+ * Provides a single {@link XtendGeneratorConfig} for all resources, such that tests can enable the Xtend specific
+ * generator settings. The settings are restored after each test.
+ */
+public class XtendGeneratorConfigRuntimeInjectorProvider extends RuntimeInjectorProvider {
+
+	@Singleton
+	public static class XtendGeneratorConfigProvider implements IGeneratorConfigProvider {
+
+		private final XtendGeneratorConfig config = new XtendGeneratorConfig();
+
+		@Override
+		public XtendGeneratorConfig get(EObject context) {
+			return config;
+		}
+	}
+
+	private final XtendGeneratorConfig savedGeneratorConfig = new XtendGeneratorConfig();
+
+	@Override
+	protected Injector internalCreateInjector() {
+		return new RuntimeTestSetup() {
+
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new XtendRuntimeTestModule(), new Module() {
+					@Override
+					public void configure(Binder binder) {
+						binder.bind(IGeneratorConfigProvider.class).to(XtendGeneratorConfigProvider.class);
+					}
+				});
+			}
+
+		}.createInjectorAndDoEMFRegistration();
+	}
+
+	@Override
+	public void setupRegistry() {
+		super.setupRegistry();
+		savedGeneratorConfig.copy(getInjector().getInstance(IGeneratorConfigProvider.class).get(null));
+	}
+
+	@Override
+	public void restoreRegistry() {
+		super.restoreRegistry();
+		getInjector().getInstance(IGeneratorConfigProvider.class).get(null).copy(savedGeneratorConfig);
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.compiler
+
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind
+import org.eclipse.xtend.core.tests.XtendGeneratorConfigRuntimeInjectorProvider
+import org.eclipse.xtext.testing.InjectWith
+import org.junit.Test
+
+/**
+ * Compiles and runs <code>create</code> functions with the optional cache kinds.
+ */
+@InjectWith(XtendGeneratorConfigRuntimeInjectorProvider)
+class CreateCacheCompilerTest extends AbstractXtendCompilerTest {
+
+	def private source() '''
+		import java.util.ArrayList
+
+		class CreateCache {
+			def create new ArrayList<Object> single(String name) {
+				add(name)
+			}
+			def create new ArrayList<Object> primitive(int value) {
+				add(value)
+			}
+			def create new ArrayList<Object> multiple(String name, int value) {
+				add(name)
+				add(value)
+			}
+		}
+	'''
+
+	@Test
+	def void testNullArgument_concurrent() {
+		assertNullArgument(CreateCacheKind.CONCURRENT)
+	}
+
+	@Test
+	def void testNullArgument_weakKeys() {
+		assertNullArgument(CreateCacheKind.WEAK_KEYS)
+	}
+
+	@Test
+	def void testPrimitiveArgument_concurrent() {
+		assertPrimitiveArgument(CreateCacheKind.CONCURRENT)
+	}
+
+	@Test
+	def void testPrimitiveArgument_weakKeys() {
+		assertPrimitiveArgument(CreateCacheKind.WEAK_KEYS)
+	}
+
+	@Test
+	def void testMultipleArguments_concurrent() {
+		assertMultipleArguments(CreateCacheKind.CONCURRENT)
+	}
+
+	@Test
+	def void testMultipleArguments_weakKeys() {
+		assertMultipleArguments(CreateCacheKind.WEAK_KEYS)
+	}
+
+	def private void assertNullArgument(CreateCacheKind cacheKind) {
+		generatorConfig.createCacheKind = cacheKind
+		source.compile [
+			val instance = compiledClass.newInstance
+			val forNull = instance.call('single', null as String)
+			assertEquals('[null]', forNull.toString)
+			assertSame(forNull, instance.call('single', null as String))
+			val forName = instance.call('single', 'name')
+			assertEquals('[name]', forName.toString)
+			assertNotSame(forNull, forName)
+			assertSame(forName, instance.call('single', 'name'))
+		]
+	}
+
+	def private void assertPrimitiveArgument(CreateCacheKind cacheKind) {
+		generatorConfig.createCacheKind = cacheKind
+		source.compile [
+			val javaCode = getGeneratedCode('CreateCache')
+			assertFalse(javaCode, javaCode.contains('_createCacheNullKey_primitive'))
+			if (cacheKind == CreateCacheKind.WEAK_KEYS) {
+				// boxed keys are not referenced by the caller, so the synchronized cache is used instead
+				assertTrue(javaCode, javaCode.contains('HashMap<ArrayList<?>, ArrayList<Object>> _createCache_primitive'))
+			}
+			val instance = compiledClass.newInstance
+			val forOne = instance.call('primitive', 1)
+			assertEquals('[1]', forOne.toString)
+			assertSame(forOne, instance.call('primitive', 1))
+			assertNotSame(forOne, instance.call('primitive', 2))
+			// boxed values outside of the integer cache are distinct instances but equal keys
+			assertSame(instance.call('primitive', 1000), instance.call('primitive', 1000))
+		]
+	}
+
+	def private void assertMultipleArguments(CreateCacheKind cacheKind) {
+		generatorConfig.createCacheKind = cacheKind
+		source.compile [
+			val instance = compiledClass.newInstance
+			val forNull = instance.call('multiple', null, 1)
+			assertEquals('[null, 1]', forNull.toString)
+			assertSame(forNull, instance.call('multiple', null, 1))
+			assertNotSame(forNull, instance.call('multiple', null, 2))
+			assertNotSame(forNull, instance.call('multiple', 'name', 1))
+			assertSame(instance.call('multiple', 'name', 1), instance.call('multiple', 'name', 1))
+		]
+	}
+
+	def private getGeneratorConfig() {
+		generatorConfigProvider.get(null) as XtendGeneratorConfig
+	}
+
+	def private call(Object receiver, String name, Object... arguments) {
+		receiver.class.methods.findFirst[it.name == name].invoke(receiver, arguments)
+	}
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.compiler
+
+import java.lang.reflect.InvocationTargetException
+import java.util.ArrayList
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig
+import org.eclipse.xtend.core.tests.XtendGeneratorConfigRuntimeInjectorProvider
+import org.eclipse.xtext.testing.InjectWith
+import org.eclipse.xtext.util.JavaVersion
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Compiles and runs dispatch methods that look up their case in a dispatch table.
+ */
+@InjectWith(XtendGeneratorConfigRuntimeInjectorProvider)
+class DispatchTableCompilerTest extends AbstractXtendCompilerTest {
+
+	@Before
+	def void enableDispatchTable() {
+		generatorConfig.javaSourceVersion = JavaVersion.JAVA8
+		generatorConfig.dispatchTableThreshold = 3
+	}
+
+	@Test
+	def void testNullArgument() {
+		'''
+			class Dispatcher {
+				def dispatch describe(String s) { 'string' }
+				def dispatch describe(Void v) { 'null' }
+				def dispatch describe(Number n) { 'number' }
+			}
+		'''.compileWithTable [ dispatcher |
+			assertEquals('null', dispatcher.call('describe', null as Object))
+			assertEquals('string', dispatcher.call('describe', 'x'))
+			assertEquals('null', dispatcher.call('describe', null as Object))
+		]
+	}
+
+	@Test
+	def void testNullArgumentWithoutVoidCase() {
+		'''
+			class Dispatcher {
+				def dispatch describe(String s) { 'string' }
+				def dispatch describe(Number n) { 'number' }
+				def dispatch describe(Object o) { 'object' }
+			}
+		'''.compileWithTable [ dispatcher |
+			assertEquals('object', dispatcher.call('describe', new Object))
+			dispatcher.assertIllegalArgument(null)
+		]
+	}
+
+	@Test
+	def void testSubclassBeforeSuperclass() {
+		'''
+			class Dispatcher {
+				def dispatch describe(Object o) { 'object' }
+				def dispatch describe(Number n) { 'number' }
+				def dispatch describe(Integer i) { 'integer' }
+				def dispatch describe(CharSequence s) { 'chars' }
+				def dispatch describe(String s) { 'string' }
+			}
+		'''.compileWithTable [ dispatcher |
+			assertEquals('number', dispatcher.call('describe', 1L))
+			assertEquals('integer', dispatcher.call('describe', 1))
+			assertEquals('number', dispatcher.call('describe', 1.5))
+			assertEquals('chars', dispatcher.call('describe', new StringBuilder))
+			assertEquals('string', dispatcher.call('describe', 'x'))
+			assertEquals('object', dispatcher.call('describe', new Object))
+		]
+	}
+
+	@Test
+	def void testInterfaces() {
+		'''
+			class Dispatcher {
+				def dispatch describe(Iterable<?> i) { 'iterable' }
+				def dispatch describe(java.util.List<?> l) { 'list' }
+				def dispatch describe(CharSequence s) { 'chars' }
+				def dispatch describe(Object o) { 'object' }
+			}
+		'''.compileWithTable [ dispatcher |
+			assertEquals('list', dispatcher.call('describe', new ArrayList))
+			assertEquals('iterable', dispatcher.call('describe', newHashSet))
+			assertEquals('chars', dispatcher.call('describe', new StringBuilder))
+			assertEquals('object', dispatcher.call('describe', 1))
+			assertEquals('list', dispatcher.call('describe', newArrayList('x')))
+		]
+	}
+
+	@Test
+	def void testUnmatchedType() {
+		'''
+			class Dispatcher {
+				def dispatch describe(String s) { 'string' }
+				def dispatch describe(Integer i) { 'integer' }
+				def dispatch describe(Long l) { 'long' }
+			}
+		'''.compileWithTable [ dispatcher |
+			assertEquals('integer', dispatcher.call('describe', 1))
+			dispatcher.assertIllegalArgument(1.5)
+			dispatcher.assertIllegalArgument(null)
+			assertEquals('long', dispatcher.call('describe', 1L))
+		]
+	}
+
+	def private void compileWithTable(CharSequence source, (Object)=>void assertions) {
+		source.compile [
+			val javaCode = getGeneratedCode('Dispatcher')
+			assertTrue(javaCode, javaCode.contains('ClassValue<Integer> _dispatchTable_describe'))
+			assertFalse(javaCode, javaCode.contains('instanceof'))
+			assertions.apply(getCompiledClass('Dispatcher').newInstance)
+		]
+	}
+
+	def private void assertIllegalArgument(Object receiver, Object argument) {
+		try {
+			receiver.call('describe', argument)
+			fail('IllegalArgumentException expected for ' + argument)
+		} catch (InvocationTargetException e) {
+			assertTrue(e.cause.toString, e.cause instanceof IllegalArgumentException)
+		}
+	}
+
+	def private getGeneratorConfig() {
+		generatorConfigProvider.get(null) as XtendGeneratorConfig
+	}
+
+	def private call(Object receiver, String name, Object... arguments) {
+		receiver.class.methods.findFirst[it.name == name].invoke(receiver, arguments)
+	}
+
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.compiler.batch
+
+import com.google.common.io.ByteStreams
+import java.io.InputStream
+import java.util.Collections
+import org.eclipse.xtend.core.compiler.batch.InMemoryClassLoader
+import org.eclipse.xtend.core.compiler.batch.InMemoryStubCompiler
+import org.eclipse.xtext.common.types.JvmGenericType
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider
+import org.eclipse.xtext.resource.XtextResourceSet
+import org.junit.Assert
+import org.junit.Assume
+import org.junit.Test
+
+class InMemoryStubCompilerTest extends Assert {
+
+	@Test
+	def void testResolveTypeCompiledInMemory() {
+		val bootClassPath = InMemoryStubCompiler.runningVMBootClassPath
+		Assume.assumeNotNull(bootClassPath)
+		val sources = <String, CharSequence>newHashMap
+		sources.put('mypackage/JavaOnly.java', '''
+			package mypackage;
+
+			public class JavaOnly {
+				public String foo() {
+					return "foo";
+				}
+			}
+		''')
+		val classes = <String, byte[]>newHashMap
+		assertTrue(new InMemoryStubCompiler(bootClassPath, '1.8', 'UTF-8').compile(sources, emptyList, emptyMap, classes))
+		assertEquals(#{'mypackage/JavaOnly'}, classes.keySet)
+		val classLoader = new InMemoryClassLoader(classes, ClassLoader.systemClassLoader)
+		try {
+			val type = new ClasspathTypeProvider(classLoader, new XtextResourceSet, null, null).findTypeByName('mypackage.JavaOnly') as JvmGenericType
+			val operation = type.declaredOperations.head
+			assertEquals('foo', operation.simpleName)
+			assertEquals('java.lang.String', operation.returnType.identifier)
+			val instance = classLoader.loadClass('mypackage.JavaOnly').newInstance
+			assertEquals('foo', instance.class.getMethod('foo').invoke(instance))
+		} finally {
+			classLoader.close
+		}
+	}
+
+	@Test
+	def void testClassFilesAsResources() {
+		val classes = <String, byte[]>newHashMap
+		classes.put('mypackage/JavaOnly', 'content'.bytes)
+		val classLoader = new InMemoryClassLoader(classes, ClassLoader.systemClassLoader)
+		try {
+			val url = classLoader.getResource('mypackage/JavaOnly.class')
+			assertEquals('memory', url.protocol)
+			assertArrayEquals('content'.bytes, url.openStream.readAndClose)
+			assertEquals(#[url], Collections.list(classLoader.getResources('mypackage/JavaOnly.class')))
+			assertArrayEquals('content'.bytes, classLoader.getResourceAsStream('mypackage/JavaOnly.class').readAndClose)
+			assertNull(classLoader.getResource('mypackage/JavaOnly'))
+			assertNull(classLoader.getResource('mypackage/Missing.class'))
+			assertNotNull(classLoader.getResource('java/lang/Object.class'))
+		} finally {
+			classLoader.close
+		}
+	}
+
+	def private byte[] readAndClose(InputStream stream) {
+		try {
+			ByteStreams.toByteArray(stream)
+		} finally {
+			stream.close
+		}
+	}
+
+}
@@ -9,17 +9,22 @@ package org.eclipse.xtend.core.tests.compiler.batch
 
 import com.google.common.base.Charsets
 import com.google.common.io.Files
+import com.google.gson.JsonParser
 import com.google.inject.Inject
 import java.io.File
 import java.io.IOException
+import java.lang.management.ManagementFactory
 import java.util.Set
 import org.apache.log4j.Level
+import org.eclipse.xtend.core.compiler.batch.InMemoryStubCompiler
+import org.eclipse.xtend.core.compiler.batch.IncrementalBuildState
 import org.eclipse.xtend.core.compiler.batch.XtendBatchCompiler
 import org.eclipse.xtend.core.tests.RuntimeInjectorProvider
 import org.eclipse.xtext.testing.InjectWith
 import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.testing.logging.LoggingTester
 import org.eclipse.xtext.testing.smoketest.IgnoredBySmokeTest
+import org.eclipse.xtext.util.internal.Stopwatches
 import org.junit.After
 import org.junit.AfterClass
 import org.junit.Before
@@ -29,6 +34,7 @@ import org.junit.runner.RunWith
 
 import static org.eclipse.xtext.util.Files.*
 import static org.junit.Assert.*
+import static org.junit.Assume.*
 
 /**
  * Batch compiler tests.
@@ -51,6 +57,8 @@ class TestBatchCompiler {
 	static String BUG417177_SRC_DIRECTORY_1 = "./batch-compiler-data/bug417177/dir1/src1/"
 	static String BUG417177_SRC_DIRECTORY_2 = "./batch-compiler-data/bug417177/dir2/dir2a/src2"
 	static String BUG417177_OUTPUT_DIRECTORY = "./batch-compiler-data/bug417177/dir3/bin"
+	static String CREATE_CACHE_SRC_DIRECTORY = "./batch-compiler-data/createCache"
+	static String DISPATCH_TABLE_SRC_DIRECTORY = "./batch-compiler-data/dispatchTable"
 	static String TEMP_DIRECTORY = "./test-temp-dir"
 	static String TEMP_DIRECTORY_WITH_SPACES = "./test temp dir"
 	static final Set<File> abfalleimer = newHashSet()
@@ -411,6 +419,300 @@ class TestBatchCompiler {
 		assertEquals(0, new File(OUTPUT_DIRECTORY + "/test").list[dir, name|name.endsWith(".xtendbin")].size)
 	}
 
+	@Test
+	def void testSkipUnaffectedMatchesFullBuild() {
+		batchCompiler.compile
+		val javaFiles = new File(OUTPUT_DIRECTORY + "/test").list[dir, name|name.endsWith(".java")]
+		val fullBuild = javaFiles.map[getContents(OUTPUT_DIRECTORY + "/test/" + it)].toList
+		cleanFolder(new File(OUTPUT_DIRECTORY), null, true, false)
+		batchCompiler.skipUnaffectedStateFile = new File(TEMP_DIRECTORY, "build.state").path
+		assertTrue(batchCompiler.compile)
+		assertEquals(fullBuild, javaFiles.map[getContents(OUTPUT_DIRECTORY + "/test/" + it)].toList)
+		val javaFile = new File(OUTPUT_DIRECTORY + "/test/" + javaFiles.head)
+		javaFile.lastModified = 0
+		assertTrue(batchCompiler.compile)
+		assertEquals(0, javaFile.lastModified)
+	}
+
+	@Test
+	def void testConcurrentCreateCache() {
+		batchCompiler.sourcePath = CREATE_CACHE_SRC_DIRECTORY
+		batchCompiler.createCacheKind = "concurrent"
+		assertTrue(batchCompiler.compile)
+		val javaCode = getContents(OUTPUT_DIRECTORY + "/mypackage/CreateCache.java")
+		assertTrue(javaCode, javaCode.contains("ConcurrentHashMap<Object, ArrayList<String>> _createCache_single"))
+		assertTrue(javaCode, javaCode.contains("_createCacheNullKey_single"))
+		assertTrue(javaCode, javaCode.contains("_createCache_multiple.putIfAbsent(_cacheKey, _result)"))
+		assertFalse(javaCode, javaCode.contains("synchronized"))
+	}
+
+	@Test
+	def void testWeakKeysCreateCache() {
+		batchCompiler.sourcePath = CREATE_CACHE_SRC_DIRECTORY
+		batchCompiler.createCacheKind = "weak_keys"
+		assertTrue(batchCompiler.compile)
+		val javaCode = getContents(OUTPUT_DIRECTORY + "/mypackage/CreateCache.java")
+		assertTrue(javaCode, javaCode.contains("Collections.<Object, ArrayList<String>>synchronizedMap(new WeakHashMap<Object, ArrayList<String>>())"))
+		assertTrue(javaCode, javaCode.contains("_createCache_single.get(name)"))
+		// functions with more than one parameter fall back to a concurrent cache
+		assertTrue(javaCode, javaCode.contains("_createCache_multiple.putIfAbsent(_cacheKey, _result)"))
+	}
+
+	@Test
+	def void testDispatchTable() {
+		batchCompiler.sourcePath = DISPATCH_TABLE_SRC_DIRECTORY
+		batchCompiler.dispatchTableThreshold = 3
+		assertTrue(batchCompiler.compile)
+		val javaCode = getContents(OUTPUT_DIRECTORY + "/mypackage/DispatchTable.java")
+		assertTrue(javaCode, javaCode.contains("private static final ClassValue<Integer> _dispatchTable_describe"))
+		assertTrue(javaCode, javaCode.contains("String.class.isAssignableFrom(type)"))
+		assertTrue(javaCode, javaCode.contains(".get(s.getClass()).intValue()"))
+		assertFalse(javaCode, javaCode.contains("instanceof"))
+	}
+
+	@Test
+	def void testDispatchTableBelowThreshold() {
+		batchCompiler.sourcePath = DISPATCH_TABLE_SRC_DIRECTORY
+		batchCompiler.dispatchTableThreshold = 5
+		assertTrue(batchCompiler.compile)
+		val javaCode = getContents(OUTPUT_DIRECTORY + "/mypackage/DispatchTable.java")
+		assertFalse(javaCode, javaCode.contains("ClassValue"))
+		assertTrue(javaCode, javaCode.contains("instanceof String"))
+	}
+
+	@Test
+	def void testCompileStubsInMemory() {
+		batchCompiler.compileStubsInMemory = true
+		batchCompiler.tempDirectory = TEMP_DIRECTORY
+		batchCompiler.deleteTempDirectory = false
+		assertTrue(batchCompiler.compile)
+		assertTrue(new File(OUTPUT_DIRECTORY + "/test/XtendA.java").exists)
+		if (InMemoryStubCompiler.runningVMBootClassPath !== null) {
+			val tempDir = new File(TEMP_DIRECTORY)
+			assertFalse(tempDir.exists && tempDir.list.exists[startsWith("stubs") || startsWith("classes")])
+		}
+	}
+
+	@Test
+	def void testCompilationReport() {
+		val reportFile = new File(TEMP_DIRECTORY, "report.json")
+		batchCompiler.reportFile = reportFile.path
+		assertTrue(batchCompiler.compile)
+		val report = new JsonParser().parse(getContents(reportFile.path)).asJsonObject
+		assertTrue(report.get("success").asBoolean)
+		val phases = report.getAsJsonArray("phases").map[asJsonObject].toMap[get("name").asString]
+		for (phase : #["loading", "stubGeneration", "stubCompilation", "javaCompilation", "resolving", "validation", "generation"]) {
+			assertTrue(phase, phases.containsKey(phase))
+			assertTrue(phase, phases.get(phase).get("wallTime").asLong >= 0)
+		}
+		assertNotNull(report.getAsJsonArray("activeAnnotations"))
+		val slowestFiles = report.getAsJsonArray("slowestFiles")
+		assertNotEquals(0, slowestFiles.size)
+		for (file : slowestFiles) {
+			assertTrue(file.asJsonObject.has("uri"))
+			assertTrue(file.asJsonObject.has("time"))
+		}
+	}
+
+	@Test
+	def void testCompilationReportRestoresStopwatches() {
+		batchCompiler.reportFile = new File(TEMP_DIRECTORY, "report.json").path
+		assertTrue(batchCompiler.compile)
+		assertSame(Stopwatches.forTask("TestBatchCompiler"), Stopwatches.forTask("TestBatchCompiler"))
+		Stopwatches.enabled = true
+		try {
+			val task = Stopwatches.forTask("TestBatchCompiler")
+			task.start
+			task.stop
+			assertTrue(batchCompiler.compile)
+			assertEquals(1, Stopwatches.allNumbers.get("TestBatchCompiler").numberOfMeasurements)
+			assertNotSame(Stopwatches.forTask("TestBatchCompiler"), Stopwatches.forTask("TestBatchCompiler"))
+		} finally {
+			Stopwatches.resetAll
+			Stopwatches.enabled = false
+		}
+	}
+
+	@Test
+	def void testCompilationReportRestoresAllocatedMemoryMeasurement() {
+		val threadBean = ManagementFactory.threadMXBean
+		assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean)
+		val bean = threadBean as com.sun.management.ThreadMXBean
+		assumeTrue(bean.threadAllocatedMemorySupported)
+		val wasEnabled = bean.threadAllocatedMemoryEnabled
+		try {
+			bean.threadAllocatedMemoryEnabled = false
+			val reportFile = new File(TEMP_DIRECTORY, "report.json")
+			batchCompiler.reportFile = reportFile.path
+			assertTrue(batchCompiler.compile)
+			assertFalse(bean.threadAllocatedMemoryEnabled)
+			val phases = new JsonParser().parse(getContents(reportFile.path)).asJsonObject.getAsJsonArray("phases")
+			assertTrue(phases.exists[asJsonObject.get("allocatedBytes").asLong > 0])
+		} finally {
+			bean.threadAllocatedMemoryEnabled = wasEnabled
+		}
+	}
+
+	@Test
+	def void testSkipUnaffectedWithoutChanges() {
+		val stateFile = new File(TEMP_DIRECTORY, "build.state")
+		batchCompiler.skipUnaffectedStateFile = stateFile.path
+		assertTrue(batchCompiler.compile)
+		assertTrue(stateFile.exists)
+		val javaFiles = new File(OUTPUT_DIRECTORY + "/test").listFiles[dir, name|name.endsWith(".java")]
+		javaFiles.forEach[lastModified = 0]
+		assertTrue(batchCompiler.compile)
+		javaFiles.forEach[assertEquals(name, 0, lastModified)]
+	}
+
+	@Test
+	def void testSkipUnaffectedStateFormat() {
+		val stateFile = new File(TEMP_DIRECTORY, "build.state")
+		batchCompiler.skipUnaffectedStateFile = stateFile.path
+		assertTrue(batchCompiler.compile)
+		val state = IncrementalBuildState.read(stateFile)
+		assertNotNull(state)
+		val copyFile = new File(TEMP_DIRECTORY, "build.state.copy")
+		state.write(copyFile)
+		val copy = IncrementalBuildState.read(copyFile)
+		assertEquals(state.configurationHash, copy.configurationHash)
+		assertEquals(state.otherSourceHashes, copy.otherSourceHashes)
+		assertEquals(state.sources.keySet, copy.sources.keySet)
+		for (uri : state.sources.keySet) {
+			val expected = state.sources.get(uri)
+			val actual = copy.sources.get(uri)
+			assertEquals(expected.contentHash, actual.contentHash)
+			assertEquals(expected.exportsHash, actual.exportsHash)
+			assertEquals(expected.exportedNames, actual.exportedNames)
+			assertEquals(expected.importedNames, actual.importedNames)
+			assertEquals(expected.generatedFiles, actual.generatedFiles)
+		}
+		// a file in an unknown format is ignored and replaced after a full build
+		Files.write("not a build state", stateFile, Charsets.UTF_8)
+		assertNull(IncrementalBuildState.read(stateFile))
+		assertTrue(batchCompiler.compile)
+		assertNotNull(IncrementalBuildState.read(stateFile))
+	}
+
+	@Test
+	def void testSkipUnaffectedRegeneratesChangedSourceAndImporters() {
+		val a = writeSource("a/A.xtend", '''
+			package a
+			class A {
+				def foo() { "" }
+			}
+		''')
+		writeSource("b/B.xtend", '''
+			package b
+			class B {
+				def bar() { new a.A().foo }
+			}
+		''')
+		writeSource("c/C.xtend", '''
+			package c
+			class C {
+			}
+		''')
+		assertTrue(compileSkippingUnaffected)
+		val aJava = new File(OUTPUT_DIRECTORY, "a/A.java")
+		val bJava = new File(OUTPUT_DIRECTORY, "b/B.java")
+		val cJava = new File(OUTPUT_DIRECTORY, "c/C.java")
+		aJava.lastModified = 0
+		bJava.lastModified = 0
+		cJava.lastModified = 0
+		Files.write('''
+			package a
+			class A {
+				def foo() { 1 }
+			}
+		''', a, Charsets.UTF_8)
+		assertTrue(compileSkippingUnaffected)
+		assertNotEquals(0, aJava.lastModified)
+		// B imports A, whose signature changed
+		assertNotEquals(0, bJava.lastModified)
+		assertTrue(getContents(bJava.path).contains("public int bar()"))
+		assertEquals(0, cJava.lastModified)
+	}
+
+	@Test
+	def void testSkipUnaffectedFullBuildOnJavaChange() {
+		writeSource("c/C.xtend", '''
+			package c
+			class C {
+			}
+		''')
+		val java = writeSource("j/J.java", '''
+			package j;
+			public class J {}
+		''')
+		assertTrue(compileSkippingUnaffected)
+		val cJava = new File(OUTPUT_DIRECTORY, "c/C.java")
+		cJava.lastModified = 0
+		Files.write('''
+			package j;
+			public class J { public int i; }
+		''', java, Charsets.UTF_8)
+		val log = LoggingTester.captureLogging(Level.INFO, XtendBatchCompiler) [
+			assertTrue(compileSkippingUnaffected)
+		]
+		log.assertLogEntry("Java sources changed")
+		assertNotEquals(0, cJava.lastModified)
+	}
+
+	@Test
+	def void testSkipUnaffectedFullBuildOnConfigurationChange() {
+		writeSource("c/C.xtend", '''
+			package c
+			class C {
+			}
+		''')
+		assertTrue(compileSkippingUnaffected)
+		val cJava = new File(OUTPUT_DIRECTORY, "c/C.java")
+		assertTrue(getContents(cJava.path).contains("@SuppressWarnings"))
+		batchCompiler.generateSyntheticSuppressWarnings = false
+		val log = LoggingTester.captureLogging(Level.INFO, XtendBatchCompiler) [
+			assertTrue(compileSkippingUnaffected)
+		]
+		log.assertLogEntry("configuration changed")
+		assertFalse(getContents(cJava.path).contains("@SuppressWarnings"))
+	}
+
+	@Test
+	def void testSkipUnaffectedDeletesOutputsOfRemovedSource() {
+		writeSource("a/A.xtend", '''
+			package a
+			class A {
+			}
+		''')
+		val c = writeSource("c/C.xtend", '''
+			package c
+			class C {
+			}
+		''')
+		assertTrue(compileSkippingUnaffected)
+		val aJava = new File(OUTPUT_DIRECTORY, "a/A.java")
+		val cJava = new File(OUTPUT_DIRECTORY, "c/C.java")
+		assertTrue(cJava.exists)
+		aJava.lastModified = 0
+		assertTrue(c.delete)
+		assertTrue(compileSkippingUnaffected)
+		assertFalse(cJava.exists)
+		assertEquals(0, aJava.lastModified)
+	}
+
+	def private File writeSource(String path, CharSequence contents) {
+		val file = new File(TEMP_DIRECTORY + "/src/" + path)
+		file.parentFile.mkdirs
+		Files.write(contents, file, Charsets.UTF_8)
+		return file
+	}
+
+	def private boolean compileSkippingUnaffected() {
+		batchCompiler.sourcePath = TEMP_DIRECTORY + "/src"
+		batchCompiler.skipUnaffectedStateFile = TEMP_DIRECTORY + "/build.state"
+		return batchCompiler.compile
+	}
+
 	@Test
     def void testCompileSymlinkedResource() {
         val tstResources = new File("./batch-compiler-data/test-resources/").toURI().normalize().getPath()
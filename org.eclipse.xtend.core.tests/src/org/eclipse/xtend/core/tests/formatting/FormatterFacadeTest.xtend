@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.formatting
+
+import com.google.inject.Inject
+import org.eclipse.xtend.core.formatting2.FormatterFacade
+import org.eclipse.xtend.core.tests.AbstractXtendTestCase
+import org.eclipse.xtext.util.TextRegion
+import org.junit.Test
+
+class FormatterFacadeTest extends AbstractXtendTestCase {
+
+	@Inject FormatterFacade formatterFacade
+
+	val code = '''
+		class C {
+			def   a() {  1  }
+			def   b() {  2  }
+		}
+	'''.toString
+
+	@Test def void testFormatAll() {
+		val formatted = formatterFacade.format(code)
+		assertFalse(formatted, formatted.contains('def   a'))
+		assertFalse(formatted, formatted.contains('def   b'))
+	}
+
+	@Test def void testFormatRegion() {
+		val member = 'def   b() {  2  }'
+		val formatted = formatterFacade.format(code, #[new TextRegion(code.indexOf(member), member.length)])
+		assertTrue(formatted, formatted.contains('def   a() {  1  }'))
+		assertFalse(formatted, formatted.contains('def   b'))
+	}
+
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.linking;
+
+import org.eclipse.xtend.core.scoping.TypeLookupCache;
+import org.eclipse.xtend.core.tests.AbstractXtendTestCase;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * @see TypeLookupCache
+ */
+public class TypeLookupCacheTest extends AbstractXtendTestCase {
+
+	private static final QualifiedName STRING = QualifiedName.create("java", "lang", "String");
+
+	private static final QualifiedName MISSING_LIBRARY_TYPE = QualifiedName.create("java", "lang", "DoesNotExist");
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	@Inject
+	private IJvmTypeProvider.Factory typeProviderFactory;
+
+	private XtextResourceSet resourceSet;
+
+	private IJvmTypeProvider typeProvider;
+
+	private TypeLookupCache cache;
+
+	@Before
+	public void setUp() {
+		resourceSet = resourceSetProvider.get();
+		typeProvider = typeProviderFactory.findOrCreateTypeProvider(resourceSet);
+		cache = TypeLookupCache.findOrInstall(resourceSet);
+		cache.validate(typeProvider);
+	}
+
+	@Test
+	public void testFoundType() {
+		IEObjectDescription string = putString();
+		assertSame(string, cache.getFoundType(STRING));
+		assertSame(cache, TypeLookupCache.findOrInstall(resourceSet));
+	}
+
+	@Test
+	public void testFoundTypeRemovedFromResourceSet() {
+		IEObjectDescription string = putString();
+		string.getEObjectOrProxy().eResource().unload();
+		assertNull(cache.getFoundType(STRING));
+	}
+
+	@Test
+	public void testResourceRemoved() {
+		IEObjectDescription string = putString();
+		cache.put(MISSING_LIBRARY_TYPE, MISSING_LIBRARY_TYPE, null);
+		assertTrue(cache.isMissingType(MISSING_LIBRARY_TYPE));
+		resourceSet.getResources().remove(string.getEObjectOrProxy().eResource());
+		assertNull(cache.getFoundType(STRING));
+		assertFalse(cache.isMissingType(MISSING_LIBRARY_TYPE));
+	}
+
+	@Test
+	public void testMissingTypes() {
+		QualifiedName missingLibraryType = QualifiedName.create("org", "eclipse", "xtext", "xbase", "lib", "DoesNotExist");
+		QualifiedName missingSourceType = QualifiedName.create("mypackage", "DoesNotExist");
+		QualifiedName missingTopLevelType = QualifiedName.create("DoesNotExist");
+		cache.put(MISSING_LIBRARY_TYPE, MISSING_LIBRARY_TYPE, null);
+		cache.put(missingLibraryType, missingLibraryType, null);
+		cache.put(missingSourceType, missingSourceType, null);
+		cache.put(missingTopLevelType, missingTopLevelType, null);
+		assertTrue(cache.isMissingType(MISSING_LIBRARY_TYPE));
+		assertTrue(cache.isMissingType(missingLibraryType));
+		// sources may add these types at any time
+		assertFalse(cache.isMissingType(missingSourceType));
+		assertFalse(cache.isMissingType(missingTopLevelType));
+	}
+
+	@Test
+	public void testTypeProviderChanged() {
+		putString();
+		cache.put(MISSING_LIBRARY_TYPE, MISSING_LIBRARY_TYPE, null);
+		cache.validate(typeProvider);
+		assertNotNull(cache.getFoundType(STRING));
+		assertTrue(cache.isMissingType(MISSING_LIBRARY_TYPE));
+		cache.validate(typeProviderFactory.createTypeProvider(resourceSet));
+		assertNull(cache.getFoundType(STRING));
+		assertFalse(cache.isMissingType(MISSING_LIBRARY_TYPE));
+	}
+
+	@Test
+	public void testClasspathURIContextChanged() {
+		cache.put(MISSING_LIBRARY_TYPE, MISSING_LIBRARY_TYPE, null);
+		resourceSet.setClasspathURIContext(new Object());
+		cache.validate(typeProvider);
+		assertFalse(cache.isMissingType(MISSING_LIBRARY_TYPE));
+	}
+
+	@Test
+	public void testClassPathChanged() {
+		cache.put(MISSING_LIBRARY_TYPE, MISSING_LIBRARY_TYPE, null);
+		TypeLookupCache.classPathChanged();
+		cache.validate(typeProvider);
+		assertFalse(cache.isMissingType(MISSING_LIBRARY_TYPE));
+	}
+
+	private IEObjectDescription putString() {
+		JvmType type = typeProvider.findTypeByName(STRING.toString());
+		assertNotNull(type);
+		IEObjectDescription result = EObjectDescription.create(STRING, type);
+		cache.put(STRING, STRING, result);
+		return result;
+	}
+
+}
@@ -7,6 +7,7 @@ import java.io.File
 import java.nio.charset.Charset
 import java.util.List
 import org.eclipse.emf.common.util.URI
+import org.eclipse.xtend.core.macro.ActiveAnnotationContexts
 import org.eclipse.xtend.core.macro.AnnotationProcessor
 import org.eclipse.xtend.core.macro.declaration.CompilationUnitImpl
 import org.eclipse.xtend.core.tests.RuntimeInjectorProvider
@@ -266,6 +267,125 @@ class ActiveAnnotationsRuntimeTest extends AbstractReusableActiveAnnotationTests
 				validator.assertNoWarnings(xtendFile, XtendPackage.Literals.XTEND_FILE, IssueCodes.ORPHAN_ELMENT)
 			]
 	}
+	
+	@Test def void testDetectOrphanedElementsOfRegisterGlobalsParticipant() {
+		assertProcessing(
+				'myannotation/EvilAnnotation.xtend' -> '''
+					package myannotation
+					
+					import java.util.List
+					import org.eclipse.xtend.lib.macro.Active
+					import org.eclipse.xtend.lib.macro.RegisterGlobalsContext
+					import org.eclipse.xtend.lib.macro.RegisterGlobalsParticipant
+					import org.eclipse.xtend.lib.macro.declaration.ClassDeclaration
+					
+					@Active(EvilProcessor)
+					annotation EvilAnnotation {}
+					
+					class EvilProcessor implements RegisterGlobalsParticipant<ClassDeclaration> {
+						
+						override doRegisterGlobals(List<? extends ClassDeclaration> classes, extension RegisterGlobalsContext context) {
+							classes.forEach[
+								registerClass(qualifiedName+'.Inner')
+							]
+						}
+					}
+				''',
+				'myusercode/UserCode.xtend' -> '''
+					package myusercode
+					
+					import myannotation.EvilAnnotation
+					
+					@EvilAnnotation
+					class Foo {
+					}
+				'''
+			)[
+				assertTrue(ActiveAnnotationContexts.find(xtendFile.eResource).transformed)
+				validator.assertIssue(xtendFile, XtendPackage.Literals.XTEND_FILE, IssueCodes.ORPHAN_ELMENT, Severity.WARNING, 
+					"The generated type 'myusercode.Foo.Inner' is not associated with a source element.")
+			]
+	}
+	
+	@Test def void testDetectOrphanedElementsOfTransformationParticipant() {
+		assertProcessing(
+				'myannotation/EvilAnnotation.xtend' -> '''
+					package myannotation
+					
+					import java.util.List
+					import org.eclipse.xtend.lib.macro.Active
+					import org.eclipse.xtend.lib.macro.TransformationContext
+					import org.eclipse.xtend.lib.macro.TransformationParticipant
+					import org.eclipse.xtend.lib.macro.declaration.MutableClassDeclaration
+					
+					@Active(EvilProcessor)
+					annotation EvilAnnotation {}
+					
+					class EvilProcessor implements TransformationParticipant<MutableClassDeclaration> {
+						
+						override doTransform(List<? extends MutableClassDeclaration> classes, extension TransformationContext context) {
+							classes.forEach[
+								addMethod("foo")[
+									returnType = object
+									body = ["return null;"]
+								]
+							]
+						}
+					}
+				''',
+				'myusercode/UserCode.xtend' -> '''
+					package myusercode
+					
+					import myannotation.EvilAnnotation
+					
+					@EvilAnnotation
+					class Foo {
+					}
+				'''
+			)[
+				assertTrue(ActiveAnnotationContexts.find(xtendFile.eResource).transformed)
+				validator.assertIssue(xtendFile, XtendPackage.Literals.XTEND_FILE, IssueCodes.ORPHAN_ELMENT, Severity.WARNING, 
+					"The generated method 'myusercode.Foo.foo()' is not associated with a source element.")
+			]
+	}
+	
+	@Test def void testNoOrphanedElementsWithoutTransformation() {
+		assertProcessing(
+				'myannotation/HarmlessAnnotation.xtend' -> '''
+					package myannotation
+					
+					import java.util.List
+					import org.eclipse.xtend.lib.macro.Active
+					import org.eclipse.xtend.lib.macro.ValidationContext
+					import org.eclipse.xtend.lib.macro.ValidationParticipant
+					import org.eclipse.xtend.lib.macro.declaration.ClassDeclaration
+					
+					@Active(HarmlessProcessor)
+					annotation HarmlessAnnotation {}
+					
+					class HarmlessProcessor implements ValidationParticipant<ClassDeclaration> {
+						
+						override doValidate(List<? extends ClassDeclaration> classes, extension ValidationContext context) {
+						}
+					}
+				''',
+				'myusercode/UserCode.xtend' -> '''
+					package myusercode
+					
+					import myannotation.HarmlessAnnotation
+					
+					@HarmlessAnnotation
+					class Foo {
+						Comparable<String> p = new Comparable<String>() {
+							override compareTo(String other) { 42 }
+						}
+					}
+				'''
+			)[
+				assertFalse(ActiveAnnotationContexts.find(xtendFile.eResource).transformed)
+				validator.assertNoWarnings(xtendFile, XtendPackage.Literals.XTEND_FILE, IssueCodes.ORPHAN_ELMENT)
+			]
+	}
 
 }
 
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.macro
+
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import org.eclipse.xtend.core.macro.ActiveAnnotationContext
+import org.eclipse.xtend.core.macro.AnnotationProcessor.CancellationObserver
+import org.eclipse.xtend.core.macro.declaration.CompilationUnitImpl
+import org.eclipse.xtext.util.CancelIndicator
+import org.junit.After
+import org.junit.Test
+
+import static org.junit.Assert.*
+
+class CancellationObserverTest {
+
+	static val TIMEOUT = 5000L
+
+	val observer = new TestableCancellationObserver
+
+	@After def void tearDown() {
+		observer.stop
+	}
+
+	@Test def void testPhaseWithoutCancelIndicatorIsNotObserved() {
+		assertTrue(observer.monitorUntil(createContext, null, [false]).done)
+		assertTrue(observer.monitorUntil(createContext, CancelIndicator.NullImpl, [false]).done)
+		assertEquals(0, observer.monitoredCount)
+		assertFalse(observer.watching)
+	}
+
+	@Test def void testCanceledPhaseMarksCompilationUnit() {
+		val ctx = createContext
+		val canceled = new AtomicBoolean
+		val observed = observer.monitorUntil(ctx, [canceled.get], [false])
+		assertTrue(observer.watching)
+		assertEquals(1, observer.inFlightCount)
+		ctx.compilationUnit.checkCanceled
+		canceled.set(true)
+		observed.get(TIMEOUT, TimeUnit.MILLISECONDS)
+		assertEquals(1, observer.canceledCount)
+		assertEquals(0, observer.inFlightCount)
+		try {
+			ctx.compilationUnit.checkCanceled
+			fail
+		} catch (CancellationException e) {
+			// expected
+		}
+		observer.waitUntilIdle
+	}
+
+	@Test def void testFinishedPhaseIsDropped() {
+		val ctx = createContext
+		// finished phases are dropped even if they are canceled
+		val observed = observer.monitorUntil(ctx, [true], [true])
+		assertEquals(0, observer.inFlightCount)
+		observed.get(TIMEOUT, TimeUnit.MILLISECONDS)
+		assertEquals(0, observer.canceledCount)
+		ctx.compilationUnit.checkCanceled
+		observer.waitUntilIdle
+	}
+
+	@Test def void testMetrics() {
+		val finished = new AtomicBoolean
+		val observed = (1..3).map[observer.monitorUntil(createContext, [false], [finished.get])].toList
+		assertEquals(3, observer.inFlightCount)
+		assertEquals(3, observer.peakInFlightCount)
+		assertEquals(3, observer.monitoredCount)
+		finished.set(true)
+		observed.forEach[get(TIMEOUT, TimeUnit.MILLISECONDS)]
+		observer.waitUntilIdle
+		observer.monitorUntil(createContext, [false], [true]).get(TIMEOUT, TimeUnit.MILLISECONDS)
+		assertEquals(0, observer.inFlightCount)
+		assertEquals(3, observer.peakInFlightCount)
+		assertEquals(4, observer.monitoredCount)
+		assertEquals(0, observer.canceledCount)
+	}
+
+	@Test def void testStoppedObserverDoesNotFail() {
+		observer.stop
+		val observed = observer.monitorUntil(createContext, [false], [false])
+		assertFalse(observed.done)
+		assertFalse(observer.watching)
+	}
+
+	private def createContext() {
+		new ActiveAnnotationContext => [
+			compilationUnit = new CompilationUnitImpl
+		]
+	}
+
+}
+
+/**
+ * Uses a scheduler that drops canceled tasks, such that the tests can check whether the observer is still polling.
+ */
+class TestableCancellationObserver extends CancellationObserver {
+
+	override protected initScheduler() {
+		val result = new ScheduledThreadPoolExecutor(1)
+		result.removeOnCancelPolicy = true
+		return result
+	}
+
+	def boolean isWatching() {
+		!(scheduler as ScheduledThreadPoolExecutor).queue.empty
+	}
+
+	def void waitUntilIdle() {
+		val deadline = System.currentTimeMillis + 5000
+		while (watching && System.currentTimeMillis < deadline) {
+			Thread.sleep(CancellationObserver.POLLING_INTERVAL)
+		}
+		assertFalse(watching)
+	}
+
+}
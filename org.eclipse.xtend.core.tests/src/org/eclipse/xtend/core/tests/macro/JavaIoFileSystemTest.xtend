@@ -7,10 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtend.core.tests.macro
 
+import com.google.common.base.Charsets
+import com.google.common.io.Files
 import java.io.ByteArrayInputStream
 import java.io.File
 import java.io.FileInputStream
+import org.eclipse.xtend.core.macro.AbstractFileSystemSupport
 import org.eclipse.xtend.core.macro.JavaIOFileSystemSupport
+import org.eclipse.xtend.core.macro.OutputManifest
 import org.eclipse.xtend.lib.macro.file.MutableFileSystemSupport
 import org.eclipse.xtend.lib.macro.file.Path
 import org.eclipse.xtext.xbase.testing.TemporaryFolder
@@ -112,6 +116,43 @@ class JavaIoFileSystemTest {
 		assertTrue(mod < path.lastModification)
 	}
 
+	@Test def void testOutputManifest() {
+		val manifest = new OutputManifest
+		(fs as AbstractFileSystemSupport).outputManifest = manifest
+		val path = new Path('/foo/src/my/pack/Foo.txt')
+		path.contents = "Hello Foo"
+		assertEquals(1, manifest.size)
+		val mod = path.lastModification
+		path.contents = "Hello Foo"
+		assertEquals(mod, path.lastModification)
+
+		val file = new File(path.toURI)
+		Files.write("Hello Bar", file, Charsets.UTF_8)
+		file.lastModified = mod - 2000
+		path.contents = "Hello Foo"
+		assertEquals("Hello Foo", path.contents)
+	}
+
+	@Test def void testOutputManifestOfContext() {
+		val support = fs as AbstractFileSystemSupport
+		assertNull(support.outputManifest)
+		val manifest = new OutputManifest
+		manifest.attachToEmfObject(support.context)
+		val path = new Path('/foo/src/my/pack/Foo.txt')
+		path.contents = "Hello Foo"
+		assertSame(manifest, support.outputManifest)
+		assertEquals(1, manifest.size)
+
+		val file = new File(temporaryFolder.newFolder, "manifest")
+		manifest.write(file)
+		val read = new OutputManifest
+		read.read(file)
+		assertEquals(1, read.size)
+		Files.write("Hello Foo", file, Charsets.UTF_8)
+		read.read(file)
+		assertEquals(0, read.size)
+	}
+
 	@Test def void testGetWorkspaceChildren() {
 		assertEquals(Path.ROOT.children.join('[', ', ', ']')[it.segments.join('.')], 1, Path.ROOT.children.size)
 	}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.macro
+
+import org.eclipse.xtend.core.macro.NonReusableProcessor
+import org.eclipse.xtend.core.macro.ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter
+import org.junit.Test
+
+import static org.junit.Assert.*
+
+class ProcessorInstanceCacheTest {
+
+	@Test def void testReusableProcessorIsShared() {
+		val adapter = createAdapter
+		val first = adapter.getProcessorInstance(ReusableTestProcessor.name)
+		assertTrue(first instanceof ReusableTestProcessor)
+		assertSame(first, adapter.getProcessorInstance(ReusableTestProcessor.name))
+	}
+
+	@Test def void testNonReusableProcessorIsNotShared() {
+		val adapter = createAdapter
+		val first = adapter.getProcessorInstance(NonReusableTestProcessor.name)
+		assertTrue(first instanceof NonReusableTestProcessor)
+		assertNotSame(first, adapter.getProcessorInstance(NonReusableTestProcessor.name))
+	}
+
+	@Test def void testDiscardDropsInstances() {
+		val adapter = createAdapter
+		val first = adapter.getProcessorInstance(ReusableTestProcessor.name)
+		adapter.discard
+		assertNotSame(first, adapter.getProcessorInstance(ReusableTestProcessor.name))
+	}
+
+	private def createAdapter() {
+		// not closeable, discard keeps the class loader
+		new ProcessorClassloaderAdapter(new ClassLoader(class.classLoader) {})
+	}
+}
+
+class ReusableTestProcessor {
+}
+
+class NonReusableTestProcessor implements NonReusableProcessor {
+}
@@ -283,6 +283,45 @@ class DeclarationsTest extends AbstractXtendTestCase {
 		]
 	}
 	
+	@Test def testFindDeclaredMembersOfWideClass() {
+		validFile('''
+		package foo
+		
+		class MyClass {
+			«FOR i : 0 ..< 1000»
+				String field«i»
+			«ENDFOR»
+			new(String s) {
+			}
+		}
+		''').asCompilationUnit [
+			val genClazz = typeLookup.findClass('foo.MyClass')
+			val string = typeReferenceProvider.string
+			for (i : 0 ..< 1000) {
+				assertNotNull(genClazz.findDeclaredField('field' + i))
+				assertNull(genClazz.findDeclaredMethod('getField' + i))
+				val getter = genClazz.addMethod('getField' + i) [
+					returnType = string
+				]
+				assertSame(getter, genClazz.findDeclaredMethod('getField' + i))
+			}
+			assertNotNull(genClazz.findDeclaredConstructor(string))
+			assertNull(genClazz.findDeclaredConstructor())
+			
+			val setter = genClazz.addMethod('setField0') [
+				addParameter('value', string)
+			]
+			assertNull(genClazz.findDeclaredMethod('setField0'))
+			assertSame(setter, genClazz.findDeclaredMethod('setField0', string))
+			setter.simpleName = 'setFirstField'
+			assertNull(genClazz.findDeclaredMethod('setField0', string))
+			assertSame(setter, genClazz.findDeclaredMethod('setFirstField', string))
+			
+			genClazz.findDeclaredField('field0').remove
+			assertNull(genClazz.findDeclaredField('field0'))
+		]
+	}
+	
 	@Test def testTypeReferences() {
 		validFile('''
 		package foo
@@ -790,6 +790,61 @@ public class PartialParserTest extends AbstractXtendTestCase {
 		assertEquals(before, after);
 	}
 	
+	@Test public void testOpenCommentInLargeDocument() throws Exception {
+		String model = largeModel(true);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "/*", "Large.xtend");
+	}
+	
+	@Test public void testOpenUnterminatedCommentInLargeDocument() throws Exception {
+		String model = largeModel(false);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "/*", "Large.xtend");
+	}
+	
+	@Test public void testOpenStringInLargeDocument() throws Exception {
+		String model = largeModel(true);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "\"", "Large.xtend");
+	}
+	
+	@Test public void testOpenUnterminatedStringInLargeDocument() throws Exception {
+		String model = largeModel(false);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "'", "Large.xtend");
+	}
+	
+	@Test public void testOpenRichStringInLargeDocument() throws Exception {
+		String model = largeModel(true);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "'''", "Large.xtend");
+	}
+	
+	@Test public void testOpenUnterminatedRichStringInLargeDocument() throws Exception {
+		String model = largeModel(false);
+		doTestUpdateAtOffset(model, model.indexOf("val x"), 0, "'''", "Large.xtend");
+	}
+	
+	@Test public void testEditTokenInLargeDocument() throws Exception {
+		String model = largeModel(true);
+		doTestUpdateAtOffset(model, model.indexOf("1\n"), 0, "2", "Large.xtend");
+	}
+	
+	/**
+	 * A document whose text after the first method is much longer than the lookahead of the partial parser. The first
+	 * comment, string and rich string terminators optionally follow at its end.
+	 */
+	protected String largeModel(boolean withTerminators) {
+		StringBuilder result = new StringBuilder();
+		result.append("class Large {\n");
+		result.append("\tdef m() {\n");
+		result.append("\t\tval x = 1\n");
+		result.append("\t}\n");
+		for (int i = 0; i < 200; i++) {
+			result.append("\tdef m").append(i).append("() { ").append(i).append(" }\n");
+		}
+		if (withTerminators) {
+			result.append("\tdef last() { '''a''' + \"b\" + 'c' /* d */ }\n");
+		}
+		result.append("}\n");
+		return result.toString();
+	}
+	
 	protected void validateWithoutException(XtextResource resource) {
 		ResourceValidatorImpl validator = resourceValidatorProvider.get();
 		assertNotSame(validator, resource.getResourceServiceProvider().getResourceValidator());
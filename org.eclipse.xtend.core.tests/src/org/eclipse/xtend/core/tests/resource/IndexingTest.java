@@ -15,6 +15,8 @@ import java.util.Iterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtend.core.macro.ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter;
+import org.eclipse.xtend.core.resource.XtendResourceDescriptionStrategy;
 import org.eclipse.xtend.core.tests.AbstractXtendTestCase;
 import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
 import org.eclipse.xtext.common.types.descriptions.JvmTypesResourceDescriptionStrategy;
@@ -154,6 +156,52 @@ public class IndexingTest extends AbstractXtendTestCase {
 	}
 	
 	
+	@Test public void testActiveAnnotationFingerprint() throws Exception {
+		String model = "package test\n" +
+				"import org.eclipse.xtend.lib.macro.AbstractClassProcessor\n" +
+				"import org.eclipse.xtend.lib.macro.Active\n" +
+				"@Active(MyProcessor) annotation MyAnnotation { String value = 'foo' }\n" +
+				"class MyProcessor extends AbstractClassProcessor {}";
+		IEObjectDescription annotation = getExportedObject(model, "test.MyAnnotation");
+		assertEquals("test.MyProcessor", annotation.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_PROCESSOR));
+		String fingerprint = annotation.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT);
+		assertNotNull(fingerprint);
+		assertEquals(fingerprint, getExportedObject(model, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+		String changedProcessor = model.replace("{}", "{ val x = 1 }");
+		assertNotEquals(fingerprint, getExportedObject(changedProcessor, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+		String changedMember = model.replace("'foo'", "'bar'");
+		assertNotEquals(fingerprint, getExportedObject(changedMember, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+	}
+	
+	@Test public void testActiveAnnotationFingerprintOfSourceProcessor() throws Exception {
+		String model = "package test\n" +
+				"import org.eclipse.xtend.lib.macro.AbstractClassProcessor\n" +
+				"import org.eclipse.xtend.lib.macro.Active\n" +
+				"@Active(MyProcessor) annotation MyAnnotation { String value = 'foo' }\n" +
+				"class MyProcessor extends AbstractClassProcessor {}\n" +
+				"class Other {}";
+		String fingerprint = getExportedObject(model, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT);
+		// the processor may delegate to other declarations of its compilation unit
+		String changedOther = model.replace("class Other {}", "class Other { val y = 2 }");
+		assertNotEquals(fingerprint, getExportedObject(changedOther, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+		String formattedProcessor = model.replace("AbstractClassProcessor {}", "AbstractClassProcessor {\n\t// no members\n}");
+		assertEquals(fingerprint, getExportedObject(formattedProcessor, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+	}
+	
+	@Test public void testActiveAnnotationFingerprintIgnoresProcessorClassLoader() throws Exception {
+		String model = "package test\n" +
+				"import org.eclipse.xtend.lib.macro.AbstractClassProcessor\n" +
+				"import org.eclipse.xtend.lib.macro.Active\n" +
+				"@Active(AbstractClassProcessor) annotation MyAnnotation {}";
+		IEObjectDescription annotation = getExportedObject(model, "test.MyAnnotation");
+		assertEquals("org.eclipse.xtend.lib.macro.AbstractClassProcessor", annotation.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_PROCESSOR));
+		String fingerprint = annotation.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT);
+		XtextResource resource = justLoad(model);
+		resource.getResourceSet().eAdapters().add(new ProcessorClassloaderAdapter(classLoader));
+		IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
+		assertEquals(fingerprint, getExportedObject(description, "test.MyAnnotation").getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_FINGERPRINT));
+	}
+	
 	@Test public void testResourceDescriptionWithoutGetContentsWithAnnotations() throws Exception {
 		String input = "import com.google.inject.Inject class C%d extends C%d { @Inject def void m(Map<String, String> m) {} }";
 		doTestResourceDescriptionWithoutGetContents(input);
@@ -207,6 +255,20 @@ public class IndexingTest extends AbstractXtendTestCase {
 		return exportedObjects.iterator();
 	}
 
+	protected IEObjectDescription getExportedObject(String model, String name) throws Exception {
+		return getExportedObject(getResourceDescription(model), name);
+	}
+
+	protected IEObjectDescription getExportedObject(IResourceDescription resourceDescription, String name) {
+		for (IEObjectDescription description : resourceDescription.getExportedObjects()) {
+			if (name.equals(converter.toString(description.getQualifiedName()))) {
+				return description;
+			}
+		}
+		fail("Missing exported object " + name);
+		return null;
+	}
+
 	protected IResourceDescription getResourceDescription(String model) throws Exception {
 		XtextResource file = justLoad(model);
 		IResourceDescription rd = resourceDescriptionManager.getResourceDescription(file);
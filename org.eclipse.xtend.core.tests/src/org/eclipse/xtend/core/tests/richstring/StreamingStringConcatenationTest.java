@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.tests.richstring;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.eclipse.xtend.core.richstring.StreamingStringConcatenation;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtend2.lib.StringConcatenationClient;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the content written by a {@link StreamingStringConcatenation} with the
+ * content of a {@link StringConcatenation}.
+ */
+public class StreamingStringConcatenationTest extends Assert {
+
+	private String lineDelimiter = "\n";
+
+	protected void assertSameContent(String expected, StringConcatenationClient client) throws IOException {
+		assertEquals(expected, assertSameContent(client));
+	}
+
+	protected String assertSameContent(StringConcatenationClient client) throws IOException {
+		StringConcatenation concatenation = new StringConcatenation(lineDelimiter);
+		concatenation.append(client);
+		StringWriter writer = new StringWriter();
+		StreamingStringConcatenation testMe = new StreamingStringConcatenation(writer, lineDelimiter);
+		testMe.append(client);
+		testMe.close();
+		assertEquals(concatenation.toString(), writer.toString());
+		return writer.toString();
+	}
+
+	@Test public void testAppend_01() throws IOException {
+		assertSameContent("abc\nabc", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc");
+				target.newLine();
+				target.append("abc");
+			}
+		});
+	}
+
+	@Test public void testAppend_02() throws IOException {
+		assertSameContent("abc\nabc", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.newLineIfNotEmpty();
+				target.append("abc");
+				target.newLineIfNotEmpty();
+				target.append(" ");
+				target.append("\t");
+				target.newLineIfNotEmpty();
+				target.newLineIfNotEmpty();
+				target.append("abc");
+			}
+		});
+	}
+
+	@Test public void testAppend_03() throws IOException {
+		assertSameContent("abc\n \t\nabc", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc");
+				target.newLineIfNotEmpty();
+				target.append(" ");
+				target.append("\t");
+				target.newLine();
+				target.newLineIfNotEmpty();
+				target.append("abc");
+			}
+		});
+	}
+
+	@Test public void testAppend_04() throws IOException {
+		assertSameContent("abc\n", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc");
+				target.newLineIfNotEmpty();
+				target.append(" ");
+			}
+		});
+	}
+
+	@Test public void testAppend_05() throws IOException {
+		assertSameContent("abc  ", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append(null);
+				target.append("abc");
+				target.append("  ");
+			}
+		});
+	}
+
+	@Test public void testAppendMultiLine() throws IOException {
+		assertSameContent("a\nb\nc\nd", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("a\nb\rc\r\nd");
+			}
+		});
+	}
+
+	@Test public void testAppendIndented_01() throws IOException {
+		assertSameContent("abc\n def", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc\ndef", " ");
+			}
+		});
+	}
+
+	@Test public void testAppendIndented_02() throws IOException {
+		final StringConcatenation appendMe = new StringConcatenation("\r");
+		appendMe.append("abc\ndef\nghi");
+		appendMe.newLine();
+		appendMe.append("  ");
+		assertSameContent("abc\n\tdef\n\tghi\n", new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append(appendMe, "\t");
+			}
+		});
+	}
+
+	@Test public void testAppendIndented_03() throws IOException {
+		final StringConcatenationClient appendMe = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc");
+				target.newLineIfNotEmpty();
+				target.append("def");
+				target.newLine();
+			}
+		};
+		assertSameContent(new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("x");
+				target.newLine();
+				target.append("\t");
+				target.append(appendMe, "\t");
+				target.newLine();
+				target.append("\t");
+				target.append(appendMe);
+			}
+		});
+	}
+
+	@Test public void testAppendIndented_04() throws IOException {
+		final StringConcatenationClient inner = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("a\nb");
+				target.newLineIfNotEmpty();
+				target.append("  ");
+				target.newLineIfNotEmpty();
+				target.append("c");
+				target.appendImmediate(",", " ");
+				target.newLine();
+			}
+		};
+		final StringConcatenationClient outer = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("{");
+				target.newLine();
+				target.append("  ");
+				target.append(inner, "  ");
+				target.append("}");
+				target.newLineIfNotEmpty();
+			}
+		};
+		assertSameContent(new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("x");
+				target.newLine();
+				target.append("\t");
+				target.append(outer, "\t");
+			}
+		});
+	}
+
+	@Test public void testStreamsIndentedClients() throws IOException {
+		final StringWriter writer = new StringWriter();
+		final StringConcatenationClient inner = new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				target.append("abc");
+				target.newLine();
+				assertEquals("x\n\tabc", writer.toString());
+				target.append("def");
+				assertEquals("x\n\tabc\n\tdef", writer.toString());
+			}
+		};
+		StreamingStringConcatenation testMe = new StreamingStringConcatenation(writer, lineDelimiter);
+		testMe.append("x");
+		testMe.newLine();
+		testMe.append("\t");
+		testMe.append(inner, "\t");
+		testMe.close();
+		assertEquals("x\n\tabc\n\tdef", writer.toString());
+	}
+
+	@Test public void testAppendImmediate() throws IOException {
+		assertSameContent(new StringConcatenationClient() {
+			@Override
+			protected void appendTo(TargetStringConcatenation target) {
+				boolean hasElements = false;
+				for (String s : new String[] { "a", "b", "c" }) {
+					if (!hasElements) {
+						hasElements = true;
+					} else {
+						target.appendImmediate(",", "  ");
+					}
+					target.append(s, "  ");
+					target.newLineIfNotEmpty();
+					target.append("  ");
+				}
+			}
+		});
+	}
+
+	@Test public void testWritesSignificantContentEagerly() throws IOException {
+		StringWriter writer = new StringWriter();
+		StreamingStringConcatenation testMe = new StreamingStringConcatenation(writer, lineDelimiter);
+		testMe.append("abc");
+		testMe.newLine();
+		testMe.append("  ");
+		assertEquals("abc", writer.toString());
+		assertEquals(6, testMe.length());
+		assertEquals(' ', testMe.charAt(5));
+		testMe.append("def");
+		assertEquals("abc\n  def", writer.toString());
+		testMe.close();
+		assertEquals("abc\n  def", writer.toString());
+	}
+
+}
@@ -1475,6 +1475,18 @@ public class XtendValidationTest extends AbstractXtendTestCase {
 		helper.assertWarning(clazz, XTEND_FUNCTION, UNUSED_PRIVATE_MEMBER, "method","foo(String, Integer)","never", "used");
 	}
 	
+	@Test public void testUnusedFunction_2() throws Exception {
+		XtendClass clazz = clazz("class X { def private void foo() {bar} def private void bar() {} def private void baz() {baz} }");
+		helper.assertWarning(clazz, XTEND_FUNCTION, UNUSED_PRIVATE_MEMBER, "method","baz()","never", "used");
+		helper.assertNoWarnings(clazz, XTEND_FUNCTION, UNUSED_PRIVATE_MEMBER, "method","bar()","never", "used");
+	}
+	
+	@Test public void testPrivateMembersUsedInNestedType() throws Exception {
+		XtendClass clazz = clazz("class X { String foo def private bar() {} static class Y { def baz(X x) { x.foo + x.bar } } }");
+		helper.assertNoIssues(clazz.eContainer(), XTEND_FIELD);
+		helper.assertNoIssues(clazz.eContainer(), XTEND_FUNCTION);
+	}
+	
 	@Test public void testSyntheticallyUsedFunction() throws Exception {
 		XtendClass clazz = clazz("class X { def private String foo() {} def bar(){}}");
 		JvmDeclaredType jvmType = (JvmDeclaredType) clazz.eResource().getContents().get(1);
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.compiler;
+
+import com.google.common.base.Objects;
+import java.lang.reflect.Method;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtend.core.tests.XtendGeneratorConfigRuntimeInjectorProvider;
+import org.eclipse.xtend.core.tests.compiler.AbstractXtendCompilerTest;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
+import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.testing.CompilationTestHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compiles and runs <code>create</code> functions with the optional cache kinds.
+ */
+@InjectWith(XtendGeneratorConfigRuntimeInjectorProvider.class)
+@SuppressWarnings("all")
+public class CreateCacheCompilerTest extends AbstractXtendCompilerTest {
+  private CharSequence source() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("import java.util.ArrayList");
+    _builder.newLine();
+    _builder.newLine();
+    _builder.append("class CreateCache {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def create new ArrayList<Object> single(String name) {");
+    _builder.newLine();
+    _builder.append("\t\t");
+    _builder.append("add(name)");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("}");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def create new ArrayList<Object> primitive(int value) {");
+    _builder.newLine();
+    _builder.append("\t\t");
+    _builder.append("add(value)");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("}");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def create new ArrayList<Object> multiple(String name, int value) {");
+    _builder.newLine();
+    _builder.append("\t\t");
+    _builder.append("add(name)");
+    _builder.newLine();
+    _builder.append("\t\t");
+    _builder.append("add(value)");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("}");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    return _builder;
+  }
+  
+  @Test
+  public void testNullArgument_concurrent() {
+    this.assertNullArgument(XtendGeneratorConfig.CreateCacheKind.CONCURRENT);
+  }
+  
+  @Test
+  public void testNullArgument_weakKeys() {
+    this.assertNullArgument(XtendGeneratorConfig.CreateCacheKind.WEAK_KEYS);
+  }
+  
+  @Test
+  public void testPrimitiveArgument_concurrent() {
+    this.assertPrimitiveArgument(XtendGeneratorConfig.CreateCacheKind.CONCURRENT);
+  }
+  
+  @Test
+  public void testPrimitiveArgument_weakKeys() {
+    this.assertPrimitiveArgument(XtendGeneratorConfig.CreateCacheKind.WEAK_KEYS);
+  }
+  
+  @Test
+  public void testMultipleArguments_concurrent() {
+    this.assertMultipleArguments(XtendGeneratorConfig.CreateCacheKind.CONCURRENT);
+  }
+  
+  @Test
+  public void testMultipleArguments_weakKeys() {
+    this.assertMultipleArguments(XtendGeneratorConfig.CreateCacheKind.WEAK_KEYS);
+  }
+  
+  private void assertNullArgument(final XtendGeneratorConfig.CreateCacheKind cacheKind) {
+    try {
+      XtendGeneratorConfig _generatorConfig = this.getGeneratorConfig();
+      _generatorConfig.setCreateCacheKind(cacheKind);
+      final IAcceptor<CompilationTestHelper.Result> _function = (CompilationTestHelper.Result it) -> {
+        try {
+          final Object instance = it.getCompiledClass().newInstance();
+          final Object forNull = this.call(instance, "single", ((String) null));
+          Assert.assertEquals("[null]", forNull.toString());
+          Assert.assertSame(forNull, this.call(instance, "single", ((String) null)));
+          final Object forName = this.call(instance, "single", "name");
+          Assert.assertEquals("[name]", forName.toString());
+          Assert.assertNotSame(forNull, forName);
+          Assert.assertSame(forName, this.call(instance, "single", "name"));
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      this.compilationTestHelper.compile(this.source(), _function);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void assertPrimitiveArgument(final XtendGeneratorConfig.CreateCacheKind cacheKind) {
+    try {
+      XtendGeneratorConfig _generatorConfig = this.getGeneratorConfig();
+      _generatorConfig.setCreateCacheKind(cacheKind);
+      final IAcceptor<CompilationTestHelper.Result> _function = (CompilationTestHelper.Result it) -> {
+        try {
+          final String javaCode = it.getGeneratedCode("CreateCache");
+          Assert.assertFalse(javaCode, javaCode.contains("_createCacheNullKey_primitive"));
+          if ((cacheKind == XtendGeneratorConfig.CreateCacheKind.WEAK_KEYS)) {
+            Assert.assertTrue(javaCode, javaCode.contains("HashMap<ArrayList<?>, ArrayList<Object>> _createCache_primitive"));
+          }
+          final Object instance = it.getCompiledClass().newInstance();
+          final Object forOne = this.call(instance, "primitive", Integer.valueOf(1));
+          Assert.assertEquals("[1]", forOne.toString());
+          Assert.assertSame(forOne, this.call(instance, "primitive", Integer.valueOf(1)));
+          Assert.assertNotSame(forOne, this.call(instance, "primitive", Integer.valueOf(2)));
+          Assert.assertSame(this.call(instance, "primitive", Integer.valueOf(1000)), this.call(instance, "primitive", Integer.valueOf(1000)));
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      this.compilationTestHelper.compile(this.source(), _function);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void assertMultipleArguments(final XtendGeneratorConfig.CreateCacheKind cacheKind) {
+    try {
+      XtendGeneratorConfig _generatorConfig = this.getGeneratorConfig();
+      _generatorConfig.setCreateCacheKind(cacheKind);
+      final IAcceptor<CompilationTestHelper.Result> _function = (CompilationTestHelper.Result it) -> {
+        try {
+          final Object instance = it.getCompiledClass().newInstance();
+          final Object forNull = this.call(instance, "multiple", null, Integer.valueOf(1));
+          Assert.assertEquals("[null, 1]", forNull.toString());
+          Assert.assertSame(forNull, this.call(instance, "multiple", null, Integer.valueOf(1)));
+          Assert.assertNotSame(forNull, this.call(instance, "multiple", null, Integer.valueOf(2)));
+          Assert.assertNotSame(forNull, this.call(instance, "multiple", "name", Integer.valueOf(1)));
+          Assert.assertSame(this.call(instance, "multiple", "name", Integer.valueOf(1)), this.call(instance, "multiple", "name", Integer.valueOf(1)));
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      this.compilationTestHelper.compile(this.source(), _function);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private XtendGeneratorConfig getGeneratorConfig() {
+    GeneratorConfig _get = this.generatorConfigProvider.get(null);
+    return ((XtendGeneratorConfig) _get);
+  }
+  
+  private Object call(final Object receiver, final String name, final Object... arguments) {
+    try {
+      final Function1<Method, Boolean> _function = (Method it) -> {
+        String _name = it.getName();
+        return Boolean.valueOf(Objects.equal(_name, name));
+      };
+      return IterableExtensions.<Method>findFirst(((Iterable<Method>)Conversions.doWrapArray(receiver.getClass().getMethods())), _function).invoke(receiver, arguments);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
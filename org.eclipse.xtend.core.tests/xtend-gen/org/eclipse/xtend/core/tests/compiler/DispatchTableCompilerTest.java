@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.compiler;
+
+import com.google.common.base.Objects;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtend.core.tests.XtendGeneratorConfigRuntimeInjectorProvider;
+import org.eclipse.xtend.core.tests.compiler.AbstractXtendCompilerTest;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
+import org.eclipse.xtext.xbase.testing.CompilationTestHelper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compiles and runs dispatch methods that look up their case in a dispatch table.
+ */
+@InjectWith(XtendGeneratorConfigRuntimeInjectorProvider.class)
+@SuppressWarnings("all")
+public class DispatchTableCompilerTest extends AbstractXtendCompilerTest {
+  @Before
+  public void enableDispatchTable() {
+    XtendGeneratorConfig _generatorConfig = this.getGeneratorConfig();
+    _generatorConfig.setJavaSourceVersion(JavaVersion.JAVA8);
+    XtendGeneratorConfig _generatorConfig_1 = this.getGeneratorConfig();
+    _generatorConfig_1.setDispatchTableThreshold(3);
+  }
+  
+  @Test
+  public void testNullArgument() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("class Dispatcher {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(String s) { \'string\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Void v) { \'null\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Number n) { \'number\' }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<Object> _function = (Object dispatcher) -> {
+      Assert.assertEquals("null", this.call(dispatcher, "describe", ((Object) null)));
+      Assert.assertEquals("string", this.call(dispatcher, "describe", "x"));
+      Assert.assertEquals("null", this.call(dispatcher, "describe", ((Object) null)));
+    };
+    this.compileWithTable(_builder, _function);
+  }
+  
+  @Test
+  public void testNullArgumentWithoutVoidCase() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("class Dispatcher {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(String s) { \'string\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Number n) { \'number\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Object o) { \'object\' }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<Object> _function = (Object dispatcher) -> {
+      Object _object = new Object();
+      Assert.assertEquals("object", this.call(dispatcher, "describe", _object));
+      this.assertIllegalArgument(dispatcher, null);
+    };
+    this.compileWithTable(_builder, _function);
+  }
+  
+  @Test
+  public void testSubclassBeforeSuperclass() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("class Dispatcher {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Object o) { \'object\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Number n) { \'number\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Integer i) { \'integer\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(CharSequence s) { \'chars\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(String s) { \'string\' }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<Object> _function = (Object dispatcher) -> {
+      Assert.assertEquals("number", this.call(dispatcher, "describe", Long.valueOf(1L)));
+      Assert.assertEquals("integer", this.call(dispatcher, "describe", Integer.valueOf(1)));
+      Assert.assertEquals("number", this.call(dispatcher, "describe", Double.valueOf(1.5)));
+      StringBuilder _stringBuilder = new StringBuilder();
+      Assert.assertEquals("chars", this.call(dispatcher, "describe", _stringBuilder));
+      Assert.assertEquals("string", this.call(dispatcher, "describe", "x"));
+      Object _object = new Object();
+      Assert.assertEquals("object", this.call(dispatcher, "describe", _object));
+    };
+    this.compileWithTable(_builder, _function);
+  }
+  
+  @Test
+  public void testInterfaces() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("class Dispatcher {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Iterable<?> i) { \'iterable\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(java.util.List<?> l) { \'list\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(CharSequence s) { \'chars\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Object o) { \'object\' }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<Object> _function = (Object dispatcher) -> {
+      ArrayList<Object> _arrayList = new ArrayList<Object>();
+      Assert.assertEquals("list", this.call(dispatcher, "describe", _arrayList));
+      Assert.assertEquals("iterable", this.call(dispatcher, "describe", CollectionLiterals.<Object>newHashSet()));
+      StringBuilder _stringBuilder = new StringBuilder();
+      Assert.assertEquals("chars", this.call(dispatcher, "describe", _stringBuilder));
+      Assert.assertEquals("object", this.call(dispatcher, "describe", Integer.valueOf(1)));
+      Assert.assertEquals("list", this.call(dispatcher, "describe", CollectionLiterals.<String>newArrayList("x")));
+    };
+    this.compileWithTable(_builder, _function);
+  }
+  
+  @Test
+  public void testUnmatchedType() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("class Dispatcher {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(String s) { \'string\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Integer i) { \'integer\' }");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("def dispatch describe(Long l) { \'long\' }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<Object> _function = (Object dispatcher) -> {
+      Assert.assertEquals("integer", this.call(dispatcher, "describe", Integer.valueOf(1)));
+      this.assertIllegalArgument(dispatcher, Double.valueOf(1.5));
+      this.assertIllegalArgument(dispatcher, null);
+      Assert.assertEquals("long", this.call(dispatcher, "describe", Long.valueOf(1L)));
+    };
+    this.compileWithTable(_builder, _function);
+  }
+  
+  private void compileWithTable(final CharSequence source, final Procedure1<? super Object> assertions) {
+    try {
+      final IAcceptor<CompilationTestHelper.Result> _function = (CompilationTestHelper.Result it) -> {
+        try {
+          final String javaCode = it.getGeneratedCode("Dispatcher");
+          Assert.assertTrue(javaCode, javaCode.contains("ClassValue<Integer> _dispatchTable_describe"));
+          Assert.assertFalse(javaCode, javaCode.contains("instanceof"));
+          assertions.apply(it.getCompiledClass("Dispatcher").newInstance());
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      this.compilationTestHelper.compile(source, _function);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void assertIllegalArgument(final Object receiver, final Object argument) {
+    try {
+      this.call(receiver, "describe", argument);
+      Assert.fail(("IllegalArgumentException expected for " + argument));
+    } catch (final Throwable _t) {
+      if (_t instanceof InvocationTargetException) {
+        final InvocationTargetException e = (InvocationTargetException)_t;
+        Assert.assertTrue(e.getCause().toString(), (e.getCause() instanceof IllegalArgumentException));
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  private XtendGeneratorConfig getGeneratorConfig() {
+    GeneratorConfig _get = this.generatorConfigProvider.get(null);
+    return ((XtendGeneratorConfig) _get);
+  }
+  
+  private Object call(final Object receiver, final String name, final Object... arguments) {
+    try {
+      final Function1<Method, Boolean> _function = (Method it) -> {
+        String _name = it.getName();
+        return Boolean.valueOf(Objects.equal(_name, name));
+      };
+      return IterableExtensions.<Method>findFirst(((Iterable<Method>)Conversions.doWrapArray(receiver.getClass().getMethods())), _function).invoke(receiver, arguments);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
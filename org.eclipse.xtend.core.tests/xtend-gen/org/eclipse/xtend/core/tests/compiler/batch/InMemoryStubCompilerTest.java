@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.compiler.batch;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.eclipse.xtend.core.compiler.batch.InMemoryClassLoader;
+import org.eclipse.xtend.core.compiler.batch.InMemoryStubCompiler;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class InMemoryStubCompilerTest extends Assert {
+  @Test
+  public void testResolveTypeCompiledInMemory() {
+    try {
+      final List<String> bootClassPath = InMemoryStubCompiler.getRunningVMBootClassPath();
+      Assume.assumeNotNull(bootClassPath);
+      final HashMap<String, CharSequence> sources = CollectionLiterals.<String, CharSequence>newHashMap();
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("package mypackage;");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("public class JavaOnly {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("public String foo() {");
+      _builder.newLine();
+      _builder.append("\t\t");
+      _builder.append("return \"foo\";");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      sources.put("mypackage/JavaOnly.java", _builder);
+      final HashMap<String, byte[]> classes = CollectionLiterals.<String, byte[]>newHashMap();
+      Assert.assertTrue(new InMemoryStubCompiler(bootClassPath, "1.8", "UTF-8").compile(sources, CollectionLiterals.<File>emptyList(), CollectionLiterals.<String, byte[]>emptyMap(), classes));
+      Assert.assertEquals(Collections.<String>unmodifiableSet(CollectionLiterals.<String>newHashSet("mypackage/JavaOnly")), classes.keySet());
+      ClassLoader _systemClassLoader = ClassLoader.getSystemClassLoader();
+      final InMemoryClassLoader classLoader = new InMemoryClassLoader(classes, _systemClassLoader);
+      try {
+        XtextResourceSet _xtextResourceSet = new XtextResourceSet();
+        JvmType _findTypeByName = new ClasspathTypeProvider(classLoader, _xtextResourceSet, null, null).findTypeByName("mypackage.JavaOnly");
+        final JvmGenericType type = ((JvmGenericType) _findTypeByName);
+        final JvmOperation operation = IterableExtensions.<JvmOperation>head(type.getDeclaredOperations());
+        Assert.assertEquals("foo", operation.getSimpleName());
+        Assert.assertEquals("java.lang.String", operation.getReturnType().getIdentifier());
+        final Object instance = classLoader.loadClass("mypackage.JavaOnly").newInstance();
+        Assert.assertEquals("foo", instance.getClass().getMethod("foo").invoke(instance));
+      } finally {
+        classLoader.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testClassFilesAsResources() {
+    try {
+      final HashMap<String, byte[]> classes = CollectionLiterals.<String, byte[]>newHashMap();
+      classes.put("mypackage/JavaOnly", "content".getBytes());
+      ClassLoader _systemClassLoader = ClassLoader.getSystemClassLoader();
+      final InMemoryClassLoader classLoader = new InMemoryClassLoader(classes, _systemClassLoader);
+      try {
+        final URL url = classLoader.getResource("mypackage/JavaOnly.class");
+        Assert.assertEquals("memory", url.getProtocol());
+        Assert.assertArrayEquals("content".getBytes(), this.readAndClose(url.openStream()));
+        Assert.assertEquals(Collections.<URL>unmodifiableList(CollectionLiterals.<URL>newArrayList(url)), Collections.<URL>list(classLoader.getResources("mypackage/JavaOnly.class")));
+        Assert.assertArrayEquals("content".getBytes(), this.readAndClose(classLoader.getResourceAsStream("mypackage/JavaOnly.class")));
+        Assert.assertNull(classLoader.getResource("mypackage/JavaOnly"));
+        Assert.assertNull(classLoader.getResource("mypackage/Missing.class"));
+        Assert.assertNotNull(classLoader.getResource("java/lang/Object.class"));
+      } finally {
+        classLoader.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private byte[] readAndClose(final InputStream stream) {
+    try {
+      byte[] _xtrycatchfinallyexpression = null;
+      try {
+        _xtrycatchfinallyexpression = ByteStreams.toByteArray(stream);
+      } finally {
+        stream.close();
+      }
+      return _xtrycatchfinallyexpression;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
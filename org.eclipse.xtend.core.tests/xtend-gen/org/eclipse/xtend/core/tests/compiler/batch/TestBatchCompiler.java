@@ -8,14 +8,24 @@
 package org.eclipse.xtend.core.tests.compiler.batch;
 
 import com.google.common.base.Charsets;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import org.apache.log4j.Level;
+import org.eclipse.xtend.core.compiler.batch.InMemoryStubCompiler;
+import org.eclipse.xtend.core.compiler.batch.IncrementalBuildState;
 import org.eclipse.xtend.core.compiler.batch.XtendBatchCompiler;
 import org.eclipse.xtend.core.tests.RuntimeInjectorProvider;
 import org.eclipse.xtend2.lib.StringConcatenation;
@@ -25,6 +35,7 @@ import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.testing.logging.LoggingTester;
 import org.eclipse.xtext.testing.smoketest.IgnoredBySmokeTest;
 import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.workspace.FileProjectConfig;
 import org.eclipse.xtext.workspace.FileSourceFolder;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
@@ -33,11 +44,13 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.InputOutput;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -73,6 +86,10 @@ public class TestBatchCompiler {
   
   private static String BUG417177_OUTPUT_DIRECTORY = "./batch-compiler-data/bug417177/dir3/bin";
   
+  private static String CREATE_CACHE_SRC_DIRECTORY = "./batch-compiler-data/createCache";
+  
+  private static String DISPATCH_TABLE_SRC_DIRECTORY = "./batch-compiler-data/dispatchTable";
+  
   private static String TEMP_DIRECTORY = "./test-temp-dir";
   
   private static String TEMP_DIRECTORY_WITH_SPACES = "./test temp dir";
@@ -606,6 +623,400 @@ public class TestBatchCompiler {
     Assert.assertEquals(0, ((List<String>)Conversions.doWrapArray(new File((TestBatchCompiler.OUTPUT_DIRECTORY + "/test")).list(_function_1))).size());
   }
   
+  @Test
+  public void testSkipUnaffectedMatchesFullBuild() {
+    try {
+      this.batchCompiler.compile();
+      final FilenameFilter _function = (File dir, String name) -> {
+        return name.endsWith(".java");
+      };
+      final String[] javaFiles = new File((TestBatchCompiler.OUTPUT_DIRECTORY + "/test")).list(_function);
+      final Function1<String, String> _function_1 = (String it) -> {
+        return this.getContents(((TestBatchCompiler.OUTPUT_DIRECTORY + "/test/") + it));
+      };
+      final List<String> fullBuild = IterableExtensions.<String>toList(ListExtensions.<String, String>map(((List<String>)Conversions.doWrapArray(javaFiles)), _function_1));
+      File _file = new File(TestBatchCompiler.OUTPUT_DIRECTORY);
+      Files.cleanFolder(_file, null, true, false);
+      this.batchCompiler.setSkipUnaffectedStateFile(new File(TestBatchCompiler.TEMP_DIRECTORY, "build.state").getPath());
+      Assert.assertTrue(this.batchCompiler.compile());
+      final Function1<String, String> _function_2 = (String it) -> {
+        return this.getContents(((TestBatchCompiler.OUTPUT_DIRECTORY + "/test/") + it));
+      };
+      Assert.assertEquals(fullBuild, IterableExtensions.<String>toList(ListExtensions.<String, String>map(((List<String>)Conversions.doWrapArray(javaFiles)), _function_2)));
+      String _head = IterableExtensions.<String>head(((Iterable<String>)Conversions.doWrapArray(javaFiles)));
+      String _plus = ((TestBatchCompiler.OUTPUT_DIRECTORY + "/test/") + _head);
+      final File javaFile = new File(_plus);
+      javaFile.setLastModified(0);
+      Assert.assertTrue(this.batchCompiler.compile());
+      Assert.assertEquals(0, javaFile.lastModified());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testConcurrentCreateCache() {
+    this.batchCompiler.setSourcePath(TestBatchCompiler.CREATE_CACHE_SRC_DIRECTORY);
+    this.batchCompiler.setCreateCacheKind("concurrent");
+    Assert.assertTrue(this.batchCompiler.compile());
+    final String javaCode = this.getContents((TestBatchCompiler.OUTPUT_DIRECTORY + "/mypackage/CreateCache.java"));
+    Assert.assertTrue(javaCode, javaCode.contains("ConcurrentHashMap<Object, ArrayList<String>> _createCache_single"));
+    Assert.assertTrue(javaCode, javaCode.contains("_createCacheNullKey_single"));
+    Assert.assertTrue(javaCode, javaCode.contains("_createCache_multiple.putIfAbsent(_cacheKey, _result)"));
+    Assert.assertFalse(javaCode, javaCode.contains("synchronized"));
+  }
+  
+  @Test
+  public void testWeakKeysCreateCache() {
+    this.batchCompiler.setSourcePath(TestBatchCompiler.CREATE_CACHE_SRC_DIRECTORY);
+    this.batchCompiler.setCreateCacheKind("weak_keys");
+    Assert.assertTrue(this.batchCompiler.compile());
+    final String javaCode = this.getContents((TestBatchCompiler.OUTPUT_DIRECTORY + "/mypackage/CreateCache.java"));
+    Assert.assertTrue(javaCode, javaCode.contains("Collections.<Object, ArrayList<String>>synchronizedMap(new WeakHashMap<Object, ArrayList<String>>())"));
+    Assert.assertTrue(javaCode, javaCode.contains("_createCache_single.get(name)"));
+    Assert.assertTrue(javaCode, javaCode.contains("_createCache_multiple.putIfAbsent(_cacheKey, _result)"));
+  }
+  
+  @Test
+  public void testDispatchTable() {
+    this.batchCompiler.setSourcePath(TestBatchCompiler.DISPATCH_TABLE_SRC_DIRECTORY);
+    this.batchCompiler.setDispatchTableThreshold(3);
+    Assert.assertTrue(this.batchCompiler.compile());
+    final String javaCode = this.getContents((TestBatchCompiler.OUTPUT_DIRECTORY + "/mypackage/DispatchTable.java"));
+    Assert.assertTrue(javaCode, javaCode.contains("private static final ClassValue<Integer> _dispatchTable_describe"));
+    Assert.assertTrue(javaCode, javaCode.contains("String.class.isAssignableFrom(type)"));
+    Assert.assertTrue(javaCode, javaCode.contains(".get(s.getClass()).intValue()"));
+    Assert.assertFalse(javaCode, javaCode.contains("instanceof"));
+  }
+  
+  @Test
+  public void testDispatchTableBelowThreshold() {
+    this.batchCompiler.setSourcePath(TestBatchCompiler.DISPATCH_TABLE_SRC_DIRECTORY);
+    this.batchCompiler.setDispatchTableThreshold(5);
+    Assert.assertTrue(this.batchCompiler.compile());
+    final String javaCode = this.getContents((TestBatchCompiler.OUTPUT_DIRECTORY + "/mypackage/DispatchTable.java"));
+    Assert.assertFalse(javaCode, javaCode.contains("ClassValue"));
+    Assert.assertTrue(javaCode, javaCode.contains("instanceof String"));
+  }
+  
+  @Test
+  public void testCompileStubsInMemory() {
+    this.batchCompiler.setCompileStubsInMemory(true);
+    this.batchCompiler.setTempDirectory(TestBatchCompiler.TEMP_DIRECTORY);
+    this.batchCompiler.setDeleteTempDirectory(false);
+    Assert.assertTrue(this.batchCompiler.compile());
+    File _file = new File((TestBatchCompiler.OUTPUT_DIRECTORY + "/test/XtendA.java"));
+    Assert.assertTrue(_file.exists());
+    List<String> _runningVMBootClassPath = InMemoryStubCompiler.getRunningVMBootClassPath();
+    boolean _tripleNotEquals = (_runningVMBootClassPath != null);
+    if (_tripleNotEquals) {
+      final File tempDir = new File(TestBatchCompiler.TEMP_DIRECTORY);
+      final Function1<String, Boolean> _function = (String it) -> {
+        return Boolean.valueOf((it.startsWith("stubs") || it.startsWith("classes")));
+      };
+      Assert.assertFalse((tempDir.exists() && IterableExtensions.<String>exists(((Iterable<String>)Conversions.doWrapArray(tempDir.list())), _function)));
+    }
+  }
+  
+  @Test
+  public void testCompilationReport() {
+    final File reportFile = new File(TestBatchCompiler.TEMP_DIRECTORY, "report.json");
+    this.batchCompiler.setReportFile(reportFile.getPath());
+    Assert.assertTrue(this.batchCompiler.compile());
+    final JsonObject report = new JsonParser().parse(this.getContents(reportFile.getPath())).getAsJsonObject();
+    Assert.assertTrue(report.get("success").getAsBoolean());
+    final Function1<JsonElement, JsonObject> _function = (JsonElement it) -> {
+      return it.getAsJsonObject();
+    };
+    final Function1<JsonObject, String> _function_1 = (JsonObject it) -> {
+      return it.get("name").getAsString();
+    };
+    final Map<String, JsonObject> phases = IterableExtensions.<String, JsonObject>toMap(IterableExtensions.<JsonElement, JsonObject>map(report.getAsJsonArray("phases"), _function), _function_1);
+    List<String> _unmodifiableList = Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("loading", "stubGeneration", "stubCompilation", "javaCompilation", "resolving", "validation", "generation"));
+    for (final String phase : _unmodifiableList) {
+      {
+        Assert.assertTrue(phase, phases.containsKey(phase));
+        long _asLong = phases.get(phase).get("wallTime").getAsLong();
+        boolean _greaterEqualsThan = (_asLong >= 0);
+        Assert.assertTrue(phase, _greaterEqualsThan);
+      }
+    }
+    Assert.assertNotNull(report.getAsJsonArray("activeAnnotations"));
+    final JsonArray slowestFiles = report.getAsJsonArray("slowestFiles");
+    Assert.assertNotEquals(0, slowestFiles.size());
+    for (final JsonElement file : slowestFiles) {
+      {
+        Assert.assertTrue(file.getAsJsonObject().has("uri"));
+        Assert.assertTrue(file.getAsJsonObject().has("time"));
+      }
+    }
+  }
+  
+  @Test
+  public void testCompilationReportRestoresStopwatches() {
+    this.batchCompiler.setReportFile(new File(TestBatchCompiler.TEMP_DIRECTORY, "report.json").getPath());
+    Assert.assertTrue(this.batchCompiler.compile());
+    Assert.assertSame(Stopwatches.forTask("TestBatchCompiler"), Stopwatches.forTask("TestBatchCompiler"));
+    Stopwatches.setEnabled(true);
+    try {
+      final Stopwatches.StoppedTask task = Stopwatches.forTask("TestBatchCompiler");
+      task.start();
+      task.stop();
+      Assert.assertTrue(this.batchCompiler.compile());
+      Assert.assertEquals(1, Stopwatches.allNumbers().get("TestBatchCompiler").getNumberOfMeasurements());
+      Assert.assertNotSame(Stopwatches.forTask("TestBatchCompiler"), Stopwatches.forTask("TestBatchCompiler"));
+    } finally {
+      Stopwatches.resetAll();
+      Stopwatches.setEnabled(false);
+    }
+  }
+  
+  @Test
+  public void testCompilationReportRestoresAllocatedMemoryMeasurement() {
+    final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue((threadBean instanceof com.sun.management.ThreadMXBean));
+    final com.sun.management.ThreadMXBean bean = ((com.sun.management.ThreadMXBean) threadBean);
+    Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+    final boolean wasEnabled = bean.isThreadAllocatedMemoryEnabled();
+    try {
+      bean.setThreadAllocatedMemoryEnabled(false);
+      final File reportFile = new File(TestBatchCompiler.TEMP_DIRECTORY, "report.json");
+      this.batchCompiler.setReportFile(reportFile.getPath());
+      Assert.assertTrue(this.batchCompiler.compile());
+      Assert.assertFalse(bean.isThreadAllocatedMemoryEnabled());
+      final JsonArray phases = new JsonParser().parse(this.getContents(reportFile.getPath())).getAsJsonObject().getAsJsonArray("phases");
+      final Function1<JsonElement, Boolean> _function = (JsonElement it) -> {
+        long _asLong = it.getAsJsonObject().get("allocatedBytes").getAsLong();
+        return Boolean.valueOf((_asLong > 0));
+      };
+      Assert.assertTrue(IterableExtensions.<JsonElement>exists(phases, _function));
+    } finally {
+      bean.setThreadAllocatedMemoryEnabled(wasEnabled);
+    }
+  }
+  
+  @Test
+  public void testSkipUnaffectedWithoutChanges() {
+    final File stateFile = new File(TestBatchCompiler.TEMP_DIRECTORY, "build.state");
+    this.batchCompiler.setSkipUnaffectedStateFile(stateFile.getPath());
+    Assert.assertTrue(this.batchCompiler.compile());
+    Assert.assertTrue(stateFile.exists());
+    final FilenameFilter _function = (File dir, String name) -> {
+      return name.endsWith(".java");
+    };
+    final File[] javaFiles = new File((TestBatchCompiler.OUTPUT_DIRECTORY + "/test")).listFiles(_function);
+    final Consumer<File> _function_1 = (File it) -> {
+      it.setLastModified(0);
+    };
+    ((List<File>)Conversions.doWrapArray(javaFiles)).forEach(_function_1);
+    Assert.assertTrue(this.batchCompiler.compile());
+    final Consumer<File> _function_2 = (File it) -> {
+      Assert.assertEquals(it.getName(), 0, it.lastModified());
+    };
+    ((List<File>)Conversions.doWrapArray(javaFiles)).forEach(_function_2);
+  }
+  
+  @Test
+  public void testSkipUnaffectedStateFormat() {
+    try {
+      final File stateFile = new File(TestBatchCompiler.TEMP_DIRECTORY, "build.state");
+      this.batchCompiler.setSkipUnaffectedStateFile(stateFile.getPath());
+      Assert.assertTrue(this.batchCompiler.compile());
+      final IncrementalBuildState state = IncrementalBuildState.read(stateFile);
+      Assert.assertNotNull(state);
+      final File copyFile = new File(TestBatchCompiler.TEMP_DIRECTORY, "build.state.copy");
+      state.write(copyFile);
+      final IncrementalBuildState copy = IncrementalBuildState.read(copyFile);
+      Assert.assertEquals(state.getConfigurationHash(), copy.getConfigurationHash());
+      Assert.assertEquals(state.getOtherSourceHashes(), copy.getOtherSourceHashes());
+      Assert.assertEquals(state.getSources().keySet(), copy.getSources().keySet());
+      Set<String> _keySet = state.getSources().keySet();
+      for (final String uri : _keySet) {
+        {
+          final IncrementalBuildState.SourceState expected = state.getSources().get(uri);
+          final IncrementalBuildState.SourceState actual = copy.getSources().get(uri);
+          Assert.assertEquals(expected.getContentHash(), actual.getContentHash());
+          Assert.assertEquals(expected.getExportsHash(), actual.getExportsHash());
+          Assert.assertEquals(expected.getExportedNames(), actual.getExportedNames());
+          Assert.assertEquals(expected.getImportedNames(), actual.getImportedNames());
+          Assert.assertEquals(expected.getGeneratedFiles(), actual.getGeneratedFiles());
+        }
+      }
+      com.google.common.io.Files.write("not a build state", stateFile, Charsets.UTF_8);
+      Assert.assertNull(IncrementalBuildState.read(stateFile));
+      Assert.assertTrue(this.batchCompiler.compile());
+      Assert.assertNotNull(IncrementalBuildState.read(stateFile));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testSkipUnaffectedRegeneratesChangedSourceAndImporters() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("package a");
+      _builder.newLine();
+      _builder.append("class A {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("def foo() { \"\" }");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      final File a = this.writeSource("a/A.xtend", _builder);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("package b");
+      _builder_1.newLine();
+      _builder_1.append("class B {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("def bar() { new a.A().foo }");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      this.writeSource("b/B.xtend", _builder_1);
+      StringConcatenation _builder_2 = new StringConcatenation();
+      _builder_2.append("package c");
+      _builder_2.newLine();
+      _builder_2.append("class C {");
+      _builder_2.newLine();
+      _builder_2.append("}");
+      _builder_2.newLine();
+      this.writeSource("c/C.xtend", _builder_2);
+      Assert.assertTrue(this.compileSkippingUnaffected());
+      final File aJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "a/A.java");
+      final File bJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "b/B.java");
+      final File cJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "c/C.java");
+      aJava.setLastModified(0);
+      bJava.setLastModified(0);
+      cJava.setLastModified(0);
+      StringConcatenation _builder_3 = new StringConcatenation();
+      _builder_3.append("package a");
+      _builder_3.newLine();
+      _builder_3.append("class A {");
+      _builder_3.newLine();
+      _builder_3.append("\t");
+      _builder_3.append("def foo() { 1 }");
+      _builder_3.newLine();
+      _builder_3.append("}");
+      _builder_3.newLine();
+      com.google.common.io.Files.write(_builder_3, a, Charsets.UTF_8);
+      Assert.assertTrue(this.compileSkippingUnaffected());
+      Assert.assertNotEquals(0, aJava.lastModified());
+      Assert.assertNotEquals(0, bJava.lastModified());
+      Assert.assertTrue(this.getContents(bJava.getPath()).contains("public int bar()"));
+      Assert.assertEquals(0, cJava.lastModified());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testSkipUnaffectedFullBuildOnJavaChange() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("package c");
+      _builder.newLine();
+      _builder.append("class C {");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      this.writeSource("c/C.xtend", _builder);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("package j;");
+      _builder_1.newLine();
+      _builder_1.append("public class J {}");
+      _builder_1.newLine();
+      final File java = this.writeSource("j/J.java", _builder_1);
+      Assert.assertTrue(this.compileSkippingUnaffected());
+      final File cJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "c/C.java");
+      cJava.setLastModified(0);
+      StringConcatenation _builder_2 = new StringConcatenation();
+      _builder_2.append("package j;");
+      _builder_2.newLine();
+      _builder_2.append("public class J { public int i; }");
+      _builder_2.newLine();
+      com.google.common.io.Files.write(_builder_2, java, Charsets.UTF_8);
+      final Runnable _function = () -> {
+        Assert.assertTrue(this.compileSkippingUnaffected());
+      };
+      final LoggingTester.LogCapture log = LoggingTester.captureLogging(Level.INFO, XtendBatchCompiler.class, _function);
+      log.assertLogEntry("Java sources changed");
+      Assert.assertNotEquals(0, cJava.lastModified());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testSkipUnaffectedFullBuildOnConfigurationChange() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("package c");
+    _builder.newLine();
+    _builder.append("class C {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    this.writeSource("c/C.xtend", _builder);
+    Assert.assertTrue(this.compileSkippingUnaffected());
+    final File cJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "c/C.java");
+    Assert.assertTrue(this.getContents(cJava.getPath()).contains("@SuppressWarnings"));
+    this.batchCompiler.setGenerateSyntheticSuppressWarnings(false);
+    final Runnable _function = () -> {
+      Assert.assertTrue(this.compileSkippingUnaffected());
+    };
+    final LoggingTester.LogCapture log = LoggingTester.captureLogging(Level.INFO, XtendBatchCompiler.class, _function);
+    log.assertLogEntry("configuration changed");
+    Assert.assertFalse(this.getContents(cJava.getPath()).contains("@SuppressWarnings"));
+  }
+  
+  @Test
+  public void testSkipUnaffectedDeletesOutputsOfRemovedSource() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("package a");
+    _builder.newLine();
+    _builder.append("class A {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    this.writeSource("a/A.xtend", _builder);
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("package c");
+    _builder_1.newLine();
+    _builder_1.append("class C {");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    final File c = this.writeSource("c/C.xtend", _builder_1);
+    Assert.assertTrue(this.compileSkippingUnaffected());
+    final File aJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "a/A.java");
+    final File cJava = new File(TestBatchCompiler.OUTPUT_DIRECTORY, "c/C.java");
+    Assert.assertTrue(cJava.exists());
+    aJava.setLastModified(0);
+    Assert.assertTrue(c.delete());
+    Assert.assertTrue(this.compileSkippingUnaffected());
+    Assert.assertFalse(cJava.exists());
+    Assert.assertEquals(0, aJava.lastModified());
+  }
+  
+  private File writeSource(final String path, final CharSequence contents) {
+    try {
+      final File file = new File(((TestBatchCompiler.TEMP_DIRECTORY + "/src/") + path));
+      file.getParentFile().mkdirs();
+      com.google.common.io.Files.write(contents, file, Charsets.UTF_8);
+      return file;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private boolean compileSkippingUnaffected() {
+    this.batchCompiler.setSourcePath((TestBatchCompiler.TEMP_DIRECTORY + "/src"));
+    this.batchCompiler.setSkipUnaffectedStateFile((TestBatchCompiler.TEMP_DIRECTORY + "/build.state"));
+    return this.batchCompiler.compile();
+  }
+  
   @Test
   public void testCompileSymlinkedResource() {
     final String tstResources = new File("./batch-compiler-data/test-resources/").toURI().normalize().getPath();
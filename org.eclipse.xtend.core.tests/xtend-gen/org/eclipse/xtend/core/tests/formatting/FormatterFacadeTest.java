@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.formatting;
+
+import com.google.inject.Inject;
+import java.util.Collections;
+import org.eclipse.xtend.core.formatting2.FormatterFacade;
+import org.eclipse.xtend.core.tests.AbstractXtendTestCase;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class FormatterFacadeTest extends AbstractXtendTestCase {
+  @Inject
+  private FormatterFacade formatterFacade;
+  
+  private final String code = new Function0<String>() {
+    public String apply() {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("class C {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("def   a() {  1  }");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("def   b() {  2  }");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      return _builder.toString();
+    }
+  }.apply();
+  
+  @Test
+  public void testFormatAll() {
+    final String formatted = this.formatterFacade.format(this.code);
+    Assert.assertFalse(formatted, formatted.contains("def   a"));
+    Assert.assertFalse(formatted, formatted.contains("def   b"));
+  }
+  
+  @Test
+  public void testFormatRegion() {
+    final String member = "def   b() {  2  }";
+    int _indexOf = this.code.indexOf(member);
+    int _length = member.length();
+    TextRegion _textRegion = new TextRegion(_indexOf, _length);
+    final String formatted = this.formatterFacade.format(this.code, Collections.<TextRegion>unmodifiableList(CollectionLiterals.<TextRegion>newArrayList(_textRegion)));
+    Assert.assertTrue(formatted, formatted.contains("def   a() {  1  }"));
+    Assert.assertFalse(formatted, formatted.contains("def   b"));
+  }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.macro;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.xtend.core.macro.ActiveAnnotationContext;
+import org.eclipse.xtend.core.macro.declaration.CompilationUnitImpl;
+import org.eclipse.xtend.core.tests.macro.TestableCancellationObserver;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class CancellationObserverTest {
+  private final static long TIMEOUT = 5000L;
+  
+  private final TestableCancellationObserver observer = new TestableCancellationObserver();
+  
+  @After
+  public void tearDown() {
+    this.observer.stop();
+  }
+  
+  @Test
+  public void testPhaseWithoutCancelIndicatorIsNotObserved() {
+    final Function0<Boolean> _function = () -> {
+      return Boolean.valueOf(false);
+    };
+    Assert.assertTrue(this.observer.monitorUntil(this.createContext(), null, _function).isDone());
+    final Function0<Boolean> _function_1 = () -> {
+      return Boolean.valueOf(false);
+    };
+    Assert.assertTrue(this.observer.monitorUntil(this.createContext(), CancelIndicator.NullImpl, _function_1).isDone());
+    Assert.assertEquals(0, this.observer.getMonitoredCount());
+    Assert.assertFalse(this.observer.isWatching());
+  }
+  
+  @Test
+  public void testCanceledPhaseMarksCompilationUnit() {
+    try {
+      final ActiveAnnotationContext ctx = this.createContext();
+      final AtomicBoolean canceled = new AtomicBoolean();
+      final CancelIndicator _function = () -> {
+        return canceled.get();
+      };
+      final Function0<Boolean> _function_1 = () -> {
+        return Boolean.valueOf(false);
+      };
+      final Future<?> observed = this.observer.monitorUntil(ctx, _function, _function_1);
+      Assert.assertTrue(this.observer.isWatching());
+      Assert.assertEquals(1, this.observer.getInFlightCount());
+      ctx.getCompilationUnit().checkCanceled();
+      canceled.set(true);
+      observed.get(CancellationObserverTest.TIMEOUT, TimeUnit.MILLISECONDS);
+      Assert.assertEquals(1, this.observer.getCanceledCount());
+      Assert.assertEquals(0, this.observer.getInFlightCount());
+      try {
+        ctx.getCompilationUnit().checkCanceled();
+        Assert.fail();
+      } catch (final Throwable _t) {
+        if (_t instanceof CancellationException) {
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      this.observer.waitUntilIdle();
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testFinishedPhaseIsDropped() {
+    try {
+      final ActiveAnnotationContext ctx = this.createContext();
+      final CancelIndicator _function = () -> {
+        return true;
+      };
+      final Function0<Boolean> _function_1 = () -> {
+        return Boolean.valueOf(true);
+      };
+      final Future<?> observed = this.observer.monitorUntil(ctx, _function, _function_1);
+      Assert.assertEquals(0, this.observer.getInFlightCount());
+      observed.get(CancellationObserverTest.TIMEOUT, TimeUnit.MILLISECONDS);
+      Assert.assertEquals(0, this.observer.getCanceledCount());
+      ctx.getCompilationUnit().checkCanceled();
+      this.observer.waitUntilIdle();
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testMetrics() {
+    try {
+      final AtomicBoolean finished = new AtomicBoolean();
+      final Function1<Integer, Future<?>> _function = (Integer it) -> {
+        final CancelIndicator _function_1 = () -> {
+          return false;
+        };
+        final Function0<Boolean> _function_2 = () -> {
+          return Boolean.valueOf(finished.get());
+        };
+        return this.observer.monitorUntil(this.createContext(), _function_1, _function_2);
+      };
+      final List<Future<?>> observed = IterableExtensions.<Future<?>>toList(IterableExtensions.<Integer, Future<?>>map(new IntegerRange(1, 3), _function));
+      Assert.assertEquals(3, this.observer.getInFlightCount());
+      Assert.assertEquals(3, this.observer.getPeakInFlightCount());
+      Assert.assertEquals(3, this.observer.getMonitoredCount());
+      finished.set(true);
+      final Procedure1<Future<?>> _function_1 = (Future<?> it) -> {
+        try {
+          it.get(CancellationObserverTest.TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      IterableExtensions.<Future<?>>forEach(observed, _function_1);
+      this.observer.waitUntilIdle();
+      final CancelIndicator _function_2 = () -> {
+        return false;
+      };
+      final Function0<Boolean> _function_3 = () -> {
+        return Boolean.valueOf(true);
+      };
+      this.observer.monitorUntil(this.createContext(), _function_2, _function_3).get(CancellationObserverTest.TIMEOUT, TimeUnit.MILLISECONDS);
+      Assert.assertEquals(0, this.observer.getInFlightCount());
+      Assert.assertEquals(3, this.observer.getPeakInFlightCount());
+      Assert.assertEquals(4, this.observer.getMonitoredCount());
+      Assert.assertEquals(0, this.observer.getCanceledCount());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testStoppedObserverDoesNotFail() {
+    this.observer.stop();
+    final CancelIndicator _function = () -> {
+      return false;
+    };
+    final Function0<Boolean> _function_1 = () -> {
+      return Boolean.valueOf(false);
+    };
+    final Future<?> observed = this.observer.monitorUntil(this.createContext(), _function, _function_1);
+    Assert.assertFalse(observed.isDone());
+    Assert.assertFalse(this.observer.isWatching());
+  }
+  
+  private ActiveAnnotationContext createContext() {
+    ActiveAnnotationContext _activeAnnotationContext = new ActiveAnnotationContext();
+    final Procedure1<ActiveAnnotationContext> _function = (ActiveAnnotationContext it) -> {
+      CompilationUnitImpl _compilationUnitImpl = new CompilationUnitImpl();
+      it.setCompilationUnit(_compilationUnitImpl);
+    };
+    return ObjectExtensions.<ActiveAnnotationContext>operator_doubleArrow(_activeAnnotationContext, _function);
+  }
+}
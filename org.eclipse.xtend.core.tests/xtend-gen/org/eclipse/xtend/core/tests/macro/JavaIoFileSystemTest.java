@@ -7,12 +7,16 @@
  */
 package org.eclipse.xtend.core.tests.macro;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.net.URI;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtend.core.macro.AbstractFileSystemSupport;
 import org.eclipse.xtend.core.macro.JavaIOFileSystemSupport;
+import org.eclipse.xtend.core.macro.OutputManifest;
 import org.eclipse.xtend.lib.macro.file.MutableFileSystemSupport;
 import org.eclipse.xtend.lib.macro.file.Path;
 import org.eclipse.xtend2.lib.StringConcatenation;
@@ -147,6 +151,53 @@ public class JavaIoFileSystemTest {
     }
   }
   
+  @Test
+  public void testOutputManifest() {
+    try {
+      final OutputManifest manifest = new OutputManifest();
+      ((AbstractFileSystemSupport) this.fs).setOutputManifest(manifest);
+      final Path path = new Path("/foo/src/my/pack/Foo.txt");
+      this.fs.setContents(path, "Hello Foo");
+      Assert.assertEquals(1, manifest.size());
+      final long mod = this.fs.getLastModification(path);
+      this.fs.setContents(path, "Hello Foo");
+      Assert.assertEquals(mod, this.fs.getLastModification(path));
+      URI _uRI = this.fs.toURI(path);
+      final File file = new File(_uRI);
+      Files.write("Hello Bar", file, Charsets.UTF_8);
+      file.setLastModified((mod - 2000));
+      this.fs.setContents(path, "Hello Foo");
+      Assert.assertEquals("Hello Foo", this.fs.getContents(path));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testOutputManifestOfContext() {
+    try {
+      final AbstractFileSystemSupport support = ((AbstractFileSystemSupport) this.fs);
+      Assert.assertNull(support.getOutputManifest());
+      final OutputManifest manifest = new OutputManifest();
+      manifest.attachToEmfObject(support.getContext());
+      final Path path = new Path("/foo/src/my/pack/Foo.txt");
+      this.fs.setContents(path, "Hello Foo");
+      Assert.assertSame(manifest, support.getOutputManifest());
+      Assert.assertEquals(1, manifest.size());
+      File _newFolder = this.temporaryFolder.newFolder();
+      final File file = new File(_newFolder, "manifest");
+      manifest.write(file);
+      final OutputManifest read = new OutputManifest();
+      read.read(file);
+      Assert.assertEquals(1, read.size());
+      Files.write("Hello Foo", file, Charsets.UTF_8);
+      read.read(file);
+      Assert.assertEquals(0, read.size());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   @Test
   public void testGetWorkspaceChildren() {
     final Function1<Path, CharSequence> _function = (Path it) -> {
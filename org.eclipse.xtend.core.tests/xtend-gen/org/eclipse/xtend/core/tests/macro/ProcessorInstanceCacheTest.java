@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.macro;
+
+import org.eclipse.xtend.core.macro.ProcessorInstanceForJvmTypeProvider;
+import org.eclipse.xtend.core.tests.macro.NonReusableTestProcessor;
+import org.eclipse.xtend.core.tests.macro.ReusableTestProcessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class ProcessorInstanceCacheTest {
+  @Test
+  public void testReusableProcessorIsShared() {
+    final ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter adapter = this.createAdapter();
+    final Object first = adapter.getProcessorInstance(ReusableTestProcessor.class.getName());
+    Assert.assertTrue((first instanceof ReusableTestProcessor));
+    Assert.assertSame(first, adapter.getProcessorInstance(ReusableTestProcessor.class.getName()));
+  }
+  
+  @Test
+  public void testNonReusableProcessorIsNotShared() {
+    final ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter adapter = this.createAdapter();
+    final Object first = adapter.getProcessorInstance(NonReusableTestProcessor.class.getName());
+    Assert.assertTrue((first instanceof NonReusableTestProcessor));
+    Assert.assertNotSame(first, adapter.getProcessorInstance(NonReusableTestProcessor.class.getName()));
+  }
+  
+  @Test
+  public void testDiscardDropsInstances() {
+    final ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter adapter = this.createAdapter();
+    final Object first = adapter.getProcessorInstance(ReusableTestProcessor.class.getName());
+    adapter.discard();
+    Assert.assertNotSame(first, adapter.getProcessorInstance(ReusableTestProcessor.class.getName()));
+  }
+  
+  private ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter createAdapter() {
+    ClassLoader _classLoader = this.getClass().getClassLoader();
+    ClassLoader _classLoader_1 = new ClassLoader(_classLoader) {
+    };
+    return new ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter(_classLoader_1);
+  }
+}
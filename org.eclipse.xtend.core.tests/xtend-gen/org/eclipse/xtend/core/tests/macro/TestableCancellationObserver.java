@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.tests.macro;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.eclipse.xtend.core.macro.AnnotationProcessor;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.junit.Assert;
+
+/**
+ * Uses a scheduler that drops canceled tasks, such that the tests can check whether the observer is still polling.
+ */
+@SuppressWarnings("all")
+public class TestableCancellationObserver extends AnnotationProcessor.CancellationObserver {
+  @Override
+  protected ScheduledExecutorService initScheduler() {
+    final ScheduledThreadPoolExecutor result = new ScheduledThreadPoolExecutor(1);
+    result.setRemoveOnCancelPolicy(true);
+    return result;
+  }
+  
+  public boolean isWatching() {
+    ScheduledExecutorService _scheduler = this.getScheduler();
+    boolean _isEmpty = ((ScheduledThreadPoolExecutor) _scheduler).getQueue().isEmpty();
+    return (!_isEmpty);
+  }
+  
+  public void waitUntilIdle() {
+    try {
+      long _currentTimeMillis = System.currentTimeMillis();
+      final long deadline = (_currentTimeMillis + 5000);
+      while ((this.isWatching() && (System.currentTimeMillis() < deadline))) {
+        Thread.sleep(AnnotationProcessor.CancellationObserver.POLLING_INTERVAL);
+      }
+      Assert.assertFalse(this.isWatching());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
@@ -44,6 +44,7 @@ import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.junit.Assert;
@@ -419,6 +420,63 @@ public class DeclarationsTest extends AbstractXtendTestCase {
     this.asCompilationUnit(this.validFile(_builder), _function);
   }
   
+  @Test
+  public void testFindDeclaredMembersOfWideClass() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("package foo");
+    _builder.newLine();
+    _builder.newLine();
+    _builder.append("class MyClass {");
+    _builder.newLine();
+    {
+      ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 1000, true);
+      for(final Integer i : _doubleDotLessThan) {
+        _builder.append("\t");
+        _builder.append("String field");
+        _builder.append(i, "\t");
+        _builder.newLineIfNotEmpty();
+      }
+    }
+    _builder.append("\t");
+    _builder.append("new(String s) {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("}");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final Procedure1<CompilationUnitImpl> _function = (CompilationUnitImpl it) -> {
+      final MutableClassDeclaration genClazz = it.getTypeLookup().findClass("foo.MyClass");
+      final TypeReference string = it.getTypeReferenceProvider().getString();
+      ExclusiveRange _doubleDotLessThan_1 = new ExclusiveRange(0, 1000, true);
+      for (final Integer i_1 : _doubleDotLessThan_1) {
+        {
+          Assert.assertNotNull(genClazz.findDeclaredField(("field" + i_1)));
+          Assert.assertNull(genClazz.findDeclaredMethod(("getField" + i_1)));
+          final Procedure1<MutableMethodDeclaration> _function_1 = (MutableMethodDeclaration it_1) -> {
+            it_1.setReturnType(string);
+          };
+          final MutableMethodDeclaration getter = genClazz.addMethod(("getField" + i_1), _function_1);
+          Assert.assertSame(getter, genClazz.findDeclaredMethod(("getField" + i_1)));
+        }
+      }
+      Assert.assertNotNull(genClazz.findDeclaredConstructor(string));
+      Assert.assertNull(genClazz.findDeclaredConstructor());
+      final Procedure1<MutableMethodDeclaration> _function_1 = (MutableMethodDeclaration it_1) -> {
+        it_1.addParameter("value", string);
+      };
+      final MutableMethodDeclaration setter = genClazz.addMethod("setField0", _function_1);
+      Assert.assertNull(genClazz.findDeclaredMethod("setField0"));
+      Assert.assertSame(setter, genClazz.findDeclaredMethod("setField0", string));
+      setter.setSimpleName("setFirstField");
+      Assert.assertNull(genClazz.findDeclaredMethod("setField0", string));
+      Assert.assertSame(setter, genClazz.findDeclaredMethod("setFirstField", string));
+      genClazz.findDeclaredField("field0").remove();
+      Assert.assertNull(genClazz.findDeclaredField("field0"));
+    };
+    this.asCompilationUnit(this.validFile(_builder), _function);
+  }
+  
   @Test
   public void testTypeReferences() {
     StringConcatenation _builder = new StringConcatenation();
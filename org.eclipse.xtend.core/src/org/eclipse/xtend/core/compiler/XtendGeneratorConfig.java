@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler;
+
+import java.util.List;
+
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmPrimitiveType;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.util.JavaVersion;
+import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
+
+import com.google.common.base.Joiner;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Generator settings that are specific to Xtend.
+ *
+ * @since 2.14
+ */
+public class XtendGeneratorConfig extends GeneratorConfig {
+
+	/**
+	 * The kind of cache that is generated for <code>create</code> functions.
+	 */
+	public enum CreateCacheKind {
+		/**
+		 * A {@link java.util.HashMap} keyed by a list of all arguments that is guarded by a <code>synchronized</code>
+		 * block.
+		 */
+		SYNCHRONIZED,
+		/**
+		 * A {@link java.util.concurrent.ConcurrentHashMap} that is accessed without locking. Single argument functions
+		 * use the argument itself as the key. Concurrent first calls with an equal key may evaluate the create
+		 * expression more than once, but only one of the results is cached, initialized and returned.
+		 */
+		CONCURRENT,
+		/**
+		 * A synchronized {@link java.util.WeakHashMap} keyed by the argument, such that the cache does not keep the
+		 * transformation's input alive. Only applies to single argument functions, others use {@link #CONCURRENT}.
+		 * Functions with a primitive or primitive wrapper parameter use {@link #SYNCHRONIZED}, since their boxed
+		 * arguments are not referenced by anyone else and would be collected while the result is still in use.
+		 */
+		WEAK_KEYS
+	}
+
+	/**
+	 * The preference key of the {@link #getCreateCacheKind() create cache kind}. The IDE reads it from the preferences
+	 * of the language, so it generates the same code as the batch compiler and the Maven plugin.
+	 */
+	public static final String CREATE_CACHE_KIND_KEY = "createCacheKind";
+
+	/**
+	 * The preference key of the {@link #getDispatchTableThreshold() dispatch table threshold}.
+	 * 
+	 * @see #CREATE_CACHE_KIND_KEY
+	 */
+	public static final String DISPATCH_TABLE_THRESHOLD_KEY = "dispatchTableThreshold";
+
+	private CreateCacheKind createCacheKind = CreateCacheKind.SYNCHRONIZED;
+
+	private int dispatchTableThreshold = 0;
+
+	public CreateCacheKind getCreateCacheKind() {
+		return createCacheKind;
+	}
+
+	public void setCreateCacheKind(CreateCacheKind createCacheKind) {
+		this.createCacheKind = createCacheKind;
+	}
+
+	/**
+	 * Single parameter dispatch methods with at least this number of cases look up the case by the runtime class of
+	 * the argument in a {@link ClassValue} instead of testing the cases one after the other. A value of
+	 * <code>0</code> disables the lookup table.
+	 */
+	public int getDispatchTableThreshold() {
+		return dispatchTableThreshold;
+	}
+
+	public void setDispatchTableThreshold(int dispatchTableThreshold) {
+		this.dispatchTableThreshold = dispatchTableThreshold;
+	}
+
+	@Override
+	public GeneratorConfig copy(GeneratorConfig other) {
+		super.copy(other);
+		if (other instanceof XtendGeneratorConfig) {
+			createCacheKind = ((XtendGeneratorConfig) other).createCacheKind;
+			dispatchTableThreshold = ((XtendGeneratorConfig) other).dispatchTableThreshold;
+		}
+		return this;
+	}
+
+	/**
+	 * Parses the name of a {@link CreateCacheKind}, ignoring the case.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the name does not denote a kind.
+	 */
+	public static CreateCacheKind parseCreateCacheKind(String createCacheKind) {
+		try {
+			return CreateCacheKind.valueOf(createCacheKind.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown create cache kind: '" + createCacheKind + "'. Valid values are: '"
+					+ Joiner.on(", ").join(CreateCacheKind.values()) + "'");
+		}
+	}
+
+	/**
+	 * Returns the kind of cache to generate for the given <code>create</code> function.
+	 */
+	public static CreateCacheKind getCreateCacheKind(GeneratorConfig config, JvmOperation createOperation) {
+		if (!(config instanceof XtendGeneratorConfig)) {
+			return CreateCacheKind.SYNCHRONIZED;
+		}
+		CreateCacheKind result = ((XtendGeneratorConfig) config).getCreateCacheKind();
+		if (result == CreateCacheKind.WEAK_KEYS) {
+			List<JvmFormalParameter> parameters = createOperation.getParameters();
+			if (parameters.size() != 1) {
+				return CreateCacheKind.CONCURRENT;
+			}
+			JvmTypeReference parameterType = parameters.get(0).getParameterType();
+			if (isPrimitive(parameterType) || isPrimitiveWrapper(parameterType)) {
+				return CreateCacheKind.SYNCHRONIZED;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the given parameter type is a primitive, i.e. an argument of that type is never
+	 * <code>null</code>.
+	 */
+	public static boolean isPrimitive(/* @Nullable */ JvmTypeReference parameterType) {
+		return parameterType != null && parameterType.getType() instanceof JvmPrimitiveType;
+	}
+
+	private static boolean isPrimitiveWrapper(/* @Nullable */ JvmTypeReference parameterType) {
+		JvmType type = parameterType != null ? parameterType.getType() : null;
+		if (type == null || type.eIsProxy()) {
+			return false;
+		}
+		for (Class<?> wrapperType : Primitives.allWrapperTypes()) {
+			if (wrapperType.getName().equals(type.getIdentifier())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether a dispatch method with the given number of parameters and cases should use a lookup table.
+	 * Requires Java 7 or later.
+	 */
+	public static boolean isUseDispatchTable(GeneratorConfig config, int parameterCount, int caseCount) {
+		if (!(config instanceof XtendGeneratorConfig) || !config.getJavaSourceVersion().isAtLeast(JavaVersion.JAVA7)) {
+			return false;
+		}
+		int threshold = ((XtendGeneratorConfig) config).getDispatchTableThreshold();
+		return threshold > 0 && parameterCount == 1 && caseCount >= threshold;
+	}
+}
@@ -0,0 +1,462 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.NumbersForTask;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
+
+/**
+ * Collects the wall time, the CPU time and the allocated bytes of the phases of a run of the
+ * {@link XtendBatchCompiler} together with the time spent per source file, and writes them as JSON.
+ * <p>
+ * Files that are measured in another thread than their phase add their CPU time and allocated bytes to the phase,
+ * while the wall time is measured once for the whole phase. The numbers of the active annotation processors are taken from
+ * the {@link Stopwatches}. They and the measurement of the allocated bytes per thread are enabled while a report is
+ * collected and restored to their previous state afterwards.
+ * </p>
+ *
+ * @since 2.14
+ */
+public class CompilationReport {
+
+	public static final String LOADING = "loading";
+	public static final String STUB_GENERATION = "stubGeneration";
+	public static final String STUB_COMPILATION = "stubCompilation";
+	public static final String JAVA_COMPILATION = "javaCompilation";
+	public static final String RESOLVING = "resolving";
+	public static final String VALIDATION = "validation";
+	public static final String GENERATION = "generation";
+
+	private static final String MACRO_TASK_PREFIX = "[macros]";
+
+	private static final String REPORT_TASK = "[batch compiler] compilation report";
+
+	/**
+	 * A running measurement of a phase or of a single file in a phase.
+	 */
+	public static class Measurement {
+
+		private final Phase phase;
+		private final FileTimes file;
+		private final long wallTime;
+		private final long cpuTime;
+		private final long allocatedBytes;
+
+		Measurement(Phase phase, FileTimes file) {
+			this.phase = phase;
+			this.file = file;
+			if (phase != null) {
+				this.wallTime = System.nanoTime();
+				this.cpuTime = getCurrentThreadCpuTime();
+				this.allocatedBytes = getCurrentThreadAllocatedBytes();
+			} else {
+				this.wallTime = 0;
+				this.cpuTime = -1;
+				this.allocatedBytes = -1;
+			}
+		}
+
+		public void stop() {
+			if (phase == null) {
+				return;
+			}
+			long duration = System.nanoTime() - wallTime;
+			if (file != null) {
+				file.add(phase.name, duration);
+				if (phase.thread == Thread.currentThread()) {
+					// already covered by the measurement of the phase
+					return;
+				}
+			} else {
+				phase.wallTime.addAndGet(duration);
+				Runtime runtime = Runtime.getRuntime();
+				phase.usedHeapAfter = runtime.totalMemory() - runtime.freeMemory();
+			}
+			long cpu = getCurrentThreadCpuTime();
+			if (cpu >= 0 && cpuTime >= 0) {
+				phase.cpuTime.addAndGet(cpu - cpuTime);
+			}
+			long allocated = getCurrentThreadAllocatedBytes();
+			if (allocated >= 0 && allocatedBytes >= 0) {
+				phase.allocatedBytes.addAndGet(allocated - allocatedBytes);
+			}
+		}
+	}
+
+	private static final Measurement NO_MEASUREMENT = new Measurement(null, null);
+
+	private static class Phase {
+		private final String name;
+		private final AtomicLong wallTime = new AtomicLong();
+		private final AtomicLong cpuTime = new AtomicLong();
+		private final AtomicLong allocatedBytes = new AtomicLong();
+		private volatile long usedHeapAfter = -1;
+		private volatile Thread thread;
+
+		Phase(String name) {
+			this.name = name;
+		}
+	}
+
+	private static class FileTimes {
+		private final String uri;
+		private final AtomicLong total = new AtomicLong();
+		private final ConcurrentMap<String, AtomicLong> phases = new ConcurrentHashMap<String, AtomicLong>();
+
+		FileTimes(String uri) {
+			this.uri = uri;
+		}
+
+		void add(String phase, long duration) {
+			total.addAndGet(duration);
+			AtomicLong time = phases.get(phase);
+			if (time == null) {
+				AtomicLong existing = phases.putIfAbsent(phase, time = new AtomicLong());
+				if (existing != null) {
+					time = existing;
+				}
+			}
+			time.addAndGet(duration);
+		}
+	}
+
+	/**
+	 * A copy of the numbers of a stopwatch task, which keeps accumulating.
+	 */
+	private static class TaskNumbers {
+		private final long milliseconds;
+		private final int measurements;
+
+		TaskNumbers(NumbersForTask numbers) {
+			this.milliseconds = numbers.getMilliseconds();
+			this.measurements = numbers.getNumberOfMeasurements();
+		}
+	}
+
+	private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private static final Method allocatedBytesMethod;
+
+	private static final Method isAllocatedMemoryEnabledMethod;
+
+	private static final Method setAllocatedMemoryEnabledMethod;
+
+	/*
+	 * The allocated bytes per thread are only available on HotSpot based VMs. The methods are looked up reflectively,
+	 * since com.sun.management is not visible in every environment.
+	 */
+	static {
+		Method allocatedBytes = null;
+		Method isEnabled = null;
+		Method setEnabled = null;
+		for (Class<?> type : threadBean.getClass().getInterfaces()) {
+			if ("com.sun.management.ThreadMXBean".equals(type.getName())) {
+				try {
+					Method isSupported = type.getMethod("isThreadAllocatedMemorySupported");
+					if (Boolean.TRUE.equals(isSupported.invoke(threadBean))) {
+						Method getAllocatedBytes = type.getMethod("getThreadAllocatedBytes", long.class);
+						Method isAllocatedMemoryEnabled = type.getMethod("isThreadAllocatedMemoryEnabled");
+						Method setAllocatedMemoryEnabled = type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class);
+						allocatedBytes = getAllocatedBytes;
+						isEnabled = isAllocatedMemoryEnabled;
+						setEnabled = setAllocatedMemoryEnabled;
+					}
+				} catch (Exception e) {
+					// not supported
+				}
+			}
+		}
+		allocatedBytesMethod = allocatedBytes;
+		isAllocatedMemoryEnabledMethod = isEnabled;
+		setAllocatedMemoryEnabledMethod = setEnabled;
+	}
+
+	/**
+	 * Enables or disables the measurement of the allocated bytes per thread and returns whether it was enabled before,
+	 * or <code>null</code> if it is not supported.
+	 */
+	private static Boolean setAllocatedMemoryEnabled(boolean enabled) {
+		if (allocatedBytesMethod == null) {
+			return null;
+		}
+		try {
+			Boolean result = (Boolean) isAllocatedMemoryEnabledMethod.invoke(threadBean);
+			setAllocatedMemoryEnabledMethod.invoke(threadBean, enabled);
+			return result;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static long getCurrentThreadCpuTime() {
+		if (!threadBean.isCurrentThreadCpuTimeSupported()) {
+			return -1;
+		}
+		return threadBean.getCurrentThreadCpuTime();
+	}
+
+	private static long getCurrentThreadAllocatedBytes() {
+		if (allocatedBytesMethod == null) {
+			return -1;
+		}
+		try {
+			return (Long) allocatedBytesMethod.invoke(threadBean, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	private final Map<String, Phase> phases = Collections.synchronizedMap(Maps.<String, Phase>newLinkedHashMap());
+
+	private final ConcurrentMap<String, FileTimes> files = new ConcurrentHashMap<String, FileTimes>();
+
+	private final long startTime = System.currentTimeMillis();
+
+	private final long startNanos = System.nanoTime();
+
+	private int numberOfSlowestFiles = 10;
+
+	private final Map<String, TaskNumbers> macroNumbersBefore = Maps.newHashMap();
+
+	private boolean stopwatchesWereEnabled;
+
+	private Boolean allocatedMemoryWasEnabled;
+
+	private StoppedTask reportTask;
+
+	/**
+	 * The number of files that are listed in the report, ordered by the time that was spent on them.
+	 */
+	public int getNumberOfSlowestFiles() {
+		return numberOfSlowestFiles;
+	}
+
+	public void setNumberOfSlowestFiles(int numberOfSlowestFiles) {
+		this.numberOfSlowestFiles = numberOfSlowestFiles;
+	}
+
+	/**
+	 * Enables the {@link Stopwatches} that measure the active annotation processors and the measurement of the
+	 * allocated bytes per thread. Numbers that were recorded before are kept, but not reported.
+	 */
+	public void start() {
+		allocatedMemoryWasEnabled = setAllocatedMemoryEnabled(true);
+		// the stopwatches do not expose whether they are enabled, but hand out a single shared task while disabled
+		stopwatchesWereEnabled = Stopwatches.forTask(REPORT_TASK) != Stopwatches.forTask(REPORT_TASK);
+		Stopwatches.setEnabled(true);
+		for (Map.Entry<String, NumbersForTask> task : Stopwatches.allNumbers().entrySet()) {
+			if (task.getKey().startsWith(MACRO_TASK_PREFIX)) {
+				macroNumbersBefore.put(task.getKey(), new TaskNumbers(task.getValue()));
+			}
+		}
+		reportTask = Stopwatches.forTask(REPORT_TASK);
+		reportTask.start();
+	}
+
+	/**
+	 * Starts the measurement of a phase. It has to be stopped by the same thread.
+	 */
+	public Measurement startPhase(String name) {
+		Phase phase = getPhase(name);
+		phase.thread = Thread.currentThread();
+		return new Measurement(phase, null);
+	}
+
+	/**
+	 * Starts the measurement of the given file in a phase. If it runs in another thread than the phase, its CPU time
+	 * and allocated bytes are added to the phase. It has to be stopped by the same thread.
+	 */
+	public Measurement startFile(String phase, String uri) {
+		FileTimes file = files.get(uri);
+		if (file == null) {
+			FileTimes existing = files.putIfAbsent(uri, file = new FileTimes(uri));
+			if (existing != null) {
+				file = existing;
+			}
+		}
+		return new Measurement(getPhase(phase), file);
+	}
+
+	private Phase getPhase(String name) {
+		synchronized (phases) {
+			Phase result = phases.get(name);
+			if (result == null) {
+				result = new Phase(name);
+				phases.put(name, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Writes the report to the given file and restores the state of the {@link Stopwatches} and of the measurement of
+	 * the allocated bytes before {@link #start()}.
+	 */
+	public void write(File file, boolean success) throws IOException {
+		try {
+			File parent = file.getParentFile();
+			if (parent != null && !parent.exists() && !parent.mkdirs()) {
+				throw new IOException("Cannot create directory '" + parent + "'");
+			}
+			try (Writer writer = Files.newWriter(file, Charsets.UTF_8)) {
+				writer.write(toJson(success));
+			}
+		} finally {
+			if (reportTask != null) {
+				reportTask.stop();
+				reportTask = null;
+				Stopwatches.setEnabled(stopwatchesWereEnabled);
+			}
+			if (allocatedMemoryWasEnabled != null) {
+				setAllocatedMemoryEnabled(allocatedMemoryWasEnabled);
+				allocatedMemoryWasEnabled = null;
+			}
+		}
+	}
+
+	protected String toJson(boolean success) {
+		StringBuilder result = new StringBuilder();
+		result.append("{\n");
+		result.append("  \"date\" : ").append(startTime).append(",\n");
+		result.append("  \"success\" : ").append(success).append(",\n");
+		result.append("  \"wallTime\" : ").append(toMillis(System.nanoTime() - startNanos)).append(",\n");
+		Runtime runtime = Runtime.getRuntime();
+		result.append("  \"maxHeap\" : ").append(runtime.maxMemory()).append(",\n");
+		result.append("  \"phases\" : [");
+		List<Phase> allPhases;
+		synchronized (phases) {
+			allPhases = Lists.newArrayList(phases.values());
+		}
+		for (Iterator<Phase> iterator = allPhases.iterator(); iterator.hasNext();) {
+			Phase phase = iterator.next();
+			result.append("\n    {\"name\" : ").append(quote(phase.name));
+			result.append(", \"wallTime\" : ").append(toMillis(phase.wallTime.get()));
+			result.append(", \"cpuTime\" : ").append(toMillis(phase.cpuTime.get()));
+			result.append(", \"allocatedBytes\" : ").append(phase.allocatedBytes.get());
+			result.append(", \"usedHeapAfter\" : ").append(phase.usedHeapAfter).append("}");
+			if (iterator.hasNext()) {
+				result.append(",");
+			}
+		}
+		result.append("\n  ],\n");
+		result.append("  \"activeAnnotations\" : [");
+		boolean first = true;
+		for (Map.Entry<String, NumbersForTask> task : Stopwatches.allNumbers().entrySet()) {
+			if (task.getKey().startsWith(MACRO_TASK_PREFIX)) {
+				long time = task.getValue().getMilliseconds();
+				int measurements = task.getValue().getNumberOfMeasurements();
+				TaskNumbers before = macroNumbersBefore.get(task.getKey());
+				if (before != null) {
+					time -= before.milliseconds;
+					measurements -= before.measurements;
+				}
+				if (measurements == 0) {
+					continue;
+				}
+				if (!first) {
+					result.append(",");
+				}
+				first = false;
+				result.append("\n    {\"name\" : ").append(quote(task.getKey()));
+				result.append(", \"time\" : ").append(time);
+				result.append(", \"measurements\" : ").append(measurements).append("}");
+			}
+		}
+		result.append("\n  ],\n");
+		result.append("  \"slowestFiles\" : [");
+		List<FileTimes> slowest = Lists.newArrayList(files.values());
+		Collections.sort(slowest, new Comparator<FileTimes>() {
+			@Override
+			public int compare(FileTimes o1, FileTimes o2) {
+				return Long.compare(o2.total.get(), o1.total.get());
+			}
+		});
+		if (slowest.size() > numberOfSlowestFiles) {
+			slowest = slowest.subList(0, numberOfSlowestFiles);
+		}
+		for (Iterator<FileTimes> iterator = slowest.iterator(); iterator.hasNext();) {
+			FileTimes file = iterator.next();
+			result.append("\n    {\"uri\" : ").append(quote(file.uri));
+			result.append(", \"time\" : ").append(toMillis(file.total.get()));
+			for (Map.Entry<String, AtomicLong> phase : file.phases.entrySet()) {
+				result.append(", ").append(quote(phase.getKey())).append(" : ").append(toMillis(phase.getValue().get()));
+			}
+			result.append("}");
+			if (iterator.hasNext()) {
+				result.append(",");
+			}
+		}
+		result.append("\n  ]\n");
+		result.append("}\n");
+		return result.toString();
+	}
+
+	private static long toMillis(long nanos) {
+		return nanos / 1000000;
+	}
+
+	private static String quote(String value) {
+		StringBuilder result = new StringBuilder(value.length() + 2);
+		result.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					result.append("\\\"");
+					break;
+				case '\\':
+					result.append("\\\\");
+					break;
+				case '\n':
+					result.append("\\n");
+					break;
+				case '\r':
+					result.append("\\r");
+					break;
+				case '\t':
+					result.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						result.append(String.format("\\u%04x", (int) c));
+					} else {
+						result.append(c);
+					}
+			}
+		}
+		return result.append('"').toString();
+	}
+
+	/**
+	 * A measurement that does nothing, used if no report is collected.
+	 */
+	public static Measurement noMeasurement() {
+		return NO_MEASUREMENT;
+	}
+}
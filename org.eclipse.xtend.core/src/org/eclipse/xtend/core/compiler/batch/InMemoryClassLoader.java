@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+
+/**
+ * A class loader that defines classes from class files held in memory, keyed by their internal name, e.g.
+ * <code>java/util/Map$Entry</code>. The parent is asked first. The class files are also available as resources,
+ * e.g. <code>java/util/Map$Entry.class</code>, with URLs of the protocol <code>memory</code>.
+ *
+ * @see InMemoryStubCompiler
+ * @since 2.14
+ */
+public class InMemoryClassLoader extends ClassLoader implements Closeable {
+
+	private static final String PROTOCOL = "memory";
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	private final Map<String, byte[]> classes;
+
+	private final URLStreamHandler handler = new URLStreamHandler() {
+		@Override
+		protected URLConnection openConnection(URL url) throws IOException {
+			final byte[] bytes = getClassFile(url.getPath().substring(1));
+			if (bytes == null) {
+				throw new IOException("The class file '" + url + "' does not exist anymore.");
+			}
+			return new URLConnection(url) {
+				@Override
+				public void connect() {
+					connected = true;
+				}
+
+				@Override
+				public InputStream getInputStream() {
+					return new ByteArrayInputStream(bytes);
+				}
+
+				@Override
+				public int getContentLength() {
+					return bytes.length;
+				}
+			};
+		}
+	};
+
+	public InMemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+		super(parent);
+		this.classes = classes;
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		byte[] bytes = classes.get(name.replace('.', '/'));
+		if (bytes == null) {
+			throw new ClassNotFoundException(name);
+		}
+		int index = name.lastIndexOf('.');
+		if (index > 0) {
+			String packageName = name.substring(0, index);
+			if (getPackage(packageName) == null) {
+				try {
+					definePackage(packageName, null, null, null, null, null, null, null);
+				} catch (IllegalArgumentException e) {
+					// defined concurrently
+				}
+			}
+		}
+		return defineClass(name, bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Returns a URL for an in-memory class file. {@link #getResource(String)}, {@link #getResources(String)} and
+	 * {@link #getResourceAsStream(String)} consult the parent first and delegate to this method afterwards.
+	 */
+	@Override
+	protected URL findResource(String name) {
+		if (getClassFile(name) == null) {
+			return null;
+		}
+		try {
+			return new URL(PROTOCOL, null, -1, "/" + name, handler);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Enumeration<URL> findResources(String name) throws IOException {
+		URL result = findResource(name);
+		if (result == null) {
+			return Collections.emptyEnumeration();
+		}
+		return Collections.enumeration(Collections.singletonList(result));
+	}
+
+	/* @Nullable */
+	private byte[] getClassFile(String resourceName) {
+		if (!resourceName.endsWith(CLASS_FILE_EXTENSION)) {
+			return null;
+		}
+		return classes.get(resourceName.substring(0, resourceName.length() - CLASS_FILE_EXTENSION.length()));
+	}
+
+	/**
+	 * Closes the parent if it can be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (getParent() instanceof Closeable) {
+			((Closeable) getParent()).close();
+		}
+	}
+}
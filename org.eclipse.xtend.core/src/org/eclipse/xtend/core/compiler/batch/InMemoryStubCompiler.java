@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler.batch;
+
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.xtext.util.Strings;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Compiles Java sources with the Eclipse compiler without a round trip through the file system. Sources are passed
+ * as in-memory compilation units, and class files that were compiled before are looked up in memory. The resulting
+ * class files are also kept in memory. The keys of all class maps are internal names, e.g.
+ * <code>java/util/Map$Entry</code>.
+ * <p>
+ * The compiler is driven through the internal API of ECJ, since neither <code>javax.tools</code> nor the batch
+ * compiler allow to pass pre-compiled class files in memory. The API is known to be compatible with
+ * <code>org.eclipse.jdt.core</code> 3.13 and later, which is the lower bound of the optional bundle dependency.
+ * Callers should be prepared for a {@link LinkageError} if an incompatible compiler is on the class path.
+ * </p>
+ *
+ * @since 2.14
+ */
+public class InMemoryStubCompiler {
+
+	private static final Logger log = Logger.getLogger(InMemoryStubCompiler.class);
+
+	private final List<String> classPathEntries;
+
+	private final String complianceLevel;
+
+	private final String encoding;
+
+	/**
+	 * @param classPathEntries
+	 *            the jars and folders to compile against, including the boot class path.
+	 */
+	public InMemoryStubCompiler(Iterable<String> classPathEntries, String complianceLevel, String encoding) {
+		this.classPathEntries = Lists.newArrayList(classPathEntries);
+		this.complianceLevel = complianceLevel;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Returns the boot class path of the running VM, or <code>null</code> if it cannot be determined, e.g. on Java 9
+	 * and later where the platform classes reside in a runtime image.
+	 */
+	/* @Nullable */
+	public static List<String> getRunningVMBootClassPath() {
+		String bootClassPath = System.getProperty("sun.boot.class.path");
+		if (Strings.isEmpty(bootClassPath)) {
+			return null;
+		}
+		List<String> result = Lists.newArrayList();
+		for (String entry : Strings.split(bootClassPath, File.pathSeparator)) {
+			if (new File(entry).exists()) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compiles the given sources. Errors do not stop the compilation, types with errors are compiled to class files
+	 * that throw an exception when used.
+	 *
+	 * @param sources
+	 *            the in-memory sources keyed by their relative file name, e.g. <code>mypackage/MyClass.java</code>.
+	 * @param sourceFiles
+	 *            Java files that are compiled along with the in-memory sources.
+	 * @param classes
+	 *            class files that were compiled before. They take precedence over the class path.
+	 * @param result
+	 *            receives the compiled class files.
+	 * @return <code>true</code> if the sources compiled without errors.
+	 */
+	public boolean compile(Map<String, ? extends CharSequence> sources, Iterable<File> sourceFiles,
+			Map<String, byte[]> classes, final Map<String, byte[]> result) {
+		List<ICompilationUnit> units = Lists.newArrayList();
+		for (Map.Entry<String, ? extends CharSequence> source : sources.entrySet()) {
+			units.add(new CompilationUnit(source.getValue().toString().toCharArray(), source.getKey(), encoding));
+		}
+		for (File file : sourceFiles) {
+			// the contents are read lazily by the compiler
+			units.add(new CompilationUnit(null, file.getAbsolutePath(), encoding));
+		}
+		if (units.isEmpty()) {
+			return true;
+		}
+		FileSystem classPath = new FileSystem(Iterables.toArray(classPathEntries, String.class), null, encoding);
+		INameEnvironment environment = new ClassStoreNameEnvironment(classes, classPath);
+		final boolean[] success = { true };
+		ICompilerRequestor requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(CompilationResult compilationResult) {
+				if (compilationResult.hasErrors()) {
+					success[0] = false;
+				}
+				if (compilationResult.hasProblems() && log.isDebugEnabled()) {
+					for (CategorizedProblem problem : compilationResult.getProblems()) {
+						log.debug(new String(problem.getOriginatingFileName()) + ":" + problem.getSourceLineNumber() + ": "
+								+ problem.getMessage());
+					}
+				}
+				for (ClassFile classFile : compilationResult.getClassFiles()) {
+					String name = new String(CharOperation.concatWith(classFile.getCompoundName(), '/'));
+					synchronized (result) {
+						result.put(name, classFile.getBytes());
+					}
+				}
+			}
+		};
+		Compiler compiler = new Compiler(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				getCompilerOptions(), requestor, new DefaultProblemFactory(Locale.getDefault()));
+		try {
+			compiler.compile(units.toArray(new ICompilationUnit[units.size()]));
+		} finally {
+			environment.cleanup();
+		}
+		return success[0];
+	}
+
+	protected CompilerOptions getCompilerOptions() {
+		Map<String, String> settings = Maps.newHashMap();
+		settings.put(CompilerOptions.OPTION_Source, complianceLevel);
+		settings.put(CompilerOptions.OPTION_Compliance, complianceLevel);
+		settings.put(CompilerOptions.OPTION_TargetPlatform, complianceLevel);
+		if (encoding != null) {
+			settings.put(CompilerOptions.OPTION_Encoding, encoding);
+		}
+		return new CompilerOptions(settings);
+	}
+
+	/**
+	 * Looks up types in the in-memory class files first and in the class path afterwards.
+	 */
+	private static class ClassStoreNameEnvironment implements INameEnvironment {
+
+		private final Map<String, byte[]> classes;
+
+		private final Set<String> packages = Sets.newHashSet();
+
+		private final INameEnvironment delegate;
+
+		ClassStoreNameEnvironment(Map<String, byte[]> classes, INameEnvironment delegate) {
+			this.classes = classes;
+			this.delegate = delegate;
+			for (String name : classes.keySet()) {
+				int index = name.lastIndexOf('/');
+				while (index > 0) {
+					name = name.substring(0, index);
+					if (!packages.add(name)) {
+						break;
+					}
+					index = name.lastIndexOf('/');
+				}
+			}
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			String name = new String(CharOperation.concatWith(compoundTypeName, '/'));
+			byte[] bytes = classes.get(name);
+			if (bytes != null) {
+				try {
+					return new NameEnvironmentAnswer(new ClassFileReader(bytes, (name + ".class").toCharArray()), null);
+				} catch (ClassFormatException e) {
+					log.debug("Cannot read the compiled class '" + name + "'", e);
+				}
+			}
+			return delegate.findType(compoundTypeName);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			return findType(CharOperation.arrayConcat(packageName, typeName));
+		}
+
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			String name = new String(CharOperation.concatWith(parentPackageName, packageName, '/'));
+			return packages.contains(name) || delegate.isPackage(parentPackageName, packageName);
+		}
+
+		@Override
+		public void cleanup() {
+			delegate.cleanup();
+		}
+	}
+}
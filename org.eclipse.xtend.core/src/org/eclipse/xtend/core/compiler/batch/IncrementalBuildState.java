@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The state of the last successful run of the {@link XtendBatchCompiler} that
+ * {@link XtendBatchCompiler#setSkipUnaffectedStateFile(String) skips unaffected sources}. It is persisted between two
+ * runs and records the content hash, the exported and imported names and the generated files of each source.
+ * 
+ * The state is written in a versioned binary format. A file with an unknown header or version is ignored, which leads
+ * to a full build.
+ * 
+ * @since 2.14
+ */
+public class IncrementalBuildState {
+
+	private static final Logger log = Logger.getLogger(IncrementalBuildState.class);
+
+	private static final String HEADER = "XtendBuildState";
+
+	/**
+	 * Has to be incremented whenever the format changes.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The recorded information about a single source file.
+	 */
+	public static class SourceState {
+
+		private final String contentHash;
+
+		private final String exportsHash;
+
+		private final Set<String> exportedNames;
+
+		private final Set<String> importedNames;
+
+		private final Set<String> generatedFiles;
+
+		public SourceState(String contentHash, String exportsHash, Collection<String> exportedNames,
+				Collection<String> importedNames, Collection<String> generatedFiles) {
+			this.contentHash = contentHash;
+			this.exportsHash = exportsHash;
+			this.exportedNames = new TreeSet<String>(exportedNames);
+			this.importedNames = new TreeSet<String>(importedNames);
+			this.generatedFiles = new TreeSet<String>(generatedFiles);
+		}
+
+		public String getContentHash() {
+			return contentHash;
+		}
+
+		public String getExportsHash() {
+			return exportsHash;
+		}
+
+		/**
+		 * The lower case qualified names of the exported objects.
+		 */
+		public Set<String> getExportedNames() {
+			return exportedNames;
+		}
+
+		/**
+		 * The lower case qualified names that are imported by this source.
+		 */
+		public Set<String> getImportedNames() {
+			return importedNames;
+		}
+
+		/**
+		 * The absolute paths of all files that were generated for this source.
+		 */
+		public Set<String> getGeneratedFiles() {
+			return generatedFiles;
+		}
+	}
+
+	private final String configurationHash;
+
+	private final Map<String, String> otherSourceHashes;
+
+	private final Map<String, SourceState> sources = Maps.newTreeMap();
+
+	public IncrementalBuildState(String configurationHash, Map<String, String> otherSourceHashes) {
+		this.configurationHash = configurationHash;
+		this.otherSourceHashes = Maps.newTreeMap();
+		this.otherSourceHashes.putAll(otherSourceHashes);
+	}
+
+	/**
+	 * A hash over the compiler settings and the class path. If it changed, a full build is required.
+	 */
+	public String getConfigurationHash() {
+		return configurationHash;
+	}
+
+	/**
+	 * The content hashes of non-Xtend files on the source path, e.g. Java sources. Xtend sources can refer to them, so
+	 * a change triggers a full build.
+	 */
+	public Map<String, String> getOtherSourceHashes() {
+		return otherSourceHashes;
+	}
+
+	/**
+	 * The state of the Xtend sources, keyed by their URI.
+	 */
+	public Map<String, SourceState> getSources() {
+		return sources;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given content hashes of the Xtend sources exactly match the recorded ones.
+	 */
+	public boolean isUpToDate(Map<String, String> sourceHashes) {
+		if (!sourceHashes.keySet().equals(sources.keySet())) {
+			return false;
+		}
+		for (Map.Entry<String, SourceState> entry : sources.entrySet()) {
+			if (!entry.getValue().getContentHash().equals(sourceHashes.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the state from the given file. Returns <code>null</code> if the file does not exist, cannot be read or was
+	 * written in another format.
+	 */
+	/* @Nullable */
+	public static IncrementalBuildState read(File file) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (!HEADER.equals(in.readUTF())) {
+				log.info("'" + file + "' does not contain a build state, performing a full build.");
+				return null;
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				log.info("The build state in '" + file + "' has the unsupported version " + version + ", performing a full build.");
+				return null;
+			}
+			return readState(in);
+		} catch (IOException e) {
+			log.warn("Cannot read the build state from '" + file + "', performing a full build.", e);
+			return null;
+		}
+	}
+
+	public void write(File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Cannot create directory '" + parent + "'");
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeUTF(HEADER);
+			out.writeInt(VERSION);
+			writeState(out);
+		}
+	}
+
+	protected static IncrementalBuildState readState(DataInputStream in) throws IOException {
+		String configurationHash = in.readUTF();
+		Map<String, String> otherSourceHashes = Maps.newTreeMap();
+		int otherSources = in.readInt();
+		for (int i = 0; i < otherSources; i++) {
+			otherSourceHashes.put(in.readUTF(), in.readUTF());
+		}
+		IncrementalBuildState result = new IncrementalBuildState(configurationHash, otherSourceHashes);
+		int sources = in.readInt();
+		for (int i = 0; i < sources; i++) {
+			String uri = in.readUTF();
+			String contentHash = in.readUTF();
+			String exportsHash = in.readUTF();
+			List<String> exportedNames = readStrings(in);
+			List<String> importedNames = readStrings(in);
+			List<String> generatedFiles = readStrings(in);
+			result.getSources().put(uri, new SourceState(contentHash, exportsHash, exportedNames, importedNames, generatedFiles));
+		}
+		return result;
+	}
+
+	protected void writeState(DataOutputStream out) throws IOException {
+		out.writeUTF(configurationHash);
+		out.writeInt(otherSourceHashes.size());
+		for (Map.Entry<String, String> entry : otherSourceHashes.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+		out.writeInt(sources.size());
+		for (Map.Entry<String, SourceState> entry : sources.entrySet()) {
+			SourceState source = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeUTF(source.getContentHash());
+			out.writeUTF(source.getExportsHash());
+			writeStrings(out, source.getExportedNames());
+			writeStrings(out, source.getImportedNames());
+			writeStrings(out, source.getGeneratedFiles());
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> result = Lists.newArrayListWithCapacity(size);
+		for (int i = 0; i < size; i++) {
+			result.add(in.readUTF());
+		}
+		return result;
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+}
@@ -59,6 +59,16 @@ public class Main {
 				compiler.setUseCurrentClassLoaderAsParent(true);
 			} else if ("-writeTraceFiles".equals(argument)) {
 				compiler.setWriteTraceFiles(true);
+			} else if ("-skipUnaffectedState".equals(argument)) {
+				compiler.setSkipUnaffectedStateFile(arguments.next().trim());
+			} else if ("-createCache".equals(argument)) {
+				compiler.setCreateCacheKind(arguments.next().trim());
+			} else if ("-dispatchTableThreshold".equals(argument)) {
+				compiler.setDispatchTableThreshold(Integer.parseInt(arguments.next().trim()));
+			} else if ("-inMemoryStubs".equals(argument)) {
+				compiler.setCompileStubsInMemory(true);
+			} else if ("-report".equals(argument)) {
+				compiler.setReportFile(arguments.next().trim());
 			} else {
 				List<String> existingDirs = new ArrayList<String>(compiler.getSourcePathDirectories());
 				existingDirs.add(argument);
@@ -87,6 +97,11 @@ public class Main {
 		out.println("-generateAnnotationComment <string> If -generateGeneratedAnnotation is used, add a comment.");
 		out.println("-useCurrentClassLoader              Use current classloader as parent classloader");
 		out.println("-writeTraceFiles                    Write Trace-Files");
+		out.println("-skipUnaffectedState <file>         Only validate and generate sources affected by changes, the file keeps the state between runs");
+		out.println("-createCache <kind>                 Cache of create functions. Can be: synchronized, concurrent or weak_keys");
+		out.println("-dispatchTableThreshold <number>    Look up the case of dispatch methods with at least this many cases by class");
+		out.println("-inMemoryStubs                      Pre-compile the stubs and Java sources in memory instead of temp directories");
+		out.println("-report <file>                      Write the time and memory spent per phase and the slowest files as JSON");
 	}
 
 }
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.compiler.batch;
+
+import java.io.File;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtend.core.macro.OutputManifest;
+import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
+import org.eclipse.xtext.parser.IEncodingProvider;
+import org.eclipse.xtext.util.RuntimeIOException;
+
+import com.google.inject.Inject;
+
+/**
+ * A file system access for the generated Java files that does not rewrite a file if the {@link OutputManifest}
+ * records the same contents for it. Trace files are still written since the source locations may have changed.
+ * Without a manifest, all files are written as usual.
+ *
+ * @since 2.14
+ */
+public class OutputManifestFileSystemAccess extends JavaIoFileSystemAccess {
+
+	private OutputManifest outputManifest;
+
+	@Inject
+	private IEncodingProvider encodingProvider;
+
+	private IFileCallback callBack;
+
+	private boolean writeTrace = true;
+
+	@Override
+	public void setCallBack(IFileCallback callBack) {
+		super.setCallBack(callBack);
+		this.callBack = callBack;
+	}
+
+	@Override
+	public void setWriteTrace(boolean writeTrace) {
+		super.setWriteTrace(writeTrace);
+		this.writeTrace = writeTrace;
+	}
+
+	@Override
+	public void generateFile(String fileName, String outputConfigName, CharSequence contents) throws RuntimeIOException {
+		if (outputManifest == null) {
+			super.generateFile(fileName, outputConfigName, contents);
+			return;
+		}
+		File file = getFile(fileName, outputConfigName);
+		URI uri = URI.createFileURI(file.getAbsolutePath());
+		String location = uri.toString();
+		String hash = OutputManifest.hash(contents, encodingProvider.getEncoding(uri));
+		if (file.isFile() && outputManifest.isUpToDate(location, hash, file.length(), file.lastModified())) {
+			if (writeTrace) {
+				generateTrace(fileName, outputConfigName, contents);
+			}
+			if (callBack != null) {
+				callBack.afterFileUpdate(file);
+			}
+			return;
+		}
+		super.generateFile(fileName, outputConfigName, contents);
+		if (file.isFile()) {
+			outputManifest.put(location, hash, file.length(), file.lastModified());
+		} else {
+			outputManifest.remove(location);
+		}
+	}
+
+	public OutputManifest getOutputManifest() {
+		return outputManifest;
+	}
+
+	public void setOutputManifest(OutputManifest outputManifest) {
+		this.outputManifest = outputManifest;
+	}
+
+}
@@ -22,23 +22,41 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind;
+import org.eclipse.xtend.core.compiler.batch.IncrementalBuildState.SourceState;
+import org.eclipse.xtend.core.macro.OutputManifest;
 import org.eclipse.xtend.core.macro.ProcessorInstanceForJvmTypeProvider;
 import org.eclipse.xtend.core.xtend.XtendFile;
 import org.eclipse.xtext.Constants;
@@ -48,16 +66,19 @@ import org.eclipse.xtext.common.types.descriptions.IStubGenerator;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.generator.GeneratorContext;
 import org.eclipse.xtext.generator.GeneratorDelegate;
+import org.eclipse.xtext.generator.IFileSystemAccess;
 import org.eclipse.xtext.generator.IOutputConfigurationProvider;
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.OutputConfigurationAdapter;
 import org.eclipse.xtext.mwe.NameBasedFilter;
 import org.eclipse.xtext.mwe.PathTraverser;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.CompilerPhases;
 import org.eclipse.xtext.resource.FileExtensionProvider;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResource;
@@ -75,7 +96,6 @@ import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.workspace.FileProjectConfig;
 import org.eclipse.xtext.workspace.ProjectConfigAdapter;
-import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
 import org.eclipse.xtext.xbase.compiler.GeneratorConfigProvider;
 import org.eclipse.xtext.xbase.resource.BatchLinkableResource;
 
@@ -83,9 +103,15 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.name.Named;
@@ -124,6 +150,8 @@ public class XtendBatchCompiler {
 	@Inject
 	protected Provider<JavaIoFileSystemAccess> javaIoFileSystemAccessProvider;
 	@Inject
+	private Provider<OutputManifestFileSystemAccess> outputFileSystemAccessProvider;
+	@Inject
 	protected FileExtensionProvider fileExtensionProvider;
 	@Inject
 	protected Provider<ResourceSetBasedResourceDescriptions> resourceSetDescriptionsProvider;
@@ -165,7 +193,19 @@ public class XtendBatchCompiler {
 	 * @since 2.8
 	 */
 	protected boolean writeStorageFiles = false;
-	private GeneratorConfig generatorConfig = new GeneratorConfig();
+	/**
+	 * @since 2.14
+	 */
+	protected String skipUnaffectedStateFile;
+	/**
+	 * @since 2.14
+	 */
+	protected String reportFile;
+	/**
+	 * @since 2.14
+	 */
+	protected boolean compileStubsInMemory = false;
+	private XtendGeneratorConfig generatorConfig = new XtendGeneratorConfig();
 	protected ClassLoader currentClassLoader = getClass().getClassLoader();
 
 	private URI baseURI;
@@ -178,6 +218,27 @@ public class XtendBatchCompiler {
 
 	private OutputConfiguration outputConfiguration;
 
+	private IncrementalBuildState previousState;
+
+	private IncrementalBuildState currentState;
+
+	private Map<String, String> sourceHashes;
+
+	/**
+	 * The manifest of the outputs of the current run, only used if {@link #isSkipUnaffected() unaffected sources are
+	 * skipped}.
+	 */
+	private OutputManifest outputManifest;
+
+	/* @Nullable */
+	private Set<String> affectedSources;
+
+	private final Map<String, Set<String>> generatedFiles = new ConcurrentHashMap<String, Set<String>>();
+
+	private CompilationReport report;
+
+	private Map<String, byte[]> compiledClasses;
+
 	public void setCurrentClassLoader(ClassLoader currentClassLoader) {
 		this.currentClassLoader = currentClassLoader;
 	}
@@ -216,6 +277,73 @@ public class XtendBatchCompiler {
 		this.writeStorageFiles = writeStorageFiles;
 	}
 	
+	/**
+	 * @since 2.14
+	 */
+	public String getSkipUnaffectedStateFile() {
+		return skipUnaffectedStateFile;
+	}
+
+	/**
+	 * Skips the validation and generation of unaffected sources. The given file stores the state of the last
+	 * successful run. Sources that did not change since then and that do not depend on changed sources are neither
+	 * validated nor generated again. If nothing changed at all, the compilation is skipped completely.
+	 * <p>
+	 * This is not a fully incremental build. As soon as a source changed, all sources are still loaded and parsed and
+	 * the stubs and Java sources are still pre-compiled, since the unaffected sources are needed for linking. Only the
+	 * validation and the generation of the output are restricted to the affected sources.
+	 * </p>
+	 * 
+	 * @since 2.14
+	 */
+	public void setSkipUnaffectedStateFile(String skipUnaffectedStateFile) {
+		this.skipUnaffectedStateFile = skipUnaffectedStateFile;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public boolean isSkipUnaffected() {
+		return skipUnaffectedStateFile != null;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public String getReportFile() {
+		return reportFile;
+	}
+
+	/**
+	 * Enables the compilation report. After each run, the time, the CPU time and the allocated memory of each phase, of
+	 * the active annotation processors and of the slowest source files are written to the given file as JSON.
+	 * 
+	 * @see CompilationReport
+	 * @since 2.14
+	 */
+	public void setReportFile(String reportFile) {
+		this.reportFile = reportFile;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public boolean isCompileStubsInMemory() {
+		return compileStubsInMemory;
+	}
+
+	/**
+	 * Generates the Java stubs and pre-compiles them and the Java sources in memory instead of using temporary
+	 * directories. The type provider loads the compiled Java classes directly from memory. Falls back to the file based
+	 * pre-compilation if no boot class path is configured and the one of the running VM cannot be determined.
+	 * 
+	 * @see InMemoryStubCompiler
+	 * @since 2.14
+	 */
+	public void setCompileStubsInMemory(boolean compileStubsInMemory) {
+		this.compileStubsInMemory = compileStubsInMemory;
+	}
+
 	@Inject
 	public void setResourceSetProvider(Provider<ResourceSet> resourceSetProvider) {
 		this.resourceSetProvider = resourceSetProvider;
@@ -338,6 +466,43 @@ public class XtendBatchCompiler {
 		generatorConfig.setJavaSourceVersion(javaVersion);
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	public String getCreateCacheKind() {
+		return generatorConfig.getCreateCacheKind().name();
+	}
+
+	/**
+	 * Sets the kind of cache that is generated for <code>create</code> functions, one of
+	 * {@link CreateCacheKind#SYNCHRONIZED}, {@link CreateCacheKind#CONCURRENT} or {@link CreateCacheKind#WEAK_KEYS}.
+	 * 
+	 * @since 2.14
+	 */
+	public void setCreateCacheKind(final String createCacheKind) {
+		generatorConfig.setCreateCacheKind(XtendGeneratorConfig.parseCreateCacheKind(createCacheKind));
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public int getDispatchTableThreshold() {
+		return generatorConfig.getDispatchTableThreshold();
+	}
+
+	/**
+	 * Single parameter dispatch methods with at least the given number of cases look up the case by the runtime class
+	 * of the argument. <code>0</code> disables the lookup.
+	 * 
+	 * @since 2.14
+	 */
+	public void setDispatchTableThreshold(int dispatchTableThreshold) {
+		if (dispatchTableThreshold < 0) {
+			throw new IllegalArgumentException("The dispatch table threshold must not be negative: " + dispatchTableThreshold);
+		}
+		generatorConfig.setDispatchTableThreshold(dispatchTableThreshold);
+	}
+
 	public void setVerbose(boolean verbose) {
 		this.verbose = verbose;
 	}
@@ -467,7 +632,12 @@ public class XtendBatchCompiler {
 	}
 
 	public boolean compile() {
+		boolean success = false;
 		try {
+			if (reportFile != null) {
+				report = new CompilationReport();
+				report.start();
+			}
 			if (!checkConfiguration()) {
 				return false;
 			}
@@ -476,18 +646,72 @@ public class XtendBatchCompiler {
 				return false;
 			}
 			generatorConfigProvider.install(resourceSet, generatorConfig);
-			File classDirectory = createTempDir("classes");
+			if (isSkipUnaffected()) {
+				if (prepareSkipUnaffected()) {
+					log.info("Xtend sources are up-to-date.");
+					success = true;
+					return true;
+				}
+				outputManifest.attachToEmfObject(resourceSet);
+			}
+			List<String> stubCompilerBootClassPath = null;
+			if (isCompileStubsInMemory()) {
+				stubCompilerBootClassPath = getStubCompilerBootClassPath();
+				if (stubCompilerBootClassPath == null) {
+					log.info("Cannot determine the boot class path, pre-compiling the stubs in a temporary directory.");
+				}
+			}
+			File classDirectory = null;
+			if (stubCompilerBootClassPath != null) {
+				compiledClasses = new ConcurrentHashMap<String, byte[]>();
+			} else {
+				classDirectory = createTempDir("classes");
+			}
 			try {
 				compilerPhases.setIndexing(resourceSet, true);
 				// install a type provider without index lookup for the first phase
 				installJvmTypeProvider(resourceSet, classDirectory, true);
-				loadXtendFiles(resourceSet);
-				File sourceDirectory = createStubs(resourceSet);
-				if (!preCompileStubs(sourceDirectory, classDirectory)) {
-					log.warn("Compilation of stubs had errors.");
+				CompilationReport.Measurement phase = startPhase(CompilationReport.LOADING);
+				try {
+					loadXtendFiles(resourceSet);
+				} finally {
+					phase.stop();
 				}
-				if (!preCompileJava(sourceDirectory, classDirectory)) {
-					log.debug("Compilation of Java code against stubs had errors. This is expected and usually is not a probblem.");
+				if (compiledClasses != null) {
+					try {
+						preCompileInMemory(resourceSet, stubCompilerBootClassPath, compiledClasses);
+					} catch (LinkageError e) {
+						// the in-memory compilation depends on internal API of the Eclipse compiler
+						log.info("The Eclipse compiler on the class path is not supported, pre-compiling the stubs in a temporary directory.");
+						log.debug(e.getMessage(), e);
+						compiledClasses = null;
+						classDirectory = createTempDir("classes");
+					}
+				}
+				if (compiledClasses == null) {
+					File sourceDirectory;
+					phase = startPhase(CompilationReport.STUB_GENERATION);
+					try {
+						sourceDirectory = createStubs(resourceSet);
+					} finally {
+						phase.stop();
+					}
+					phase = startPhase(CompilationReport.STUB_COMPILATION);
+					try {
+						if (!preCompileStubs(sourceDirectory, classDirectory)) {
+							log.warn("Compilation of stubs had errors.");
+						}
+					} finally {
+						phase.stop();
+					}
+					phase = startPhase(CompilationReport.JAVA_COMPILATION);
+					try {
+						if (!preCompileJava(sourceDirectory, classDirectory)) {
+							log.debug("Compilation of Java code against stubs had errors. This is expected and usually is not a probblem.");
+						}
+					} finally {
+						phase.stop();
+					}
 				}
 			} finally {
 				compilerPhases.setIndexing(resourceSet, false);
@@ -500,18 +724,56 @@ public class XtendBatchCompiler {
 					toBeResolved.add(resource);
 				}
 			}
-			for(Resource resource : toBeResolved) {
-				EcoreUtil.resolveAll(resource);
+			CompilationReport.Measurement phase = startPhase(CompilationReport.RESOLVING);
+			try {
+				for(Resource resource : toBeResolved) {
+					CompilationReport.Measurement file = startFile(CompilationReport.RESOLVING, resource.getURI());
+					try {
+						EcoreUtil.resolveAll(resource);
+					} finally {
+						file.stop();
+					}
+				}
+			} finally {
+				phase.stop();
+			}
+			if (isSkipUnaffected()) {
+				affectedSources = computeAffectedSources(toBeResolved);
+			}
+			List<Issue> issues;
+			phase = startPhase(CompilationReport.VALIDATION);
+			try {
+				issues = validate(resourceSet);
+			} finally {
+				phase.stop();
 			}
-			List<Issue> issues = validate(resourceSet);
 			Iterable<Issue> errors = Iterables.filter(issues, SeverityFilter.ERROR);
 			Iterable<Issue> warnings = Iterables.filter(issues, SeverityFilter.WARNING);
 			reportIssues(Iterables.concat(errors, warnings));
 			if (!Iterables.isEmpty(errors)) {
 				return false;
 			}
-			generateJavaFiles(resourceSet);
+			phase = startPhase(CompilationReport.GENERATION);
+			try {
+				generateJavaFiles(resourceSet);
+			} finally {
+				phase.stop();
+			}
+			if (isSkipUnaffected()) {
+				finishSkipUnaffected(toBeResolved);
+			}
+			success = true;
 		} finally {
+			if (report != null) {
+				writeReport(success);
+			}
+			previousState = null;
+			currentState = null;
+			outputManifest = null;
+			sourceHashes = null;
+			affectedSources = null;
+			generatedFiles.clear();
+			compiledClasses = null;
 			destroyClassLoader(jvmTypesClassLoader);
 			destroyClassLoader(annotationProcessingClassLoader);
 			if (isDeleteTempDirectory()) {
@@ -523,6 +785,323 @@ public class XtendBatchCompiler {
 	
 	
 
+	private void writeReport(boolean success) {
+		try {
+			report.write(new File(reportFile), success);
+			log.info("Wrote compilation report to '" + reportFile + "'.");
+		} catch (IOException e) {
+			log.warn("Cannot write the compilation report to '" + reportFile + "'.", e);
+		} finally {
+			report = null;
+		}
+	}
+
+	/**
+	 * Starts the measurement of a phase for the compilation report, if enabled.
+	 * 
+	 * @since 2.14
+	 */
+	protected CompilationReport.Measurement startPhase(String phase) {
+		if (report == null) {
+			return CompilationReport.noMeasurement();
+		}
+		return report.startPhase(phase);
+	}
+
+	/**
+	 * Starts the measurement of a single source in a phase for the compilation report, if enabled.
+	 * 
+	 * @since 2.14
+	 */
+	protected CompilationReport.Measurement startFile(String phase, URI uri) {
+		if (report == null) {
+			return CompilationReport.noMeasurement();
+		}
+		return report.startFile(phase, uri.toString());
+	}
+
+	/**
+	 * Reads the state of the previous run and hashes the current sources.
+	 * 
+	 * @return <code>true</code> if nothing changed since the previous run.
+	 * @since 2.14
+	 */
+	protected boolean prepareSkipUnaffected() {
+		Map<String, String> javaHashes;
+		try {
+			sourceHashes = hashFiles(collectSourceFiles(fileExtensionProvider.getPrimaryFileExtension()).values());
+			javaHashes = hashFiles(collectSourceFiles("java").values());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		String configurationHash = computeConfigurationHash();
+		currentState = new IncrementalBuildState(configurationHash, javaHashes);
+		previousState = IncrementalBuildState.read(new File(skipUnaffectedStateFile));
+		if (previousState != null) {
+			if (!configurationHash.equals(previousState.getConfigurationHash())) {
+				log.info("The compiler configuration changed, performing a full build.");
+				previousState = null;
+			} else if (!javaHashes.equals(previousState.getOtherSourceHashes())) {
+				log.info("Java sources changed, performing a full build.");
+				previousState = null;
+			}
+		}
+		outputManifest = new OutputManifest();
+		if (previousState != null) {
+			outputManifest.read(getOutputManifestFile());
+		}
+		return previousState != null && previousState.isUpToDate(sourceHashes) && outputsExist(previousState);
+	}
+
+	private File getOutputManifestFile() {
+		return new File(skipUnaffectedStateFile + ".outputs");
+	}
+
+	private boolean outputsExist(IncrementalBuildState state) {
+		for (SourceState sourceState : state.getSources().values()) {
+			for (String generatedFile : sourceState.getGeneratedFiles()) {
+				if (!new File(generatedFile).exists()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the sources that have to be validated and generated: all changed sources and, transitively, those that
+	 * import a name whose exported description changed. Returns <code>null</code> if everything is affected.
+	 * 
+	 * @since 2.14
+	 */
+	/* @Nullable */
+	protected Set<String> computeAffectedSources(List<Resource> resources) {
+		if (previousState == null) {
+			return null;
+		}
+		Map<String, SourceState> previousSources = previousState.getSources();
+		Set<String> changedNames = newHashSet();
+		for (Map.Entry<String, SourceState> entry : previousSources.entrySet()) {
+			if (!sourceHashes.containsKey(entry.getKey())) {
+				changedNames.addAll(entry.getValue().getExportedNames());
+			}
+		}
+		List<Resource> worklist = newArrayList();
+		for (Resource resource : resources) {
+			String uri = resource.getURI().toString();
+			SourceState previous = previousSources.get(uri);
+			if (previous == null || !previous.getContentHash().equals(sourceHashes.get(uri))) {
+				worklist.add(resource);
+			}
+		}
+		Set<String> affected = newHashSet();
+		while (!worklist.isEmpty()) {
+			for (Resource resource : worklist) {
+				String uri = resource.getURI().toString();
+				affected.add(uri);
+				IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
+				SourceState previous = previousSources.get(uri);
+				if (previous == null || !previous.getExportsHash().equals(hashExports(description))) {
+					changedNames.addAll(getExportedNames(description));
+					if (previous != null) {
+						changedNames.addAll(previous.getExportedNames());
+					}
+				}
+			}
+			worklist.clear();
+			for (Resource resource : resources) {
+				String uri = resource.getURI().toString();
+				if (!affected.contains(uri)) {
+					SourceState previous = previousSources.get(uri);
+					if (previous == null || !Collections.disjoint(previous.getImportedNames(), changedNames)) {
+						worklist.add(resource);
+					}
+				}
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Validating and generating " + affected.size() + " out of " + resources.size() + " sources.");
+		}
+		return affected;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected boolean isAffected(Resource resource) {
+		return affectedSources == null || affectedSources.contains(resource.getURI().toString());
+	}
+
+	/**
+	 * Removes outputs that are no longer generated and persists the new state.
+	 * 
+	 * @since 2.14
+	 */
+	protected void finishSkipUnaffected(List<Resource> resources) {
+		Map<String, SourceState> previousSources = previousState != null
+				? previousState.getSources()
+				: Collections.<String, SourceState>emptyMap();
+		for (Resource resource : resources) {
+			String uri = resource.getURI().toString();
+			SourceState previous = previousSources.get(uri);
+			if (isAffected(resource) || previous == null) {
+				IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
+				Set<String> generated = generatedFiles.get(uri);
+				if (generated == null) {
+					generated = emptySet();
+				}
+				if (previous != null) {
+					deleteGeneratedFiles(filter(previous.getGeneratedFiles(), Predicates.not(Predicates.in(generated))));
+				}
+				List<String> importedNames = newArrayList();
+				for (QualifiedName importedName : description.getImportedNames()) {
+					importedNames.add(importedName.toString());
+				}
+				currentState.getSources().put(uri, new SourceState(sourceHashes.get(uri), hashExports(description),
+						getExportedNames(description), importedNames, generated));
+			} else {
+				currentState.getSources().put(uri, previous);
+			}
+		}
+		for (Map.Entry<String, SourceState> entry : previousSources.entrySet()) {
+			if (!currentState.getSources().containsKey(entry.getKey())) {
+				deleteGeneratedFiles(entry.getValue().getGeneratedFiles());
+			}
+		}
+		File stateFile = new File(skipUnaffectedStateFile);
+		try {
+			currentState.write(stateFile);
+		} catch (IOException e) {
+			log.warn("Unable to write the build state to '" + stateFile + "'", e);
+			// the next build has to start from scratch
+			stateFile.delete();
+		}
+		File manifestFile = getOutputManifestFile();
+		try {
+			outputManifest.write(manifestFile);
+		} catch (IOException e) {
+			log.warn("Unable to write the output manifest to '" + manifestFile + "'", e);
+			manifestFile.delete();
+		}
+	}
+
+	private void deleteGeneratedFiles(Iterable<String> files) {
+		for (String path : files) {
+			File file = new File(path);
+			if (file.exists()) {
+				if (log.isDebugEnabled()) {
+					log.debug("delete stale output '" + file + "'");
+				}
+				if (!file.delete()) {
+					log.warn("Unable to delete stale output '" + file + "'");
+				}
+			}
+		}
+	}
+
+	private Set<String> getExportedNames(IResourceDescription description) {
+		Set<String> result = newHashSet();
+		for (IEObjectDescription exported : description.getExportedObjects()) {
+			result.add(exported.getQualifiedName().toLowerCase().toString());
+		}
+		return result;
+	}
+
+	private String hashExports(IResourceDescription description) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (IEObjectDescription exported : description.getExportedObjects()) {
+			hasher.putUnencodedChars(exported.getQualifiedName().toString());
+			hasher.putUnencodedChars(exported.getEClass().getName());
+			String[] keys = exported.getUserDataKeys().clone();
+			Arrays.sort(keys);
+			for (String key : keys) {
+				hasher.putUnencodedChars(key);
+				hasher.putUnencodedChars(String.valueOf(exported.getUserData(key)));
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * A hash over everything besides the sources that influences the compilation result.
+	 * 
+	 * @since 2.14
+	 */
+	protected String computeConfigurationHash() {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (Object setting : asList(classPath, bootClassPath, sourcePath, outputPath, fileEncoding, writeTraceFiles,
+				writeStorageFiles, getJavaSourceVersion(), isGenerateSyntheticSuppressWarnings(),
+				isGenerateGeneratedAnnotation(), isIncludeDateInGeneratedAnnotation(), getGeneratedAnnotationComment(),
+				getCreateCacheKind(), getDispatchTableThreshold())) {
+			hasher.putUnencodedChars(String.valueOf(setting)).putChar('\n');
+		}
+		Set<File> sourcesAndOutput = newHashSet(getSourcePathFileList());
+		sourcesAndOutput.add(getOutputPathFile());
+		for (String entry : concat(getClassPathEntries(), getBootClassPathEntries())) {
+			File file = new File(entry);
+			// sources are tracked separately, Maven puts the source folder onto the class path
+			if (!sourcesAndOutput.contains(file.getAbsoluteFile())) {
+				hasher.putUnencodedChars(entry).putLong(getLastModified(file)).putLong(file.length());
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	private long getLastModified(File file) {
+		long result = file.lastModified();
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				result = Math.max(result, getLastModified(child));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reading and hashing the sources does not touch the resource set, so it is spread over a pool of daemon threads
+	 * that only lives while the sources are hashed.
+	 */
+	private Map<String, String> hashFiles(Collection<URI> uris) throws IOException {
+		List<URI> files = newArrayList(uris);
+		if (files.isEmpty()) {
+			return new TreeMap<String, String>();
+		}
+		int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new ThreadFactoryBuilder().setNameFormat("XtendBatchCompiler-hash-%d").setDaemon(true).build());
+		try {
+			List<Future<String>> hashes = newArrayListWithCapacity(files.size());
+			for (final URI uri : files) {
+				hashes.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() throws IOException {
+						ByteSource contents = new ByteSource() {
+							@Override
+							public InputStream openStream() throws IOException {
+								return URIConverter.INSTANCE.createInputStream(uri);
+							}
+						};
+						return contents.hash(Hashing.murmur3_128()).toString();
+					}
+				}));
+			}
+			Map<String, String> result = new TreeMap<String, String>();
+			for (int i = 0; i < files.size(); i++) {
+				result.put(files.get(i).toString(), hashes.get(i).get());
+			}
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while hashing the sources");
+		} catch (ExecutionException e) {
+			Throwables.propagateIfPossible(e.getCause(), IOException.class);
+			throw new WrappedException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * @since 2.8
 	 */
@@ -568,26 +1147,38 @@ public class XtendBatchCompiler {
 
 	protected ResourceSet loadXtendFiles(final ResourceSet resourceSet) {
 		encodingProvider.setDefaultEncoding(getFileEncoding());
+		Multimap<String, URI> pathes = collectSourceFiles(fileExtensionProvider.getPrimaryFileExtension());
+		for (String src : pathes.keySet()) {
+			for (URI uri : pathes.get(src)) {
+				if (log.isDebugEnabled()) {
+					log.debug("load xtend file '" + uri + "'");
+				}
+				CompilationReport.Measurement file = startFile(CompilationReport.LOADING, uri);
+				try {
+					resourceSet.getResource(uri, true);
+				} finally {
+					file.stop();
+				}
+			}
+		}
+		return resourceSet;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected Multimap<String, URI> collectSourceFiles(String fileExtension) {
 		final NameBasedFilter nameBasedFilter = new NameBasedFilter();
-		nameBasedFilter.setExtension(fileExtensionProvider.getPrimaryFileExtension());
+		nameBasedFilter.setExtension(fileExtension);
 		PathTraverser pathTraverser = new PathTraverser();
 		List<String> sourcePathDirectories = getSourcePathDirectories();
-		Multimap<String, URI> pathes = pathTraverser.resolvePathes(sourcePathDirectories, new Predicate<URI>() {
+		return pathTraverser.resolvePathes(sourcePathDirectories, new Predicate<URI>() {
 			@Override
 			public boolean apply(URI input) {
 				boolean matches = nameBasedFilter.matches(input);
 				return matches;
 			}
 		});
-		for (String src : pathes.keySet()) {
-			for (URI uri : pathes.get(src)) {
-				if (log.isDebugEnabled()) {
-					log.debug("load xtend file '" + uri + "'");
-				}
-				resourceSet.getResource(uri, true);
-			}
-		}
-		return resourceSet;
 	}
 
 	@Deprecated
@@ -602,8 +1193,13 @@ public class XtendBatchCompiler {
 		fileSystemAccess.setOutputPath(outputDirectory.toString());
 		List<Resource> resources = Lists.newArrayList(resourceSet.getResources());
 		for (Resource resource : resources) {
-			IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
-			stubGenerator.doGenerateStubs(fileSystemAccess, description);
+			CompilationReport.Measurement file = startFile(CompilationReport.STUB_GENERATION, resource.getURI());
+			try {
+				IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
+				stubGenerator.doGenerateStubs(fileSystemAccess, description);
+			} finally {
+				file.stop();
+			}
 		}
 		return outputDirectory;
 	}
@@ -619,6 +1215,98 @@ public class XtendBatchCompiler {
 		return preCompile(classDirectory, getSourcePathDirectories(), concat(singletonList(tmpSourceDirectory.toString()), getClassPathEntries()));
 	}
 	
+	/**
+	 * Returns the boot class path for the in-memory pre-compilation, or <code>null</code> if it cannot be determined.
+	 * 
+	 * @since 2.14
+	 */
+	/* @Nullable */
+	protected List<String> getStubCompilerBootClassPath() {
+		List<String> bootClassPathEntries = getBootClassPathEntries();
+		if (!bootClassPathEntries.isEmpty()) {
+			return bootClassPathEntries;
+		}
+		return InMemoryStubCompiler.getRunningVMBootClassPath();
+	}
+
+	/**
+	 * The in-memory counterpart of {@link #createStubs(ResourceSet)}, {@link #preCompileStubs(File, File)} and
+	 * {@link #preCompileJava(File, File)}. The stubs are compiled first, then the Java sources on the source path are
+	 * compiled against them. Only the class files of the Java sources are put into the given map.
+	 * 
+	 * @since 2.14
+	 */
+	protected void preCompileInMemory(ResourceSet resourceSet, List<String> bootClassPathEntries, Map<String, byte[]> classes) {
+		Map<String, CharSequence> stubs;
+		CompilationReport.Measurement phase = startPhase(CompilationReport.STUB_GENERATION);
+		try {
+			stubs = createStubsInMemory(resourceSet);
+		} finally {
+			phase.stop();
+		}
+		InMemoryStubCompiler stubCompiler = new InMemoryStubCompiler(concat(bootClassPathEntries, getClassPathEntries()),
+				getComplianceLevel(), encodingProvider.getDefaultEncoding());
+		Map<String, byte[]> stubClasses = newHashMap();
+		phase = startPhase(CompilationReport.STUB_COMPILATION);
+		try {
+			if (!stubCompiler.compile(stubs, Collections.<File>emptyList(), Collections.<String, byte[]>emptyMap(), stubClasses)) {
+				log.warn("Compilation of stubs had errors.");
+			}
+		} finally {
+			phase.stop();
+		}
+		List<File> javaFiles = newArrayList();
+		for (URI uri : collectSourceFiles("java").values()) {
+			if (uri.isFile()) {
+				javaFiles.add(new File(uri.toFileString()));
+			}
+		}
+		phase = startPhase(CompilationReport.JAVA_COMPILATION);
+		try {
+			if (!stubCompiler.compile(Collections.<String, CharSequence>emptyMap(), javaFiles, stubClasses, classes)) {
+				log.debug("Compilation of Java code against stubs had errors. This is expected and usually is not a probblem.");
+			}
+		} finally {
+			phase.stop();
+		}
+	}
+
+	/**
+	 * Generates the Java stubs for the Xtend sources into memory, keyed by their relative file name.
+	 * 
+	 * @since 2.14
+	 */
+	protected Map<String, CharSequence> createStubsInMemory(ResourceSet resourceSet) {
+		final Map<String, CharSequence> result = newLinkedHashMap();
+		IFileSystemAccess fileSystemAccess = new IFileSystemAccess() {
+			@Override
+			public void generateFile(String fileName, CharSequence contents) {
+				result.put(fileName, contents);
+			}
+
+			@Override
+			public void generateFile(String fileName, String outputConfigurationName, CharSequence contents) {
+				result.put(fileName, contents);
+			}
+
+			@Override
+			public void deleteFile(String fileName) {
+				result.remove(fileName);
+			}
+		};
+		List<Resource> resources = Lists.newArrayList(resourceSet.getResources());
+		for (Resource resource : resources) {
+			CompilationReport.Measurement file = startFile(CompilationReport.STUB_GENERATION, resource.getURI());
+			try {
+				IResourceDescription description = resourceDescriptionManager.getResourceDescription(resource);
+				stubGenerator.doGenerateStubs(fileSystemAccess, description);
+			} finally {
+				file.stop();
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * @since 2.8
 	 */
@@ -678,17 +1366,32 @@ public class XtendBatchCompiler {
 		List<Issue> issues = Lists.newArrayList();
 		List<Resource> resources = Lists.newArrayList(resourceSet.getResources());
 		for (Resource resource : resources) {
-			IResourceServiceProvider resourceServiceProvider = IResourceServiceProvider.Registry.INSTANCE
-					.getResourceServiceProvider(resource.getURI());
-			if (resourceServiceProvider != null && isSourceFile(resource)) {
-				IResourceValidator resourceValidator = resourceServiceProvider.getResourceValidator();
-				List<Issue> result = resourceValidator.validate(resource, CheckMode.ALL, null);
-				addAll(issues, result);
+			CompilationReport.Measurement file = startFile(CompilationReport.VALIDATION, resource.getURI());
+			try {
+				addAll(issues, validate(resource));
+			} finally {
+				file.stop();
 			}
 		}
 		return issues;
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	protected List<Issue> validate(Resource resource) {
+		IResourceServiceProvider resourceServiceProvider = IResourceServiceProvider.Registry.INSTANCE
+				.getResourceServiceProvider(resource.getURI());
+		if (resourceServiceProvider != null && isSourceFile(resource)) {
+			if (!isAffected(resource)) {
+				return emptyList();
+			}
+			IResourceValidator resourceValidator = resourceServiceProvider.getResourceValidator();
+			return resourceValidator.validate(resource, CheckMode.ALL, null);
+		}
+		return emptyList();
+	}
+
 	/**
 	 * @since 2.8
 	 */
@@ -727,8 +1430,10 @@ public class XtendBatchCompiler {
 	 * Performs the actual installation of the JvmTypeProvider.
 	 */
 	private void internalInstallJvmTypeProvider(ResourceSet resourceSet, File tmpClassDirectory, boolean skipIndexLookup) {
-		Iterable<String> classPathEntries = concat(getClassPathEntries(), getSourcePathDirectories(),
-				asList(tmpClassDirectory.toString()));
+		Iterable<String> classPathEntries = concat(getClassPathEntries(), getSourcePathDirectories());
+		if (tmpClassDirectory != null) {
+			classPathEntries = concat(classPathEntries, asList(tmpClassDirectory.toString()));
+		}
 		classPathEntries = filter(classPathEntries, new Predicate<String>() {
 			@Override
 			public boolean apply(String input) {
@@ -748,15 +1453,21 @@ public class XtendBatchCompiler {
 				parentClassLoader = ClassLoader.getSystemClassLoader().getParent();
 			} else {
 				Iterable<File> bootClassPathEntries = transform(getBootClassPathEntries(), TO_FILE);
-				parentClassLoader = new AlternateJdkLoader(bootClassPathEntries);
+				parentClassLoader = createBootClassLoader(bootClassPathEntries);
 			}
 		}
 		jvmTypesClassLoader = createClassLoader(classpath, parentClassLoader);
+		if (compiledClasses != null) {
+			jvmTypesClassLoader = new InMemoryClassLoader(compiledClasses, jvmTypesClassLoader);
+		}
 		new ClasspathTypeProvider(jvmTypesClassLoader, resourceSet, skipIndexLookup ? null : indexedJvmTypeAccess, null);
 		((XtextResourceSet) resourceSet).setClasspathURIContext(jvmTypesClassLoader);
 
 		// for annotation processing we need to have the compiler's classpath as a parent.
-		annotationProcessingClassLoader = createClassLoader(classpath, currentClassLoader);
+		annotationProcessingClassLoader = createAnnotationProcessingClassLoader(classpath, currentClassLoader);
+		if (compiledClasses != null) {
+			annotationProcessingClassLoader = new InMemoryClassLoader(compiledClasses, annotationProcessingClassLoader);
+		}
 		resourceSet.eAdapters().add(new ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter(annotationProcessingClassLoader));
 	}
 	
@@ -780,6 +1491,28 @@ public class XtendBatchCompiler {
 	};
 
 	/**
+	 * Creates the class loader for the explicitly configured boot class path. It is used as the parent of the
+	 * {@link #createClassLoader(Iterable, ClassLoader) class loader} for the JVM types.
+	 * 
+	 * @since 2.14
+	 */
+	protected ClassLoader createBootClassLoader(Iterable<File> bootClassPathEntries) {
+		return new AlternateJdkLoader(bootClassPathEntries);
+	}
+
+	/**
+	 * Creates the class loader for the active annotation processors. The returned class loader is
+	 * {@link #destroyClassLoader(ClassLoader) destroyed} after the compilation.
+	 * 
+	 * @since 2.14
+	 */
+	protected ClassLoader createAnnotationProcessingClassLoader(Iterable<File> jarsAndFolders, ClassLoader parentClassLoader) {
+		return createClassLoader(jarsAndFolders, parentClassLoader);
+	}
+
+	/**
+	 * The returned class loader is {@link #destroyClassLoader(ClassLoader) destroyed} after the compilation.
+	 * 
 	 * @since 2.8
 	 */
 	protected ClassLoader createClassLoader(Iterable<File> jarsAndFolders, ClassLoader parentClassLoader) {
@@ -813,23 +1546,74 @@ public class XtendBatchCompiler {
 	}
 
 	protected void generateJavaFiles(ResourceSet resourceSet) {
-		JavaIoFileSystemAccess javaIoFileSystemAccess = javaIoFileSystemAccessProvider.get();
-		javaIoFileSystemAccess.setOutputPath(outputPath);
-		javaIoFileSystemAccess.setWriteTrace(writeTraceFiles);
-
-		GeneratorContext context = new GeneratorContext();
+		final GeneratorContext context = new GeneratorContext();
 		context.setCancelIndicator(CancelIndicator.NullImpl);
-		for (Resource resource : newArrayList(resourceSet.getResources())) {
-			if (isSourceFile(resource)) {
-				if (isWriteStorageFiles()) {
-					StorageAwareResource storageAwareResource = (StorageAwareResource)resource;
-					storageAwareResource.getResourceStorageFacade().saveResource(storageAwareResource, javaIoFileSystemAccess);
+		List<Resource> resources = newArrayList(filter(resourceSet.getResources(), new Predicate<Resource>() {
+			@Override
+			public boolean apply(Resource resource) {
+				return isSourceFile(resource) && isAffected(resource);
+			}
+		}));
+		JavaIoFileSystemAccess javaIoFileSystemAccess = createJavaIoFileSystemAccess();
+		for (Resource resource : resources) {
+			CompilationReport.Measurement file = startFile(CompilationReport.GENERATION, resource.getURI());
+			try {
+				if (isSkipUnaffected()) {
+					// the callback records the outputs of the current resource only
+					javaIoFileSystemAccess = createJavaIoFileSystemAccess();
+					recordGeneratedFiles(resource, javaIoFileSystemAccess);
 				}
-				generator.generate(resource, javaIoFileSystemAccess, context);
+				generateJavaFiles(resource, javaIoFileSystemAccess, context);
+			} finally {
+				file.stop();
 			}
 		}
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	protected void generateJavaFiles(Resource resource, JavaIoFileSystemAccess javaIoFileSystemAccess, GeneratorContext context) {
+		if (isWriteStorageFiles()) {
+			StorageAwareResource storageAwareResource = (StorageAwareResource)resource;
+			storageAwareResource.getResourceStorageFacade().saveResource(storageAwareResource, javaIoFileSystemAccess);
+		}
+		generator.generate(resource, javaIoFileSystemAccess, context);
+	}
+
+	private void recordGeneratedFiles(Resource resource, JavaIoFileSystemAccess javaIoFileSystemAccess) {
+		final Set<String> files = newHashSet();
+		generatedFiles.put(resource.getURI().toString(), files);
+		javaIoFileSystemAccess.setCallBack(new JavaIoFileSystemAccess.IFileCallback() {
+			@Override
+			public void afterFileUpdate(File file) {
+				files.add(file.getAbsolutePath());
+			}
+
+			@Override
+			public void afterFileCreation(File file) {
+				files.add(file.getAbsolutePath());
+			}
+
+			@Override
+			public boolean beforeFileDeletion(File file) {
+				files.remove(file.getAbsolutePath());
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected JavaIoFileSystemAccess createJavaIoFileSystemAccess() {
+		OutputManifestFileSystemAccess javaIoFileSystemAccess = outputFileSystemAccessProvider.get();
+		javaIoFileSystemAccess.setOutputManifest(outputManifest);
+		javaIoFileSystemAccess.setOutputPath(outputPath);
+		javaIoFileSystemAccess.setWriteTrace(writeTraceFiles);
+		return javaIoFileSystemAccess;
+	}
+
 	protected ResourceSetBasedResourceDescriptions getResourceDescriptions(ResourceSet resourceSet) {
 		ResourceSetBasedResourceDescriptions resourceDescriptions = resourceSetDescriptionsProvider.get();
 		resourceDescriptions.setContext(resourceSet);
@@ -9,6 +9,7 @@ package org.eclipse.xtend.core.formatting2
 
 import com.google.inject.Inject
 import com.google.inject.Provider
+import java.util.Collection
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.formatting2.FormatterPreferences
 import org.eclipse.xtext.formatting2.FormatterRequest
@@ -18,6 +19,7 @@ import org.eclipse.xtext.preferences.IPreferenceValuesProvider
 import org.eclipse.xtext.preferences.TypedPreferenceValues
 import org.eclipse.xtext.resource.IResourceFactory
 import org.eclipse.xtext.resource.XtextResource
+import org.eclipse.xtext.util.ITextRegion
 import org.eclipse.xtext.util.StringInputStream
 import org.eclipse.xtext.resource.XtextResourceSet
 
@@ -32,18 +34,39 @@ class FormatterFacade {
 	@Inject Provider<TextRegionAccessBuilder> regionAccessBuilder;
 
 	def String format(String xtendCode) {
+		format(xtendCode, emptyList)
+	}
+
+	/**
+	 * Formats the given regions of the code and returns the complete text. Only the members that touch these regions
+	 * are visited. All regions are formatted if the given collection is empty.
+	 * 
+	 * @since 2.14
+	 */
+	def String format(String xtendCode, Collection<? extends ITextRegion> regions) {
 		val resourceSet = new XtextResourceSet
 		val resource = resourceFactory.createResource(URI.createURI("synthetic://to-be-formatted.xtend")) as XtextResource
 		resourceSet.resources += resource
 		resource.load(new StringInputStream(xtendCode), emptyMap)
+		format(resource, regions)
+	}
+
+	/**
+	 * Formats the given regions of an already parsed resource, e.g. the resource of an editor, and returns the complete
+	 * text. The resource is not modified.
+	 * 
+	 * @since 2.14
+	 */
+	def String format(XtextResource resource, Collection<? extends ITextRegion> regions) {
 		val regionAccess = regionAccessBuilder.get().forNodeModel(resource).create()
 		var request = new FormatterRequest => [
 			allowIdentityEdits = false
 			textRegionAccess = regionAccess
 			preferences = TypedPreferenceValues.castOrWrap(cfgProvider.getPreferenceValues(resource))
+			it.regions += regions
 		]
 		var replacements = formatter.format(request)
 		return regionAccess.getRewriter().renderToString(replacements)
 	}
 
-}
\ No newline at end of file
+}
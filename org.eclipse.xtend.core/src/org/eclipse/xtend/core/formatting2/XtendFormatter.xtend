@@ -9,6 +9,7 @@ package org.eclipse.xtend.core.formatting2
 
 import com.google.inject.Inject
 import java.util.List
+import org.eclipse.emf.ecore.EObject
 import org.eclipse.xtend.core.services.XtendGrammarAccess
 import org.eclipse.xtend.core.xtend.AnonymousClass
 import org.eclipse.xtend.core.xtend.RichString
@@ -26,6 +27,7 @@ import org.eclipse.xtend.core.xtend.XtendParameter
 import org.eclipse.xtend.core.xtend.XtendTypeDeclaration
 import org.eclipse.xtext.common.types.JvmFormalParameter
 import org.eclipse.xtext.common.types.JvmTypeParameter
+import org.eclipse.xtext.formatting2.FormatterRequest
 import org.eclipse.xtext.formatting2.IFormattableDocument
 import org.eclipse.xtext.formatting2.IHiddenRegionFormatter
 import org.eclipse.xtext.xbase.XBlockExpression
@@ -61,7 +63,8 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
 		}
 		xtendFile.importSection?.format
 		for (clazz : xtendFile.xtendTypes) {
-			clazz.format
+			if (isInRequestedRegions(clazz))
+				clazz.format
 			if (clazz != xtendFile.xtendTypes.last)
 				clazz.append(blankLinesBetweenClasses)
 		}
@@ -114,7 +117,8 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
 			open.append(blankLinesBeforeFirstMember)
 			for (i : 0 .. (type.members.size - 1)) {
 				val current = type.members.get(i)
-				current.format
+				if (isInRequestedRegions(current))
+					current.format
 				if (i < type.members.size - 1) {
 					val next = type.members.get(i + 1)
 					if (current instanceof XtendField && next instanceof XtendField)
@@ -133,6 +137,27 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
 		}
 	}
 
+	/**
+	 * Returns <code>false</code> if the request is restricted to {@link FormatterRequest#getRegions() regions} that
+	 * touch neither the given element nor its surrounding hidden regions. Such elements are not visited since their
+	 * replacements would be dropped anyway.
+	 * 
+	 * @since 2.14
+	 */
+	def protected boolean isInRequestedRegions(EObject element) {
+		val regions = request.regions
+		if (regions.empty)
+			return true
+		val elementRegion = request.textRegionAccess.regionForEObject(element)
+		if (elementRegion === null)
+			return true
+		val previous = elementRegion.previousHiddenRegion
+		val next = elementRegion.nextHiddenRegion
+		val offset = if (previous !== null) previous.offset else elementRegion.offset
+		val endOffset = if (next !== null) next.endOffset else elementRegion.endOffset
+		return regions.exists[region | region.offset <= endOffset && offset <= region.offset + region.length]
+	}
+
 	def dispatch void format(XtendInterface interfaze, extension IFormattableDocument format) {
 		formatAnnotations(interfaze, format, newLineAfterClassAnnotations)
 		formatModifiers(interfaze, format)
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind;
 import org.eclipse.xtend.core.xtend.CreateExtensionInfo;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmField;
@@ -53,17 +54,48 @@ public class CacheMethodCompileStrategy implements Procedures.Procedure1<ITreeAp
 
 	private JvmField cacheField;
 
+	private JvmField nullKeyField;
+
+	private CreateCacheKind cacheKind = CreateCacheKind.SYNCHRONIZED;
+
 	protected void init(CreateExtensionInfo createExtensionInfo, JvmField cacheField, JvmOperation initializerMethod) {
 		this.createExtensionInfo = createExtensionInfo;
 		this.initializerMethod = initializerMethod;
 		this.cacheField = cacheField; 
 	}
 
+	/**
+	 * @param nullKeyField the field that is used as the cache key for a <code>null</code> argument, only required for
+	 *            {@link CreateCacheKind#CONCURRENT} caches of single argument functions whose parameter is not a
+	 *            primitive.
+	 * @since 2.14
+	 */
+	protected void init(CreateExtensionInfo createExtensionInfo, JvmField cacheField, /* @Nullable */ JvmField nullKeyField,
+			JvmOperation initializerMethod, CreateCacheKind cacheKind) {
+		init(createExtensionInfo, cacheField, initializerMethod);
+		this.nullKeyField = nullKeyField;
+		this.cacheKind = cacheKind;
+	}
+
 	@Override
 	public void apply(ITreeAppendable appendable) {
 		JvmOperation cacheMethod = (JvmOperation) logicalContainerProvider.getLogicalContainer(createExtensionInfo.getCreateExpression());
 		JvmDeclaredType containerType = cacheMethod.getDeclaringType();
 		IResolvedTypes resolvedTypes = typeResolver.resolveTypes(containerType);
+		switch (cacheKind) {
+			case CONCURRENT:
+				applyConcurrent(appendable, cacheMethod, resolvedTypes);
+				break;
+			case WEAK_KEYS:
+				applyWeakKeys(appendable, cacheMethod, resolvedTypes);
+				break;
+			default:
+				applySynchronized(appendable, cacheMethod, containerType, resolvedTypes);
+		}
+	}
+
+	protected void applySynchronized(ITreeAppendable appendable, JvmOperation cacheMethod, JvmDeclaredType containerType,
+			IResolvedTypes resolvedTypes) {
 		final ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, containerType);
 		LightweightTypeReference listType = owner.newReferenceTo(ArrayList.class, new TypeReferenceInitializer<ParameterizedTypeReference>() {
 			@Override
@@ -125,6 +157,129 @@ public class CacheMethodCompileStrategy implements Procedures.Procedure1<ITreeAp
 		// close synchronize block
 		appendable.decreaseIndentation();
 		appendable.newLine().append("}");
+		appendInitializerCallAndReturn(appendable, cacheMethod, resultVarName, castRequired ? declaredResultType : null);
+	}
+
+	/**
+	 * Looks up the key once in a concurrent map without locking. Single argument functions use the argument as the key,
+	 * others a list of all arguments.
+	 * 
+	 * @since 2.14
+	 */
+	protected void applyConcurrent(ITreeAppendable appendable, JvmOperation cacheMethod, IResolvedTypes resolvedTypes) {
+		String cacheVarName = cacheField.getSimpleName();
+		String cacheKeyVarName = appendable.declareSyntheticVariable("CacheKey", "_cacheKey");
+		List<JvmFormalParameter> parameters = cacheMethod.getParameters();
+		appendable.append("final Object ").append(cacheKeyVarName).append(" = ");
+		if (parameters.size() == 1) {
+			String parameterName = getVarName(parameters.get(0));
+			appendable.append(parameterName);
+			if (nullKeyField != null) {
+				// concurrent maps do not support null keys
+				appendable.append(" != null ? ").append(parameterName).append(" : ").append(nullKeyField.getSimpleName());
+			}
+			appendable.append(";");
+		} else {
+			appendArgumentList(appendable, parameters);
+			appendable.append(";");
+		}
+		LightweightTypeReference declaredResultType = resolvedTypes.getActualType(cacheField).getTypeArguments().get(1);
+		String cachedVarName = appendable.declareSyntheticVariable("CachedResult", "_cachedResult");
+		appendable.newLine().append("final ").append(declaredResultType).append(" ").append(cachedVarName).append(" = ")
+				.append(cacheVarName).append(".get(").append(cacheKeyVarName).append(");");
+		appendReturnIfCached(appendable, cachedVarName);
+
+		LightweightTypeReference returnType = resolvedTypes.getActualType(initializerMethod.getParameters().get(0));
+		String resultVarName = "_result";
+		boolean castRequired = appendCreation(appendable, returnType, declaredResultType, resultVarName);
+
+		// store the newly created object unless another thread was faster
+		appendable.newLine().append("if (").append(resultVarName).append(" != null) {");
+		appendable.increaseIndentation();
+		String previousVarName = appendable.declareSyntheticVariable("PreviousResult", "_previousResult");
+		appendable.newLine().append("final ").append(declaredResultType).append(" ").append(previousVarName).append(" = ")
+				.append(cacheVarName).append(".putIfAbsent(").append(cacheKeyVarName).append(", ");
+		if (castRequired) {
+			appendable.append("(").append(declaredResultType).append(")");
+		}
+		appendable.append(resultVarName).append(");");
+		appendReturnIfCached(appendable, previousVarName);
+		appendable.decreaseIndentation().newLine().append("}");
+		appendInitializerCallAndReturn(appendable, cacheMethod, resultVarName, castRequired ? declaredResultType : null);
+	}
+
+	/**
+	 * Uses the single argument as the key of a synchronized weak hash map and performs a single lookup.
+	 * 
+	 * @since 2.14
+	 */
+	protected void applyWeakKeys(ITreeAppendable appendable, JvmOperation cacheMethod, IResolvedTypes resolvedTypes) {
+		String cacheVarName = cacheField.getSimpleName();
+		String cacheKeyVarName = getVarName(cacheMethod.getParameters().get(0));
+		LightweightTypeReference declaredResultType = resolvedTypes.getActualType(cacheField).getTypeArguments().get(1);
+		LightweightTypeReference returnType = resolvedTypes.getActualType(initializerMethod.getParameters().get(0));
+		String resultVarName = "_result";
+		// open synchronize block
+		appendable.newLine().append("synchronized (").append(cacheVarName).append(") {");
+		appendable.increaseIndentation();
+		String cachedVarName = appendable.declareSyntheticVariable("CachedResult", "_cachedResult");
+		appendable.newLine().append("final ").append(declaredResultType).append(" ").append(cachedVarName).append(" = ")
+				.append(cacheVarName).append(".get(").append(cacheKeyVarName).append(");");
+		appendReturnIfCached(appendable, cachedVarName);
+		boolean castRequired = appendCreation(appendable, returnType, declaredResultType, resultVarName);
+		appendable.newLine().append(cacheVarName).append(".put(").append(cacheKeyVarName).append(", ");
+		if (castRequired) {
+			appendable.append("(").append(declaredResultType).append(")");
+		}
+		appendable.append(resultVarName).append(");");
+		// close synchronize block
+		appendable.decreaseIndentation();
+		appendable.newLine().append("}");
+		appendInitializerCallAndReturn(appendable, cacheMethod, resultVarName, castRequired ? declaredResultType : null);
+	}
+
+	private void appendArgumentList(ITreeAppendable appendable, List<JvmFormalParameter> parameters) {
+		appendable.append(CollectionLiterals.class).append(".newArrayList(");
+		for (Iterator<JvmFormalParameter> iterator = parameters.iterator(); iterator.hasNext();) {
+			JvmFormalParameter jvmFormalParameter = iterator.next();
+			appendable.append(getVarName(jvmFormalParameter));
+			if (iterator.hasNext()) {
+				appendable.append(", ");
+			}
+		}
+		appendable.append(")");
+	}
+
+	private void appendReturnIfCached(ITreeAppendable appendable, String cachedVarName) {
+		appendable.newLine().append("if (").append(cachedVarName).append(" != null) {");
+		appendable.increaseIndentation();
+		appendable.newLine().append("return ").append(cachedVarName).append(";");
+		appendable.decreaseIndentation().newLine().append("}");
+	}
+
+	/**
+	 * Declares the result variable and assigns the created object.
+	 * 
+	 * @return whether the result has to be casted to the declared result type.
+	 */
+	private boolean appendCreation(ITreeAppendable appendable, /* @Nullable */ LightweightTypeReference returnType,
+			LightweightTypeReference declaredResultType, String resultVarName) {
+		if (returnType != null) {
+			appendable.newLine().append("final ").append(returnType);
+		} else {
+			appendable.newLine().append("final Object");
+		}
+		appendable.append(" ").append(resultVarName).append(";");
+		compiler.toJavaStatement(createExtensionInfo.getCreateExpression(), appendable, true);
+		appendable.newLine();
+		appendable.append(resultVarName).append(" = ");
+		compiler.toJavaExpression(createExtensionInfo.getCreateExpression(), appendable);
+		appendable.append(";");
+		return !declaredResultType.isAssignableFrom(returnType);
+	}
+
+	private void appendInitializerCallAndReturn(ITreeAppendable appendable, JvmOperation cacheMethod, String resultVarName,
+			/* @Nullable */ LightweightTypeReference castType) {
 		appendable.newLine().append(initializerMethod.getSimpleName()).append("(").append(resultVarName);
 		for (JvmFormalParameter parameter : cacheMethod.getParameters()) {
 			appendable.append(", ").append(parameter.getName());
@@ -132,8 +287,8 @@ public class CacheMethodCompileStrategy implements Procedures.Procedure1<ITreeAp
 		appendable.append(");");
 		// return the result
 		appendable.newLine().append("return ");
-		if (castRequired) {
-			appendable.append("(").append(declaredResultType).append(")");
+		if (castType != null) {
+			appendable.append("(").append(castType).append(")");
 		}
 		appendable.append(resultVarName).append(";");
 	}
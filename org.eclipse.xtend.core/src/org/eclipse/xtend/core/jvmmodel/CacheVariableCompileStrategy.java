@@ -7,15 +7,50 @@
  *******************************************************************************/
 package org.eclipse.xtend.core.jvmmodel;
 
+import java.util.Collections;
+import java.util.WeakHashMap;
+
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind;
+import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.xbase.compiler.output.ITreeAppendable;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Procedures;
+import org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+
+import com.google.inject.Inject;
 
 public class CacheVariableCompileStrategy implements Procedures.Procedure1<ITreeAppendable> {
 
+	@Inject
+	private IBatchTypeResolver typeResolver;
+
+	private JvmField cacheField;
+
+	private CreateCacheKind cacheKind = CreateCacheKind.SYNCHRONIZED;
+
+	/**
+	 * @since 2.14
+	 */
+	protected void init(JvmField cacheField, CreateCacheKind cacheKind) {
+		this.cacheField = cacheField;
+		this.cacheKind = cacheKind;
+	}
+
 	@Override
 	public void apply(ITreeAppendable builder) {
-		builder.append(CollectionLiterals.class).append(".newHashMap()");
+		if (cacheKind == CreateCacheKind.SYNCHRONIZED || cacheField == null) {
+			builder.append(CollectionLiterals.class).append(".newHashMap()");
+			return;
+		}
+		LightweightTypeReference fieldType = typeResolver.resolveTypes(cacheField.getDeclaringType()).getActualType(cacheField);
+		if (cacheKind == CreateCacheKind.WEAK_KEYS) {
+			LightweightTypeReference valueType = fieldType.getTypeArguments().get(1);
+			builder.append(Collections.class).append(".<Object, ").append(valueType).append(">synchronizedMap(new ")
+					.append(WeakHashMap.class).append("<Object, ").append(valueType).append(">())");
+		} else {
+			builder.append("new ").append(fieldType).append("()");
+		}
 	}
 
-}
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmOperation;
@@ -47,19 +48,40 @@ public class DispatchMethodCompileStrategy implements Procedures.Procedure1<ITre
 	@Inject
 	private DispatchHelper sorter;
 	
+	@Inject
+	private DispatchTableCompileStrategy dispatchTableStrategy;
+	
 	private JvmOperation dispatchOperation;
 
+	private JvmField dispatchTableField;
+
 	protected void initialize(JvmOperation dispatchOperation) {
 		this.dispatchOperation = dispatchOperation;
 	}
 
+	/**
+	 * @param dispatchTableField the {@link ClassValue} that maps the runtime class of the argument to the case. 
+	 * @since 2.14
+	 */
+	protected void initialize(JvmOperation dispatchOperation, /* @Nullable */ JvmField dispatchTableField) {
+		this.dispatchOperation = dispatchOperation;
+		this.dispatchTableField = dispatchTableField;
+	}
+
 	@Override
 	public void apply(/* @Nullable */ ITreeAppendable a) {
 		if (a == null)
 			throw new IllegalArgumentException("a is never null");
+		List<JvmOperation> sortedDispatchOperations = sorter.getAllDispatchCases(dispatchOperation);
+		if (dispatchTableField != null) {
+			List<JvmType> caseTypes = dispatchTableStrategy.getCaseTypes(dispatchOperation, sortedDispatchOperations);
+			if (caseTypes != null) {
+				generateDispatchTableLookup(a, sortedDispatchOperations, caseTypes);
+				return;
+			}
+		}
 		boolean needsElse = true;
 		int parameterCount = dispatchOperation.getParameters().size();
-		List<JvmOperation> sortedDispatchOperations = sorter.getAllDispatchCases(dispatchOperation);
 		boolean[] allCasesSameType = new boolean[parameterCount];
 		for(int i = 0; i < parameterCount; i++) {
 			allCasesSameType[i] = true;
@@ -133,22 +155,7 @@ public class DispatchMethodCompileStrategy implements Procedures.Procedure1<ITre
 				operationAppendable.append(") {").increaseIndentation();
 				operationAppendable.newLine();
 			}
-			final boolean isCurrentVoid = typeReferences.is(operation.getReturnType(), Void.TYPE);
-			final boolean isDispatchVoid = typeReferences.is(dispatchOperation.getReturnType(), Void.TYPE);
-			if (isDispatchVoid) {
-				generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
-				// we generate a redundant return statement here to get a better debugging experience
-				operationAppendable.append(";").newLine().append("return;");
-			} else {
-				if (isCurrentVoid) {
-					generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
-					operationAppendable.append(";").newLine().append("return null");
-				} else {
-					operationAppendable.append("return ");
-					generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
-				}
-				operationAppendable.append(";");
-			}
+			generateDispatchCallAndReturn(operation, operationAppendable, owner);
 			if (sortedDispatchOperations.size() != 1) {
 				operationAppendable.decreaseIndentation();
 				a.newLine().append("}");
@@ -157,28 +164,87 @@ public class DispatchMethodCompileStrategy implements Procedures.Procedure1<ITre
 		if (needsElse) {
 			a.append(" else {").increaseIndentation();
 			a.newLine();
-			a.increaseIndentation();
-			a.append("throw new IllegalArgumentException(\"Unhandled parameter types: \" +").newLine();
-			JvmType jvmType = typeReferences.findDeclaredType("java.util.Arrays", dispatchOperation);
-			if (jvmType != null) {
-				a.append(jvmType);
+			generateUnhandledParameterTypes(a);
+			a.decreaseIndentation().newLine().append("}");
+		}
+	}
+
+	/**
+	 * Looks up the index of the case in the dispatch table and switches over it. <code>null</code> is handled by the
+	 * case for {@link Void} if there is one.
+	 * 
+	 * @since 2.14
+	 */
+	protected void generateDispatchTableLookup(ITreeAppendable a, List<JvmOperation> sortedDispatchOperations,
+			List<JvmType> caseTypes) {
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, dispatchOperation);
+		String name = getVarName(dispatchOperation.getParameters().get(0), a);
+		int nullCase = caseTypes.indexOf(null);
+		String caseVarName = a.declareSyntheticVariable(dispatchTableField, "_case");
+		a.append("final int ").append(caseVarName).append(" = ").append(name).append(" == null ? ")
+				.append(String.valueOf(nullCase)).append(" : ").append(dispatchTableField.getSimpleName())
+				.append(".get(").append(name).append(".getClass()).intValue();");
+		a.newLine().append("switch (").append(caseVarName).append(") {").increaseIndentation();
+		for (int i = 0; i < sortedDispatchOperations.size(); i++) {
+			JvmOperation operation = sortedDispatchOperations.get(i);
+			if (caseTypes.get(i) == null && i != nullCase) {
+				// only the first case for Void is reachable
+				continue;
+			}
+			ITreeAppendable operationAppendable = treeAppendableUtil.traceSignificant(a, operation, true);
+			operationAppendable.newLine().append("case ").append(String.valueOf(i)).append(":").increaseIndentation();
+			operationAppendable.newLine();
+			generateDispatchCallAndReturn(operation, operationAppendable, owner);
+			operationAppendable.decreaseIndentation();
+		}
+		a.newLine().append("default:").increaseIndentation();
+		a.newLine();
+		generateUnhandledParameterTypes(a);
+		a.decreaseIndentation();
+		a.decreaseIndentation().newLine().append("}");
+	}
+
+	private void generateDispatchCallAndReturn(JvmOperation operation, ITreeAppendable operationAppendable,
+			ITypeReferenceOwner owner) {
+		final boolean isCurrentVoid = typeReferences.is(operation.getReturnType(), Void.TYPE);
+		final boolean isDispatchVoid = typeReferences.is(dispatchOperation.getReturnType(), Void.TYPE);
+		if (isDispatchVoid) {
+			generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
+			// we generate a redundant return statement here to get a better debugging experience
+			operationAppendable.append(";").newLine().append("return;");
+		} else {
+			if (isCurrentVoid) {
+				generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
+				operationAppendable.append(";").newLine().append("return null");
 			} else {
-				a.append(Arrays.class.getSimpleName());
+				operationAppendable.append("return ");
+				generateActualDispatchCall(dispatchOperation, operation, operationAppendable, owner);
 			}
-			a.append(".<Object>asList(");
-			Iterator<JvmFormalParameter> iterator = dispatchOperation.getParameters().iterator();
-			while (iterator.hasNext()) {
-				JvmFormalParameter parameter = iterator.next();
-				final String name = getVarName(parameter, a);
-				a.append(name);
-				if (iterator.hasNext()) {
-					a.append(", ");
-				}
+			operationAppendable.append(";");
+		}
+	}
+
+	private void generateUnhandledParameterTypes(ITreeAppendable a) {
+		a.increaseIndentation();
+		a.append("throw new IllegalArgumentException(\"Unhandled parameter types: \" +").newLine();
+		JvmType jvmType = typeReferences.findDeclaredType("java.util.Arrays", dispatchOperation);
+		if (jvmType != null) {
+			a.append(jvmType);
+		} else {
+			a.append(Arrays.class.getSimpleName());
+		}
+		a.append(".<Object>asList(");
+		Iterator<JvmFormalParameter> iterator = dispatchOperation.getParameters().iterator();
+		while (iterator.hasNext()) {
+			JvmFormalParameter parameter = iterator.next();
+			final String name = getVarName(parameter, a);
+			a.append(name);
+			if (iterator.hasNext()) {
+				a.append(", ");
 			}
-			a.append(").toString());");
-			a.decreaseIndentation();
-			a.decreaseIndentation().newLine().append("}");
 		}
+		a.append(").toString());");
+		a.decreaseIndentation();
 	}
 
 	protected void generateActualDispatchCall(JvmOperation dispatchOperation, JvmOperation actualOperationToCall,
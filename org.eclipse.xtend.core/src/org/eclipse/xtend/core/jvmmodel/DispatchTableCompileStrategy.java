@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.jvmmodel;
+
+import java.util.List;
+
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.xbase.compiler.output.ITreeAppendable;
+import org.eclipse.xtext.xbase.lib.Procedures;
+import org.eclipse.xtext.xbase.typesystem.references.ITypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
+import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
+import org.eclipse.xtext.xbase.typesystem.util.CommonTypeComputationServices;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+/**
+ * Compiles the initializer of the {@link ClassValue} that maps the runtime class of the argument of a single parameter
+ * dispatch method to the index of the case that handles it. The indices refer to the cases in the order of
+ * {@link DispatchHelper#getAllDispatchCases(JvmOperation)}, <code>-1</code> denotes an unhandled class. A case for
+ * {@link Void} is never returned, it only handles <code>null</code>.
+ *
+ * @since 2.14
+ */
+public class DispatchTableCompileStrategy implements Procedures.Procedure1<ITreeAppendable> {
+
+	@Inject
+	private CommonTypeComputationServices services;
+
+	@Inject
+	private DispatchHelper sorter;
+
+	private JvmOperation dispatchOperation;
+
+	protected void initialize(JvmOperation dispatchOperation) {
+		this.dispatchOperation = dispatchOperation;
+	}
+
+	@Override
+	public void apply(ITreeAppendable a) {
+		List<JvmType> caseTypes = getCaseTypes(dispatchOperation, sorter.getAllDispatchCases(dispatchOperation));
+		if (caseTypes == null) {
+			// the dispatcher falls back to instanceof checks
+			a.append("null");
+			return;
+		}
+		String typeName = a.declareSyntheticVariable(this, "type");
+		a.append("new ").append(ClassValue.class).append("<Integer>() {").increaseIndentation();
+		a.newLine().append("@Override");
+		a.newLine().append("protected Integer computeValue(final ").append(Class.class).append("<?> ").append(typeName).append(") {");
+		a.increaseIndentation();
+		for (int i = 0; i < caseTypes.size(); i++) {
+			JvmType caseType = caseTypes.get(i);
+			if (caseType != null) {
+				a.newLine().append("if (").append(caseType).append(".class.isAssignableFrom(").append(typeName).append(")) {");
+				a.increaseIndentation().newLine().append("return ").append(String.valueOf(i)).append(";");
+				a.decreaseIndentation().newLine().append("}");
+			}
+		}
+		a.newLine().append("return -1;");
+		a.decreaseIndentation().newLine().append("}");
+		a.decreaseIndentation().newLine().append("}");
+	}
+
+	/**
+	 * Returns the raw types of the parameter of the given cases, <code>null</code> for a case that handles
+	 * {@link Void}. Returns <code>null</code> if the cases cannot be looked up by the runtime class of the argument,
+	 * e.g. if the dispatch parameter is primitive or a case refers to an array or a type parameter.
+	 */
+	/* @Nullable */
+	protected List<JvmType> getCaseTypes(JvmOperation dispatchOperation, List<JvmOperation> cases) {
+		if (dispatchOperation.getParameters().size() != 1) {
+			return null;
+		}
+		ITypeReferenceOwner owner = new StandardTypeReferenceOwner(services, dispatchOperation);
+		LightweightTypeReference dispatchParamType = owner.toLightweightTypeReference(
+				dispatchOperation.getParameters().get(0).getParameterType());
+		if (dispatchParamType.isPrimitive()) {
+			return null;
+		}
+		List<JvmType> result = Lists.newArrayListWithCapacity(cases.size());
+		boolean allCasesSameType = true;
+		for (JvmOperation operation : cases) {
+			LightweightTypeReference caseParamType = owner.toLightweightTypeReference(
+					operation.getParameters().get(0).getParameterType());
+			if (caseParamType.isType(Void.class)) {
+				result.add(null);
+				allCasesSameType = false;
+			} else {
+				if (caseParamType.isArray()) {
+					return null;
+				}
+				JvmType type = caseParamType.getWrapperTypeIfPrimitive().getType();
+				if (!(type instanceof JvmDeclaredType)) {
+					return null;
+				}
+				if (!caseParamType.getIdentifier().equals(dispatchParamType.getIdentifier())) {
+					allCasesSameType = false;
+				}
+				result.add(type);
+			}
+		}
+		if (allCasesSameType) {
+			// there is nothing to look up
+			return null;
+		}
+		return result;
+	}
+}
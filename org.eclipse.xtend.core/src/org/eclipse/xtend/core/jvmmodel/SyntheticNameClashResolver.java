@@ -100,7 +100,8 @@ public class SyntheticNameClashResolver {
 		EObject source = associations.getPrimarySourceElement(element);
 		return (isCreateExtension(source) && (simpleName
 				.startsWith(XtendJvmModelInferrer.CREATE_CHACHE_VARIABLE_PREFIX) || simpleName
-				.startsWith(XtendJvmModelInferrer.CREATE_INITIALIZER_PREFIX)))
+				.startsWith(XtendJvmModelInferrer.CREATE_INITIALIZER_PREFIX) || simpleName
+				.startsWith(XtendJvmModelInferrer.CREATE_CACHE_NULL_KEY_PREFIX)))
 				|| isAnonymousExtensionField(source);
 	}
 
@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtend.core.jvmmodel;
 
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind;
 import org.eclipse.xtend.core.xtend.CreateExtensionInfo;
 import org.eclipse.xtend.core.xtend.XtendFunction;
 import org.eclipse.xtext.common.types.JvmField;
@@ -31,6 +32,28 @@ public class XtendCompileStrategies {
 		return strategy;
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	public Procedures.Procedure1<ITreeAppendable> forDispatcher(JvmOperation dispatchOperation,
+			/* @Nullable */ JvmField dispatchTableField) {
+		DispatchMethodCompileStrategy strategy = dispatchMethodProvider.get();
+		strategy.initialize(dispatchOperation, dispatchTableField);
+		return strategy;
+	}
+
+	@Inject
+	private Provider<DispatchTableCompileStrategy> dispatchTableProvider;
+
+	/**
+	 * @since 2.14
+	 */
+	public Procedures.Procedure1<ITreeAppendable> forDispatchTable(JvmOperation dispatchOperation) {
+		DispatchTableCompileStrategy strategy = dispatchTableProvider.get();
+		strategy.initialize(dispatchOperation);
+		return strategy;
+	}
+
 	@Inject
 	private Provider<CacheMethodCompileStrategy> cacheMethodProvider;
 
@@ -41,6 +64,17 @@ public class XtendCompileStrategies {
 		return strategy;
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	public Procedures.Procedure1<ITreeAppendable> forCacheMethod(CreateExtensionInfo createExtensionInfo,
+			JvmField cacheField, /* @Nullable */ JvmField nullKeyField, JvmOperation initializerMethod,
+			CreateCacheKind cacheKind) {
+		CacheMethodCompileStrategy strategy = cacheMethodProvider.get();
+		strategy.init(createExtensionInfo, cacheField, nullKeyField, initializerMethod, cacheKind);
+		return strategy;
+	}
+
 	@Inject
 	private Provider<CacheVariableCompileStrategy> cacheVarProvider;
 
@@ -48,4 +82,14 @@ public class XtendCompileStrategies {
 		CacheVariableCompileStrategy strategy = cacheVarProvider.get();
 		return strategy;
 	}
+
+	/**
+	 * @since 2.14
+	 */
+	public Procedures.Procedure1<ITreeAppendable> forCacheVariable(XtendFunction function, JvmField cacheField,
+			CreateCacheKind cacheKind) {
+		CacheVariableCompileStrategy strategy = cacheVarProvider.get();
+		strategy.init(cacheField, cacheKind);
+		return strategy;
+	}
 }
@@ -19,6 +19,8 @@ import java.util.Set;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig.CreateCacheKind;
 import org.eclipse.xtend.core.macro.ActiveAnnotationContext;
 import org.eclipse.xtend.core.macro.ActiveAnnotationContextProvider;
 import org.eclipse.xtend.core.macro.ActiveAnnotationContexts;
@@ -38,6 +40,8 @@ import org.eclipse.xtend.core.xtend.XtendMember;
 import org.eclipse.xtend.core.xtend.XtendPackage;
 import org.eclipse.xtend.core.xtend.XtendParameter;
 import org.eclipse.xtend.core.xtend.XtendTypeDeclaration;
+import org.eclipse.xtend.lib.macro.RegisterGlobalsParticipant;
+import org.eclipse.xtend.lib.macro.TransformationParticipant;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.common.types.JvmAnnotationReference;
 import org.eclipse.xtext.common.types.JvmAnnotationTarget;
@@ -78,6 +82,7 @@ import org.eclipse.xtext.xbase.annotations.xAnnotations.XAnnotation;
 import org.eclipse.xtext.xbase.compiler.DisableCodeGenerationAdapter;
 import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
 import org.eclipse.xtext.xbase.compiler.IGeneratorConfigProvider;
+import org.eclipse.xtext.xbase.compiler.output.ITreeAppendable;
 import org.eclipse.xtext.xbase.jvmmodel.AbstractModelInferrer;
 import org.eclipse.xtext.xbase.jvmmodel.IJvmDeclaredTypeAcceptor;
 import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociator;
@@ -102,6 +107,16 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 	public static final String CREATE_INITIALIZER_PREFIX = "_init_";
 
 	public static final String CREATE_CHACHE_VARIABLE_PREFIX = "_createCache_";
+
+	/**
+	 * @since 2.14
+	 */
+	public static final String CREATE_CACHE_NULL_KEY_PREFIX = "_createCacheNullKey_";
+
+	/**
+	 * @since 2.14
+	 */
+	public static final String DISPATCH_TABLE_PREFIX = "_dispatchTable_";
 	
 	private final static Logger logger = Logger.getLogger(XtendJvmModelInferrer.class);
 
@@ -193,6 +208,9 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 			try {
 				contexts.before(ActiveAnnotationContexts.AnnotationCallback.INDEXING);
 				for (ActiveAnnotationContext ctx : contexts.getContexts().values()) {
+					if (ctx.getProcessorInstance() instanceof RegisterGlobalsParticipant<?>) {
+						contexts.setTransformed(true);
+					}
 					try {
 						annotationProcessor.indexingPhase(ctx, wrapper, CancelIndicator.NullImpl);
 					} catch (Throwable t) {
@@ -220,6 +238,9 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 					try {
 						finalContexts.before(ActiveAnnotationContexts.AnnotationCallback.INFERENCE);
 						for (ActiveAnnotationContext ctx : finalContexts.getContexts().values()) {
+							if (ctx.getProcessorInstance() instanceof TransformationParticipant<?>) {
+								finalContexts.setTransformed(true);
+							}
 							try {
 								annotationProcessor.inferencePhase(ctx, CancelIndicator.NullImpl);
 							} catch (Throwable t) {
@@ -495,8 +516,42 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 				dispatchHelper.markAsDispatcherFunction(operation);
 				operation.setSimpleName(signature.getSimpleName());
 				operation.setReturnType(jvmTypesBuilder.inferredType());
+				if (XtendGeneratorConfig.isUseDispatchTable(generatorConfig, signature.getArity(), operations.size())
+						&& canDeclareStaticField(target)) {
+					appendDispatchTable(source, target, operation);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds a static {@link ClassValue} that resolves the case of the given dispatcher once per runtime class.
+	 * 
+	 * @since 2.14
+	 */
+	protected void appendDispatchTable(XtendTypeDeclaration source, JvmGenericType target, JvmOperation dispatcher) {
+		JvmTypeReference tableType = typeReferences.getTypeForName(ClassValue.class, source,
+				typeReferences.getTypeForName(Integer.class, source));
+		JvmField dispatchTable = jvmTypesBuilder.toField(source, DISPATCH_TABLE_PREFIX + dispatcher.getSimpleName(), tableType);
+		if (dispatchTable != null) {
+			dispatchTable.setStatic(true);
+			dispatchTable.setFinal(true);
+			jvmTypesBuilder.setInitializer(dispatchTable, compileStrategies.forDispatchTable(dispatcher));
+			target.getMembers().add(dispatchTable);
+			jvmTypesBuilder.setBody(dispatcher, compileStrategies.forDispatcher(dispatcher, dispatchTable));
+		}
+	}
+
+	private boolean canDeclareStaticField(JvmGenericType type) {
+		if (type.isInterface()) {
+			return false;
+		}
+		for (JvmDeclaredType current = type; current != null; current = current.getDeclaringType()) {
+			if (current.isLocal()) {
+				return false;
 			}
 		}
+		return true;
 	}
 
 	/**
@@ -652,10 +707,29 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 		JvmField cacheVar = jvmTypesBuilder.toField(
 				source, CREATE_CHACHE_VARIABLE_PREFIX + source.getName(), jvmTypesBuilder.inferredType());
 		if (cacheVar != null) {
+			CreateCacheKind cacheKind = XtendGeneratorConfig.getCreateCacheKind(generatorConfig, operation);
 			cacheVar.setFinal(true);
-			jvmTypesBuilder.setInitializer(cacheVar, compileStrategies.forCacheVariable(source));
+			jvmTypesBuilder.setInitializer(cacheVar, compileStrategies.forCacheVariable(source, cacheVar, cacheKind));
 			container.getMembers().add(cacheVar);
 
+			JvmField nullKeyVar = null;
+			if (cacheKind == CreateCacheKind.CONCURRENT && operation.getParameters().size() == 1
+					&& !XtendGeneratorConfig.isPrimitive(operation.getParameters().get(0).getParameterType())) {
+				// concurrent maps do not accept null keys, so a null argument is represented by a sentinel
+				nullKeyVar = jvmTypesBuilder.toField(source, CREATE_CACHE_NULL_KEY_PREFIX + source.getName(),
+						typeReferences.getTypeForName(Object.class, source));
+				if (nullKeyVar != null) {
+					nullKeyVar.setFinal(true);
+					jvmTypesBuilder.setInitializer(nullKeyVar, new Procedure1<ITreeAppendable>() {
+						@Override
+						public void apply(ITreeAppendable appendable) {
+							appendable.append("new Object()");
+						}
+					});
+					container.getMembers().add(nullKeyVar);
+				}
+			}
+
 			JvmOperation initializer = typesFactory.createJvmOperation();
 			container.getMembers().add(initializer);
 			initializer.setSimpleName(CREATE_INITIALIZER_PREFIX + source.getName());
@@ -666,7 +740,7 @@ public class XtendJvmModelInferrer extends AbstractModelInferrer {
 			}
 
 			jvmTypesBuilder.setBody(operation,
-					compileStrategies.forCacheMethod(createExtensionInfo, cacheVar, initializer));
+					compileStrategies.forCacheMethod(createExtensionInfo, cacheVar, nullKeyVar, initializer, cacheKind));
 
 			// the first parameter is the created object
 			JvmFormalParameter jvmParam = typesFactory.createJvmFormalParameter();
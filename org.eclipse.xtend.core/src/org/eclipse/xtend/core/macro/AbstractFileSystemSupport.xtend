@@ -39,6 +39,9 @@ abstract class AbstractFileSystemSupport implements MutableFileSystemSupport {
 	@Inject(optional=true) @Accessors IFilePostProcessor postProcessor
 	@Inject @Accessors extension IProjectConfigProvider projectConfigProvider
 	@Accessors ResourceSet context
+	OutputManifest outputManifest
+	
+	static val BUFFER_SIZE = 8192
 	
 	override CharSequence getContents(Path path) {
 		try {
@@ -78,16 +81,44 @@ abstract class AbstractFileSystemSupport implements MutableFileSystemSupport {
 		}
 	}
 
+	/**
+	 * Returns the manifest that was {@link #setOutputManifest(OutputManifest) set} explicitly or otherwise the one that
+	 * the batch compiler attached to the {@link #getContext() context}. Without a manifest, the contents of existing
+	 * files are compared before they are overwritten.
+	 * 
+	 * @since 2.14
+	 */
+	def OutputManifest getOutputManifest() {
+		outputManifest ?: OutputManifest.findInEmfObject(context)
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	def void setOutputManifest(OutputManifest outputManifest) {
+		this.outputManifest = outputManifest
+	}
+
 	override setContentsAsStream(Path path, InputStream source) {
 		val uri = path.URI
 		if (uri === null)
 			throw new IllegalArgumentException('The file cannot be found: ' + path)
 		try {
+			val manifest = getOutputManifest
+			var String hash = null
+			if (manifest !== null && source.markSupported) {
+				hash = OutputManifest.hash(source)
+				source.reset
+			}
 			if (uri.exists && isFile(uri)) {
+				if (hash !== null && manifest.isUpToDate(uri.toString, hash, uri.length, uri.lastModification))
+					return;
 				if (source.markSupported) {
-					if (!hasContentsChanged(source, path.contentsAsStream))
+					if (!hasContentsChanged(source, path.contentsAsStream)) {
+						if (hash !== null)
+							manifest.put(uri.toString, hash, uri.length, uri.lastModification)
 						return;
-						
+					}
 					source.reset
 				}
 			}
@@ -98,6 +129,8 @@ abstract class AbstractFileSystemSupport implements MutableFileSystemSupport {
 			} finally {
 				out.close
 			}
+			if (hash !== null)
+				manifest.put(uri.toString, hash, uri.length, uri.lastModification)
 		} catch (IOException exc) {
 			throw new IllegalArgumentException(exc.message, exc)
 		}
@@ -107,13 +140,21 @@ abstract class AbstractFileSystemSupport implements MutableFileSystemSupport {
 	protected def hasContentsChanged(InputStream newContent, InputStream oldContent) {
 		var contentChanged = false;
 		try {
-			var int newByte = newContent.read();
-			var int oldByte = oldContent.read();
-			while (newByte != -1 && oldByte != -1 && newByte == oldByte) {
-				newByte = newContent.read();
-				oldByte = oldContent.read();
-			}
-			contentChanged = newByte != oldByte;
+			val newBuffer = newByteArrayOfSize(BUFFER_SIZE)
+			val oldBuffer = newByteArrayOfSize(BUFFER_SIZE)
+			var int newRead
+			do {
+				newRead = ByteStreams.read(newContent, newBuffer, 0, BUFFER_SIZE)
+				val oldRead = ByteStreams.read(oldContent, oldBuffer, 0, BUFFER_SIZE)
+				if (newRead != oldRead) {
+					contentChanged = true
+				} else {
+					for (var i = 0; i < newRead && !contentChanged; i++) {
+						if (newBuffer.get(i) != oldBuffer.get(i))
+							contentChanged = true
+					}
+				}
+			} while (!contentChanged && newRead == BUFFER_SIZE)
 		} catch (IOException e) {
 			contentChanged = true;
 		} finally {
@@ -198,6 +239,17 @@ abstract class AbstractFileSystemSupport implements MutableFileSystemSupport {
 		path.URI.lastModification
 	}
 	
+	/**
+	 * @since 2.14
+	 */
+	protected def long getLength(URI uri) {
+		val length = uri.getAttribute(ATTRIBUTE_LENGTH)
+		if (length instanceof Long)
+			length
+		else
+			-1L
+	}
+	
 	protected def getLastModification(URI uri) {
 		val timeStamp = uri.getAttribute(ATTRIBUTE_TIME_STAMP)
 		if (timeStamp instanceof Long)
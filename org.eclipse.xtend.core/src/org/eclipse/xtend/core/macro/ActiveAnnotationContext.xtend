@@ -62,6 +62,14 @@ class ActiveAnnotationContexts extends AdapterImpl {
 	protected CompilationUnitImpl compilationUnit
 	private boolean running
 	
+	/**
+	 * Whether a {@link org.eclipse.xtend.lib.macro.RegisterGlobalsParticipant RegisterGlobalsParticipant} or a
+	 * {@link org.eclipse.xtend.lib.macro.TransformationParticipant TransformationParticipant} was invoked for the
+	 * resource. Only those can add JVM elements that are not associated with a source element.
+	 * @since 2.14
+	 */
+	@Accessors boolean transformed
+	
 	def void before(AnnotationCallback phase) {
 		compilationUnit.before(phase)
 		running = true
@@ -76,6 +84,7 @@ class ActiveAnnotationContexts extends AdapterImpl {
 		var result = resource.eAdapters.filter(ActiveAnnotationContexts).head
 		if (result !== null) {
 			result.contexts.clear
+			result.transformed = false
 		} else {
 			result = new ActiveAnnotationContexts
 			resource.eAdapters += result
@@ -19,13 +19,26 @@ import org.eclipse.xtend.lib.macro.declaration.MutableNamedElement
 import org.eclipse.xtend.lib.macro.declaration.NamedElement
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.util.internal.Stopwatches
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask
 import org.eclipse.xtext.xbase.jvmmodel.IJvmDeclaredTypeAcceptor
 import org.eclipse.xtend.core.xtend.XtendParameter
 import org.eclipse.xtend.lib.macro.ValidationParticipant
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.Iterator
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.Queue
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.google.inject.Singleton
 import org.eclipse.xtend.lib.annotations.Accessors
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import java.util.concurrent.RejectedExecutionException
 import org.apache.log4j.Logger
 
@@ -36,6 +49,10 @@ import org.apache.log4j.Logger
  */
 class AnnotationProcessor {
 	
+	static val INDEXING_PHASE_TASK = '[macros] indexingPhase (AnnotationProcessor.indexingPhase)'
+	static val INFERENCE_PHASE_TASK = '[macros] inferencePhase (AnnotationProcessor.inferencePhase)'
+	static val VALIDATION_PHASE_TASK = '[macros] validationPhase (AnnotationProcessor.validationPhase)'
+	
 	@Inject Provider<TransformationContextImpl> modifyContextProvider
 	@Inject Provider<RegisterGlobalsContextImpl> registerGlobalsContextProvider
 	@Inject Provider<ValidationContextImpl> validationContextProvider
@@ -45,8 +62,9 @@ class AnnotationProcessor {
 	 * gets called from Xtend compiler, during "model inference", i.e. translation of Xtend AST to Java AST
 	 */
 	def indexingPhase(ActiveAnnotationContext ctx, IJvmDeclaredTypeAcceptor acceptor, CancelIndicator monitor) {
-		val task = Stopwatches.forTask('[macros] indexingPhase (AnnotationProcessor.indexingPhase)')
+		val task = Stopwatches.forTask(INDEXING_PHASE_TASK)
 		task.start
+		val processorTask = ctx.startProcessorTask('indexingPhase', task, INDEXING_PHASE_TASK)
 		try {
 			switch processor : ctx.processorInstance {
 				RegisterGlobalsParticipant<NamedElement>: {
@@ -66,13 +84,15 @@ class AnnotationProcessor {
 				}
 			}
 		} finally {
+			processorTask.stop
 			task.stop
 		}
 	}
 
 	def inferencePhase(ActiveAnnotationContext ctx, CancelIndicator monitor) {
-		val task = Stopwatches.forTask('[macros] inferencePhase (AnnotationProcessor.inferencePhase)')
+		val task = Stopwatches.forTask(INFERENCE_PHASE_TASK)
 		task.start
+		val processorTask = ctx.startProcessorTask('inferencePhase', task, INFERENCE_PHASE_TASK)
 		try {
 			switch processor : ctx.processorInstance{
 				TransformationParticipant<MutableNamedElement>: {
@@ -92,13 +112,15 @@ class AnnotationProcessor {
 				}
 			}
 		} finally {
+			processorTask.stop
 			task.stop
 		}
 	}
 	
 	def validationPhase(ActiveAnnotationContext ctx, CancelIndicator monitor) {
-		val task = Stopwatches.forTask('[macros] validationPhase (AnnotationProcessor.validationPhase)')
+		val task = Stopwatches.forTask(VALIDATION_PHASE_TASK)
 		task.start
+		val processorTask = ctx.startProcessorTask('validationPhase', task, VALIDATION_PHASE_TASK)
 		try {
 			switch processor : ctx.processorInstance{
 				ValidationParticipant<NamedElement>: {
@@ -118,13 +140,28 @@ class AnnotationProcessor {
 				}
 			}
 		} finally {
+			processorTask.stop
 			task.stop
 		}
 	}
 	
 	/**
-	 * runs the given runnable and another thread in parallel, that sets the timeout property on the compilation unit to true
-	 * when the given amount of milliseconds have passed by.
+	 * Starts the stopwatch of the given phase for the processor of the given context, such that the time spent in
+	 * active annotations can be reported per processor. While the stopwatches are disabled, they hand out the same
+	 * inactive task for every name, which is returned without building the name of the processor task.
+	 */
+	private def startProcessorTask(ActiveAnnotationContext ctx, String phase, StoppedTask phaseTask, String phaseTaskName) {
+		if (Stopwatches.forTask(phaseTaskName) === phaseTask) {
+			return phaseTask
+		}
+		val task = Stopwatches.forTask('[macros] ' + phase + ' (' + ctx.processorInstance?.class?.name + ')')
+		task.start
+		return task
+	}
+	
+	/**
+	 * runs the given runnable while the {@link CancellationObserver} sets the canceled property on the compilation unit
+	 * to true when the cancel indicator is canceled.
 	 */
 	private def runWithCancelIndiciator(ActiveAnnotationContext ctx, CancelIndicator cancelIndicator, Runnable runnable) {
 		val AtomicBoolean isFinished = new AtomicBoolean(false)
@@ -137,38 +174,168 @@ class AnnotationProcessor {
 		}
 	}
 	
+	/**
+	 * Watches the cancel indicators of all running active annotation phases with a single scheduled thread and marks
+	 * the compilation unit of a canceled phase as canceled.
+	 */
 	@Singleton
 	public static class CancellationObserver {
-		private static final Logger log = Logger.getLogger(CancellationObserver)
+		static final Logger log = Logger.getLogger(CancellationObserver)
+		
+		/**
+		 * The interval in milliseconds in which the cancel indicators are checked.
+		 * @since 2.14
+		 */
+		public static final long POLLING_INTERVAL = 20
+		
+		@FinalFieldsConstructor @Accessors static class MonitoredContext {
+			val ActiveAnnotationContext ctx
+			val CancelIndicator cancelIndicator
+			val ()=>boolean isFinished
+			val CompletableFuture<Object> observed = new CompletableFuture
+		}
 		
 		@Accessors(PROTECTED_GETTER)
-		private ExecutorService pool = initPool()
+		val ScheduledExecutorService scheduler = initScheduler()
+		
+		val Queue<MonitoredContext> monitored = new ConcurrentLinkedQueue
+		val AtomicInteger registered = new AtomicInteger
+		val AtomicInteger peakRegistered = new AtomicInteger
+		val AtomicLong monitoredCount = new AtomicLong
+		val AtomicLong canceledCount = new AtomicLong
+		
+		/* guarded by this */
+		var ScheduledFuture<?> watcher
+		
+		/**
+		 * @since 2.14
+		 */
+		protected def ScheduledExecutorService initScheduler() {
+			val threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Xtend active annotation cancellation observer").build
+			return Executors.newSingleThreadScheduledExecutor(threadFactory)
+		}
 		
+		/**
+		 * @deprecated the phases are observed by the {@link #getScheduler() scheduler}, this method is not called anymore.
+		 */
+		@Deprecated
 		protected def ExecutorService initPool() {
 			return Executors.newCachedThreadPool();
 		}
 		
-		def stop() {
-			pool.shutdown()
+		/**
+		 * @deprecated use {@link #getScheduler()}
+		 */
+		@Deprecated
+		protected def ExecutorService getPool() {
+			return scheduler
+		}
+		
+		def void stop() {
+			scheduler.shutdownNow()
 		}
 	
-		def monitorUntil(ActiveAnnotationContext ctx, CancelIndicator cancelIndicator, ()=>boolean isFinished) {
-			val Runnable r = [
-				while (!isFinished.apply) {
-					if (cancelIndicator.canceled) {
-						ctx.compilationUnit.canceled = true
-						return;
+		/**
+		 * Observes the cancel indicator of a running phase until the phase is finished.
+		 * 
+		 * @return a future that is done as soon as the phase is no longer observed.
+		 */
+		def Future<?> monitorUntil(ActiveAnnotationContext ctx, CancelIndicator cancelIndicator, ()=>boolean isFinished) {
+			if (cancelIndicator === null || cancelIndicator === CancelIndicator.NullImpl) {
+				// never canceled
+				return CompletableFuture.completedFuture(null)
+			}
+			val context = new MonitoredContext(ctx, cancelIndicator, isFinished)
+			monitored.add(context)
+			monitoredCount.incrementAndGet
+			val current = registered.incrementAndGet
+			var peak = peakRegistered.get
+			while (current > peak && !peakRegistered.compareAndSet(peak, current)) {
+				peak = peakRegistered.get
+			}
+			startWatching
+			return context.observed
+		}
+		
+		private def synchronized void startWatching() {
+			if (watcher === null) {
+				try {
+					watcher = scheduler.scheduleWithFixedDelay([checkCanceled], POLLING_INTERVAL, POLLING_INTERVAL, TimeUnit.MILLISECONDS)
+				} catch (RejectedExecutionException e) {
+					// the observer has been stopped
+					log.debug(e.message, e)
+				}
+			}
+		}
+		
+		private def synchronized void stopWatchingIfIdle() {
+			if (monitored.isEmpty && watcher !== null) {
+				watcher.cancel(false)
+				watcher = null
+			}
+		}
+		
+		/**
+		 * Checks all monitored contexts once and forgets about the finished and canceled ones.
+		 * 
+		 * @since 2.14
+		 */
+		protected def void checkCanceled() {
+			val iterator = monitored.iterator
+			while (iterator.hasNext) {
+				val context = iterator.next
+				try {
+					if (context.isFinished.apply) {
+						iterator.forget(context)
+					} else if (context.cancelIndicator.canceled) {
+						context.ctx.compilationUnit.canceled = true
+						canceledCount.incrementAndGet
+						iterator.forget(context)
 					}
-					Thread.sleep(100)
+				} catch (RuntimeException e) {
+					log.error(e.message, e)
+					iterator.forget(context)
 				}
-			]
-			try {
-				pool.submit(r)
-			} catch(RejectedExecutionException e) {
-				log.debug(e.message, e)
-				// fallback to a fresh thread
-				new Thread(r).start
 			}
+			stopWatchingIfIdle
+		}
+		
+		private def void forget(Iterator<MonitoredContext> iterator, MonitoredContext context) {
+			iterator.remove
+			registered.decrementAndGet
+			context.observed.complete(null)
+		}
+		
+		/**
+		 * @return the number of active annotation phases that are currently running and monitored.
+		 * @since 2.14
+		 */
+		def int getInFlightCount() {
+			return monitored.filter[!isFinished.apply].size
+		}
+		
+		/**
+		 * @return the maximum number of phases that were monitored at the same time.
+		 * @since 2.14
+		 */
+		def int getPeakInFlightCount() {
+			return peakRegistered.get
+		}
+		
+		/**
+		 * @return the total number of phases that have been monitored.
+		 * @since 2.14
+		 */
+		def long getMonitoredCount() {
+			return monitoredCount.get
+		}
+		
+		/**
+		 * @return the number of phases whose compilation unit has been marked as canceled.
+		 * @since 2.14
+		 */
+		def long getCanceledCount() {
+			return canceledCount.get
 		}
 	
 	}
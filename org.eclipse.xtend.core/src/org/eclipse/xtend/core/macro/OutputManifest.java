@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.macro;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Funnels;
+
+/**
+ * Records a content hash for each file that was written by the compiler or an active annotation, along with the
+ * length and time stamp of the file right after it was written. A write whose content hash matches the recorded one
+ * can be skipped without reading the existing file, as long as the file's length and time stamp are unchanged. This
+ * avoids disk reads and touching outputs that did not change.
+ *
+ * A manifest belongs to a single compiler run. The batch compiler {@link #attachToEmfObject(Notifier) attaches} it to
+ * its resource set, so the file system support of active annotations writes through the same manifest, and persists
+ * it between two runs in a versioned binary format. The IDE does not use a manifest.
+ *
+ * @since 2.14
+ */
+public class OutputManifest {
+
+	private static final Logger log = Logger.getLogger(OutputManifest.class);
+
+	private static final String HEADER = "XtendOutputManifest";
+
+	/**
+	 * Has to be incremented whenever the format changes.
+	 */
+	private static final int VERSION = 1;
+
+	private static class Adapter extends AdapterImpl {
+
+		private final OutputManifest manifest;
+
+		Adapter(OutputManifest manifest) {
+			this.manifest = manifest;
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == OutputManifest.class;
+		}
+	}
+
+	private static class Entry {
+
+		private final String hash;
+		private final long length;
+		private final long timeStamp;
+
+		Entry(String hash, long length, long timeStamp) {
+			this.hash = hash;
+			this.length = length;
+			this.timeStamp = timeStamp;
+		}
+	}
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * Returns the manifest that is attached to the given resource set or <code>null</code> if there is none.
+	 */
+	/* @Nullable */
+	public static OutputManifest findInEmfObject(/* @Nullable */ Notifier emfObject) {
+		if (emfObject == null) {
+			return null;
+		}
+		Adapter adapter = (Adapter) EcoreUtil.getAdapter(emfObject.eAdapters(), OutputManifest.class);
+		return adapter != null ? adapter.manifest : null;
+	}
+
+	/**
+	 * Attaches this manifest to the given resource set. A previously attached manifest is replaced.
+	 */
+	public void attachToEmfObject(Notifier emfObject) {
+		Adapter previous = (Adapter) EcoreUtil.getAdapter(emfObject.eAdapters(), OutputManifest.class);
+		if (previous != null) {
+			emfObject.eAdapters().remove(previous);
+		}
+		emfObject.eAdapters().add(new Adapter(this));
+	}
+
+	/**
+	 * Hashes text that is written with the given encoding.
+	 */
+	public static String hash(CharSequence contents, String encoding) {
+		return Hashing.murmur3_128().newHasher().putString(String.valueOf(encoding), Charsets.UTF_8).putChar('\n')
+				.putUnencodedChars(contents).hash().toString();
+	}
+
+	/**
+	 * Hashes the remaining bytes of the given stream. The stream is not closed.
+	 */
+	public static String hash(InputStream contents) throws IOException {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		ByteStreams.copy(contents, Funnels.asOutputStream(hasher));
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * Returns <code>true</code> if the file at the given location was written with contents of the given hash and was
+	 * not modified since then.
+	 */
+	public boolean isUpToDate(String location, String hash, long length, long timeStamp) {
+		Entry entry = entries.get(location);
+		return entry != null && timeStamp != 0 && entry.hash.equals(hash) && entry.length == length
+				&& entry.timeStamp == timeStamp;
+	}
+
+	/**
+	 * Records that the file at the given location now has contents of the given hash.
+	 */
+	public void put(String location, String hash, long length, long timeStamp) {
+		if (timeStamp == 0) {
+			// cannot detect later modifications
+			entries.remove(location);
+		} else {
+			entries.put(location, new Entry(hash, length, timeStamp));
+		}
+	}
+
+	public void remove(String location) {
+		entries.remove(location);
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Replaces the entries with the ones that were {@link #write(File) written} to the given file. The manifest is
+	 * empty if the file does not exist, cannot be read or was written in another format.
+	 */
+	public void read(File file) {
+		entries.clear();
+		if (!file.isFile()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (!HEADER.equals(in.readUTF())) {
+				log.info("'" + file + "' does not contain an output manifest, all outputs will be written.");
+				return;
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				log.info("The output manifest in '" + file + "' has the unsupported version " + version
+						+ ", all outputs will be written.");
+				return;
+			}
+			Map<String, Entry> read = new TreeMap<String, Entry>();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				read.put(in.readUTF(), new Entry(in.readUTF(), in.readLong(), in.readLong()));
+			}
+			entries.putAll(read);
+		} catch (IOException e) {
+			log.warn("Cannot read the output manifest from '" + file + "', all outputs will be written.", e);
+		}
+	}
+
+	public void write(File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Cannot create directory '" + parent + "'");
+		}
+		Map<String, Entry> sorted = new TreeMap<String, Entry>(entries);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeUTF(HEADER);
+			out.writeInt(VERSION);
+			out.writeInt(sorted.size());
+			for (Map.Entry<String, Entry> entry : sorted.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue().hash);
+				out.writeLong(entry.getValue().length);
+				out.writeLong(entry.getValue().timeStamp);
+			}
+		}
+	}
+}
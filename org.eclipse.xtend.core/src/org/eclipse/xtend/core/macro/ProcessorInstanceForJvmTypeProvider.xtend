@@ -12,10 +12,13 @@ import java.io.Closeable
 import java.io.IOException
 import java.net.URL
 import java.net.URLClassLoader
+import java.util.Map
+import java.util.concurrent.ConcurrentHashMap
 import org.apache.log4j.Logger
 import org.eclipse.emf.common.notify.Notifier
 import org.eclipse.emf.common.notify.impl.AdapterImpl
 import org.eclipse.emf.ecore.EObject
+import org.eclipse.xtend.lib.annotations.AccessorType
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.macro.TransformationContext
 import org.eclipse.xtext.common.types.JvmType
@@ -28,6 +31,7 @@ class ProcessorInstanceForJvmTypeProvider {
 	
 	@Accessors public static class ProcessorClassloaderAdapter extends AdapterImpl {
 		var ClassLoader classLoader
+		@Accessors(AccessorType.NONE) val Map<String, Object> processorInstances = new ConcurrentHashMap
 		
 		new(ClassLoader classLoader) {
 			this.classLoader = classLoader
@@ -48,6 +52,7 @@ class ProcessorInstanceForJvmTypeProvider {
 		}
 		
 		def discard() {
+			processorInstances.clear
 			if (classLoader instanceof Closeable) {
 				try {
 					(classLoader as Closeable).close
@@ -58,6 +63,39 @@ class ProcessorInstanceForJvmTypeProvider {
 			}
 		}
 		
+		/**
+		 * Returns the shared instance of the processor with the given name that is loaded by this adapter's class
+		 * loader. A processor that implements {@link NonReusableProcessor} is instantiated on each call. The instances
+		 * are dropped together with the class loader when this adapter is discarded.
+		 * 
+		 * @since 2.14
+		 */
+		def Object getProcessorInstance(String identifier) {
+			val loader = classLoader
+			if (loader === null) {
+				return null
+			}
+			val cached = processorInstances.get(identifier)
+			if (cached !== null) {
+				return cached
+			}
+			val result = loader.loadClass(identifier).newInstance
+			if (isReusable(result.class)) {
+				return processorInstances.putIfAbsent(identifier, result) ?: result
+			}
+			return result
+		}
+		
+		private static def boolean isReusable(Class<?> type) {
+			if (type === null) {
+				return true
+			}
+			if (type.name == NonReusableProcessor.name) {
+				return false
+			}
+			return type.interfaces.forall[isReusable(it)] && isReusable(type.superclass)
+		}
+		
 	}
 	
 	
@@ -67,13 +105,37 @@ class ProcessorInstanceForJvmTypeProvider {
 	 */
 	def Object getProcessorInstance(JvmType type) {
 		try {
-			val loadClass = type.classLoader?.loadClass(type.identifier)
-			return loadClass?.newInstance
+			return getProcessorInstance(type, type.classLoader)
 		} catch (Exception e) {
 			throw new IllegalStateException("Problem during instantiation of "+type.identifier+" : "+e.getMessage, e);
 		}
 	}
 	
+	/**
+	 * Returns the instance that is cached for the given class loader if the class loader is managed by a
+	 * {@link ProcessorClassloaderAdapter}, otherwise a new instance.
+	 * 
+	 * @since 2.14
+	 */
+	protected def Object getProcessorInstance(JvmType type, ClassLoader classLoader) {
+		if (classLoader === null) {
+			return null
+		}
+		val adapter = getProcessorClassloaderAdapter(type)
+		if (adapter !== null && adapter.classLoader === classLoader) {
+			return adapter.getProcessorInstance(type.identifier)
+		}
+		return classLoader.loadClass(type.identifier).newInstance
+	}
+	
+	/**
+	 * @return the adapter that holds the processor class loader for the given context, or <code>null</code>.
+	 * @since 2.14
+	 */
+	protected def ProcessorClassloaderAdapter getProcessorClassloaderAdapter(EObject ctx) {
+		return ctx.eResource.resourceSet.eAdapters.filter(ProcessorClassloaderAdapter).head
+	}
+	
 	def public getClassLoader(EObject ctx) {
 		val resourceSet = ctx.eResource.resourceSet
 		val adapter = resourceSet.eAdapters.filter(ProcessorClassloaderAdapter).head
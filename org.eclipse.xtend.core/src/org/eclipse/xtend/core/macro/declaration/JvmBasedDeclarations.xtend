@@ -9,6 +9,8 @@ package org.eclipse.xtend.core.macro.declaration
 
 import com.google.common.base.Preconditions
 import com.google.common.collect.ImmutableList
+import java.util.List
+import java.util.Map
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.util.EcoreUtil
 import org.eclipse.xtend.core.macro.ActiveAnnotationContexts.AnnotationCallback
@@ -181,6 +183,21 @@ abstract class JvmMemberDeclarationImpl<T extends JvmMember> extends JvmAnnotati
 			JvmMemberImplCustom : clearIdentifierCache
 		}
 		delegate.simpleName = name
+		memberIndexChanged(delegate.declaringType)
+	}
+	
+	override remove() {
+		val declaringType = delegate.declaringType
+		super.remove()
+		memberIndexChanged(declaringType)
+	}
+	
+	def private memberIndexChanged(JvmDeclaredType declaringType) {
+		if (declaringType !== null) {
+			val declaration = compilationUnit.toTypeDeclaration(declaringType)
+			if (declaration instanceof JvmTypeDeclarationImpl<?>)
+				declaration.invalidateMemberIndex
+		}
 	}
 	
 	override getModifiers() {
@@ -209,6 +226,17 @@ abstract class JvmMemberDeclarationImpl<T extends JvmMember> extends JvmAnnotati
 
 abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemberDeclarationImpl<T> {
 	
+	static val CONSTRUCTOR_KEY = "<init>"
+	
+	/**
+	 * The members of the delegate by their simple name, the constructors are indexed by {@link #CONSTRUCTOR_KEY}.
+	 * The index is built on demand, extended by the members that are added through this declaration and rebuilt
+	 * if the members were changed otherwise.
+	 */
+	Map<String, List<JvmMember>> memberIndex
+	
+	int indexedMemberCount
+	
 	def Iterable<? extends MemberDeclaration> getDeclaredMembers() {
 		ImmutableList.copyOf(delegate.members.map[compilationUnit.toMemberDeclaration(it)])
 	}
@@ -241,6 +269,7 @@ abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemb
 		newConstructor.visibility = JvmVisibility.PUBLIC
 		newConstructor.simpleName = simpleName
 		delegate.members.add(newConstructor)
+		memberAdded(newConstructor)
 		val mutableConstructorDeclaration = compilationUnit.toMemberDeclaration(newConstructor) as MutableConstructorDeclaration
 		initializer.apply(mutableConstructorDeclaration)
 		return mutableConstructorDeclaration
@@ -254,6 +283,7 @@ abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemb
 		newField.simpleName = name
 		newField.visibility = JvmVisibility.PRIVATE
 		delegate.members.add(newField)
+		memberAdded(newField)
 		val mutableFieldDeclaration = compilationUnit.toMemberDeclaration(newField) as MutableFieldDeclaration
 		initializer.apply(mutableFieldDeclaration)
 		return mutableFieldDeclaration
@@ -268,6 +298,7 @@ abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemb
 		newMethod.simpleName = name
 		newMethod.returnType = compilationUnit.toJvmTypeReference(compilationUnit.typeReferenceProvider.primitiveVoid)
 		delegate.members.add(newMethod)
+		memberAdded(newMethod)
 		val mutableMethodDeclaration = compilationUnit.toMemberDeclaration(newMethod) as MutableMethodDeclaration
 		initializer.apply(mutableMethodDeclaration)
 		return mutableMethodDeclaration
@@ -275,20 +306,81 @@ abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemb
 	
 	def findDeclaredConstructor(TypeReference... parameterTypes) {
 		checkIterable(parameterTypes, "parameterTypes")
-		declaredConstructors.findFirst[constructor | constructor.parameters.map[type].toList == parameterTypes.toList]
+		findIndexedMember(CONSTRUCTOR_KEY, ConstructorDeclaration, parameterTypes)
 	}
 	
 	def findDeclaredField(String name) {
-		declaredFields.findFirst[field | field.simpleName == name]
+		findIndexedMember(name, FieldDeclaration, null)
 	}
 	
 	def findDeclaredType(String name) {
-		declaredTypes.findFirst[type | type.simpleName == name]
+		findIndexedMember(name, TypeDeclaration, null)
 	}
 	
 	def findDeclaredMethod(String name, TypeReference... parameterTypes) {
 		checkIterable(parameterTypes, "parameterTypes")
-		declaredMethods.findFirst[method | method.simpleName == name && method.parameters.map[type].toList == parameterTypes.toList]
+		findIndexedMember(name, MethodDeclaration, parameterTypes)
+	}
+	
+	/**
+	 * Only the members with the given key are wrapped into declarations.
+	 */
+	def private <D extends MemberDeclaration> D findIndexedMember(String key, Class<D> declarationType, TypeReference[] parameterTypes) {
+		for (member : getIndexedMembers(key)) {
+			if (parameterTypes === null || hasParameterTypes(member, parameterTypes)) {
+				val declaration = compilationUnit.toMemberDeclaration(member)
+				if (declarationType.isInstance(declaration))
+					return declarationType.cast(declaration)
+			}
+		}
+		return null
+	}
+	
+	def private boolean hasParameterTypes(JvmMember member, TypeReference[] parameterTypes) {
+		if (member instanceof JvmExecutable) {
+			if (member.parameters.size == parameterTypes.length) {
+				for (i : 0 ..< parameterTypes.length) {
+					if (compilationUnit.toTypeReference(member.parameters.get(i).parameterType) != parameterTypes.get(i))
+						return false
+				}
+				return true
+			}
+		}
+		return false
+	}
+	
+	def private List<JvmMember> getIndexedMembers(String key) {
+		if (memberIndex === null || indexedMemberCount != delegate.members.size) {
+			memberIndex = newHashMap
+			for (member : delegate.members) {
+				index(member)
+			}
+			indexedMemberCount = delegate.members.size
+		}
+		return memberIndex.get(key) ?: emptyList
+	}
+	
+	def private void index(JvmMember member) {
+		val key = if (member instanceof JvmConstructor) CONSTRUCTOR_KEY else member.simpleName
+		var members = memberIndex.get(key)
+		if (members === null) {
+			members = newArrayList
+			memberIndex.put(key, members)
+		}
+		members.add(member)
+	}
+	
+	protected def void memberAdded(JvmMember member) {
+		if (memberIndex !== null && indexedMemberCount == delegate.members.size - 1) {
+			index(member)
+			indexedMemberCount++
+		} else {
+			memberIndex = null
+		}
+	}
+	
+	package def void invalidateMemberIndex() {
+		memberIndex = null
 	}
 	
 	def Iterable<? extends MethodDeclaration> getDeclaredMethods() {
@@ -460,6 +552,7 @@ class JvmInterfaceDeclarationImpl extends JvmTypeDeclarationImpl<JvmGenericType>
 		newMethod.returnType = compilationUnit.toJvmTypeReference(compilationUnit.typeReferenceProvider.primitiveVoid)
 		newMethod.setAbstract(true)
 		delegate.members.add(newMethod)
+		memberAdded(newMethod)
 		val mutableMethodDeclaration = compilationUnit.toMemberDeclaration(newMethod) as MutableMethodDeclaration
 		initializer.apply(mutableMethodDeclaration)
 		return mutableMethodDeclaration
@@ -542,6 +635,7 @@ class MutableJvmAnnotationTypeDeclarationImpl extends JvmAnnotationTypeDeclarati
 		newAnnotationElement.simpleName = name
 		newAnnotationElement.visibility = JvmVisibility.PUBLIC
 		delegate.members.add(newAnnotationElement)
+		memberAdded(newAnnotationElement)
 		val mutableAnnotationTypeElementDeclaration = compilationUnit.toMemberDeclaration(newAnnotationElement) as MutableAnnotationTypeElementDeclaration
 		initializer.apply(mutableAnnotationTypeElementDeclaration)
 		return mutableAnnotationTypeElementDeclaration
@@ -660,6 +754,7 @@ class MutableJvmEnumerationTypeDeclarationImpl extends JvmEnumerationTypeDeclara
 		jvmLiteral.simpleName = name
 		jvmLiteral.visibility = JvmVisibility.PUBLIC
 		delegate.members.add(jvmLiteral)
+		memberAdded(jvmLiteral)
 		val mutableEnumerationValueDeclaration = compilationUnit.toMemberDeclaration(jvmLiteral) as MutableEnumerationValueDeclaration
 		initializer.apply(mutableEnumerationValueDeclaration)
 		return mutableEnumerationValueDeclaration
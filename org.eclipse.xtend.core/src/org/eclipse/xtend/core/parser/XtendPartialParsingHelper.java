@@ -8,6 +8,7 @@
 package org.eclipse.xtend.core.parser;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 
 import org.antlr.runtime.Token;
@@ -29,21 +30,38 @@ import com.google.inject.Inject;
  */
 public class XtendPartialParsingHelper extends TokenSequencePreservingPartialParsingHelper {
 
+	/**
+	 * The number of characters after the expected end of the new token sequence
+	 * that the lexer may look at before it is considered to have left the reparsed region.
+	 */
+	private static final int LOOKAHEAD = 1024;
+	
 	@Inject
 	private FlexerFactory flexerFactory;
 
+	/**
+	 * The original text is the text between the leaf nodes left and right of the change. The new text starts at the
+	 * same offset but runs to the end of the document. The lexer has no states, thus it can be started at any token
+	 * boundary. The new text is only lexed until the original sequence is exhausted, and it is not read much further
+	 * than the expected length: a token that runs past that point, e.g. an unterminated comment or rich string,
+	 * changes the token sequence anyway and should not cause the remaining document to be lexed.
+	 */
 	@Override
 	protected boolean isSameTokenSequence(String originalText, String newText, int expectedLength) {
 		try {
 			InternalFlexer originalSequence = flexerFactory.createFlexer(new StringReader(originalText));
-			InternalFlexer newSequence = flexerFactory.createFlexer(new StringReader(newText));
+			BoundedStringReader newReader = new BoundedStringReader(newText, expectedLength + LOOKAHEAD);
+			InternalFlexer newSequence = flexerFactory.createFlexer(newReader);
 			int token = originalSequence.advance();
 			int newLength = 0;
 			while(token != Token.EOF) {
-				if (token != newSequence.advance()) {
+				if (token != newSequence.advance() || newReader.isTruncated()) {
 					return false;
 				}
 				newLength += newSequence.getTokenLength();
+				if (newLength > expectedLength) {
+					return false;
+				}
 				token = originalSequence.advance();
 			}
 			return newLength == expectedLength;
@@ -52,4 +70,47 @@ public class XtendPartialParsingHelper extends TokenSequencePreservingPartialPar
 		}
 	}
 	
+	/**
+	 * A reader that signals the end of the input after the given number of characters,
+	 * and remembers whether there would have been more.
+	 */
+	private static class BoundedStringReader extends Reader {
+
+		private final String text;
+		private final int limit;
+		private int position;
+		private boolean truncated;
+
+		BoundedStringReader(String text, int limit) {
+			this.text = text;
+			this.limit = Math.min(text.length(), Math.max(0, limit));
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (position >= limit) {
+				if (limit < text.length()) {
+					truncated = true;
+				}
+				return -1;
+			}
+			int count = Math.min(len, limit - position);
+			text.getChars(position, position + count, cbuf, off);
+			position += count;
+			return count;
+		}
+
+		boolean isTruncated() {
+			return truncated;
+		}
+
+		@Override
+		public void close() {
+			// nothing to do
+		}
+	}
+	
 }
\ No newline at end of file
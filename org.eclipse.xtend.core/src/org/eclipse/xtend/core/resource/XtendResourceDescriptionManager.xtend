@@ -10,6 +10,7 @@ import org.eclipse.xtext.common.types.JvmDeclaredType
 import org.eclipse.xtext.common.types.JvmGenericType
 import org.eclipse.xtext.common.types.JvmIdentifiableElement
 import org.eclipse.xtext.common.types.JvmType
+import org.eclipse.xtext.common.types.TypesPackage
 import org.eclipse.xtext.naming.IQualifiedNameConverter
 import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.DerivedStateAwareResourceDescriptionManager
@@ -37,11 +38,28 @@ class XtendResourceDescriptionManager extends DerivedStateAwareResourceDescripti
 	}
 	
 	override hasChanges(Delta delta, IResourceDescription candidate) {
-		super.hasChanges(delta, candidate) || candidate.containsActiveAnnotation
+		super.hasChanges(delta, candidate) || candidate.isAffectedByProcessorChange(delta)
 	}
 	
-	private def boolean containsActiveAnnotation(IResourceDescription description) {
-		description.exportedObjects.exists[userDataKeys.contains(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_TIMESTAMP)]
+	/**
+	 * An active annotation stores a fingerprint of its processor. If the processor's resource changed, the resource
+	 * that declares the annotation has to be rebuilt to recompute the fingerprint. Its clients are only affected
+	 * if the fingerprint differs afterwards.
+	 */
+	private def boolean isAffectedByProcessorChange(IResourceDescription candidate, Delta delta) {
+		for (description : candidate.exportedObjects) {
+			val processor = description.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_PROCESSOR)
+			if (processor !== null && (delta.old.exportsType(processor) || delta.^new.exportsType(processor)))
+				return true
+		}
+		return false
+	}
+	
+	private def boolean exportsType(IResourceDescription description, String identifier) {
+		if (description === null)
+			return false
+		val name = nameConverter.toQualifiedName(identifier)
+		return !description.getExportedObjects(TypesPackage.Literals.JVM_TYPE, name, false).empty
 	}
 	
 	/**
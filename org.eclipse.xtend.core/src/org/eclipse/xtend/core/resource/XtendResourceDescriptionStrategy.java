@@ -7,22 +7,44 @@
  *******************************************************************************/
 package org.eclipse.xtend.core.resource;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtend.core.jvmmodel.DispatchHelper;
+import org.eclipse.xtend.core.macro.XAnnotationExtensions;
 import org.eclipse.xtend.core.xtend.XtendField;
 import org.eclipse.xtend.core.xtend.XtendFunction;
 import org.eclipse.xtext.common.types.JvmAnnotationReference;
 import org.eclipse.xtext.common.types.JvmAnnotationType;
+import org.eclipse.xtext.common.types.JvmAnnotationValue;
+import org.eclipse.xtext.common.types.JvmCustomAnnotationValue;
 import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.xbase.resource.XbaseResourceDescriptionStrategy;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -32,11 +54,35 @@ import com.google.inject.Singleton;
 @Singleton
 public class XtendResourceDescriptionStrategy extends XbaseResourceDescriptionStrategy {
 
+	private static final Logger LOG = Logger.getLogger(XtendResourceDescriptionStrategy.class);
+
+	/**
+	 * @deprecated active annotations are no longer stamped with the time of indexing, use
+	 *             {@link #ACTIVE_ANNOTATION_FINGERPRINT} instead.
+	 */
+	@Deprecated
 	public static final String ACTIVE_ANNOTATION_TIMESTAMP = "ACTIVE_ANNOTATION_TIMESTAMP";
 
+	/**
+	 * User data key for a hash over the declared members of an active annotation and the sources or the class path entry of its processor.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String ACTIVE_ANNOTATION_FINGERPRINT = "ACTIVE_ANNOTATION_FINGERPRINT";
+
+	/**
+	 * User data key for the identifier of the processor of an active annotation.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String ACTIVE_ANNOTATION_PROCESSOR = "ACTIVE_ANNOTATION_PROCESSOR";
+
 	@Inject
 	private DispatchHelper dispatchHelper;
 
+	@Inject
+	private XAnnotationExtensions annotationExtensions;
+
 	@Inject
 	private DescriptionFlags descriptionFlags;
 	
@@ -67,7 +113,146 @@ public class XtendResourceDescriptionStrategy extends XbaseResourceDescriptionSt
 		else if (eObject instanceof XtendField) 
 			addFlags(getFlags((XtendField) eObject), userData);
 		else if (eObject instanceof JvmAnnotationType && isActiveAnnotation((JvmAnnotationType) eObject))
-			userData.put(ACTIVE_ANNOTATION_TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+			addActiveAnnotationData((JvmAnnotationType) eObject, userData);
+	}
+
+	/**
+	 * Stores a deterministic fingerprint of the active annotation, such that clients of the annotation are only
+	 * rebuilt if either the annotation's members or the processor implementation did change.
+	 * 
+	 * @since 2.14
+	 */
+	protected void addActiveAnnotationData(JvmAnnotationType annotationType, ImmutableMap.Builder<String, String> userData) {
+		JvmType processorType = getProcessorType(annotationType);
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putString(annotationType.getIdentifier(), StandardCharsets.UTF_8);
+		for (JvmOperation operation : annotationType.getDeclaredOperations()) {
+			hasher.putString(operation.getSimpleName(), StandardCharsets.UTF_8);
+			JvmTypeReference returnType = operation.getReturnType();
+			if (returnType != null) {
+				hasher.putString(returnType.getIdentifier(), StandardCharsets.UTF_8);
+			}
+			JvmAnnotationValue defaultValue = operation.getDefaultValue();
+			if (defaultValue instanceof JvmCustomAnnotationValue) {
+				for (Object value : ((JvmCustomAnnotationValue) defaultValue).getValues()) {
+					if (value instanceof EObject) {
+						ICompositeNode node = NodeModelUtils.getNode((EObject) value);
+						if (node != null) {
+							hasher.putString(NodeModelUtils.getTokenText(node), StandardCharsets.UTF_8);
+						}
+					}
+				}
+			} else if (defaultValue != null) {
+				hasher.putString(defaultValue.eClass().getName(), StandardCharsets.UTF_8);
+			}
+		}
+		if (processorType != null && !processorType.eIsProxy()) {
+			String processorIdentifier = processorType.getIdentifier();
+			hasher.putString(processorIdentifier, StandardCharsets.UTF_8);
+			hashProcessor(annotationType, processorType, hasher);
+			userData.put(ACTIVE_ANNOTATION_PROCESSOR, processorIdentifier);
+		}
+		userData.put(ACTIVE_ANNOTATION_FINGERPRINT, hasher.hash().toString());
+	}
+
+	/**
+	 * A processor that is declared in a source file contributes the tokens of its compilation unit, such that comments
+	 * and formatting do not affect the fingerprint. Helpers that it calls in other source files are not covered.
+	 * <p>
+	 * A binary processor contributes the class path entry it is loaded from: the path, size and time stamp of a jar,
+	 * or the newest time stamp below a class folder. The entry is looked up through the class path of the resource
+	 * set, so the result does not depend on whether a processor class loader is installed. If the entry cannot be
+	 * determined, a fresh stamp is contributed and the clients of the annotation are rebuilt whenever it is indexed.
+	 * </p>
+	 * 
+	 * @since 2.14
+	 */
+	protected void hashProcessor(JvmAnnotationType annotationType, JvmType processorType, Hasher hasher) {
+		Resource processorResource = processorType.eResource();
+		if (processorResource instanceof XtextResource) {
+			IParseResult parseResult = ((XtextResource) processorResource).getParseResult();
+			if (parseResult != null && parseResult.getRootNode() != null) {
+				hasher.putString(NodeModelUtils.getTokenText(parseResult.getRootNode()), StandardCharsets.UTF_8);
+				return;
+			}
+		}
+		if (!hashClassPathEntry(annotationType, processorType, hasher)) {
+			// we cannot tell whether the processor did change, so assume it did
+			hasher.putLong(System.nanoTime());
+		}
+	}
+
+	private boolean hashClassPathEntry(EObject context, JvmType processorType, Hasher hasher) {
+		ClassLoader classLoader = getClassPathClassLoader(context);
+		if (classLoader == null) {
+			return false;
+		}
+		String classFileName = processorType.getIdentifier().replace('.', '/') + ".class";
+		URL classFile = classLoader.getResource(classFileName);
+		if (classFile == null) {
+			return false;
+		}
+		try {
+			if ("jar".equals(classFile.getProtocol())) {
+				URLConnection connection = classFile.openConnection();
+				if (connection instanceof JarURLConnection) {
+					URL jarFileURL = ((JarURLConnection) connection).getJarFileURL();
+					if ("file".equals(jarFileURL.getProtocol())) {
+						File jar = new File(jarFileURL.toURI());
+						hasher.putString(jar.getPath(), StandardCharsets.UTF_8).putLong(jar.length()).putLong(jar.lastModified());
+						return true;
+					}
+				}
+			} else if ("file".equals(classFile.getProtocol())) {
+				String path = new File(classFile.toURI()).getPath();
+				String relativePath = classFileName.replace('/', File.separatorChar);
+				if (path.endsWith(relativePath)) {
+					File classFolder = new File(path.substring(0, path.length() - relativePath.length()));
+					hasher.putString(classFolder.getPath(), StandardCharsets.UTF_8).putLong(getNewestTimeStamp(classFolder));
+					return true;
+				}
+			}
+		} catch (IOException | URISyntaxException | IllegalArgumentException e) {
+			LOG.debug("Cannot locate the class path entry of processor " + processorType.getIdentifier(), e);
+		}
+		return false;
+	}
+
+	private long getNewestTimeStamp(File file) {
+		long result = file.lastModified();
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				result = Math.max(result, getNewestTimeStamp(child));
+			}
+		}
+		return result;
+	}
+
+	/* @Nullable */
+	private ClassLoader getClassPathClassLoader(EObject context) {
+		Resource resource = context.eResource();
+		ResourceSet resourceSet = resource != null ? resource.getResourceSet() : null;
+		if (resourceSet instanceof XtextResourceSet) {
+			Object classpathURIContext = ((XtextResourceSet) resourceSet).getClasspathURIContext();
+			if (classpathURIContext instanceof ClassLoader) {
+				return (ClassLoader) classpathURIContext;
+			}
+			if (classpathURIContext instanceof Class<?>) {
+				return ((Class<?>) classpathURIContext).getClassLoader();
+			}
+		}
+		return null;
+	}
+
+	/* @Nullable */
+	protected JvmType getProcessorType(JvmAnnotationType annotationType) {
+		try {
+			return annotationExtensions.getProcessorType(annotationType);
+		} catch (RuntimeException e) {
+			// the processor reference cannot be evaluated, yet
+			return null;
+		}
 	}
 
 	protected void addFlags(int flags, ImmutableMap.Builder<String, String> userData) {
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.richstring;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtend2.lib.StringConcatenationClient;
+import org.eclipse.xtend2.lib.StringConcatenationClient.TargetStringConcatenation;
+
+/**
+ * A {@link TargetStringConcatenation target} for templates that compile to a {@link StringConcatenationClient} which
+ * writes the result to an {@link Appendable}, e.g. a {@link java.io.Writer}, instead of keeping it in memory.
+ *
+ * The result is the same as the {@link StringConcatenation#toString() string} of a {@link StringConcatenation} with
+ * the same line delimiter. Only whitespace at the end of the written content is held back, since
+ * {@link #newLineIfNotEmpty()} and {@link #appendImmediate(Object, String)} may still change it. Trailing whitespace
+ * after the last line break is dropped when the concatenation is {@link #close() closed}.
+ *
+ * <pre>
+ * try (StreamingStringConcatenation target = new StreamingStringConcatenation(writer)) {
+ *   target.append(template());
+ * }
+ * </pre>
+ *
+ * The content that was already written cannot be accessed as a {@link CharSequence} anymore. Nested clients are
+ * streamed as well, an indented client appends to a view that indents its lines.
+ *
+ * This class is internal to the Xtend bundles. Its package is only exported to friends, so it is neither API nor
+ * available to the runtime of generated code.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ * @since 2.14
+ */
+public class StreamingStringConcatenation implements TargetStringConcatenation, Flushable, Closeable {
+
+	private final Appendable out;
+
+	private final String lineDelimiter;
+
+	/**
+	 * The whitespace segments that follow the last segment with significant content. Segments are either text without
+	 * line breaks or a line delimiter.
+	 */
+	private final List<String> pending = new ArrayList<String>();
+
+	private int pendingLength;
+
+	private int writtenLength;
+
+	private boolean closed;
+
+	public StreamingStringConcatenation(Appendable out) {
+		this(out, System.lineSeparator());
+	}
+
+	public StreamingStringConcatenation(Appendable out, String lineDelimiter) {
+		this.out = out;
+		this.lineDelimiter = lineDelimiter;
+	}
+
+	@Override
+	public void newLine() {
+		addSegment(lineDelimiter);
+	}
+
+	@Override
+	public void newLineIfNotEmpty() {
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			if (lineDelimiter.equals(pending.get(i))) {
+				removePending(i + 1);
+				return;
+			}
+		}
+		if (writtenLength != 0) {
+			newLine();
+		} else {
+			removePending(0);
+		}
+	}
+
+	@Override
+	public void append(Object object) {
+		append(object, "");
+	}
+
+	@Override
+	public void append(Object object, String indentation) {
+		if (object == null) {
+			return;
+		}
+		if (object instanceof StringConcatenationClient) {
+			StringConcatenationClient client = (StringConcatenationClient) object;
+			ClientAccess.appendTo(client, indentation.isEmpty() ? this : new IndentedTarget(indentation));
+			return;
+		}
+		String text = object instanceof StringConcatenation ? object.toString() : getStringRepresentation(object);
+		if (text != null) {
+			appendText(text, indentation);
+		}
+	}
+
+	/**
+	 * Inserts the given object right after the last significant content, before any trailing whitespace.
+	 */
+	@Override
+	public void appendImmediate(Object object, String indentation) {
+		List<String> trailingWhitespace = new ArrayList<String>(pending);
+		removePending(0);
+		append(object, indentation);
+		for (String segment : trailingWhitespace) {
+			addSegment(segment);
+		}
+	}
+
+	/**
+	 * Computes the string representation of an object that is neither a {@link StringConcatenation} nor a
+	 * {@link StringConcatenationClient}. May return <code>null</code> to append nothing.
+	 */
+	protected String getStringRepresentation(Object object) {
+		return object.toString();
+	}
+
+	protected void appendText(String text, String indentation) {
+		int length = text.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || c == '\r') {
+				addSegment(text.substring(start, i));
+				addSegment(lineDelimiter);
+				addSegment(indentation);
+				if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+					i++;
+				}
+				start = i + 1;
+			}
+		}
+		addSegment(start == 0 ? text : text.substring(start));
+	}
+
+	protected void addSegment(String segment) {
+		if (segment.isEmpty()) {
+			return;
+		}
+		if (isWhitespace(segment)) {
+			pending.add(segment);
+			pendingLength += segment.length();
+		} else {
+			for (String whitespace : pending) {
+				write(whitespace);
+			}
+			removePending(0);
+			write(segment);
+		}
+	}
+
+	private void removePending(int fromIndex) {
+		List<String> removed = pending.subList(fromIndex, pending.size());
+		for (String segment : removed) {
+			pendingLength -= segment.length();
+		}
+		removed.clear();
+	}
+
+	private void write(String segment) {
+		if (closed) {
+			throw new IllegalStateException("The concatenation was already closed");
+		}
+		try {
+			out.append(segment);
+			writtenLength += segment.length();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private boolean isWhitespace(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (!Character.isWhitespace(segment.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Flushes the underlying appendable if it is {@link Flushable}. The trailing whitespace is held back.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (out instanceof Flushable) {
+			((Flushable) out).flush();
+		}
+	}
+
+	/**
+	 * Writes the pending whitespace up to the last line break and closes the underlying appendable if it is
+	 * {@link Closeable}.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			if (lineDelimiter.equals(pending.get(i))) {
+				removePending(i + 1);
+				break;
+			}
+		}
+		for (String whitespace : pending) {
+			write(whitespace);
+		}
+		removePending(0);
+		closed = true;
+		if (out instanceof Closeable) {
+			((Closeable) out).close();
+		}
+	}
+
+	/**
+	 * The number of characters that were appended so far, including the whitespace that is held back.
+	 */
+	@Override
+	public int length() {
+		return writtenLength + pendingLength;
+	}
+
+	/**
+	 * Only the characters that were not written yet are available.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if the character was already written.
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return getPendingText(index, index + 1).charAt(0);
+	}
+
+	/**
+	 * Only the characters that were not written yet are available.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if a character of the sequence was already written.
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end);
+		}
+		if (start == end) {
+			return "";
+		}
+		return getPendingText(start, end);
+	}
+
+	private String getPendingText(int start, int end) {
+		if (start < writtenLength) {
+			throw new UnsupportedOperationException("The content was already written");
+		}
+		StringBuilder result = new StringBuilder(pendingLength);
+		for (String segment : pending) {
+			result.append(segment);
+		}
+		return result.substring(start - writtenLength, end - writtenLength);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " (" + length() + " characters)";
+	}
+
+	/**
+	 * The target of a nested client that was appended with an indentation. Its content is written to the outer
+	 * concatenation right away, each new line starts with the indentation.
+	 */
+	private class IndentedTarget implements TargetStringConcatenation {
+
+		private final String indentation;
+
+		IndentedTarget(String indentation) {
+			this.indentation = indentation;
+		}
+
+		@Override
+		public void newLine() {
+			StreamingStringConcatenation.this.newLine();
+			addSegment(indentation);
+		}
+
+		@Override
+		public void newLineIfNotEmpty() {
+			StreamingStringConcatenation.this.newLineIfNotEmpty();
+			addSegment(indentation);
+		}
+
+		@Override
+		public void append(Object object) {
+			StreamingStringConcatenation.this.append(object, indentation);
+		}
+
+		@Override
+		public void append(Object object, String indentation) {
+			StreamingStringConcatenation.this.append(object, this.indentation + indentation);
+		}
+
+		@Override
+		public void appendImmediate(Object object, String indentation) {
+			StreamingStringConcatenation.this.appendImmediate(object, this.indentation + indentation);
+		}
+
+		@Override
+		public int length() {
+			return StreamingStringConcatenation.this.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			return StreamingStringConcatenation.this.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return StreamingStringConcatenation.this.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return StreamingStringConcatenation.this.toString();
+		}
+	}
+
+	/**
+	 * Grants access to {@link StringConcatenationClient#appendTo(TargetStringConcatenation)}.
+	 */
+	private static abstract class ClientAccess extends StringConcatenationClient {
+		static void appendTo(StringConcatenationClient client, TargetStringConcatenation target) {
+			StringConcatenationClient.appendTo(client, target);
+		}
+	}
+
+}
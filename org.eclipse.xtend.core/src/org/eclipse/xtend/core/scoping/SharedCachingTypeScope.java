@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.scoping;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.common.types.xtext.AbstractTypeScope;
+import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.util.Tuples;
+
+/**
+ * A type scope that shares the results of its delegate through a {@link TypeLookupCache}. The delegate must not
+ * depend on the resource that uses this scope.
+ */
+class SharedCachingTypeScope extends AbstractTypeScope {
+
+	private final AbstractTypeScope delegate;
+	private final TypeLookupCache cache;
+
+	SharedCachingTypeScope(AbstractTypeScope delegate, TypeLookupCache cache) {
+		super(null, null, null);
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public IEObjectDescription getSingleElement(QualifiedName name) {
+		cache.validate(delegate.getTypeProvider());
+		IEObjectDescription result = cache.getFoundType(name);
+		if (result == null && !cache.isMissingType(name)) {
+			result = delegate.getSingleElement(name);
+			cache.put(name, name, result);
+		}
+		return result;
+	}
+
+	@Override
+	public IEObjectDescription getSingleElement(QualifiedName name, boolean binary) {
+		cache.validate(delegate.getTypeProvider());
+		Object key = Tuples.create(name, binary);
+		IEObjectDescription result = cache.getFoundType(key);
+		if (result == null && !cache.isMissingType(key)) {
+			result = delegate.getSingleElement(name, binary);
+			cache.put(key, name, result);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getElements(QualifiedName name) {
+		return delegate.getElements(name);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getElements(EObject object) {
+		return delegate.getElements(object);
+	}
+
+	@Override
+	public IEObjectDescription getSingleElement(EObject object) {
+		return delegate.getSingleElement(object);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getAllElements() {
+		return delegate.getAllElements();
+	}
+
+	@Override
+	public IScope getParent() {
+		return delegate.getParent();
+	}
+
+	@Override
+	public IJvmTypeProvider getTypeProvider() {
+		return delegate.getTypeProvider();
+	}
+
+	@Override
+	public IQualifiedNameConverter getQualifiedNameConverter() {
+		return delegate.getQualifiedNameConverter();
+	}
+
+}
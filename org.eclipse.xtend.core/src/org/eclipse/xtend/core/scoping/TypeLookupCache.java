@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.core.scoping;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
+
+/**
+ * The results of the type lookups of all resources in a resource set. Each Xtend file resolves the names of
+ * <code>java.lang</code>, <code>org.eclipse.xtext.xbase.lib</code> and its wildcard imports against the same types,
+ * so the files of a resource set share these results instead of asking the type provider again.
+ *
+ * A found type is only returned as long as it is contained in a resource of the resource set. A missing type is only
+ * remembered for the {@link #isLibraryName(QualifiedName) library namespaces} that are implicitly imported by every
+ * file, since the types of these namespaces come from the class path. The cache is cleared when resources are removed
+ * from the resource set, when the lookups are {@link #validate(IJvmTypeProvider) answered} by another type provider or
+ * class path context and when a class path {@link #classPathChanged() changed}.
+ *
+ * @since 2.14
+ */
+public class TypeLookupCache extends AdapterImpl {
+
+	private static final QualifiedName[] LIBRARY_NAMESPACES = {
+		XtendImportedNamespaceScopeProvider.JAVA_LANG,
+		XtendImportedNamespaceScopeProvider.XBASE_LIB,
+	};
+
+	private static final QualifiedName[] LIBRARY_TYPES = {
+		XtendImportedNamespaceScopeProvider.OLD_DATA_ANNOTATION,
+		XtendImportedNamespaceScopeProvider.OLD_PROPERTY_ANNOTATION,
+	};
+
+	private static final AtomicInteger CLASS_PATH_GENERATION = new AtomicInteger();
+
+	/**
+	 * Invalidates the caches of all resource sets. Has to be called when a class path changes in place, i.e. without
+	 * a new type provider or class path context, e.g. when the class path of a Java project in the workspace changes.
+	 */
+	public static void classPathChanged() {
+		CLASS_PATH_GENERATION.incrementAndGet();
+	}
+
+	public static TypeLookupCache findOrInstall(ResourceSet resourceSet) {
+		synchronized (resourceSet.eAdapters()) {
+			TypeLookupCache result = (TypeLookupCache) EcoreUtil.getAdapter(resourceSet.eAdapters(), TypeLookupCache.class);
+			if (result == null) {
+				result = new TypeLookupCache();
+				resourceSet.eAdapters().add(result);
+			}
+			return result;
+		}
+	}
+
+	private final ConcurrentMap<Object, IEObjectDescription> foundTypes = new ConcurrentHashMap<Object, IEObjectDescription>();
+
+	private final Set<Object> missingTypes = ConcurrentHashMap.newKeySet();
+
+	private volatile IJvmTypeProvider typeProvider;
+
+	private volatile Object classpathURIContext;
+
+	private volatile int classPathGeneration = CLASS_PATH_GENERATION.get();
+
+	/**
+	 * Clears the cache if the cached results were computed with another type provider, class path context or before
+	 * a class path changed. Has to be called before the cache is used for a lookup with the given type provider.
+	 */
+	public void validate(IJvmTypeProvider typeProvider) {
+		if (!isValidFor(typeProvider)) {
+			synchronized (this) {
+				if (!isValidFor(typeProvider)) {
+					clear();
+					this.typeProvider = typeProvider;
+					this.classpathURIContext = getClasspathURIContext();
+					this.classPathGeneration = CLASS_PATH_GENERATION.get();
+				}
+			}
+		}
+	}
+
+	private boolean isValidFor(IJvmTypeProvider typeProvider) {
+		return this.typeProvider == typeProvider && this.classpathURIContext == getClasspathURIContext()
+				&& this.classPathGeneration == CLASS_PATH_GENERATION.get();
+	}
+
+	private Object getClasspathURIContext() {
+		if (getTarget() instanceof XtextResourceSet) {
+			return ((XtextResourceSet) getTarget()).getClasspathURIContext();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the type that was found for the given key or <code>null</code> if the key is unknown or the type was
+	 * removed from the resource set in the meantime.
+	 */
+	public IEObjectDescription getFoundType(Object key) {
+		IEObjectDescription result = foundTypes.get(key);
+		if (result != null && !isValid(result)) {
+			foundTypes.remove(key, result);
+			return null;
+		}
+		return result;
+	}
+
+	public boolean isMissingType(Object key) {
+		return missingTypes.contains(key);
+	}
+
+	/**
+	 * Records the result of a lookup for the given name.
+	 */
+	public void put(Object key, QualifiedName name, IEObjectDescription result) {
+		if (result == null) {
+			if (isLibraryName(name)) {
+				missingTypes.add(key);
+			}
+		} else if (isValid(result)) {
+			foundTypes.put(key, result);
+		}
+	}
+
+	protected boolean isLibraryName(QualifiedName name) {
+		for (QualifiedName namespace : LIBRARY_NAMESPACES) {
+			if (name.getSegmentCount() > namespace.getSegmentCount() && name.startsWith(namespace)) {
+				return true;
+			}
+		}
+		for (QualifiedName type : LIBRARY_TYPES) {
+			if (name.equals(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	protected boolean isValid(IEObjectDescription description) {
+		EObject type = description.getEObjectOrProxy();
+		if (type == null || type.eIsProxy()) {
+			return false;
+		}
+		Resource resource = type.eResource();
+		return resource != null && resource.getResourceSet() == getTarget();
+	}
+
+	public void clear() {
+		foundTypes.clear();
+		missingTypes.clear();
+	}
+
+	@Override
+	public void notifyChanged(Notification msg) {
+		if (msg.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+			switch (msg.getEventType()) {
+				case Notification.ADD:
+				case Notification.ADD_MANY:
+				case Notification.RESOLVE:
+					return;
+				default:
+					clear();
+			}
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == TypeLookupCache.class;
+	}
+
+}
@@ -18,6 +18,7 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtend.core.jvmmodel.AnonymousClassUtil;
 import org.eclipse.xtend.core.jvmmodel.IXtendJvmAssociations;
 import org.eclipse.xtend.core.xtend.AnonymousClass;
@@ -99,8 +100,7 @@ public class XtendImportedNamespaceScopeProvider extends XImportSectionNamespace
 		if (TypesPackage.Literals.JVM_TYPE.isSuperTypeOf(referenceType)) {
 			if (context instanceof XImportDeclaration) {
 				Resource resource = context.eResource();
-				IJvmTypeProvider typeProvider = typeScopeProvider.getTypeProvider(resource.getResourceSet());
-				AbstractTypeScope typeScope = typeScopeProvider.createTypeScope(typeProvider, null);
+				AbstractTypeScope typeScope = createSharedTypeScope(resource);
 				IResourceDescriptions descriptions = resourceDescriptionsProvider.getResourceDescriptions(context.eResource().getResourceSet());
 				IResourceDescription resourceDescription = descriptions.getResourceDescription(resource.getURI());
 				if (resourceDescription != null) {
@@ -117,8 +117,7 @@ public class XtendImportedNamespaceScopeProvider extends XImportSectionNamespace
 			AbstractScope result = resourceScopeCache.get("type.scope", xtendFile.eResource(), new Provider<AbstractScope>() {
 				@Override
 				public AbstractScope get() {
-					IJvmTypeProvider typeProvider = typeScopeProvider.getTypeProvider(resource.getResourceSet());
-					AbstractTypeScope typeScope = typeScopeProvider.createTypeScope(typeProvider, null);
+					AbstractTypeScope typeScope = createSharedTypeScope(resource);
 					IResourceDescriptions descriptions = resourceDescriptionsProvider.getResourceDescriptions(context.eResource().getResourceSet());
 					IResourceDescription resourceDescription = descriptions.getResourceDescription(resource.getURI());
 					if (resourceDescription != null) {
@@ -168,6 +167,19 @@ public class XtendImportedNamespaceScopeProvider extends XImportSectionNamespace
 		}
 	}
 	
+	/**
+	 * Creates the scope for all types of the resource set. Its results are shared with the other resources of the
+	 * resource set, so only the scopes of the file's own imports and types are built per resource.
+	 * 
+	 * @since 2.14
+	 */
+	protected AbstractTypeScope createSharedTypeScope(Resource resource) {
+		ResourceSet resourceSet = resource.getResourceSet();
+		IJvmTypeProvider typeProvider = typeScopeProvider.getTypeProvider(resourceSet);
+		AbstractTypeScope typeScope = typeScopeProvider.createTypeScope(typeProvider, null);
+		return new SharedCachingTypeScope(typeScope, TypeLookupCache.findOrInstall(resourceSet));
+	}
+	
 	protected Set<QualifiedName> getImportedNamesSet(Resource resource) {
 		ImportedNamesAdapter adapter = getImportedNamesAdapter(resource);
 		return adapter.getImportedNames();
@@ -73,7 +73,12 @@ class CachingResourceValidatorImpl extends DerivedStateAwareResourceValidator {
 		val severity = issueSeverities.getSeverity(IssueCodes.ORPHAN_ELMENT)
 		if (severity == Severity.IGNORE)
 			return;
-		for (jvmType : resource.contents.tail.filter(JvmDeclaredType)) {
+		val jvmTypes = resource.contents.tail.filter(JvmDeclaredType)
+		// only register globals and transformation participants can add elements without a source element
+		val contexts = ActiveAnnotationContexts.find(resource)
+		if (contexts !== null && !contexts.transformed)
+			return;
+		for (jvmType : jvmTypes) {
 			for (jvmMember : jvmType.eAllContents.filter(JvmMember).filter[!synthetic].toIterable) {
 				operationCanceledManager.checkCanceled(monitor)
 				val sourceElement = jvmMember.primarySourceElement
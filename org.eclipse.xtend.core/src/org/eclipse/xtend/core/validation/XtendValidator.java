@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -73,6 +74,7 @@ import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmGenericType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
 import org.eclipse.xtext.common.types.JvmPrimitiveType;
@@ -101,6 +103,7 @@ import org.eclipse.xtext.util.ReplaceRegion;
 import org.eclipse.xtext.validation.Check;
 import org.eclipse.xtext.validation.ComposedChecks;
 import org.eclipse.xtext.validation.ValidationMessageAcceptor;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
 import org.eclipse.xtext.xbase.XAssignment;
 import org.eclipse.xtext.xbase.XBlockExpression;
 import org.eclipse.xtext.xbase.XCatchClause;
@@ -137,9 +140,11 @@ import org.eclipse.xtext.xbase.typesystem.references.StandardTypeReferenceOwner;
 import org.eclipse.xtext.xbase.typesystem.util.ContextualVisibilityHelper;
 import org.eclipse.xtext.xbase.typesystem.util.IVisibilityHelper;
 import org.eclipse.xtext.xbase.typesystem.util.RecursionGuard;
+import org.eclipse.xtext.xbase.util.XbaseUsageCrossReferencer;
 import org.eclipse.xtext.xbase.validation.ImplicitReturnFinder;
 import org.eclipse.xtext.xbase.validation.ImplicitReturnFinder.Acceptor;
 import org.eclipse.xtext.xbase.validation.ProxyAwareUIStrings;
+import org.eclipse.xtext.xbase.validation.ReadAndWriteTracking;
 import org.eclipse.xtext.xbase.validation.UIStrings;
 import org.eclipse.xtext.xtype.XComputedTypeReference;
 import org.eclipse.xtext.xtype.XImportDeclaration;
@@ -153,6 +158,7 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
@@ -234,6 +240,9 @@ public class XtendValidator extends XbaseWithAnnotationsValidator {
 	@Inject
 	private IGeneratorConfigProvider generatorConfigProvider;
 	
+	@Inject
+	private ReadAndWriteTracking readAndWriteTracking;
+	
 	protected final Set<String> visibilityModifers = ImmutableSet.of("public", "private", "protected", "package");
 	protected final Multimap<Class<?>, ElementType> targetInfos;
 	
@@ -1684,7 +1693,7 @@ public class XtendValidator extends XbaseWithAnnotationsValidator {
 			JvmField jvmField = associations.getJvmField(field);
 			if (jvmField == null || jvmField.getVisibility() != JvmVisibility.PRIVATE || jvmField.eContainer() == null)
 				return;
-			if (isLocallyUsed(jvmField, getOutermostType(field))) 
+			if (isUsedInOutermostType(jvmField, getOutermostType(field))) 
 				return;
 			String message;
 			if(field.isExtension()) {
@@ -1720,6 +1729,88 @@ public class XtendValidator extends XbaseWithAnnotationsValidator {
 		return result;
 	}
 
+	/**
+	 * Replies whether the given private field or operation is used within the given outermost type. A private
+	 * operation that is only called by itself is not considered to be used. Has the same semantics as
+	 * {@link #isLocallyUsed(EObject, EObject)}, but the usages are looked up in an index that is built with a single
+	 * pass over the outermost type and shared by all members during the current validation run.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isUsedInOutermostType(JvmMember member, EObject outermostType) {
+		if (readAndWriteTracking.isRead(member)) {
+			return true;
+		}
+		Collection<EStructuralFeature.Setting> usages = getPrivateMemberUsages(outermostType).get(member);
+		if (usages == null || usages.isEmpty()) {
+			return false;
+		}
+		if (!(member instanceof JvmOperation)) {
+			return true;
+		}
+		EObject sourceElement = associations.getPrimarySourceElement(member);
+		for (EStructuralFeature.Setting usage : usages) {
+			EObject usingObject = usage.getEObject();
+			if (!(usingObject instanceof XAbstractFeatureCall)
+					|| ((XAbstractFeatureCall) usingObject).getFeature() != member
+					|| !EcoreUtil.isAncestor(sourceElement, usingObject)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Replies the usages of all private fields and operations within the given outermost type. The index is computed
+	 * once per outermost type and validation run.
+	 */
+	private Map<EObject, Collection<EStructuralFeature.Setting>> getPrivateMemberUsages(EObject outermostType) {
+		Map<Object, Object> context = getContext();
+		if (context == null) {
+			return PrivateMemberUsageCrossReferencer.findUsages(outermostType);
+		}
+		@SuppressWarnings("unchecked")
+		Map<EObject, Map<EObject, Collection<EStructuralFeature.Setting>>> indexes = 
+				(Map<EObject, Map<EObject, Collection<EStructuralFeature.Setting>>>) context.get(PrivateMemberUsageCrossReferencer.class);
+		if (indexes == null) {
+			indexes = Maps.newHashMap();
+			context.put(PrivateMemberUsageCrossReferencer.class, indexes);
+		}
+		Map<EObject, Collection<EStructuralFeature.Setting>> result = indexes.get(outermostType);
+		if (result == null) {
+			result = PrivateMemberUsageCrossReferencer.findUsages(outermostType);
+			indexes.put(outermostType, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the references to private fields and operations in a single traversal of the content tree.
+	 */
+	private static class PrivateMemberUsageCrossReferencer extends XbaseUsageCrossReferencer {
+
+		private static final long serialVersionUID = 1L;
+
+		static Map<EObject, Collection<EStructuralFeature.Setting>> findUsages(EObject container) {
+			PrivateMemberUsageCrossReferencer result = new PrivateMemberUsageCrossReferencer(container);
+			result.crossReference();
+			result.done();
+			return result;
+		}
+
+		PrivateMemberUsageCrossReferencer(EObject container) {
+			super(container);
+		}
+
+		@Override
+		protected boolean crossReference(EObject eObject, EReference eReference, EObject crossReferencedEObject) {
+			if (crossReferencedEObject instanceof JvmField || crossReferencedEObject instanceof JvmOperation) {
+				return ((JvmMember) crossReferencedEObject).getVisibility() == JvmVisibility.PRIVATE;
+			}
+			return false;
+		}
+	}
+
 	protected String getDeclaratorName(JvmFeature feature) {
 		JvmDeclaredType declarator = feature.getDeclaringType();
 		if (declarator.isLocal()) {
@@ -1733,7 +1824,7 @@ public class XtendValidator extends XbaseWithAnnotationsValidator {
 	public void checkLocalUsageOfDeclaredXtendFunction(XtendFunction function){
 		if(doCheckValidMemberName(function) && !isIgnored(UNUSED_PRIVATE_MEMBER)) {
 			JvmOperation jvmOperation = function.isDispatch()?associations.getDispatchOperation(function):associations.getDirectlyInferredOperation(function);
-			if(jvmOperation != null && jvmOperation.getVisibility() == JvmVisibility.PRIVATE && !isLocallyUsed(jvmOperation, getOutermostType(function))) {
+			if(jvmOperation != null && jvmOperation.getVisibility() == JvmVisibility.PRIVATE && !isUsedInOutermostType(jvmOperation, getOutermostType(function))) {
 				String message = "The method " + jvmOperation.getSimpleName() 
 						+  uiStrings.parameters(jvmOperation)  
 						+ " from the type "+ getDeclaratorName(jvmOperation)+" is never used locally.";
@@ -7,8 +7,10 @@
  */
 package org.eclipse.xtend.core.formatting2;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.util.Collection;
 import java.util.List;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -24,6 +26,7 @@ import org.eclipse.xtext.preferences.TypedPreferenceValues;
 import org.eclipse.xtext.resource.IResourceFactory;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.StringInputStream;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
@@ -49,26 +52,52 @@ public class FormatterFacade {
   private Provider<TextRegionAccessBuilder> regionAccessBuilder;
   
   public String format(final String xtendCode) {
+    return this.format(xtendCode, CollectionLiterals.<ITextRegion>emptyList());
+  }
+  
+  /**
+   * Formats the given regions of the code and returns the complete text. Only the members that touch these regions
+   * are visited. All regions are formatted if the given collection is empty.
+   * 
+   * @since 2.14
+   */
+  public String format(final String xtendCode, final Collection<? extends ITextRegion> regions) {
     try {
-      final XtextResourceSet resourceSet = new XtextResourceSet();
-      Resource _createResource = this.resourceFactory.createResource(URI.createURI("synthetic://to-be-formatted.xtend"));
-      final XtextResource resource = ((XtextResource) _createResource);
-      EList<Resource> _resources = resourceSet.getResources();
-      _resources.add(resource);
-      StringInputStream _stringInputStream = new StringInputStream(xtendCode);
-      resource.load(_stringInputStream, CollectionLiterals.<Object, Object>emptyMap());
-      final ITextRegionAccess regionAccess = this.regionAccessBuilder.get().forNodeModel(resource).create();
-      FormatterRequest _formatterRequest = new FormatterRequest();
-      final Procedure1<FormatterRequest> _function = (FormatterRequest it) -> {
-        it.setAllowIdentityEdits(false);
-        it.setTextRegionAccess(regionAccess);
-        it.setPreferences(TypedPreferenceValues.castOrWrap(this.cfgProvider.getPreferenceValues(resource)));
-      };
-      FormatterRequest request = ObjectExtensions.<FormatterRequest>operator_doubleArrow(_formatterRequest, _function);
-      List<ITextReplacement> replacements = this.formatter.format(request);
-      return regionAccess.getRewriter().renderToString(replacements);
+      String _xblockexpression = null;
+      {
+        final XtextResourceSet resourceSet = new XtextResourceSet();
+        Resource _createResource = this.resourceFactory.createResource(URI.createURI("synthetic://to-be-formatted.xtend"));
+        final XtextResource resource = ((XtextResource) _createResource);
+        EList<Resource> _resources = resourceSet.getResources();
+        _resources.add(resource);
+        StringInputStream _stringInputStream = new StringInputStream(xtendCode);
+        resource.load(_stringInputStream, CollectionLiterals.<Object, Object>emptyMap());
+        _xblockexpression = this.format(resource, regions);
+      }
+      return _xblockexpression;
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  /**
+   * Formats the given regions of an already parsed resource, e.g. the resource of an editor, and returns the complete
+   * text. The resource is not modified.
+   * 
+   * @since 2.14
+   */
+  public String format(final XtextResource resource, final Collection<? extends ITextRegion> regions) {
+    final ITextRegionAccess regionAccess = this.regionAccessBuilder.get().forNodeModel(resource).create();
+    FormatterRequest _formatterRequest = new FormatterRequest();
+    final Procedure1<FormatterRequest> _function = (FormatterRequest it) -> {
+      it.setAllowIdentityEdits(false);
+      it.setTextRegionAccess(regionAccess);
+      it.setPreferences(TypedPreferenceValues.castOrWrap(this.cfgProvider.getPreferenceValues(resource)));
+      List<ITextRegion> _regions = it.getRegions();
+      Iterables.<ITextRegion>addAll(_regions, regions);
+    };
+    FormatterRequest request = ObjectExtensions.<FormatterRequest>operator_doubleArrow(_formatterRequest, _function);
+    List<ITextReplacement> replacements = this.formatter.format(request);
+    return regionAccess.getRewriter().renderToString(replacements);
+  }
 }
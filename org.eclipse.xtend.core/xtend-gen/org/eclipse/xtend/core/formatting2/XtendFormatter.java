@@ -39,11 +39,15 @@ import org.eclipse.xtext.common.types.JvmTypeConstraint;
 import org.eclipse.xtext.common.types.JvmTypeParameter;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.JvmWildcardTypeReference;
+import org.eclipse.xtext.formatting2.FormatterRequest;
 import org.eclipse.xtext.formatting2.IFormattableDocument;
 import org.eclipse.xtext.formatting2.IHiddenRegionFormatter;
+import org.eclipse.xtext.formatting2.regionaccess.IEObjectRegion;
+import org.eclipse.xtext.formatting2.regionaccess.IHiddenRegion;
 import org.eclipse.xtext.formatting2.regionaccess.ISemanticRegion;
 import org.eclipse.xtext.formatting2.regionaccess.ISemanticRegionFinder;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.xbase.XAssignment;
 import org.eclipse.xtext.xbase.XBasicForLoopExpression;
 import org.eclipse.xtext.xbase.XBinaryOperation;
@@ -72,6 +76,7 @@ import org.eclipse.xtext.xbase.annotations.formatting2.XbaseWithAnnotationsForma
 import org.eclipse.xtext.xbase.annotations.xAnnotations.XAnnotation;
 import org.eclipse.xtext.xbase.formatting2.XbaseFormatterPreferenceKeys;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IntegerRange;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -120,7 +125,10 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
     EList<XtendTypeDeclaration> _xtendTypes = xtendFile.getXtendTypes();
     for (final XtendTypeDeclaration clazz : _xtendTypes) {
       {
-        format.<XtendTypeDeclaration>format(clazz);
+        boolean _isInRequestedRegions = this.isInRequestedRegions(clazz);
+        if (_isInRequestedRegions) {
+          format.<XtendTypeDeclaration>format(clazz);
+        }
         XtendTypeDeclaration _last = IterableExtensions.<XtendTypeDeclaration>last(xtendFile.getXtendTypes());
         boolean _notEquals = (!Objects.equal(clazz, _last));
         if (_notEquals) {
@@ -235,7 +243,10 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
         for (final Integer i : _upTo) {
           {
             final XtendMember current = type.getMembers().get((i).intValue());
-            format.<XtendMember>format(current);
+            boolean _isInRequestedRegions = this.isInRequestedRegions(current);
+            if (_isInRequestedRegions) {
+              format.<XtendMember>format(current);
+            }
             int _size_1 = type.getMembers().size();
             int _minus_1 = (_size_1 - 1);
             boolean _lessThan = ((i).intValue() < _minus_1);
@@ -267,6 +278,45 @@ public class XtendFormatter extends XbaseWithAnnotationsFormatter {
     return _xblockexpression;
   }
   
+  /**
+   * Returns <code>false</code> if the request is restricted to {@link FormatterRequest#getRegions() regions} that
+   * touch neither the given element nor its surrounding hidden regions. Such elements are not visited since their
+   * replacements would be dropped anyway.
+   * 
+   * @since 2.14
+   */
+  protected boolean isInRequestedRegions(final EObject element) {
+    final List<ITextRegion> regions = this.getRequest().getRegions();
+    boolean _isEmpty = regions.isEmpty();
+    if (_isEmpty) {
+      return true;
+    }
+    final IEObjectRegion elementRegion = this.getRequest().getTextRegionAccess().regionForEObject(element);
+    if ((elementRegion == null)) {
+      return true;
+    }
+    final IHiddenRegion previous = elementRegion.getPreviousHiddenRegion();
+    final IHiddenRegion next = elementRegion.getNextHiddenRegion();
+    int _xifexpression = (int) 0;
+    if ((previous != null)) {
+      _xifexpression = previous.getOffset();
+    } else {
+      _xifexpression = elementRegion.getOffset();
+    }
+    final int offset = _xifexpression;
+    int _xifexpression_1 = (int) 0;
+    if ((next != null)) {
+      _xifexpression_1 = next.getEndOffset();
+    } else {
+      _xifexpression_1 = elementRegion.getEndOffset();
+    }
+    final int endOffset = _xifexpression_1;
+    final Function1<ITextRegion, Boolean> _function = (ITextRegion region) -> {
+      return Boolean.valueOf(((region.getOffset() <= endOffset) && (offset <= (region.getOffset() + region.getLength()))));
+    };
+    return IterableExtensions.<ITextRegion>exists(regions, _function);
+  }
+  
   protected void _format(final XtendInterface interfaze, @Extension final IFormattableDocument format) {
     this.formatAnnotations(interfaze, format, XbaseFormatterPreferenceKeys.newLineAfterClassAnnotations);
     this.formatModifiers(interfaze, format);
@@ -60,6 +60,10 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
   @Accessors
   private ResourceSet context;
   
+  private OutputManifest outputManifest;
+  
+  private static final int BUFFER_SIZE = 8192;
+  
   @Override
   public CharSequence getContents(final Path path) {
     try {
@@ -138,6 +142,31 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
     }
   }
   
+  /**
+   * Returns the manifest that was {@link #setOutputManifest(OutputManifest) set} explicitly or otherwise the one that
+   * the batch compiler attached to the {@link #getContext() context}. Without a manifest, the contents of existing
+   * files are compared before they are overwritten.
+   * 
+   * @since 2.14
+   */
+  public OutputManifest getOutputManifest() {
+    OutputManifest _elvis = null;
+    if (this.outputManifest != null) {
+      _elvis = this.outputManifest;
+    } else {
+      OutputManifest _findInEmfObject = OutputManifest.findInEmfObject(this.context);
+      _elvis = _findInEmfObject;
+    }
+    return _elvis;
+  }
+  
+  /**
+   * @since 2.14
+   */
+  public void setOutputManifest(final OutputManifest outputManifest) {
+    this.outputManifest = outputManifest;
+  }
+  
   @Override
   public void setContentsAsStream(final Path path, final InputStream source) {
     final URI uri = this.getURI(path);
@@ -145,12 +174,24 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
       throw new IllegalArgumentException(("The file cannot be found: " + path));
     }
     try {
+      final OutputManifest manifest = this.getOutputManifest();
+      String hash = null;
+      if (((manifest != null) && source.markSupported())) {
+        hash = OutputManifest.hash(source);
+        source.reset();
+      }
       if ((this.exists(uri) && this.isFile(uri))) {
+        if (((hash != null) && manifest.isUpToDate(uri.toString(), hash, this.getLength(uri), (this.getLastModification(uri)).longValue()))) {
+          return;
+        }
         boolean _markSupported = source.markSupported();
         if (_markSupported) {
           boolean _hasContentsChanged = this.hasContentsChanged(source, this.getContentsAsStream(path));
           boolean _not = (!_hasContentsChanged);
           if (_not) {
+            if ((hash != null)) {
+              manifest.put(uri.toString(), hash, this.getLength(uri), (this.getLastModification(uri)).longValue());
+            }
             return;
           }
           source.reset();
@@ -162,6 +203,9 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
       } finally {
         out.close();
       }
+      if ((hash != null)) {
+        manifest.put(uri.toString(), hash, this.getLength(uri), (this.getLastModification(uri)).longValue());
+      }
     } catch (final Throwable _t) {
       if (_t instanceof IOException) {
         final IOException exc = (IOException)_t;
@@ -176,15 +220,27 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
   protected boolean hasContentsChanged(final InputStream newContent, final InputStream oldContent) {
     boolean contentChanged = false;
     try {
-      int newByte = newContent.read();
-      int oldByte = oldContent.read();
-      while ((((newByte != (-1)) && (oldByte != (-1))) && (newByte == oldByte))) {
+      final byte[] newBuffer = new byte[AbstractFileSystemSupport.BUFFER_SIZE];
+      final byte[] oldBuffer = new byte[AbstractFileSystemSupport.BUFFER_SIZE];
+      int newRead = 0;
+      do {
         {
-          newByte = newContent.read();
-          oldByte = oldContent.read();
+          newRead = ByteStreams.read(newContent, newBuffer, 0, AbstractFileSystemSupport.BUFFER_SIZE);
+          final int oldRead = ByteStreams.read(oldContent, oldBuffer, 0, AbstractFileSystemSupport.BUFFER_SIZE);
+          if ((newRead != oldRead)) {
+            contentChanged = true;
+          } else {
+            for (int i = 0; ((i < newRead) && (!contentChanged)); i++) {
+              byte _get = newBuffer[i];
+              byte _get_1 = oldBuffer[i];
+              boolean _notEquals = (_get != _get_1);
+              if (_notEquals) {
+                contentChanged = true;
+              }
+            }
+          }
         }
-      }
-      contentChanged = (newByte != oldByte);
+      } while(((!contentChanged) && (newRead == AbstractFileSystemSupport.BUFFER_SIZE)));
     } catch (final Throwable _t) {
       if (_t instanceof IOException) {
         contentChanged = true;
@@ -304,6 +360,24 @@ public abstract class AbstractFileSystemSupport implements MutableFileSystemSupp
     return (this.getLastModification(this.getURI(path))).longValue();
   }
   
+  /**
+   * @since 2.14
+   */
+  protected long getLength(final URI uri) {
+    long _xblockexpression = (long) 0;
+    {
+      final Object length = this.getAttribute(uri, URIConverter.ATTRIBUTE_LENGTH);
+      long _xifexpression = (long) 0;
+      if ((length instanceof Long)) {
+        _xifexpression = ((Long)length).longValue();
+      } else {
+        _xifexpression = (-1L);
+      }
+      _xblockexpression = _xifexpression;
+    }
+    return _xblockexpression;
+  }
+  
   protected Long getLastModification(final URI uri) {
     Long _xblockexpression = null;
     {
@@ -41,6 +41,15 @@ public class ActiveAnnotationContexts extends AdapterImpl {
   
   private boolean running;
   
+  /**
+   * Whether a {@link org.eclipse.xtend.lib.macro.RegisterGlobalsParticipant RegisterGlobalsParticipant} or a
+   * {@link org.eclipse.xtend.lib.macro.TransformationParticipant TransformationParticipant} was invoked for the
+   * resource. Only those can add JVM elements that are not associated with a source element.
+   * @since 2.14
+   */
+  @Accessors
+  private boolean transformed;
+  
   public void before(final ActiveAnnotationContexts.AnnotationCallback phase) {
     this.compilationUnit.before(phase);
     this.running = true;
@@ -55,6 +64,7 @@ public class ActiveAnnotationContexts extends AdapterImpl {
     ActiveAnnotationContexts result = IterableExtensions.<ActiveAnnotationContexts>head(Iterables.<ActiveAnnotationContexts>filter(resource.eAdapters(), ActiveAnnotationContexts.class));
     if ((result != null)) {
       result.contexts.clear();
+      result.transformed = false;
     } else {
       ActiveAnnotationContexts _activeAnnotationContexts = new ActiveAnnotationContexts();
       result = _activeAnnotationContexts;
@@ -83,4 +93,13 @@ public class ActiveAnnotationContexts extends AdapterImpl {
   public Map<JvmAnnotationType, ActiveAnnotationContext> getContexts() {
     return this.contexts;
   }
+  
+  @Pure
+  public boolean isTransformed() {
+    return this.transformed;
+  }
+  
+  public void setTransformed(final boolean transformed) {
+    this.transformed = transformed;
+  }
 }
@@ -7,16 +7,27 @@
  */
 package org.eclipse.xtend.core.macro;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.log4j.Logger;
 import org.eclipse.xtend.core.macro.ActiveAnnotationContext;
 import org.eclipse.xtend.core.macro.RegisterGlobalsContextImpl;
@@ -28,6 +39,7 @@ import org.eclipse.xtend.core.xtend.XtendMember;
 import org.eclipse.xtend.core.xtend.XtendParameter;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtend.lib.macro.RegisterGlobalsParticipant;
 import org.eclipse.xtend.lib.macro.TransformationParticipant;
 import org.eclipse.xtend.lib.macro.ValidationParticipant;
@@ -51,65 +63,239 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 @SuppressWarnings("all")
 public class AnnotationProcessor {
+  /**
+   * Watches the cancel indicators of all running active annotation phases with a single scheduled thread and marks
+   * the compilation unit of a canceled phase as canceled.
+   */
   @Singleton
   public static class CancellationObserver {
+    @FinalFieldsConstructor
+    @Accessors
+    static class MonitoredContext {
+      private final ActiveAnnotationContext ctx;
+      
+      private final CancelIndicator cancelIndicator;
+      
+      private final Function0<? extends Boolean> isFinished;
+      
+      private final CompletableFuture<Object> observed = new CompletableFuture<Object>();
+      
+      public MonitoredContext(final ActiveAnnotationContext ctx, final CancelIndicator cancelIndicator, final Function0<? extends Boolean> isFinished) {
+        super();
+        this.ctx = ctx;
+        this.cancelIndicator = cancelIndicator;
+        this.isFinished = isFinished;
+      }
+      
+      @Pure
+      public ActiveAnnotationContext getCtx() {
+        return this.ctx;
+      }
+      
+      @Pure
+      public CancelIndicator getCancelIndicator() {
+        return this.cancelIndicator;
+      }
+      
+      @Pure
+      public Function0<? extends Boolean> getIsFinished() {
+        return this.isFinished;
+      }
+      
+      @Pure
+      public CompletableFuture<Object> getObserved() {
+        return this.observed;
+      }
+    }
+    
     private final static Logger log = Logger.getLogger(AnnotationProcessor.CancellationObserver.class);
     
+    /**
+     * The interval in milliseconds in which the cancel indicators are checked.
+     * @since 2.14
+     */
+    public final static long POLLING_INTERVAL = 20;
+    
     @Accessors(AccessorType.PROTECTED_GETTER)
-    private ExecutorService pool = this.initPool();
+    private final ScheduledExecutorService scheduler = this.initScheduler();
+    
+    private final Queue<AnnotationProcessor.CancellationObserver.MonitoredContext> monitored = new ConcurrentLinkedQueue<AnnotationProcessor.CancellationObserver.MonitoredContext>();
+    
+    private final AtomicInteger registered = new AtomicInteger();
+    
+    private final AtomicInteger peakRegistered = new AtomicInteger();
+    
+    private final AtomicLong monitoredCount = new AtomicLong();
+    
+    private final AtomicLong canceledCount = new AtomicLong();
+    
+    private ScheduledFuture<?> watcher;
     
+    /**
+     * @since 2.14
+     */
+    protected ScheduledExecutorService initScheduler() {
+      final ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Xtend active annotation cancellation observer").build();
+      return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+    
+    /**
+     * @deprecated the phases are observed by the {@link #getScheduler() scheduler}, this method is not called anymore.
+     */
+    @Deprecated
     protected ExecutorService initPool() {
       return Executors.newCachedThreadPool();
     }
     
+    /**
+     * @deprecated use {@link #getScheduler()}
+     */
+    @Deprecated
+    protected ExecutorService getPool() {
+      return this.scheduler;
+    }
+    
     public void stop() {
-      this.pool.shutdown();
+      this.scheduler.shutdownNow();
     }
     
+    /**
+     * Observes the cancel indicator of a running phase until the phase is finished.
+     * 
+     * @return a future that is done as soon as the phase is no longer observed.
+     */
     public Future<?> monitorUntil(final ActiveAnnotationContext ctx, final CancelIndicator cancelIndicator, final Function0<? extends Boolean> isFinished) {
-      Future<?> _xblockexpression = null;
-      {
-        final Runnable _function = () -> {
-          try {
-            while ((!(isFinished.apply()).booleanValue())) {
-              {
-                boolean _isCanceled = cancelIndicator.isCanceled();
-                if (_isCanceled) {
-                  CompilationUnitImpl _compilationUnit = ctx.getCompilationUnit();
-                  _compilationUnit.setCanceled(true);
-                  return;
-                }
-                Thread.sleep(100);
-              }
-            }
-          } catch (Throwable _e) {
-            throw Exceptions.sneakyThrow(_e);
-          }
-        };
-        final Runnable r = _function;
-        Future<?> _xtrycatchfinallyexpression = null;
+      if (((cancelIndicator == null) || (cancelIndicator == CancelIndicator.NullImpl))) {
+        return CompletableFuture.<Object>completedFuture(null);
+      }
+      final AnnotationProcessor.CancellationObserver.MonitoredContext context = new AnnotationProcessor.CancellationObserver.MonitoredContext(ctx, cancelIndicator, isFinished);
+      this.monitored.add(context);
+      this.monitoredCount.incrementAndGet();
+      final int current = this.registered.incrementAndGet();
+      int peak = this.peakRegistered.get();
+      while (((current > peak) && (!this.peakRegistered.compareAndSet(peak, current)))) {
+        peak = this.peakRegistered.get();
+      }
+      this.startWatching();
+      return context.getObserved();
+    }
+    
+    private synchronized void startWatching() {
+      if ((this.watcher == null)) {
         try {
-          _xtrycatchfinallyexpression = this.pool.submit(r);
+          final Runnable _function = () -> {
+            this.checkCanceled();
+          };
+          this.watcher = this.scheduler.scheduleWithFixedDelay(_function, AnnotationProcessor.CancellationObserver.POLLING_INTERVAL, AnnotationProcessor.CancellationObserver.POLLING_INTERVAL, TimeUnit.MILLISECONDS);
         } catch (final Throwable _t) {
           if (_t instanceof RejectedExecutionException) {
             final RejectedExecutionException e = (RejectedExecutionException)_t;
             AnnotationProcessor.CancellationObserver.log.debug(e.getMessage(), e);
-            new Thread(r).start();
           } else {
             throw Exceptions.sneakyThrow(_t);
           }
         }
-        _xblockexpression = _xtrycatchfinallyexpression;
       }
-      return _xblockexpression;
+    }
+    
+    private synchronized void stopWatchingIfIdle() {
+      if ((this.monitored.isEmpty() && (this.watcher != null))) {
+        this.watcher.cancel(false);
+        this.watcher = null;
+      }
+    }
+    
+    /**
+     * Checks all monitored contexts once and forgets about the finished and canceled ones.
+     * 
+     * @since 2.14
+     */
+    protected void checkCanceled() {
+      final Iterator<AnnotationProcessor.CancellationObserver.MonitoredContext> iterator = this.monitored.iterator();
+      while (iterator.hasNext()) {
+        {
+          final AnnotationProcessor.CancellationObserver.MonitoredContext context = iterator.next();
+          try {
+            Boolean _apply = context.getIsFinished().apply();
+            if ((_apply).booleanValue()) {
+              this.forget(iterator, context);
+            } else {
+              boolean _isCanceled = context.getCancelIndicator().isCanceled();
+              if (_isCanceled) {
+                CompilationUnitImpl _compilationUnit = context.getCtx().getCompilationUnit();
+                _compilationUnit.setCanceled(true);
+                this.canceledCount.incrementAndGet();
+                this.forget(iterator, context);
+              }
+            }
+          } catch (final Throwable _t) {
+            if (_t instanceof RuntimeException) {
+              final RuntimeException e = (RuntimeException)_t;
+              AnnotationProcessor.CancellationObserver.log.error(e.getMessage(), e);
+              this.forget(iterator, context);
+            } else {
+              throw Exceptions.sneakyThrow(_t);
+            }
+          }
+        }
+      }
+      this.stopWatchingIfIdle();
+    }
+    
+    private void forget(final Iterator<AnnotationProcessor.CancellationObserver.MonitoredContext> iterator, final AnnotationProcessor.CancellationObserver.MonitoredContext context) {
+      iterator.remove();
+      this.registered.decrementAndGet();
+      context.getObserved().complete(null);
+    }
+    
+    /**
+     * @return the number of active annotation phases that are currently running and monitored.
+     * @since 2.14
+     */
+    public int getInFlightCount() {
+      final Function1<AnnotationProcessor.CancellationObserver.MonitoredContext, Boolean> _function = (AnnotationProcessor.CancellationObserver.MonitoredContext it) -> {
+        Boolean _apply = it.getIsFinished().apply();
+        return Boolean.valueOf((!(_apply).booleanValue()));
+      };
+      return IterableExtensions.size(IterableExtensions.<AnnotationProcessor.CancellationObserver.MonitoredContext>filter(this.monitored, _function));
+    }
+    
+    /**
+     * @return the maximum number of phases that were monitored at the same time.
+     * @since 2.14
+     */
+    public int getPeakInFlightCount() {
+      return this.peakRegistered.get();
+    }
+    
+    /**
+     * @return the total number of phases that have been monitored.
+     * @since 2.14
+     */
+    public long getMonitoredCount() {
+      return this.monitoredCount.get();
+    }
+    
+    /**
+     * @return the number of phases whose compilation unit has been marked as canceled.
+     * @since 2.14
+     */
+    public long getCanceledCount() {
+      return this.canceledCount.get();
     }
     
     @Pure
-    protected ExecutorService getPool() {
-      return this.pool;
+    protected ScheduledExecutorService getScheduler() {
+      return this.scheduler;
     }
   }
   
+  private final static String INDEXING_PHASE_TASK = "[macros] indexingPhase (AnnotationProcessor.indexingPhase)";
+  
+  private final static String INFERENCE_PHASE_TASK = "[macros] inferencePhase (AnnotationProcessor.inferencePhase)";
+  
+  private final static String VALIDATION_PHASE_TASK = "[macros] validationPhase (AnnotationProcessor.validationPhase)";
+  
   @Inject
   private Provider<TransformationContextImpl> modifyContextProvider;
   
@@ -128,8 +314,9 @@ public class AnnotationProcessor {
   public Object indexingPhase(final ActiveAnnotationContext ctx, final IJvmDeclaredTypeAcceptor acceptor, final CancelIndicator monitor) {
     Object _xblockexpression = null;
     {
-      final Stopwatches.StoppedTask task = Stopwatches.forTask("[macros] indexingPhase (AnnotationProcessor.indexingPhase)");
+      final Stopwatches.StoppedTask task = Stopwatches.forTask(AnnotationProcessor.INDEXING_PHASE_TASK);
       task.start();
+      final Stopwatches.StoppedTask processorTask = this.startProcessorTask(ctx, "indexingPhase", task, AnnotationProcessor.INDEXING_PHASE_TASK);
       Object _xtrycatchfinallyexpression = null;
       try {
         Object _switchResult = null;
@@ -169,6 +356,7 @@ public class AnnotationProcessor {
         }
         _xtrycatchfinallyexpression = _switchResult;
       } finally {
+        processorTask.stop();
         task.stop();
       }
       _xblockexpression = _xtrycatchfinallyexpression;
@@ -179,8 +367,9 @@ public class AnnotationProcessor {
   public Object inferencePhase(final ActiveAnnotationContext ctx, final CancelIndicator monitor) {
     Object _xblockexpression = null;
     {
-      final Stopwatches.StoppedTask task = Stopwatches.forTask("[macros] inferencePhase (AnnotationProcessor.inferencePhase)");
+      final Stopwatches.StoppedTask task = Stopwatches.forTask(AnnotationProcessor.INFERENCE_PHASE_TASK);
       task.start();
+      final Stopwatches.StoppedTask processorTask = this.startProcessorTask(ctx, "inferencePhase", task, AnnotationProcessor.INFERENCE_PHASE_TASK);
       Object _xtrycatchfinallyexpression = null;
       try {
         Object _switchResult = null;
@@ -220,6 +409,7 @@ public class AnnotationProcessor {
         }
         _xtrycatchfinallyexpression = _switchResult;
       } finally {
+        processorTask.stop();
         task.stop();
       }
       _xblockexpression = _xtrycatchfinallyexpression;
@@ -230,8 +420,9 @@ public class AnnotationProcessor {
   public Object validationPhase(final ActiveAnnotationContext ctx, final CancelIndicator monitor) {
     Object _xblockexpression = null;
     {
-      final Stopwatches.StoppedTask task = Stopwatches.forTask("[macros] validationPhase (AnnotationProcessor.validationPhase)");
+      final Stopwatches.StoppedTask task = Stopwatches.forTask(AnnotationProcessor.VALIDATION_PHASE_TASK);
       task.start();
+      final Stopwatches.StoppedTask processorTask = this.startProcessorTask(ctx, "validationPhase", task, AnnotationProcessor.VALIDATION_PHASE_TASK);
       Object _xtrycatchfinallyexpression = null;
       try {
         Object _switchResult = null;
@@ -271,6 +462,7 @@ public class AnnotationProcessor {
         }
         _xtrycatchfinallyexpression = _switchResult;
       } finally {
+        processorTask.stop();
         task.stop();
       }
       _xblockexpression = _xtrycatchfinallyexpression;
@@ -279,8 +471,35 @@ public class AnnotationProcessor {
   }
   
   /**
-   * runs the given runnable and another thread in parallel, that sets the timeout property on the compilation unit to true
-   * when the given amount of milliseconds have passed by.
+   * Starts the stopwatch of the given phase for the processor of the given context, such that the time spent in
+   * active annotations can be reported per processor. While the stopwatches are disabled, they hand out the same
+   * inactive task for every name, which is returned without building the name of the processor task.
+   */
+  private Stopwatches.StoppedTask startProcessorTask(final ActiveAnnotationContext ctx, final String phase, final Stopwatches.StoppedTask phaseTask, final String phaseTaskName) {
+    Stopwatches.StoppedTask _forTask = Stopwatches.forTask(phaseTaskName);
+    boolean _tripleEquals = (_forTask == phaseTask);
+    if (_tripleEquals) {
+      return phaseTask;
+    }
+    Object _processorInstance = ctx.getProcessorInstance();
+    Class<?> _class = null;
+    if (_processorInstance!=null) {
+      _class=_processorInstance.getClass();
+    }
+    String _name = null;
+    if (_class!=null) {
+      _name=_class.getName();
+    }
+    String _plus = ((("[macros] " + phase) + " (") + _name);
+    String _plus_1 = (_plus + ")");
+    final Stopwatches.StoppedTask task = Stopwatches.forTask(_plus_1);
+    task.start();
+    return task;
+  }
+  
+  /**
+   * runs the given runnable while the {@link CancellationObserver} sets the canceled property on the compilation unit
+   * to true when the cancel indicator is canceled.
    */
   private Object runWithCancelIndiciator(final ActiveAnnotationContext ctx, final CancelIndicator cancelIndicator, final Runnable runnable) {
     Object _xblockexpression = null;
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.core.macro;
+
+/**
+ * Marks an active annotation processor that must not be reused. By default, a processor is instantiated once per
+ * processor class loader and shared by all compilation units and phases.
+ * 
+ * The processor class loader belongs to a single build of the batch compiler, the Maven plugin or the Eclipse
+ * builder, or to a single editor. Editors with the same class path share the loader and thereby the static state of
+ * the processor classes, but never with a build. A reused instance must not keep state of one compilation unit in its
+ * fields, and it must be thread-safe, since the compilation units of a build may be processed concurrently. A
+ * processor that cannot meet this contract has to implement this interface and gets a new instance for each use.
+ * 
+ * Processors are loaded by a class loader that does not necessarily see this bundle. Therefore the marker is
+ * recognized by its qualified name: a processor library can declare an interface with the same name instead of
+ * depending on this bundle.
+ * 
+ * @since 2.14
+ */
+@SuppressWarnings("all")
+public interface NonReusableProcessor {
+}
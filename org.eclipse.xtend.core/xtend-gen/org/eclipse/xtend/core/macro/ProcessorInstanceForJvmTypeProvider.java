@@ -16,6 +16,8 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
@@ -24,6 +26,8 @@ import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtend.core.macro.FilteringClassLoader;
+import org.eclipse.xtend.core.macro.NonReusableProcessor;
+import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.macro.TransformationContext;
 import org.eclipse.xtext.common.types.JvmType;
@@ -32,6 +36,7 @@ import org.eclipse.xtext.util.internal.AlternateJdkLoader;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -42,6 +47,9 @@ public class ProcessorInstanceForJvmTypeProvider {
   public static class ProcessorClassloaderAdapter extends AdapterImpl {
     private ClassLoader classLoader;
     
+    @Accessors(AccessorType.NONE)
+    private final Map<String, Object> processorInstances = new ConcurrentHashMap<String, Object>();
+    
     public ProcessorClassloaderAdapter(final ClassLoader classLoader) {
       this.classLoader = classLoader;
     }
@@ -64,27 +72,83 @@ public class ProcessorInstanceForJvmTypeProvider {
     }
     
     public ClassLoader discard() {
-      ClassLoader _xifexpression = null;
-      if ((this.classLoader instanceof Closeable)) {
-        ClassLoader _xtrycatchfinallyexpression = null;
-        try {
-          ClassLoader _xblockexpression = null;
-          {
-            ((Closeable) this.classLoader).close();
-            _xblockexpression = this.classLoader = null;
+      ClassLoader _xblockexpression = null;
+      {
+        this.processorInstances.clear();
+        ClassLoader _xifexpression = null;
+        if ((this.classLoader instanceof Closeable)) {
+          ClassLoader _xtrycatchfinallyexpression = null;
+          try {
+            ClassLoader _xblockexpression_1 = null;
+            {
+              ((Closeable) this.classLoader).close();
+              _xblockexpression_1 = this.classLoader = null;
+            }
+            _xtrycatchfinallyexpression = _xblockexpression_1;
+          } catch (final Throwable _t) {
+            if (_t instanceof IOException) {
+              final IOException e = (IOException)_t;
+              ProcessorInstanceForJvmTypeProvider.logger.error(e.getMessage(), e);
+            } else {
+              throw Exceptions.sneakyThrow(_t);
+            }
           }
-          _xtrycatchfinallyexpression = _xblockexpression;
-        } catch (final Throwable _t) {
-          if (_t instanceof IOException) {
-            final IOException e = (IOException)_t;
-            ProcessorInstanceForJvmTypeProvider.logger.error(e.getMessage(), e);
+          _xifexpression = _xtrycatchfinallyexpression;
+        }
+        _xblockexpression = _xifexpression;
+      }
+      return _xblockexpression;
+    }
+    
+    /**
+     * Returns the shared instance of the processor with the given name that is loaded by this adapter's class
+     * loader. A processor that implements {@link NonReusableProcessor} is instantiated on each call. The instances
+     * are dropped together with the class loader when this adapter is discarded.
+     * 
+     * @since 2.14
+     */
+    public Object getProcessorInstance(final String identifier) {
+      try {
+        final ClassLoader loader = this.classLoader;
+        if ((loader == null)) {
+          return null;
+        }
+        final Object cached = this.processorInstances.get(identifier);
+        if ((cached != null)) {
+          return cached;
+        }
+        final Object result = loader.loadClass(identifier).newInstance();
+        boolean _isReusable = ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.isReusable(result.getClass());
+        if (_isReusable) {
+          Object _elvis = null;
+          Object _putIfAbsent = this.processorInstances.putIfAbsent(identifier, result);
+          if (_putIfAbsent != null) {
+            _elvis = _putIfAbsent;
           } else {
-            throw Exceptions.sneakyThrow(_t);
+            _elvis = result;
           }
+          return _elvis;
         }
-        _xifexpression = _xtrycatchfinallyexpression;
+        return result;
+      } catch (Throwable _e) {
+        throw Exceptions.sneakyThrow(_e);
+      }
+    }
+    
+    private static boolean isReusable(final Class<?> type) {
+      if ((type == null)) {
+        return true;
+      }
+      String _name = type.getName();
+      String _name_1 = NonReusableProcessor.class.getName();
+      boolean _equals = Objects.equal(_name, _name_1);
+      if (_equals) {
+        return false;
       }
-      return _xifexpression;
+      final Function1<Class<?>, Boolean> _function = (Class<?> it) -> {
+        return Boolean.valueOf(ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.isReusable(it));
+      };
+      return (IterableExtensions.<Class<?>>forall(((Iterable<Class<?>>)Conversions.doWrapArray(type.getInterfaces())), _function) && ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.isReusable(type.getSuperclass()));
     }
     
     @Pure
@@ -104,17 +168,7 @@ public class ProcessorInstanceForJvmTypeProvider {
    */
   public Object getProcessorInstance(final JvmType type) {
     try {
-      ClassLoader _classLoader = this.getClassLoader(type);
-      Class<?> _loadClass = null;
-      if (_classLoader!=null) {
-        _loadClass=_classLoader.loadClass(type.getIdentifier());
-      }
-      final Class<?> loadClass = _loadClass;
-      Object _newInstance = null;
-      if (loadClass!=null) {
-        _newInstance=loadClass.newInstance();
-      }
-      return _newInstance;
+      return this.getProcessorInstance(type, this.getClassLoader(type));
     } catch (final Throwable _t) {
       if (_t instanceof Exception) {
         final Exception e = (Exception)_t;
@@ -130,6 +184,35 @@ public class ProcessorInstanceForJvmTypeProvider {
     }
   }
   
+  /**
+   * Returns the instance that is cached for the given class loader if the class loader is managed by a
+   * {@link ProcessorClassloaderAdapter}, otherwise a new instance.
+   * 
+   * @since 2.14
+   */
+  protected Object getProcessorInstance(final JvmType type, final ClassLoader classLoader) {
+    try {
+      if ((classLoader == null)) {
+        return null;
+      }
+      final ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter adapter = this.getProcessorClassloaderAdapter(type);
+      if (((adapter != null) && (adapter.getClassLoader() == classLoader))) {
+        return adapter.getProcessorInstance(type.getIdentifier());
+      }
+      return classLoader.loadClass(type.getIdentifier()).newInstance();
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * @return the adapter that holds the processor class loader for the given context, or <code>null</code>.
+   * @since 2.14
+   */
+  protected ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter getProcessorClassloaderAdapter(final EObject ctx) {
+    return IterableExtensions.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>head(Iterables.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>filter(ctx.eResource().getResourceSet().eAdapters(), ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.class));
+  }
+  
   public ClassLoader getClassLoader(final EObject ctx) {
     final ResourceSet resourceSet = ctx.eResource().getResourceSet();
     final ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter adapter = IterableExtensions.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>head(Iterables.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>filter(resourceSet.eAdapters(), ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.class));
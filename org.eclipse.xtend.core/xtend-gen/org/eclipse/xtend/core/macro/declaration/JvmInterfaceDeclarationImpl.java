@@ -72,6 +72,7 @@ public class JvmInterfaceDeclarationImpl extends JvmTypeDeclarationImpl<JvmGener
     newMethod.setReturnType(this.getCompilationUnit().toJvmTypeReference(this.getCompilationUnit().getTypeReferenceProvider().getPrimitiveVoid()));
     newMethod.setAbstract(true);
     this.getDelegate().getMembers().add(newMethod);
+    this.memberAdded(newMethod);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(newMethod);
     final MutableMethodDeclaration mutableMethodDeclaration = ((MutableMethodDeclaration) _memberDeclaration);
     initializer.apply(mutableMethodDeclaration);
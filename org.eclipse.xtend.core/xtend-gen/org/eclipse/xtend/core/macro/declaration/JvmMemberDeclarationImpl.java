@@ -19,6 +19,7 @@ import org.eclipse.xtend.lib.macro.declaration.MemberDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.Modifier;
 import org.eclipse.xtend.lib.macro.declaration.TypeDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.Visibility;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.common.types.JvmVisibility;
 import org.eclipse.xtext.common.types.impl.JvmMemberImplCustom;
@@ -99,6 +100,23 @@ public abstract class JvmMemberDeclarationImpl<T extends JvmMember> extends JvmA
     }
     T _delegate_1 = this.getDelegate();
     _delegate_1.setSimpleName(name);
+    this.memberIndexChanged(this.getDelegate().getDeclaringType());
+  }
+  
+  @Override
+  public void remove() {
+    final JvmDeclaredType declaringType = this.getDelegate().getDeclaringType();
+    super.remove();
+    this.memberIndexChanged(declaringType);
+  }
+  
+  private void memberIndexChanged(final JvmDeclaredType declaringType) {
+    if ((declaringType != null)) {
+      final TypeDeclaration declaration = this.getCompilationUnit().toTypeDeclaration(declaringType);
+      if ((declaration instanceof JvmTypeDeclarationImpl<?>)) {
+        ((JvmTypeDeclarationImpl<?>)declaration).invalidateMemberIndex();
+      }
+    }
   }
   
   @Override
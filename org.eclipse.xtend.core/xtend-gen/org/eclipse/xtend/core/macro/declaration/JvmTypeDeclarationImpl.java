@@ -12,6 +12,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtend.core.macro.ConditionUtils;
 import org.eclipse.xtend.core.macro.declaration.JvmMemberDeclarationImpl;
@@ -26,18 +28,20 @@ import org.eclipse.xtend.lib.macro.declaration.MethodDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.MutableConstructorDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.MutableFieldDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.MutableMethodDeclaration;
-import org.eclipse.xtend.lib.macro.declaration.ParameterDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.Type;
 import org.eclipse.xtend.lib.macro.declaration.TypeDeclaration;
 import org.eclipse.xtend.lib.macro.declaration.TypeReference;
 import org.eclipse.xtext.common.types.JvmConstructor;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmExecutable;
 import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmVisibility;
 import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
@@ -45,6 +49,17 @@ import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 
 @SuppressWarnings("all")
 public abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends JvmMemberDeclarationImpl<T> {
+  private static final String CONSTRUCTOR_KEY = "<init>";
+  
+  /**
+   * The members of the delegate by their simple name, the constructors are indexed by {@link #CONSTRUCTOR_KEY}.
+   * The index is built on demand, extended by the members that are added through this declaration and rebuilt
+   * if the members were changed otherwise.
+   */
+  private Map<String, List<JvmMember>> memberIndex;
+  
+  private int indexedMemberCount;
+  
   public Iterable<? extends MemberDeclaration> getDeclaredMembers() {
     final Function1<JvmMember, MemberDeclaration> _function = (JvmMember it) -> {
       return this.getCompilationUnit().toMemberDeclaration(it);
@@ -84,6 +99,7 @@ public abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends
     newConstructor.setVisibility(JvmVisibility.PUBLIC);
     newConstructor.setSimpleName(this.getSimpleName());
     this.getDelegate().getMembers().add(newConstructor);
+    this.memberAdded(newConstructor);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(newConstructor);
     final MutableConstructorDeclaration mutableConstructorDeclaration = ((MutableConstructorDeclaration) _memberDeclaration);
     initializer.apply(mutableConstructorDeclaration);
@@ -98,6 +114,7 @@ public abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends
     newField.setSimpleName(name);
     newField.setVisibility(JvmVisibility.PRIVATE);
     this.getDelegate().getMembers().add(newField);
+    this.memberAdded(newField);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(newField);
     final MutableFieldDeclaration mutableFieldDeclaration = ((MutableFieldDeclaration) _memberDeclaration);
     initializer.apply(mutableFieldDeclaration);
@@ -113,6 +130,7 @@ public abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends
     newMethod.setSimpleName(name);
     newMethod.setReturnType(this.getCompilationUnit().toJvmTypeReference(this.getCompilationUnit().getTypeReferenceProvider().getPrimitiveVoid()));
     this.getDelegate().getMembers().add(newMethod);
+    this.memberAdded(newMethod);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(newMethod);
     final MutableMethodDeclaration mutableMethodDeclaration = ((MutableMethodDeclaration) _memberDeclaration);
     initializer.apply(mutableMethodDeclaration);
@@ -123,49 +141,116 @@ public abstract class JvmTypeDeclarationImpl<T extends JvmDeclaredType> extends
     ConstructorDeclaration _xblockexpression = null;
     {
       ConditionUtils.checkIterable(((Iterable<?>)Conversions.doWrapArray(parameterTypes)), "parameterTypes");
-      final Function1<ConstructorDeclaration, Boolean> _function = (ConstructorDeclaration constructor) -> {
-        final Function1<ParameterDeclaration, TypeReference> _function_1 = (ParameterDeclaration it) -> {
-          return it.getType();
-        };
-        List<TypeReference> _list = IterableExtensions.<TypeReference>toList(IterableExtensions.map(constructor.getParameters(), _function_1));
-        List<TypeReference> _list_1 = IterableExtensions.<TypeReference>toList(((Iterable<TypeReference>)Conversions.doWrapArray(parameterTypes)));
-        return Boolean.valueOf(Objects.equal(_list, _list_1));
-      };
-      _xblockexpression = IterableExtensions.findFirst(this.getDeclaredConstructors(), _function);
+      _xblockexpression = this.<ConstructorDeclaration>findIndexedMember(JvmTypeDeclarationImpl.CONSTRUCTOR_KEY, ConstructorDeclaration.class, parameterTypes);
     }
     return _xblockexpression;
   }
   
   public FieldDeclaration findDeclaredField(final String name) {
-    final Function1<FieldDeclaration, Boolean> _function = (FieldDeclaration field) -> {
-      String _simpleName = field.getSimpleName();
-      return Boolean.valueOf(Objects.equal(_simpleName, name));
-    };
-    return IterableExtensions.findFirst(this.getDeclaredFields(), _function);
+    return this.<FieldDeclaration>findIndexedMember(name, FieldDeclaration.class, null);
   }
   
   public TypeDeclaration findDeclaredType(final String name) {
-    final Function1<TypeDeclaration, Boolean> _function = (TypeDeclaration type) -> {
-      String _simpleName = type.getSimpleName();
-      return Boolean.valueOf(Objects.equal(_simpleName, name));
-    };
-    return IterableExtensions.findFirst(this.getDeclaredTypes(), _function);
+    return this.<TypeDeclaration>findIndexedMember(name, TypeDeclaration.class, null);
   }
   
   public MethodDeclaration findDeclaredMethod(final String name, final TypeReference... parameterTypes) {
     MethodDeclaration _xblockexpression = null;
     {
       ConditionUtils.checkIterable(((Iterable<?>)Conversions.doWrapArray(parameterTypes)), "parameterTypes");
-      final Function1<MethodDeclaration, Boolean> _function = (MethodDeclaration method) -> {
-        return Boolean.valueOf((Objects.equal(method.getSimpleName(), name) && Objects.equal(IterableExtensions.<TypeReference>toList(IterableExtensions.map(method.getParameters(), ((Function1<ParameterDeclaration, TypeReference>) (ParameterDeclaration it) -> {
-          return it.getType();
-        }))), IterableExtensions.<TypeReference>toList(((Iterable<TypeReference>)Conversions.doWrapArray(parameterTypes))))));
-      };
-      _xblockexpression = IterableExtensions.findFirst(this.getDeclaredMethods(), _function);
+      _xblockexpression = this.<MethodDeclaration>findIndexedMember(name, MethodDeclaration.class, parameterTypes);
     }
     return _xblockexpression;
   }
   
+  /**
+   * Only the members with the given key are wrapped into declarations.
+   */
+  private <D extends MemberDeclaration> D findIndexedMember(final String key, final Class<D> declarationType, final TypeReference[] parameterTypes) {
+    List<JvmMember> _indexedMembers = this.getIndexedMembers(key);
+    for (final JvmMember member : _indexedMembers) {
+      if (((parameterTypes == null) || this.hasParameterTypes(member, parameterTypes))) {
+        final MemberDeclaration declaration = this.getCompilationUnit().toMemberDeclaration(member);
+        boolean _isInstance = declarationType.isInstance(declaration);
+        if (_isInstance) {
+          return declarationType.cast(declaration);
+        }
+      }
+    }
+    return null;
+  }
+  
+  private boolean hasParameterTypes(final JvmMember member, final TypeReference[] parameterTypes) {
+    if ((member instanceof JvmExecutable)) {
+      int _size = ((JvmExecutable)member).getParameters().size();
+      int _length = parameterTypes.length;
+      boolean _equals = (_size == _length);
+      if (_equals) {
+        int _length_1 = parameterTypes.length;
+        ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, _length_1, true);
+        for (final Integer i : _doubleDotLessThan) {
+          TypeReference _typeReference = this.getCompilationUnit().toTypeReference(((JvmExecutable)member).getParameters().get((i).intValue()).getParameterType());
+          TypeReference _get = parameterTypes[(i).intValue()];
+          boolean _notEquals = (!Objects.equal(_typeReference, _get));
+          if (_notEquals) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+  
+  private List<JvmMember> getIndexedMembers(final String key) {
+    if (((this.memberIndex == null) || (this.indexedMemberCount != this.getDelegate().getMembers().size()))) {
+      this.memberIndex = CollectionLiterals.<String, List<JvmMember>>newHashMap();
+      EList<JvmMember> _members = this.getDelegate().getMembers();
+      for (final JvmMember member : _members) {
+        this.index(member);
+      }
+      this.indexedMemberCount = this.getDelegate().getMembers().size();
+    }
+    List<JvmMember> _elvis = null;
+    List<JvmMember> _get = this.memberIndex.get(key);
+    if (_get != null) {
+      _elvis = _get;
+    } else {
+      List<JvmMember> _emptyList = CollectionLiterals.<JvmMember>emptyList();
+      _elvis = _emptyList;
+    }
+    return _elvis;
+  }
+  
+  private void index(final JvmMember member) {
+    String _xifexpression = null;
+    if ((member instanceof JvmConstructor)) {
+      _xifexpression = JvmTypeDeclarationImpl.CONSTRUCTOR_KEY;
+    } else {
+      _xifexpression = member.getSimpleName();
+    }
+    final String key = _xifexpression;
+    List<JvmMember> members = this.memberIndex.get(key);
+    if ((members == null)) {
+      members = CollectionLiterals.<JvmMember>newArrayList();
+      this.memberIndex.put(key, members);
+    }
+    members.add(member);
+  }
+  
+  protected void memberAdded(final JvmMember member) {
+    if (((this.memberIndex != null) && (this.indexedMemberCount == (this.getDelegate().getMembers().size() - 1)))) {
+      this.index(member);
+      this.indexedMemberCount++;
+    } else {
+      this.memberIndex = null;
+    }
+  }
+  
+  void invalidateMemberIndex() {
+    this.memberIndex = null;
+  }
+  
   public Iterable<? extends MethodDeclaration> getDeclaredMethods() {
     return Iterables.<MethodDeclaration>filter(this.getDeclaredMembers(), MethodDeclaration.class);
   }
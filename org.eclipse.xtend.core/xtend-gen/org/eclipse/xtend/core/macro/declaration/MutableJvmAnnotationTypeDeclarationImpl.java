@@ -142,6 +142,7 @@ public class MutableJvmAnnotationTypeDeclarationImpl extends JvmAnnotationTypeDe
     newAnnotationElement.setSimpleName(name);
     newAnnotationElement.setVisibility(JvmVisibility.PUBLIC);
     this.getDelegate().getMembers().add(newAnnotationElement);
+    this.memberAdded(newAnnotationElement);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(newAnnotationElement);
     final MutableAnnotationTypeElementDeclaration mutableAnnotationTypeElementDeclaration = ((MutableAnnotationTypeElementDeclaration) _memberDeclaration);
     initializer.apply(mutableAnnotationTypeElementDeclaration);
@@ -154,6 +154,7 @@ public class MutableJvmEnumerationTypeDeclarationImpl extends JvmEnumerationType
     jvmLiteral.setSimpleName(name);
     jvmLiteral.setVisibility(JvmVisibility.PUBLIC);
     this.getDelegate().getMembers().add(jvmLiteral);
+    this.memberAdded(jvmLiteral);
     MemberDeclaration _memberDeclaration = this.getCompilationUnit().toMemberDeclaration(jvmLiteral);
     final MutableEnumerationValueDeclaration mutableEnumerationValueDeclaration = ((MutableEnumerationValueDeclaration) _memberDeclaration);
     initializer.apply(mutableEnumerationValueDeclaration);
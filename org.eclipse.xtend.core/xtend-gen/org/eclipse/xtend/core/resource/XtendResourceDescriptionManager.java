@@ -3,19 +3,18 @@ package org.eclipse.xtend.core.resource;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.Collection;
-import java.util.List;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend.core.resource.XtendResourceDescription;
 import org.eclipse.xtend.core.resource.XtendResourceDescriptionStrategy;
+import org.eclipse.xtext.common.types.TypesPackage;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.DerivedStateAwareResourceDescriptionManager;
 import org.eclipse.xtext.resource.IDefaultResourceDescriptionStrategy;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.util.IResourceScopeCache;
-import org.eclipse.xtext.xbase.lib.Conversions;
-import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver;
 
@@ -36,14 +35,34 @@ public class XtendResourceDescriptionManager extends DerivedStateAwareResourceDe
   
   @Override
   public boolean hasChanges(final IResourceDescription.Delta delta, final IResourceDescription candidate) {
-    return (super.hasChanges(delta, candidate) || this.containsActiveAnnotation(candidate));
+    return (super.hasChanges(delta, candidate) || this.isAffectedByProcessorChange(candidate, delta));
   }
   
-  private boolean containsActiveAnnotation(final IResourceDescription description) {
-    final Function1<IEObjectDescription, Boolean> _function = (IEObjectDescription it) -> {
-      return Boolean.valueOf(((List<String>)Conversions.doWrapArray(it.getUserDataKeys())).contains(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_TIMESTAMP));
-    };
-    return IterableExtensions.<IEObjectDescription>exists(description.getExportedObjects(), _function);
+  /**
+   * An active annotation stores a fingerprint of its processor. If the processor's resource changed, the resource
+   * that declares the annotation has to be rebuilt to recompute the fingerprint. Its clients are only affected
+   * if the fingerprint differs afterwards.
+   */
+  private boolean isAffectedByProcessorChange(final IResourceDescription candidate, final IResourceDescription.Delta delta) {
+    Iterable<IEObjectDescription> _exportedObjects = candidate.getExportedObjects();
+    for (final IEObjectDescription description : _exportedObjects) {
+      {
+        final String processor = description.getUserData(XtendResourceDescriptionStrategy.ACTIVE_ANNOTATION_PROCESSOR);
+        if (((processor != null) && (this.exportsType(delta.getOld(), processor) || this.exportsType(delta.getNew(), processor)))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+  
+  private boolean exportsType(final IResourceDescription description, final String identifier) {
+    if ((description == null)) {
+      return false;
+    }
+    final QualifiedName name = this.nameConverter.toQualifiedName(identifier);
+    boolean _isEmpty = IterableExtensions.isEmpty(description.getExportedObjects(TypesPackage.Literals.JVM_TYPE, name, false));
+    return (!_isEmpty);
   }
   
   /**
@@ -115,8 +115,12 @@ public class CachingResourceValidatorImpl extends DerivedStateAwareResourceValid
     if (_equals) {
       return;
     }
-    Iterable<JvmDeclaredType> _filter = Iterables.<JvmDeclaredType>filter(IterableExtensions.<EObject>tail(resource.getContents()), JvmDeclaredType.class);
-    for (final JvmDeclaredType jvmType : _filter) {
+    final Iterable<JvmDeclaredType> jvmTypes = Iterables.<JvmDeclaredType>filter(IterableExtensions.<EObject>tail(resource.getContents()), JvmDeclaredType.class);
+    final ActiveAnnotationContexts contexts = ActiveAnnotationContexts.find(resource);
+    if (((contexts != null) && (!contexts.isTransformed()))) {
+      return;
+    }
+    for (final JvmDeclaredType jvmType : jvmTypes) {
       final Function1<JvmMember, Boolean> _function = (JvmMember it) -> {
         boolean _isSynthetic = this._jvmTypeExtensions.isSynthetic(it);
         return Boolean.valueOf((!_isSynthetic));
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.builder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtend.ide.builder.PathTrieMultimap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class PathTrieMultimapTest extends Assert {
+
+	private PathTrieMultimap map = new PathTrieMultimap();
+
+	private URI a = URI.createURI("synthetic://testing/a");
+
+	private URI b = URI.createURI("synthetic://testing/b");
+
+	@Test public void testPutAndRemove() {
+		assertTrue(map.isEmpty());
+		assertTrue(map.put("/foo/bar", a));
+		assertFalse(map.put("/foo/bar", a));
+		assertTrue(map.put("/foo/bar", b));
+		assertEquals(2, map.size());
+		assertTrue(map.containsKey("/foo/bar"));
+		assertFalse(map.containsKey("/foo"));
+		assertTrue(map.containsEntry("/foo/bar", b));
+		assertTrue(map.remove("/foo/bar", b));
+		assertFalse(map.remove("/foo/bar", b));
+		assertFalse(map.containsEntry("/foo/bar", b));
+		assertEquals(1, map.size());
+	}
+
+	@Test public void testContainsPrefix() {
+		map.put("/foo/bar/baz.txt", a);
+		assertTrue(map.containsPrefix("/"));
+		assertTrue(map.containsPrefix("/foo"));
+		assertTrue(map.containsPrefix("/foo/bar"));
+		assertTrue(map.containsPrefix("/foo/bar/baz.txt"));
+		assertFalse(map.containsPrefix("/foo/baz"));
+		assertFalse(map.containsPrefix("/other"));
+		map.remove("/foo/bar/baz.txt", a);
+		assertFalse(map.containsPrefix("/foo"));
+	}
+
+	@Test public void testRemoveAll() {
+		map.put("/foo", a);
+		map.put("/foo", b);
+		map.put("/foo/bar", a);
+		assertEquals(Sets.newHashSet(a, b), map.removeAll("/foo"));
+		assertEquals(Collections.emptySet(), map.removeAll("/foo"));
+		assertEquals(1, map.size());
+		assertTrue(map.containsPrefix("/foo"));
+	}
+
+	@Test public void testRemoveValue() {
+		map.put("/foo", a);
+		map.put("/foo/bar", a);
+		map.put("/foo/bar", b);
+		map.put("b", a);
+		map.removeValue(a);
+		assertEquals(1, map.size());
+		assertTrue(map.containsEntry("/foo/bar", b));
+		assertFalse(map.containsKey("b"));
+	}
+
+	@Test public void testRemovePrunesEmptyNodes() {
+		map.put("/foo/bar/baz.txt", a);
+		map.put("/foo/bar/baz.txt", b);
+		map.put("/foo/other.txt", a);
+		assertEquals(5, map.getNodeCount());
+		map.remove("/foo/bar/baz.txt", a);
+		assertEquals(5, map.getNodeCount());
+		map.remove("/foo/bar/baz.txt", b);
+		assertEquals(3, map.getNodeCount());
+		assertTrue(map.containsPrefix("/foo"));
+		map.removeAll("/foo/other.txt");
+		assertEquals(1, map.getNodeCount());
+		map.put("/foo/bar", a);
+		map.put("/foo/baz", a);
+		map.put("/foo/baz", b);
+		map.removeValue(a);
+		assertEquals(3, map.getNodeCount());
+		assertTrue(map.containsEntry("/foo/baz", b));
+	}
+
+	@Test public void testConcurrentPutAndRemove() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = Lists.newArrayList();
+			for (int thread = 0; thread < 4; thread++) {
+				final URI uri = URI.createURI("synthetic://testing/" + thread);
+				futures.add(executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						for (int i = 0; i < 10000; i++) {
+							String path = "/foo/" + (i % 7) + "/" + (i % 3);
+							assertTrue(map.put(path, uri));
+							assertTrue(map.containsEntry(path, uri));
+							assertTrue(map.remove(path, uri));
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		assertTrue(map.isEmpty());
+		assertEquals(1, map.getNodeCount());
+	}
+
+	@Test public void testEquals() {
+		PathTrieMultimap other = new PathTrieMultimap();
+		map.put("/foo", a);
+		map.put("/foo/bar", b);
+		other.put("/foo/bar", b);
+		other.put("/foo", a);
+		assertEquals(map, other);
+		assertEquals(map.hashCode(), other.hashCode());
+		other.put("/foo", b);
+		assertFalse(map.equals(other));
+	}
+}
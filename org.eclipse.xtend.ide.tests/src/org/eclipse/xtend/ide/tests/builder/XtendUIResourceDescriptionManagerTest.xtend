@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.builder
+
+import com.google.inject.Inject
+import com.google.inject.Provider
+import java.util.List
+import org.eclipse.core.resources.IProject
+import org.eclipse.emf.common.util.URI
+import org.eclipse.xtend.ide.builder.XtendUIResourceDescriptionManager
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase
+import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.XtextResourceSet
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
+import org.eclipse.xtext.util.StringInputStream
+import org.junit.After
+import org.junit.Test
+
+import static extension org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.*
+
+/**
+ * @see XtendUIResourceDescriptionManager#isAffected(java.util.Collection, IResourceDescription, org.eclipse.xtext.resource.IResourceDescriptions)
+ */
+class XtendUIResourceDescriptionManagerTest extends AbstractXtendUITestCase {
+
+	@Inject XtendUIResourceDescriptionManager manager
+
+	@Inject Provider<XtextResourceSet> resourceSetProvider
+
+	val List<IProject> projects = newArrayList
+
+	@After override void tearDown() {
+		projects.forEach[delete(true, true, null)]
+		super.tearDown
+	}
+
+	@Test def void testDeltaExportingImportedName() {
+		val bar = description('Bar.xtend', 'class Bar implements Foo {}')
+		val foo = delta('Foo.xtend', 'interface Foo {}', 'interface Foo { def void foo() }')
+		val baz = delta('Baz.xtend', 'interface Baz {}', 'interface Baz { def void baz() }')
+		assertTrue(manager.isAffected(#[baz, foo], bar, emptyContext))
+		assertTrue(manager.isAffected(#[foo, baz], bar, emptyContext))
+		assertFalse(manager.isAffected(#[baz], bar, emptyContext))
+	}
+
+	@Test def void testQualifiedImportedName() {
+		val bar = description('Bar.xtend', 'class Bar implements foo.Foo {}')
+		val foo = delta('foo/Foo.xtend', 'package foo interface Foo {}', 'package foo interface Foo { def void foo() }')
+		val otherFoo = delta('other/Foo.xtend', 'package other interface Foo {}', 'package other interface Foo { def void foo() }')
+		assertTrue(manager.isAffected(#[otherFoo, foo], bar, emptyContext))
+		assertFalse(manager.isAffected(#[otherFoo], bar, emptyContext))
+	}
+
+	@Test def void testIndexFollowsDeltas() {
+		val bar = description('Bar.xtend', 'class Bar implements Foo {}')
+		val foo = delta('Foo.xtend', 'interface Foo {}', 'interface Foo { def void foo() }')
+		val baz = delta('Baz.xtend', 'interface Baz {}', 'interface Baz { def void baz() }')
+		val deltas = newArrayList(baz)
+		assertFalse(manager.isAffected(deltas, bar, emptyContext))
+		assertFalse(manager.isAffected(deltas, bar, emptyContext))
+		deltas += foo
+		assertTrue(manager.isAffected(deltas, bar, emptyContext))
+		assertTrue(manager.isAffected(#[foo], bar, emptyContext))
+		assertFalse(manager.isAffected(#[baz], bar, emptyContext))
+	}
+
+	@Test def void testVisibleDelta() {
+		val upstream = createProject('upstream')
+		val downstream = createProject('downstream', upstream)
+		val bar = description(downstream, 'Bar.xtend', 'class Bar implements Foo {}')
+		val foo = delta(upstream, 'Foo.xtend', 'interface Foo {}', 'interface Foo { def void foo() }')
+		assertTrue(manager.isAffected(#[foo], bar, emptyContext))
+	}
+
+	@Test def void testInvisibleDelta() {
+		val other = createProject('other')
+		val downstream = createProject('downstream')
+		val bar = description(downstream, 'Bar.xtend', 'class Bar implements Foo {}')
+		val foo = delta(other, 'Foo.xtend', 'interface Foo {}', 'interface Foo { def void foo() }')
+		assertFalse(manager.isAffected(#[foo], bar, emptyContext))
+	}
+
+	@Test def void testInvisibleDeltaDoesNotHideVisibleDelta() {
+		val other = createProject('other')
+		val downstream = createProject('downstream')
+		val bar = description(downstream, 'Bar.xtend', 'class Bar implements Foo, Baz {}')
+		val invisibleFoo = delta(other, 'Foo.xtend', 'interface Foo {}', 'interface Foo { def void foo() }')
+		val visibleBaz = delta(downstream, 'Baz.xtend', 'interface Baz {}', 'interface Baz { def void baz() }')
+		assertTrue(manager.isAffected(#[invisibleFoo, visibleBaz], bar, emptyContext))
+		assertFalse(manager.isAffected(#[invisibleFoo], bar, emptyContext))
+	}
+
+	def private IProject createProject(String name, IProject... referencedProjects) {
+		val result = createJavaProject(name).project
+		projects += result
+		val description = result.description
+		description.referencedProjects = referencedProjects
+		result.setDescription(description, null)
+		return result
+	}
+
+	def private ResourceDescriptionsData getEmptyContext() {
+		new ResourceDescriptionsData(emptyList)
+	}
+
+	def private IResourceDescription description(IProject project, String fileName, CharSequence model) {
+		description('platform:/resource/' + project.name + '/src/' + fileName, model)
+	}
+
+	def private IResourceDescription description(String uri, CharSequence model) {
+		val resource = resourceSetProvider.get.createResource(URI.createURI(uri))
+		resource.load(new StringInputStream(model.toString), emptyMap)
+		manager.getResourceDescription(resource)
+	}
+
+	def private IResourceDescription.Delta delta(IProject project, String fileName, CharSequence oldModel, CharSequence newModel) {
+		delta('platform:/resource/' + project.name + '/src/' + fileName, oldModel, newModel)
+	}
+
+	def private IResourceDescription.Delta delta(String uri, CharSequence oldModel, CharSequence newModel) {
+		manager.createDelta(description(uri, oldModel), description(uri, newModel))
+	}
+
+}
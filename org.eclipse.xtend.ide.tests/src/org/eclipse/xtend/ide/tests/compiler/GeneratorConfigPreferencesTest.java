@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.compiler;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.ui.preferences.ScopedPreferenceStore;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
+import org.eclipse.xtend.ide.tests.WorkbenchTestHelper;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * The IDE reads the Xtend specific generator settings from the language preferences, like the m2e integration writes
+ * them for the settings of the Maven plugin.
+ */
+public class GeneratorConfigPreferencesTest extends AbstractXtendUITestCase {
+
+	@Inject
+	private WorkbenchTestHelper workbenchTestHelper;
+
+	@Override
+	public void tearDown() throws Exception {
+		workbenchTestHelper.tearDown();
+		super.tearDown();
+	}
+
+	@Test public void testCreateCacheKind() throws Exception {
+		String model = "class Foo { def create new StringBuilder(s) transform(String s) {} }";
+		assertFalse(compile(model).contains("WeakHashMap"));
+		setPreference(XtendGeneratorConfig.CREATE_CACHE_KIND_KEY, "weak_keys");
+		assertTrue(compile(model).contains("WeakHashMap"));
+	}
+
+	@Test public void testDispatchTableThreshold() throws Exception {
+		String model = "class Foo {\n"
+				+ "  def dispatch m(String s) {}\n"
+				+ "  def dispatch m(Integer i) {}\n"
+				+ "  def dispatch m(Object o) {}\n"
+				+ "}";
+		assertFalse(compile(model).contains("ClassValue"));
+		setPreference(XtendGeneratorConfig.DISPATCH_TABLE_THRESHOLD_KEY, "2");
+		assertTrue(compile(model).contains("ClassValue"));
+	}
+
+	private void setPreference(String key, String value) throws Exception {
+		ScopedPreferenceStore preferenceStore = new ScopedPreferenceStore(
+				new ProjectScope(workbenchTestHelper.getProject()), "org.eclipse.xtend.core.Xtend");
+		preferenceStore.setValue(key, value);
+		preferenceStore.save();
+	}
+
+	private String compile(String model) throws Exception {
+		IProject project = workbenchTestHelper.getProject();
+		workbenchTestHelper.createFile("Foo.xtend", model);
+		cleanBuild();
+		IFile compiledFile = project.getFile("xtend-gen/Foo.java");
+		workbenchTestHelper.getFiles().add(compiledFile);
+		return WorkbenchTestHelper.getContentsAsString(compiledFile);
+	}
+}
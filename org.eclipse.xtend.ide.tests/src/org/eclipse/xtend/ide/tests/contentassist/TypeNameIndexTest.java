@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.contentassist;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.createFile;
+import static org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.addToClasspath;
+import static org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.deleteClasspathEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.xtend.ide.contentassist.TypeNameIndex;
+import org.eclipse.xtend.ide.contentassist.TypeNameTable;
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
+import org.eclipse.xtend.ide.tests.WorkbenchTestHelper;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link TypeNameIndex} follows the changes of the Java model after the tables were computed.
+ */
+public class TypeNameIndexTest extends AbstractXtendUITestCase {
+
+	private static final String OTHER_PROJECT_NAME = "other.project";
+
+	@Inject
+	private WorkbenchTestHelper workbenchTestHelper;
+
+	private TypeNameIndex index;
+
+	private IProject otherProject;
+
+	@Override
+	public void tearDown() throws Exception {
+		if (index != null) {
+			JavaCore.removeElementChangedListener(index);
+			index.clear();
+		}
+		if (otherProject != null) {
+			deleteClasspathEntry(getJavaProject(), otherProject.getFullPath());
+			WorkbenchTestHelper.deleteProject(otherProject);
+		}
+		workbenchTestHelper.tearDown();
+		super.tearDown();
+	}
+
+	@Test public void testSavedCompilationUnitReplacesEntries() throws Exception {
+		IFile file = workbenchTestHelper.createFile("foo/Bar.java", "package foo; public class Bar {}");
+		index = new TypeNameIndex();
+		index.init();
+		IJavaProject project = getJavaProject();
+		assertEquals(Arrays.asList("foo.Bar"), names(computeTable(project), file));
+		file.setContents(new StringInputStream("package foo; public class Bar2 {} class Baz {}"), true, true, null);
+		Job.getJobManager().join(index, null);
+		assertEquals(Arrays.asList("foo.Bar2", "foo.Baz"), names(index.getTable(project), file));
+	}
+
+	@Test public void testRemovedPackageClearsTables() throws Exception {
+		IFile file = workbenchTestHelper.createFile("foo/Bar.java", "package foo; public class Bar {}");
+		index = new TypeNameIndex();
+		index.init();
+		IJavaProject project = getJavaProject();
+		assertEquals(Arrays.asList("foo.Bar"), names(computeTable(project), file));
+		workbenchTestHelper.getFiles().remove(file);
+		file.getParent().delete(true, null);
+		assertNull(index.getTable(project));
+		assertEquals(Collections.emptyList(), names(computeTable(project), file));
+	}
+
+	@Test public void testUnitChangedDuringComputationIsApplied() throws Exception {
+		final IFile file = workbenchTestHelper.createFile("foo/Bar.java", "package foo; public class Bar {}");
+		// not registered as a listener, so the change only reaches the table as a missed unit
+		index = new TypeNameIndex() {
+			@Override
+			protected TypeNameTable computeTable(IJavaProject project, IProgressMonitor monitor) throws JavaModelException {
+				TypeNameTable result = super.computeTable(project, monitor);
+				try {
+					file.setContents(new StringInputStream("package foo; public class Bar2 {}"), true, true, monitor);
+				} catch (CoreException e) {
+					throw new JavaModelException(e);
+				}
+				update((ICompilationUnit) JavaCore.create(file));
+				return result;
+			}
+		};
+		assertEquals(Arrays.asList("foo.Bar2"), names(computeTable(getJavaProject()), file));
+	}
+
+	@Test public void testAccessRulesOfNewUnits() throws Exception {
+		otherProject = WorkbenchTestHelper.createPluginProject(OTHER_PROJECT_NAME);
+		createFile(OTHER_PROJECT_NAME + "/src/bar/Baz.java", "package bar; public class Baz {}");
+		createFile(OTHER_PROJECT_NAME + "/src/restricted/Secret.java", "package restricted; public class Secret {}");
+		IJavaProject project = getJavaProject();
+		addToClasspath(project, JavaCore.newProjectEntry(otherProject.getFullPath(),
+				new IAccessRule[] { JavaCore.newAccessRule(new Path("restricted/*"), IAccessRule.K_NON_ACCESSIBLE) },
+				true, new IClasspathAttribute[0], false));
+		index = new TypeNameIndex();
+		index.init();
+		TypeNameTable table = computeTable(project);
+		assertEquals(IAccessRule.K_ACCESSIBLE, table.getAccessibility("bar".toCharArray()));
+		assertEquals(IAccessRule.K_NON_ACCESSIBLE, table.getAccessibility("restricted".toCharArray()));
+
+		// a unit of a known package gets the access rule of the package
+		IFile secret2 = createFile(OTHER_PROJECT_NAME + "/src/restricted/Secret2.java",
+				"package restricted; public class Secret2 {}");
+		Job.getJobManager().join(index, null);
+		table = index.getTable(project);
+		assertNotNull(table);
+		assertEquals(IAccessRule.K_NON_ACCESSIBLE, getEntry(table, secret2, "Secret2").getAccessibility());
+
+		// the access rule of a new package is unknown, so the table is recomputed
+		IFile fresh = createFile(OTHER_PROJECT_NAME + "/src/fresh/Fresh.java", "package fresh; public class Fresh {}");
+		Job.getJobManager().join(index, null);
+		assertNull(index.getTable(project));
+		table = computeTable(project);
+		assertEquals(IAccessRule.K_ACCESSIBLE, getEntry(table, fresh, "Fresh").getAccessibility());
+		assertEquals(IAccessRule.K_NON_ACCESSIBLE, getEntry(table, secret2, "Secret2").getAccessibility());
+	}
+
+	private IJavaProject getJavaProject() {
+		return JavaCore.create(workbenchTestHelper.getProject());
+	}
+
+	private TypeNameTable computeTable(IJavaProject project) throws Exception {
+		index.getTable(project);
+		Job.getJobManager().join(index, null);
+		TypeNameTable result = index.getTable(project);
+		assertNotNull(result);
+		return result;
+	}
+
+	private static List<String> names(TypeNameTable table, IFile file) {
+		List<String> result = new ArrayList<String>();
+		for (TypeNameTable.Entry entry : table.find("")) {
+			if (file.getFullPath().toString().equals(entry.getPath())) {
+				result.add(entry.getQualifiedName());
+			}
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static TypeNameTable.Entry getEntry(TypeNameTable table, IFile file, String simpleName) {
+		for (TypeNameTable.Entry entry : table.find(simpleName)) {
+			if (file.getFullPath().toString().equals(entry.getPath())) {
+				return entry;
+			}
+		}
+		fail("Missing " + simpleName + " in " + file.getFullPath());
+		return null;
+	}
+}
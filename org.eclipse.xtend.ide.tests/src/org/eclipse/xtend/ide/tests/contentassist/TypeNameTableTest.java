@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.contentassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.xtend.ide.contentassist.TypeNameTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TypeNameTableTest extends Assert {
+
+	private TypeNameTable table = new TypeNameTable(Arrays.asList(
+			entry(Flags.AccPublic, "java.util", "ArrayList", "/jre.jar"),
+			entry(Flags.AccPublic | Flags.AccInterface, "java.util", "List", "/jre.jar"),
+			entry(Flags.AccPublic, "java.util", "LinkedList", "/jre.jar"),
+			entry(Flags.AccPublic | Flags.AccAnnotation | Flags.AccInterface, "java.lang", "Deprecated", "/jre.jar"),
+			entry(Flags.AccPublic, "foo", "Bar", "/project/src/foo/Bar.java"),
+			entry(Flags.AccPublic | Flags.AccEnum, "foo", "Baz", "/project/src/foo/Bar.java")));
+
+	private static TypeNameTable.Entry entry(int modifiers, String packageName, String simpleName, String path) {
+		return new TypeNameTable.Entry(modifiers, packageName.toCharArray(), simpleName.toCharArray(),
+				CharOperation.NO_CHAR_CHAR, path);
+	}
+
+	private static List<String> names(List<TypeNameTable.Entry> entries) {
+		List<String> result = new ArrayList<String>();
+		for (TypeNameTable.Entry entry : entries) {
+			result.add(entry.getQualifiedName());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	@Test public void testFindByPrefix() {
+		assertEquals(Arrays.asList("java.util.LinkedList", "java.util.List"), names(table.find("li")));
+		assertEquals(Arrays.asList("foo.Bar", "foo.Baz"), names(table.find("Ba")));
+		assertEquals(Collections.emptyList(), names(table.find("Foo")));
+		assertEquals(6, table.find("").size());
+	}
+
+	@Test public void testFindByCamelCase() {
+		assertEquals(Arrays.asList("java.util.ArrayList"), names(table.find("AL")));
+		assertEquals(Arrays.asList("java.util.LinkedList"), names(table.find("LL")));
+	}
+
+	@Test public void testReplace() {
+		TypeNameTable replaced = table.replace("/project/src/foo/Bar.java",
+				Arrays.asList(entry(Flags.AccPublic, "foo", "Bar2", "/project/src/foo/Bar.java")));
+		assertEquals(Arrays.asList("foo.Bar2"), names(replaced.find("Ba")));
+		assertEquals(5, replaced.size());
+		assertEquals(6, table.size());
+	}
+
+	@Test public void testInnerType() {
+		TypeNameTable.Entry inner = new TypeNameTable.Entry(Flags.AccPublic | Flags.AccStatic, "java.util".toCharArray(),
+				"Entry".toCharArray(), new char[][] { "Map".toCharArray() }, "/jre.jar");
+		assertTrue(inner.isInnerType());
+		assertEquals("java.util.Map.Entry", inner.getQualifiedName());
+	}
+
+	@Test public void testKind() {
+		List<TypeNameTable.Entry> entries = table.find("");
+		int classes = 0;
+		int interfaces = 0;
+		int annotations = 0;
+		for (TypeNameTable.Entry entry : entries) {
+			if (entry.isKindOf(IJavaSearchConstants.CLASS)) {
+				classes++;
+			}
+			if (entry.isKindOf(IJavaSearchConstants.INTERFACE)) {
+				interfaces++;
+			}
+			if (entry.isKindOf(IJavaSearchConstants.ANNOTATION_TYPE)) {
+				annotations++;
+			}
+		}
+		assertEquals(3, classes);
+		assertEquals(1, interfaces);
+		assertEquals(1, annotations);
+		assertTrue(TypeNameTable.isKindOf(Flags.AccPublic | Flags.AccEnum, IJavaSearchConstants.CLASS_AND_ENUM));
+		assertFalse(TypeNameTable.isKindOf(Flags.AccPublic | Flags.AccEnum, IJavaSearchConstants.CLASS_AND_INTERFACE));
+	}
+
+	@Test public void testAccessibility() {
+		TypeNameTable.Entry forbidden = new TypeNameTable.Entry(Flags.AccPublic, "sun.misc".toCharArray(),
+				"Unsafe".toCharArray(), CharOperation.NO_CHAR_CHAR, "/jre.jar", IAccessRule.K_NON_ACCESSIBLE);
+		TypeNameTable restricted = table.replace("/jre.jar", Arrays.asList(forbidden));
+		assertEquals(IAccessRule.K_NON_ACCESSIBLE, restricted.getAccessibility("sun.misc".toCharArray()));
+		assertEquals(IAccessRule.K_ACCESSIBLE, restricted.getAccessibility("foo".toCharArray()));
+		assertEquals(-1, restricted.getAccessibility("java.util".toCharArray()));
+		TypeNameTable.Entry discouraged = forbidden.withAccessibility(IAccessRule.K_DISCOURAGED);
+		assertEquals(IAccessRule.K_DISCOURAGED, discouraged.getAccessibility());
+		assertEquals("sun.misc.Unsafe", discouraged.getQualifiedName());
+		assertSame(discouraged, discouraged.withAccessibility(IAccessRule.K_DISCOURAGED));
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.editor
+
+import com.google.inject.Inject
+import java.util.List
+import org.eclipse.xtend.ide.editor.OverrideIndicatorAnnotation
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase
+import org.eclipse.xtend.ide.tests.WorkbenchTestHelper
+import org.eclipse.xtext.ui.editor.XtextEditor
+import org.eclipse.xtext.ui.refactoring.ui.SyncUtil
+import org.junit.After
+import org.junit.Test
+
+class OverrideIndicatorModelListenerTest extends AbstractXtendUITestCase {
+
+	static val UPDATE_TIMEOUT = 5000L
+
+	@Inject extension WorkbenchTestHelper helper
+
+	@Inject extension SyncUtil
+
+	@After override void tearDown() {
+		helper.tearDown
+	}
+
+	@Test def void testSupertypeInSameFileChanged() {
+		val file = createFile('A.xtend', '''
+			class A extends B {
+				override foo() {}
+			}
+			class B {
+				def void foo() {}
+			}
+		''')
+		waitForBuild(null)
+		val editor = openEditor(file)
+		editor.assertOverrideIndicators('overrides B.foo')
+
+		val document = editor.document
+		val function = 'def void foo() {}'
+		document.replace(document.get.lastIndexOf(function), function.length, '')
+		editor.waitForReconciler
+		editor.assertOverrideIndicators()
+	}
+
+	@Test def void testSupertypeInOtherFileChanged() {
+		val supertypeFile = createFile('B.xtend', '''
+			interface B {
+				def void foo()
+			}
+		''')
+		val file = createFile('A.xtend', '''
+			class A implements B {
+				override foo() {}
+			}
+		''')
+		waitForBuild(null)
+		val supertypeEditor = openEditor(supertypeFile)
+		val editor = openEditor(file)
+		editor.assertOverrideIndicators('implements B.foo')
+
+		supertypeEditor.document.set('''
+			interface B {
+			}
+		''')
+		supertypeEditor.waitForReconciler
+		editor.waitForReconciler
+		editor.assertOverrideIndicators()
+	}
+
+	def private void assertOverrideIndicators(XtextEditor editor, String... expected) {
+		val deadline = System.currentTimeMillis + UPDATE_TIMEOUT
+		var List<String> actual = editor.overrideIndicators
+		while (actual != expected.toList && System.currentTimeMillis < deadline) {
+			Thread.sleep(50)
+			actual = editor.overrideIndicators
+		}
+		assertEquals(expected.toList, actual)
+	}
+
+	def private List<String> getOverrideIndicators(XtextEditor editor) {
+		editor.internalSourceViewer.annotationModel.annotationIterator.filter(OverrideIndicatorAnnotation).map[text].toList.sort
+	}
+
+}
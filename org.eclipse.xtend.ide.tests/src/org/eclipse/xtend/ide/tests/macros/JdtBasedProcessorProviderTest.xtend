@@ -260,6 +260,51 @@ class JdtBasedProcessorProviderTest {
 		Assert.assertTrue(javaCode.contains("classnotfound"))
 	}
 	
+	@Test def void testBuilderDoesNotKeepProcessorStateBetweenBuilds() {
+		val macroProject = xtendProject("macroProject")
+		macroProject.newSource("annotation/MyAA.xtend", '''
+			package annotation
+			
+			import org.eclipse.xtend.lib.macro.AbstractClassProcessor
+			import org.eclipse.xtend.lib.macro.Active
+			import org.eclipse.xtend.lib.macro.TransformationContext
+			import org.eclipse.xtend.lib.macro.declaration.MutableClassDeclaration
+			
+			@Active(MyAAProcessor)
+			annotation MyAA {
+			}
+			
+			class MyAAProcessor extends AbstractClassProcessor {
+				static int calls
+				
+				override doTransform(MutableClassDeclaration annotatedClass, extension TransformationContext context) {
+					calls++
+					annotatedClass.docComment = 'calls ' + calls
+				}
+			}
+		''')
+		waitForBuild()
+				
+		val userProject = xtendProject("userProject", macroProject)
+		val source = userProject.newSource("client/A.xtend", '''
+			package client
+			
+			@annotation.MyAA
+			class SomeClass {
+			}
+		''')
+		
+		cleanBuild
+		waitForBuild()
+		assertNoErrorsInWorkspace();
+		
+		val javaFile = file("userProject/xtend-gen/client/SomeClass.java") as IFile
+		val firstBuild = javaFile.contentsAsString
+		source.touch(null)
+		waitForBuild()
+		Assert.assertEquals(firstBuild, javaFile.contentsAsString)
+	}
+	
 	def IFile newSource(IJavaProject it, String fileName, String contents) {
 		val result = it.project.getFile("src/" + fileName)
 		var parent = result.parent
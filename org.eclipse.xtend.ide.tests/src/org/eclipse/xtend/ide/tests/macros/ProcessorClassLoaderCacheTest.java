@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.macros;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.xtend.ide.macro.ProcessorClassLoaderCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the sharing and reference counting of {@link ProcessorClassLoaderCache}.
+ */
+public class ProcessorClassLoaderCacheTest extends Assert {
+
+	private ProcessorClassLoaderCache cache = new ProcessorClassLoaderCache();
+
+	private ClassLoader parent = getClass().getClassLoader();
+
+	private List<URL> classPath(String path) throws IOException {
+		return Collections.singletonList(new File(path).toURI().toURL());
+	}
+
+	@Test public void testSameClassPathSharesLoader() throws IOException {
+		URLClassLoader first = cache.acquire(classPath("a"), parent);
+		URLClassLoader second = cache.acquire(classPath("a"), parent);
+		URLClassLoader third = cache.acquire(classPath("b"), parent);
+		assertSame(first, second);
+		assertNotSame(first, third);
+		assertEquals(2, cache.getLiveLoaderCount());
+	}
+
+	@Test public void testReleasedLoaderIsReused() throws IOException {
+		URLClassLoader first = cache.acquire(classPath("a"), parent);
+		first.close();
+		assertEquals(1, cache.getCachedLoaderCount());
+		assertSame(first, cache.acquire(classPath("a"), parent));
+	}
+
+	@Test public void testEvictedLoaderIsClosedWhenReleased() throws IOException {
+		URLClassLoader first = cache.acquire(classPath("a"), parent);
+		URLClassLoader second = cache.acquire(classPath("a"), parent);
+		cache.clear();
+		assertEquals(0, cache.getCachedLoaderCount());
+		assertEquals(1, cache.getLiveLoaderCount());
+		first.close();
+		assertEquals(1, cache.getLiveLoaderCount());
+		second.close();
+		assertEquals(0, cache.getLiveLoaderCount());
+		assertNotSame(first, cache.acquire(classPath("a"), parent));
+	}
+
+	@Test public void testUnusedLoadersAreBounded() throws IOException {
+		for (int i = 0; i < 20; i++) {
+			cache.acquire(classPath("folder" + i), parent).close();
+		}
+		assertTrue(cache.getCachedLoaderCount() < 20);
+		assertEquals(cache.getCachedLoaderCount(), cache.getLiveLoaderCount());
+	}
+
+	@Test public void testChangedJarIsNotShared() throws IOException {
+		File jar = File.createTempFile("processor", ".jar");
+		try {
+			assertTrue(jar.setLastModified(1000));
+			List<URL> classPath = Collections.singletonList(jar.toURI().toURL());
+			URLClassLoader first = cache.acquire(classPath, parent);
+			assertTrue(jar.setLastModified(2000));
+			assertNotSame(first, cache.acquire(classPath, parent));
+		} finally {
+			jar.delete();
+		}
+	}
+}
@@ -28,6 +28,7 @@ import org.junit.Test
 import java.util.concurrent.Executors
 import java.security.SecureRandom
 import java.util.concurrent.ExecutionException
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -75,6 +76,60 @@ class UIResourceChangeRegistryTest extends AbstractXtendUITestCase {
 		}
 	}
 	
+	@Test def void testConcurrentRegisterAndResourceChanged() throws Exception {
+		val project = WorkbenchTestHelper.createPluginProject("foo")
+		val folder = project.getFolder("bar")
+		modifyWorkspace [
+			folder.create(true, true, null)
+			for (i : 0 ..< 10) {
+				folder.getFile("test" + i + ".txt").create(new StringInputStream("Hello"), true, null)
+			}
+		]
+		val Set<URI> registered = newHashSet
+		val threads = new AtomicInteger
+		val Runnable r = [
+			val thread = threads.incrementAndGet
+			val registeredByThread = <URI>newArrayList
+			for (i : 0 ..< 1000) {
+				val registeredURI = uri.appendSegment(thread + "-" + i)
+				resourceChangeRegistry.registerGetContents("/foo/bar/test" + i % 10 + ".txt", registeredURI)
+				registeredByThread += registeredURI
+			}
+			synchronized (registered) {
+				registered += registeredByThread
+			}
+		]
+		val executorService = Executors.newCachedThreadPool
+		try {
+			val future1 = executorService.submit(r)
+			val future2 = executorService.submit(r)
+			val future3 = executorService.submit(r)
+			val future4 = executorService.submit(r)
+			for (i : 0 ..< 20) {
+				modifyWorkspace [
+					folder.getFile("test" + i % 10 + ".txt").setContents(new StringInputStream("Hello " + i), true, true, null)
+				]
+			}
+			future1.get
+			future2.get
+			future3.get
+			future4.get
+		} catch(ExecutionException e) {
+			throw e.cause
+		} finally {
+			executorService.shutdown()
+		}
+		// every listener was either notified or is still registered
+		val listeners = resourceChangeRegistry.contentsListeners
+		val remaining = listeners.entries.map[value].toSet
+		assertEquals(listeners.size, remaining.size)
+		val queued = resourceChangeRegistry.queuedURIs.toSet
+		assertEquals(4000, registered.size)
+		for (registeredURI : registered) {
+			assertTrue(registeredURI.toString, queued.contains(registeredURI) || remaining.contains(registeredURI))
+		}
+	}
+	
 	@Test def void testSerialization() {
 		resourceChangeRegistry.registerExists('/foo', uri)
 		resourceChangeRegistry.registerExists('/foo/bar', uri)
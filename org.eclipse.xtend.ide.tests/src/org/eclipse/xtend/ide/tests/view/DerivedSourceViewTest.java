@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.tests.view;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextSelection;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ShowInContext;
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
+import org.eclipse.xtend.ide.tests.WorkbenchTestHelper;
+import org.eclipse.xtend.ide.view.DerivedSourceView;
+import org.eclipse.xtext.ui.editor.XtextEditor;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+/**
+ * The derived source view reuses the document of an unchanged derived file and only reloads it or its trace when the
+ * build touched them.
+ */
+public class DerivedSourceViewTest extends AbstractXtendUITestCase {
+
+	private static final String VIEW_ID = "org.eclipse.xtend.ide.view.DerivedSourceView";
+
+	private static final long TIMEOUT = 10000;
+
+	@Inject
+	private WorkbenchTestHelper workbenchTestHelper;
+
+	private DerivedSourceView view;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		view = (DerivedSourceView) getActivePage().showView(VIEW_ID);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		getActivePage().hideView(view);
+		workbenchTestHelper.tearDown();
+		super.tearDown();
+	}
+
+	@Test public void testUnchangedDerivedSourceKeepsDocument() throws Exception {
+		String model = "class Foo {\n\tdef foo() { 1 }\n\tdef bar() { 2 }\n}\n";
+		workbenchTestHelper.openEditor("Foo.xtend", model);
+		select(model, "1");
+		awaitHighlight("1");
+		IDocument document = view.getDerivedSourceDocument();
+		select(model, "2");
+		awaitHighlight("2");
+		assertSame(document, view.getDerivedSourceDocument());
+	}
+
+	@Test public void testRebuildRefreshesDocumentAndHighlight() throws Exception {
+		String model = "class Foo {\n\tdef foo() { 1 }\n\tdef bar() { 2 }\n}\n";
+		XtextEditor editor = workbenchTestHelper.openEditor("Foo.xtend", model);
+		select(model, "1");
+		awaitHighlight("1");
+		IDocument document = view.getDerivedSourceDocument();
+		String changedModel = "class Foo {\n\tdef foo() { 33 }\n\tdef bar() { 2 }\n}\n";
+		setContents(editor, changedModel);
+		select(changedModel, "33");
+		awaitHighlight("33");
+		assertNotSame(document, view.getDerivedSourceDocument());
+		assertTrue(view.getDerivedSourceDocument().get().contains("return 33;"));
+	}
+
+	@Test public void testChangedTraceRefreshesHighlight() throws Exception {
+		String model = "class Foo {\n\tdef foo() { 1 }\n\tdef bar() { 2 }\n}\n";
+		XtextEditor editor = workbenchTestHelper.openEditor("Foo.xtend", model);
+		select(model, "1");
+		awaitHighlight("1");
+		// shift the members such that the new offset of '1' is the old offset of '2', the derived Java stays the same
+		int shift = model.indexOf('2') - model.indexOf('1');
+		String changedModel = model.replace("\tdef foo", new String(new char[shift]).replace('\0', '\n') + "\tdef foo");
+		setContents(editor, changedModel);
+		select(changedModel, "1");
+		awaitHighlight("1");
+	}
+
+	private IWorkbenchPage getActivePage() {
+		return PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+	}
+
+	private void select(String model, String text) {
+		view.show(new ShowInContext(null, new TextSelection(model.indexOf(text), text.length())));
+	}
+
+	private void setContents(XtextEditor editor, String model) throws Exception {
+		IFile file = (IFile) editor.getResource();
+		file.setContents(new StringInputStream(model), true, true, null);
+		waitForBuild();
+	}
+
+	private void awaitHighlight(final String text) {
+		workbenchTestHelper.awaitUIUpdate(() -> {
+			try {
+				List<String> highlighted = getHighlightedTexts();
+				return !highlighted.isEmpty() && highlighted.stream().allMatch(it -> it.contains(text));
+			} catch (BadLocationException e) {
+				return false;
+			}
+		}, TIMEOUT);
+		assertHighlight(text);
+	}
+
+	private void assertHighlight(String text) {
+		try {
+			List<String> highlighted = getHighlightedTexts();
+			assertFalse(highlighted.isEmpty());
+			for (String it : highlighted) {
+				assertTrue(highlighted.toString(), it.contains(text));
+			}
+		} catch (BadLocationException e) {
+			fail(e.getMessage());
+		}
+	}
+
+	private List<String> getHighlightedTexts() throws BadLocationException {
+		IDocument document = view.getDerivedSourceDocument();
+		List<String> result = Lists.newArrayList();
+		if (document != null) {
+			for (ITextRegion region : view.getHighlightedRegions()) {
+				result.add(document.get(region.getOffset(), region.getLength()));
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.ide.tests.builder;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtend.ide.builder.XtendUIResourceDescriptionManager;
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil;
+import org.eclipse.xtext.util.StringInputStream;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see XtendUIResourceDescriptionManager#isAffected(java.util.Collection, IResourceDescription, org.eclipse.xtext.resource.IResourceDescriptions)
+ */
+@SuppressWarnings("all")
+public class XtendUIResourceDescriptionManagerTest extends AbstractXtendUITestCase {
+  @Inject
+  private XtendUIResourceDescriptionManager manager;
+  
+  @Inject
+  private Provider<XtextResourceSet> resourceSetProvider;
+  
+  private final List<IProject> projects = CollectionLiterals.<IProject>newArrayList();
+  
+  @After
+  @Override
+  public void tearDown() {
+    try {
+      final Consumer<IProject> _function = (IProject it) -> {
+        try {
+          it.delete(true, true, null);
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      this.projects.forEach(_function);
+      super.tearDown();
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testDeltaExportingImportedName() {
+    final IResourceDescription bar = this.description("Bar.xtend", "class Bar implements Foo {}");
+    final IResourceDescription.Delta foo = this.delta("Foo.xtend", "interface Foo {}", "interface Foo { def void foo() }");
+    final IResourceDescription.Delta baz = this.delta("Baz.xtend", "interface Baz {}", "interface Baz { def void baz() }");
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(baz, foo)), bar, this.getEmptyContext()));
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(foo, baz)), bar, this.getEmptyContext()));
+    Assert.assertFalse(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(baz)), bar, this.getEmptyContext()));
+  }
+  
+  @Test
+  public void testQualifiedImportedName() {
+    final IResourceDescription bar = this.description("Bar.xtend", "class Bar implements foo.Foo {}");
+    final IResourceDescription.Delta foo = this.delta("foo/Foo.xtend", "package foo interface Foo {}", "package foo interface Foo { def void foo() }");
+    final IResourceDescription.Delta otherFoo = this.delta("other/Foo.xtend", "package other interface Foo {}", "package other interface Foo { def void foo() }");
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(otherFoo, foo)), bar, this.getEmptyContext()));
+    Assert.assertFalse(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(otherFoo)), bar, this.getEmptyContext()));
+  }
+  
+  @Test
+  public void testIndexFollowsDeltas() {
+    final IResourceDescription bar = this.description("Bar.xtend", "class Bar implements Foo {}");
+    final IResourceDescription.Delta foo = this.delta("Foo.xtend", "interface Foo {}", "interface Foo { def void foo() }");
+    final IResourceDescription.Delta baz = this.delta("Baz.xtend", "interface Baz {}", "interface Baz { def void baz() }");
+    final ArrayList<IResourceDescription.Delta> deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList(baz);
+    Assert.assertFalse(this.manager.isAffected(deltas, bar, this.getEmptyContext()));
+    Assert.assertFalse(this.manager.isAffected(deltas, bar, this.getEmptyContext()));
+    deltas.add(foo);
+    Assert.assertTrue(this.manager.isAffected(deltas, bar, this.getEmptyContext()));
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(foo)), bar, this.getEmptyContext()));
+    Assert.assertFalse(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(baz)), bar, this.getEmptyContext()));
+  }
+  
+  @Test
+  public void testVisibleDelta() {
+    final IProject upstream = this.createProject("upstream");
+    final IProject downstream = this.createProject("downstream", upstream);
+    final IResourceDescription bar = this.description(downstream, "Bar.xtend", "class Bar implements Foo {}");
+    final IResourceDescription.Delta foo = this.delta(upstream, "Foo.xtend", "interface Foo {}", "interface Foo { def void foo() }");
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(foo)), bar, this.getEmptyContext()));
+  }
+  
+  @Test
+  public void testInvisibleDelta() {
+    final IProject other = this.createProject("other");
+    final IProject downstream = this.createProject("downstream");
+    final IResourceDescription bar = this.description(downstream, "Bar.xtend", "class Bar implements Foo {}");
+    final IResourceDescription.Delta foo = this.delta(other, "Foo.xtend", "interface Foo {}", "interface Foo { def void foo() }");
+    Assert.assertFalse(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(foo)), bar, this.getEmptyContext()));
+  }
+  
+  @Test
+  public void testInvisibleDeltaDoesNotHideVisibleDelta() {
+    final IProject other = this.createProject("other");
+    final IProject downstream = this.createProject("downstream");
+    final IResourceDescription bar = this.description(downstream, "Bar.xtend", "class Bar implements Foo, Baz {}");
+    final IResourceDescription.Delta invisibleFoo = this.delta(other, "Foo.xtend", "interface Foo {}", "interface Foo { def void foo() }");
+    final IResourceDescription.Delta visibleBaz = this.delta(downstream, "Baz.xtend", "interface Baz {}", "interface Baz { def void baz() }");
+    Assert.assertTrue(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(invisibleFoo, visibleBaz)), bar, this.getEmptyContext()));
+    Assert.assertFalse(this.manager.isAffected(Collections.<IResourceDescription.Delta>unmodifiableList(CollectionLiterals.<IResourceDescription.Delta>newArrayList(invisibleFoo)), bar, this.getEmptyContext()));
+  }
+  
+  private IProject createProject(final String name, final IProject... referencedProjects) {
+    try {
+      final IProject result = JavaProjectSetupUtil.createJavaProject(name).getProject();
+      this.projects.add(result);
+      final IProjectDescription description = result.getDescription();
+      description.setReferencedProjects(referencedProjects);
+      result.setDescription(description, null);
+      return result;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private ResourceDescriptionsData getEmptyContext() {
+    List<IResourceDescription> _emptyList = CollectionLiterals.<IResourceDescription>emptyList();
+    return new ResourceDescriptionsData(_emptyList);
+  }
+  
+  private IResourceDescription description(final IProject project, final String fileName, final CharSequence model) {
+    String _name = project.getName();
+    String _plus = ("platform:/resource/" + _name);
+    String _plus_1 = (_plus + "/src/");
+    String _plus_2 = (_plus_1 + fileName);
+    return this.description(_plus_2, model);
+  }
+  
+  private IResourceDescription description(final String uri, final CharSequence model) {
+    try {
+      IResourceDescription _xblockexpression = null;
+      {
+        final Resource resource = this.resourceSetProvider.get().createResource(URI.createURI(uri));
+        String _string = model.toString();
+        StringInputStream _stringInputStream = new StringInputStream(_string);
+        resource.load(_stringInputStream, CollectionLiterals.<Object, Object>emptyMap());
+        _xblockexpression = this.manager.getResourceDescription(resource);
+      }
+      return _xblockexpression;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private IResourceDescription.Delta delta(final IProject project, final String fileName, final CharSequence oldModel, final CharSequence newModel) {
+    String _name = project.getName();
+    String _plus = ("platform:/resource/" + _name);
+    String _plus_1 = (_plus + "/src/");
+    String _plus_2 = (_plus_1 + fileName);
+    return this.delta(_plus_2, oldModel, newModel);
+  }
+  
+  private IResourceDescription.Delta delta(final String uri, final CharSequence oldModel, final CharSequence newModel) {
+    return this.manager.createDelta(this.description(uri, oldModel), this.description(uri, newModel));
+  }
+}
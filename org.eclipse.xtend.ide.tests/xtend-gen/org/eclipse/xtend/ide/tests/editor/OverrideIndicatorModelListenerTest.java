@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtend.ide.tests.editor;
+
+import com.google.common.base.Objects;
+import com.google.inject.Inject;
+import java.util.List;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.xtend.ide.editor.OverrideIndicatorAnnotation;
+import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
+import org.eclipse.xtend.ide.tests.WorkbenchTestHelper;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.ui.editor.XtextEditor;
+import org.eclipse.xtext.ui.editor.model.IXtextDocument;
+import org.eclipse.xtext.ui.refactoring.ui.SyncUtil;
+import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.IteratorExtensions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class OverrideIndicatorModelListenerTest extends AbstractXtendUITestCase {
+  private final static long UPDATE_TIMEOUT = 5000L;
+  
+  @Inject
+  @Extension
+  private WorkbenchTestHelper helper;
+  
+  @Inject
+  @Extension
+  private SyncUtil _syncUtil;
+  
+  @After
+  @Override
+  public void tearDown() {
+    try {
+      this.helper.tearDown();
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testSupertypeInSameFileChanged() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("class A extends B {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("override foo() {}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      _builder.append("class B {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("def void foo() {}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      final IFile file = this.helper.createFile("A.xtend", _builder.toString());
+      this._syncUtil.waitForBuild(null);
+      final XtextEditor editor = this.helper.openEditor(file);
+      this.assertOverrideIndicators(editor, "overrides B.foo");
+      final IXtextDocument document = editor.getDocument();
+      final String function = "def void foo() {}";
+      document.replace(document.get().lastIndexOf(function), function.length(), "");
+      this._syncUtil.waitForReconciler(editor);
+      this.assertOverrideIndicators(editor);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testSupertypeInOtherFileChanged() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("interface B {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("def void foo()");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      final IFile supertypeFile = this.helper.createFile("B.xtend", _builder.toString());
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("class A implements B {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("override foo() {}");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      final IFile file = this.helper.createFile("A.xtend", _builder_1.toString());
+      this._syncUtil.waitForBuild(null);
+      final XtextEditor supertypeEditor = this.helper.openEditor(supertypeFile);
+      final XtextEditor editor = this.helper.openEditor(file);
+      this.assertOverrideIndicators(editor, "implements B.foo");
+      IXtextDocument _document = supertypeEditor.getDocument();
+      StringConcatenation _builder_2 = new StringConcatenation();
+      _builder_2.append("interface B {");
+      _builder_2.newLine();
+      _builder_2.append("}");
+      _builder_2.newLine();
+      _document.set(_builder_2.toString());
+      this._syncUtil.waitForReconciler(supertypeEditor);
+      this._syncUtil.waitForReconciler(editor);
+      this.assertOverrideIndicators(editor);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void assertOverrideIndicators(final XtextEditor editor, final String... expected) {
+    try {
+      long _currentTimeMillis = System.currentTimeMillis();
+      final long deadline = (_currentTimeMillis + OverrideIndicatorModelListenerTest.UPDATE_TIMEOUT);
+      List<String> actual = this.getOverrideIndicators(editor);
+      while (((!Objects.equal(actual, IterableExtensions.<String>toList(((Iterable<String>)Conversions.doWrapArray(expected))))) && (System.currentTimeMillis() < deadline))) {
+        {
+          Thread.sleep(50);
+          actual = this.getOverrideIndicators(editor);
+        }
+      }
+      Assert.assertEquals(IterableExtensions.<String>toList(((Iterable<String>)Conversions.doWrapArray(expected))), actual);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private List<String> getOverrideIndicators(final XtextEditor editor) {
+    final Function1<OverrideIndicatorAnnotation, String> _function = (OverrideIndicatorAnnotation it) -> {
+      return it.getText();
+    };
+    return IterableExtensions.<String>sort(IteratorExtensions.<String>toList(IteratorExtensions.<OverrideIndicatorAnnotation, String>map(IteratorExtensions.<OverrideIndicatorAnnotation>filter(editor.getInternalSourceViewer().getAnnotationModel().getAnnotationIterator(), OverrideIndicatorAnnotation.class), _function)));
+  }
+}
@@ -405,6 +405,79 @@ public class JdtBasedProcessorProviderTest {
     }
   }
   
+  @Test
+  public void testBuilderDoesNotKeepProcessorStateBetweenBuilds() {
+    try {
+      final IJavaProject macroProject = this.xtendProject("macroProject");
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("package annotation");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("import org.eclipse.xtend.lib.macro.AbstractClassProcessor");
+      _builder.newLine();
+      _builder.append("import org.eclipse.xtend.lib.macro.Active");
+      _builder.newLine();
+      _builder.append("import org.eclipse.xtend.lib.macro.TransformationContext");
+      _builder.newLine();
+      _builder.append("import org.eclipse.xtend.lib.macro.declaration.MutableClassDeclaration");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("@Active(MyAAProcessor)");
+      _builder.newLine();
+      _builder.append("annotation MyAA {");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("class MyAAProcessor extends AbstractClassProcessor {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("static int calls");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("override doTransform(MutableClassDeclaration annotatedClass, extension TransformationContext context) {");
+      _builder.newLine();
+      _builder.append("\t\t");
+      _builder.append("calls++");
+      _builder.newLine();
+      _builder.append("\t\t");
+      _builder.append("annotatedClass.docComment = \'calls \' + calls");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      this.newSource(macroProject, "annotation/MyAA.xtend", _builder.toString());
+      IResourcesSetupUtil.waitForBuild();
+      final IJavaProject userProject = this.xtendProject("userProject", macroProject);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("package client");
+      _builder_1.newLine();
+      _builder_1.newLine();
+      _builder_1.append("@annotation.MyAA");
+      _builder_1.newLine();
+      _builder_1.append("class SomeClass {");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      final IFile source = this.newSource(userProject, "client/A.xtend", _builder_1.toString());
+      IResourcesSetupUtil.cleanBuild();
+      IResourcesSetupUtil.waitForBuild();
+      IResourcesSetupUtil.assertNoErrorsInWorkspace();
+      IResource _file = IResourcesSetupUtil.file("userProject/xtend-gen/client/SomeClass.java");
+      final IFile javaFile = ((IFile) _file);
+      final String firstBuild = WorkbenchTestHelper.getContentsAsString(javaFile);
+      source.touch(null);
+      IResourcesSetupUtil.waitForBuild();
+      Assert.assertEquals(firstBuild, WorkbenchTestHelper.getContentsAsString(javaFile));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   public IFile newSource(final IJavaProject it, final String fileName, final String contents) {
     try {
       final IFile result = it.getProject().getFile(("src/" + fileName));
@@ -13,13 +13,16 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -32,6 +35,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.ui.actions.WorkspaceModifyOperation;
+import org.eclipse.xtend.ide.builder.PathTrieMultimap;
 import org.eclipse.xtend.ide.builder.UIResourceChangeRegistry;
 import org.eclipse.xtend.ide.tests.AbstractXtendUITestCase;
 import org.eclipse.xtend.ide.tests.StopwatchRule;
@@ -39,6 +43,7 @@ import org.eclipse.xtend.ide.tests.WorkbenchTestHelper;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.util.StringInputStream;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IntegerRange;
@@ -200,6 +205,90 @@ public class UIResourceChangeRegistryTest extends AbstractXtendUITestCase {
     }
   }
   
+  @Test
+  public void testConcurrentRegisterAndResourceChanged() throws Exception {
+    try {
+      final IProject project = WorkbenchTestHelper.createPluginProject("foo");
+      final IFolder folder = project.getFolder("bar");
+      final WorkspaceModifyOperation _function = new WorkspaceModifyOperation() {
+        @Override
+        protected void execute(final IProgressMonitor it) throws CoreException, InvocationTargetException, InterruptedException {
+          folder.create(true, true, null);
+          ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 10, true);
+          for (final Integer i : _doubleDotLessThan) {
+            IFile _file = folder.getFile((("test" + i) + ".txt"));
+            StringInputStream _stringInputStream = new StringInputStream("Hello");
+            _file.create(_stringInputStream, true, null);
+          }
+        }
+      };
+      this.modifyWorkspace(_function);
+      final Set<URI> registered = CollectionLiterals.<URI>newHashSet();
+      final AtomicInteger threads = new AtomicInteger();
+      final Runnable _function_1 = () -> {
+        final int thread = threads.incrementAndGet();
+        final ArrayList<URI> registeredByThread = CollectionLiterals.<URI>newArrayList();
+        ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 1000, true);
+        for (final Integer i : _doubleDotLessThan) {
+          {
+            final URI registeredURI = this.uri.appendSegment(((Integer.valueOf(thread) + "-") + i));
+            this.resourceChangeRegistry.registerGetContents((("/foo/bar/test" + Integer.valueOf(((i).intValue() % 10))) + ".txt"), registeredURI);
+            registeredByThread.add(registeredURI);
+          }
+        }
+        synchronized (registered) {
+          Iterables.<URI>addAll(registered, registeredByThread);
+        }
+      };
+      final Runnable r = _function_1;
+      final ExecutorService executorService = Executors.newCachedThreadPool();
+      try {
+        final Future<?> future1 = executorService.submit(r);
+        final Future<?> future2 = executorService.submit(r);
+        final Future<?> future3 = executorService.submit(r);
+        final Future<?> future4 = executorService.submit(r);
+        ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 20, true);
+        for (final Integer i : _doubleDotLessThan) {
+          final WorkspaceModifyOperation _function_2 = new WorkspaceModifyOperation() {
+            @Override
+            protected void execute(final IProgressMonitor it) throws CoreException, InvocationTargetException, InterruptedException {
+              IFile _file = folder.getFile((("test" + Integer.valueOf(((i).intValue() % 10))) + ".txt"));
+              StringInputStream _stringInputStream = new StringInputStream(("Hello " + i));
+              _file.setContents(_stringInputStream, true, true, null);
+            }
+          };
+          this.modifyWorkspace(_function_2);
+        }
+        future1.get();
+        future2.get();
+        future3.get();
+        future4.get();
+      } catch (final Throwable _t) {
+        if (_t instanceof ExecutionException) {
+          final ExecutionException e = (ExecutionException)_t;
+          throw e.getCause();
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      } finally {
+        executorService.shutdown();
+      }
+      final PathTrieMultimap listeners = this.resourceChangeRegistry.getContentsListeners();
+      final Function1<Map.Entry<String, URI>, URI> _function_3 = (Map.Entry<String, URI> it) -> {
+        return it.getValue();
+      };
+      final Set<URI> remaining = IterableExtensions.<URI>toSet(ListExtensions.<Map.Entry<String, URI>, URI>map(listeners.entries(), _function_3));
+      Assert.assertEquals(listeners.size(), remaining.size());
+      final Set<URI> queued = IterableExtensions.<URI>toSet(this.resourceChangeRegistry.queuedURIs);
+      Assert.assertEquals(4000, registered.size());
+      for (final URI registeredURI : registered) {
+        Assert.assertTrue(registeredURI.toString(), (queued.contains(registeredURI) || remaining.contains(registeredURI)));
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   @Test
   public void testSerialization() {
     this.resourceChangeRegistry.registerExists("/foo", this.uri);
@@ -20,7 +20,9 @@ import org.eclipse.xtend.ide.autoedit.AutoEditStrategyProvider
 import org.eclipse.xtend.ide.autoedit.TokenTypeToPartitionMapper
 import org.eclipse.xtend.ide.builder.JavaProjectPreferencesInitializer
 import org.eclipse.xtend.ide.builder.SourceRelativeFileSystemAccess
+import org.eclipse.xtend.ide.builder.TypeLookupCacheInvalidator
 import org.eclipse.xtend.ide.builder.UIResourceChangeRegistry
+import org.eclipse.xtend.ide.builder.XtendEclipseGeneratorConfigProvider
 import org.eclipse.xtend.ide.builder.XtendParallelBuilderParticipant
 import org.eclipse.xtend.ide.builder.XtendUIResourceDescriptionManager
 import org.eclipse.xtend.ide.codetemplates.ui.highlighting.FlexerBasedTemplateBodyHighlighter
@@ -161,6 +163,7 @@ import org.eclipse.xtext.ui.resource.IResourceUIServiceProvider
 import org.eclipse.xtext.ui.validation.AbstractValidatorConfigurationBlock
 import org.eclipse.xtext.validation.IResourceValidator
 import org.eclipse.xtext.validation.IssueSeveritiesProvider
+import org.eclipse.xtext.xbase.compiler.IGeneratorConfigProvider
 import org.eclipse.xtext.xbase.ui.contentassist.ParameterContextInformationProvider
 import org.eclipse.xtext.xbase.ui.editor.actions.IClipboardActionFactory
 import org.eclipse.xtext.xbase.ui.editor.actions.ImportsAwareClipboardAction
@@ -371,6 +374,10 @@ class XtendUiModule extends AbstractXtendUiModule {
 		return JavaProjectPreferencesInitializer
 	}
 
+	@SingletonBinding(eager=true) def Class<? extends TypeLookupCacheInvalidator> bindTypeLookupCacheInvalidator() {
+		return TypeLookupCacheInvalidator
+	}
+
 	override void configureSmartCaretPreferenceInitializer(Binder binder) {
 		binder.bind(IPreferenceStoreInitializer).annotatedWith(Names.named("smartCaretPreferenceInitializer")). // $NON-NLS-1$
 		to(XtendPreferenceStoreInitializer)
@@ -396,6 +403,13 @@ class XtendUiModule extends AbstractXtendUiModule {
 		return JdtBasedProcessorProvider
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	override Class<? extends IGeneratorConfigProvider> bindIGeneratorConfigProvider() {
+		return XtendEclipseGeneratorConfigProvider
+	}
+
 	override Class<? extends IContentAssistantFactory> bindIContentAssistantFactory() {
 		return XtendContentAssistFactory
 	}
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.builder;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * A thread safe multimap from workspace paths to URIs that is organized as a trie of path segments. Besides the usual
+ * lookups it answers whether there is an entry for a path or any of its descendants, so a visitor of a resource delta
+ * can skip the subtrees without entries.
+ *
+ * Lookups do not hold a lock. A concurrent reader may not see the entries that are added while it is running. Nodes
+ * without entries and children are pruned when an entry is removed, so the trie only spans the paths that currently
+ * have entries. Pruning and the creation of a child lock the affected nodes, a concurrent {@link #put(String, URI)}
+ * that reaches a pruned node starts over from the root.
+ *
+ * @since 2.14
+ */
+public class PathTrieMultimap {
+
+	private static class Node {
+
+		/**
+		 * The key of this node in the children of its parent, <code>null</code> for the root.
+		 */
+		private final String segment;
+
+		private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<String, Node>();
+
+		private final Set<URI> values = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * The number of entries of this node and all its descendants.
+		 */
+		private final AtomicInteger size = new AtomicInteger();
+
+		private volatile String path;
+
+		/**
+		 * Whether this node was pruned from the trie. Guarded by the monitor of this node.
+		 */
+		private boolean removed;
+
+		private Node(String segment) {
+			this.segment = segment;
+		}
+	}
+
+	private final Node root = new Node(null);
+
+	public boolean put(String path, URI uri) {
+		while (true) {
+			List<Node> nodes = getNodes(path, true);
+			if (nodes != null) {
+				Node node = nodes.get(nodes.size() - 1);
+				synchronized (node) {
+					if (!node.removed) {
+						node.path = path;
+						if (node.values.add(uri)) {
+							updateSize(nodes, 1);
+							return true;
+						}
+						return false;
+					}
+				}
+			}
+			// a node on the path was pruned concurrently
+		}
+	}
+
+	public boolean remove(String path, URI uri) {
+		List<Node> nodes = getNodes(path, false);
+		if (nodes != null && nodes.get(nodes.size() - 1).values.remove(uri)) {
+			updateSize(nodes, -1);
+			prune(nodes);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes and returns the URIs of the given path.
+	 */
+	public Set<URI> removeAll(String path) {
+		List<Node> nodes = getNodes(path, false);
+		if (nodes == null) {
+			return Collections.emptySet();
+		}
+		Node node = nodes.get(nodes.size() - 1);
+		if (node.values.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<URI> result = new LinkedHashSet<URI>();
+		for (URI uri : node.values) {
+			if (node.values.remove(uri)) {
+				result.add(uri);
+				updateSize(nodes, -1);
+			}
+		}
+		prune(nodes);
+		return result;
+	}
+
+	/**
+	 * Removes the given URI from all paths. Only the subtrees that have entries are visited.
+	 */
+	public void removeValue(URI uri) {
+		List<Node> nodes = new ArrayList<Node>();
+		nodes.add(root);
+		removeValue(nodes, uri);
+	}
+
+	private void removeValue(List<Node> nodes, URI uri) {
+		Node node = nodes.get(nodes.size() - 1);
+		if (node.size.get() == 0) {
+			return;
+		}
+		if (node.values.remove(uri)) {
+			updateSize(nodes, -1);
+		}
+		for (Node child : node.children.values()) {
+			nodes.add(child);
+			removeValue(nodes, uri);
+			nodes.remove(nodes.size() - 1);
+			prune(node, child);
+		}
+	}
+
+	public boolean containsKey(String path) {
+		Node node = getNode(path);
+		return node != null && !node.values.isEmpty();
+	}
+
+	public boolean containsEntry(String path, URI uri) {
+		Node node = getNode(path);
+		return node != null && node.values.contains(uri);
+	}
+
+	/**
+	 * Returns <code>true</code> if there is an entry for the given path or one of its descendants.
+	 */
+	public boolean containsPrefix(String path) {
+		Node node = getNode(path);
+		return node != null && node.size.get() > 0;
+	}
+
+	public boolean isEmpty() {
+		return root.size.get() == 0;
+	}
+
+	public int size() {
+		return root.size.get();
+	}
+
+	/**
+	 * Returns the number of nodes of the trie including the root. Accessible for testing only.
+	 */
+	public int getNodeCount() {
+		return getNodeCount(root);
+	}
+
+	private int getNodeCount(Node node) {
+		int result = 1;
+		for (Node child : node.children.values()) {
+			result += getNodeCount(child);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a snapshot of the entries.
+	 */
+	public List<Map.Entry<String, URI>> entries() {
+		List<Map.Entry<String, URI>> result = new ArrayList<Map.Entry<String, URI>>();
+		collectEntries(root, result);
+		return result;
+	}
+
+	private void collectEntries(Node node, List<Map.Entry<String, URI>> result) {
+		if (node.size.get() == 0) {
+			return;
+		}
+		for (URI uri : node.values) {
+			result.add(new AbstractMap.SimpleImmutableEntry<String, URI>(node.path, uri));
+		}
+		for (Node child : node.children.values()) {
+			collectEntries(child, result);
+		}
+	}
+
+	private Node getNode(String path) {
+		Node result = root;
+		for (String segment : segments(path)) {
+			result = result.children.get(segment);
+			if (result == null) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the nodes from the root to the node of the given path. If the path does not exist, <code>null</code> is
+	 * returned if <code>create</code> is <code>false</code>. Otherwise the missing nodes are created and
+	 * <code>null</code> is only returned if a node on the path was pruned concurrently.
+	 */
+	private List<Node> getNodes(String path, boolean create) {
+		List<String> segments = segments(path);
+		List<Node> result = new ArrayList<Node>(segments.size() + 1);
+		Node node = root;
+		result.add(node);
+		for (String segment : segments) {
+			Node child = node.children.get(segment);
+			if (child == null) {
+				if (!create) {
+					return null;
+				}
+				synchronized (node) {
+					if (node.removed) {
+						return null;
+					}
+					Node newChild = new Node(segment);
+					child = node.children.putIfAbsent(segment, newChild);
+					if (child == null) {
+						child = newChild;
+					}
+				}
+			}
+			node = child;
+			result.add(node);
+		}
+		return result;
+	}
+
+	/**
+	 * Prunes the empty nodes of the given path bottom up.
+	 */
+	private void prune(List<Node> nodes) {
+		for (int i = nodes.size() - 1; i > 0; i--) {
+			if (!prune(nodes.get(i - 1), nodes.get(i))) {
+				return;
+			}
+		}
+	}
+
+	private boolean prune(Node parent, Node node) {
+		synchronized (parent) {
+			synchronized (node) {
+				if (node.removed) {
+					return true;
+				}
+				if (!node.values.isEmpty() || !node.children.isEmpty()) {
+					return false;
+				}
+				node.removed = true;
+				parent.children.remove(node.segment, node);
+				return true;
+			}
+		}
+	}
+
+	private void updateSize(List<Node> nodes, int delta) {
+		for (Node node : nodes) {
+			node.size.addAndGet(delta);
+		}
+	}
+
+	private static List<String> segments(String path) {
+		List<String> result = new ArrayList<String>();
+		int start = 0;
+		int length = path.length();
+		for (int i = 0; i <= length; i++) {
+			if (i == length || path.charAt(i) == '/') {
+				if (i > start) {
+					result.add(path.substring(start, i));
+				}
+				start = i + 1;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return new HashSet<Map.Entry<String, URI>>(entries()).hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof PathTrieMultimap)) {
+			return false;
+		}
+		return new HashSet<Map.Entry<String, URI>>(entries())
+				.equals(new HashSet<Map.Entry<String, URI>>(((PathTrieMultimap) obj).entries()));
+	}
+
+	@Override
+	public String toString() {
+		return entries().toString();
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.builder;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.xtend.core.scoping.TypeLookupCache;
+
+import com.google.inject.Inject;
+
+/**
+ * Invalidates the {@link TypeLookupCache type lookup caches} of all resource sets when the class path of a Java
+ * project changes. The resource sets of open editors keep their type provider and class path context in this case.
+ *
+ * This class is eagerly created by the injector.
+ *
+ * @since 2.14
+ */
+public class TypeLookupCacheInvalidator implements IElementChangedListener {
+
+	@Inject
+	public void init() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (isClasspathChange(event.getDelta())) {
+			TypeLookupCache.classPathChanged();
+		}
+	}
+
+	private boolean isClasspathChange(IJavaElementDelta delta) {
+		if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+			return true;
+		}
+		if (delta.getElement().getElementType() == IJavaElement.JAVA_MODEL) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (isClasspathChange(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
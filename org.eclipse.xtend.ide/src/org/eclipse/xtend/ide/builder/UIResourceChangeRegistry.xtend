@@ -7,7 +7,6 @@
  *******************************************************************************/
 package org.eclipse.xtend.ide.builder
 
-import com.google.common.collect.HashMultimap
 import com.google.inject.Inject
 import com.google.inject.Singleton
 import java.io.DataInputStream
@@ -40,7 +39,6 @@ import static org.eclipse.core.resources.IResourceDelta.*
 import java.io.InputStream
 import java.io.BufferedOutputStream
 import java.io.BufferedInputStream
-import java.util.Collections
 
 @Singleton
 class UIResourceChangeRegistry implements IResourceChangeListener, IResourceChangeRegistry, IResourceDeltaVisitor {
@@ -53,72 +51,107 @@ class UIResourceChangeRegistry implements IResourceChangeListener, IResourceChan
 	IWorkspace workspace
 
 	// accessible for testing only
-	@Accessors val existsListeners = HashMultimap.<String, URI>create
-	@Accessors val charsetListeners = HashMultimap.<String, URI>create
-	@Accessors val childrenListeners = HashMultimap.<String, URI>create
-	@Accessors val contentsListeners = HashMultimap.<String, URI>create
+	@Accessors val existsListeners = new PathTrieMultimap
+	@Accessors val charsetListeners = new PathTrieMultimap
+	@Accessors val childrenListeners = new PathTrieMultimap
+	@Accessors val contentsListeners = new PathTrieMultimap
 	// not persisted since it is only a filter for the currently processed CU
-	@Accessors val changesNotRelevantListeners = HashMultimap.<String, URI>create
+	@Accessors val changesNotRelevantListeners = new PathTrieMultimap
 	
-	override synchronized registerExists(String path, URI uri) {
-		if (!changesNotRelevantListeners.containsEntry(path, uri))
-			existsListeners.put(path, uri)
+	static val PATH_LOCK_STRIPES = 32
+	
+	// guards the registrations of a path against a concurrent registerCreateOrModify of the same path
+	val Object[] pathLocks = newArrayOfSize(PATH_LOCK_STRIPES)
+	
+	new() {
+		for (var i = 0; i < PATH_LOCK_STRIPES; i++) {
+			pathLocks.set(i, new Object)
+		}
 	}
 	
-	override synchronized registerGetCharset(String path, URI uri) {
-		if (!changesNotRelevantListeners.containsEntry(path, uri))
-			charsetListeners.put(path, uri)
+	override registerExists(String path, URI uri) {
+		register(existsListeners, path, uri)
 	}
 	
-	override synchronized registerGetChildren(String path, URI uri) {
-		if (!changesNotRelevantListeners.containsEntry(path, uri))
-			childrenListeners.put(path, uri)
+	override registerGetCharset(String path, URI uri) {
+		register(charsetListeners, path, uri)
 	}
 	
-	override synchronized registerGetContents(String path, URI uri) {
-		if (!changesNotRelevantListeners.containsEntry(path, uri))
-			contentsListeners.put(path, uri)
+	override registerGetChildren(String path, URI uri) {
+		register(childrenListeners, path, uri)
 	}
 	
-	override synchronized registerCreateOrModify(String string, URI uri) {
-		existsListeners.remove(string, uri)
-		charsetListeners.remove(string, uri)
-		childrenListeners.remove(string, uri)
-		contentsListeners.remove(string, uri)
-		changesNotRelevantListeners.put(string, uri)
+	override registerGetContents(String path, URI uri) {
+		register(contentsListeners, path, uri)
 	}
 	
-	override synchronized discardCreateOrModifyInformation(URI uri) {
-		changesNotRelevantListeners.values.removeAll(Collections.singleton(uri))
+	/**
+	 * Registers the listener unless changes of the path are not relevant for the URI.
+	 * The check and the registration are atomic for the path.
+	 */
+	private def void register(PathTrieMultimap listeners, String path, URI uri) {
+		synchronized (getLock(path)) {
+			if (!changesNotRelevantListeners.containsEntry(path, uri))
+				listeners.put(path, uri)
+		}
+	}
+	
+	override registerCreateOrModify(String path, URI uri) {
+		synchronized (getLock(path)) {
+			existsListeners.remove(path, uri)
+			charsetListeners.remove(path, uri)
+			childrenListeners.remove(path, uri)
+			contentsListeners.remove(path, uri)
+			changesNotRelevantListeners.put(path, uri)
+		}
 	}
 	
-	override synchronized resourceChanged(IResourceChangeEvent event) {
-		event.delta.accept(this)
+	private def getLock(String path) {
+		pathLocks.get(path.hashCode.bitwiseAnd(PATH_LOCK_STRIPES - 1))
+	}
+	
+	override discardCreateOrModifyInformation(URI uri) {
+		changesNotRelevantListeners.removeValue(uri)
+	}
+	
+	/**
+	 * Queues the URIs of all listeners that are affected by the delta with a single call.
+	 */
+	override resourceChanged(IResourceChangeEvent event) {
+		val interestedFiles = <URI>newLinkedHashSet
+		event.delta.accept[collectInterestedFiles(interestedFiles)]
+		if (!interestedFiles.isEmpty)
+			queueURIs(interestedFiles)
 	}
 
-	// Only called from synchronized context
 	override visit(IResourceDelta delta) throws CoreException {
-		if (!existsListeners.isEmpty && delta.hasExistsChanged) {
-			val interestedFiles = existsListeners.removeAll(delta.resource.fullPath.toString)
-			if (!interestedFiles.isEmpty)
-				queueURIs(interestedFiles)
+		val interestedFiles = <URI>newLinkedHashSet
+		val result = delta.collectInterestedFiles(interestedFiles)
+		if (!interestedFiles.isEmpty)
+			queueURIs(interestedFiles)
+		return result
+	}
+	
+	/**
+	 * Removes the listeners that are affected by the given delta and adds their URIs to the result.
+	 * Returns <code>true</code> if there are listeners for the children of the delta.
+	 */
+	protected def boolean collectInterestedFiles(IResourceDelta delta, Set<URI> result) {
+		val path = delta.resource.fullPath.toString
+		if (delta.hasExistsChanged) {
+			result += existsListeners.removeAll(path)
 		}
-		if (!childrenListeners.isEmpty && (delta.hasExistsChanged || delta.hasChildrenChanged)) {
-			val interestedFiles = childrenListeners.removeAll(delta.resource.fullPath.toString)
-			if (!interestedFiles.isEmpty)
-				queueURIs(interestedFiles)
+		if (delta.hasExistsChanged || delta.hasChildrenChanged) {
+			result += childrenListeners.removeAll(path)
 		}
-		if (!charsetListeners.empty && (delta.hasExistsChanged || delta.hasCharsetChanged)) {
-			val interestedFiles = charsetListeners.removeAll(delta.resource.fullPath.toString)
-			if (!interestedFiles.isEmpty)
-				queueURIs(interestedFiles)
+		if (delta.hasExistsChanged || delta.hasCharsetChanged) {
+			result += charsetListeners.removeAll(path)
 		}
-		if (!contentsListeners.empty && (delta.hasExistsChanged || delta.hasContentsChanged)) {
-			val interestedFiles = contentsListeners.removeAll(delta.resource.fullPath.toString)
-			if (!interestedFiles.isEmpty)
-				queueURIs(interestedFiles)
+		if (delta.hasExistsChanged || delta.hasContentsChanged) {
+			result += contentsListeners.removeAll(path)
 		}
-		return true
+		return existsListeners.containsPrefix(path) || childrenListeners.containsPrefix(path)
+			|| charsetListeners.containsPrefix(path) || contentsListeners.containsPrefix(path)
 	}
 	
 	protected def queueURIs(Set<URI> interestedFiles) {
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.builder;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
+import org.eclipse.xtext.ui.editor.preferences.IPreferenceStoreAccess;
+import org.eclipse.xtext.util.Strings;
+import org.eclipse.xtext.xbase.compiler.GeneratorConfig;
+import org.eclipse.xtext.xbase.ui.builder.EclipseGeneratorConfigProvider;
+
+import com.google.inject.Inject;
+
+/**
+ * Provides an {@link XtendGeneratorConfig} with the Xtend specific settings from the preferences of the project, so
+ * the IDE generates the same code as the batch compiler. The m2e integration copies the settings of the Maven plugin
+ * to the project preferences.
+ *
+ * @since 2.14
+ */
+public class XtendEclipseGeneratorConfigProvider extends EclipseGeneratorConfigProvider {
+
+	private static final Logger LOG = Logger.getLogger(XtendEclipseGeneratorConfigProvider.class);
+
+	@Inject
+	private IPreferenceStoreAccess preferenceStoreAccess;
+
+	@Override
+	public GeneratorConfig get(EObject context) {
+		GeneratorConfig config = super.get(context);
+		if (config instanceof XtendGeneratorConfig) {
+			return config;
+		}
+		XtendGeneratorConfig result = new XtendGeneratorConfig();
+		result.copy(config);
+		IProject project = getProject(context);
+		IPreferenceStore preferenceStore = project != null ? preferenceStoreAccess.getContextPreferenceStore(project)
+				: preferenceStoreAccess.getPreferenceStore();
+		String createCacheKind = preferenceStore.getString(XtendGeneratorConfig.CREATE_CACHE_KIND_KEY);
+		if (!Strings.isEmpty(createCacheKind)) {
+			try {
+				result.setCreateCacheKind(XtendGeneratorConfig.parseCreateCacheKind(createCacheKind));
+			} catch (IllegalArgumentException e) {
+				LOG.warn(e.getMessage());
+			}
+		}
+		result.setDispatchTableThreshold(Math.max(0, preferenceStore.getInt(XtendGeneratorConfig.DISPATCH_TABLE_THRESHOLD_KEY)));
+		return result;
+	}
+
+	/* @Nullable */
+	protected IProject getProject(/* @Nullable */ EObject context) {
+		Resource resource = context != null ? context.eResource() : null;
+		URI uri = resource != null ? resource.getURI() : null;
+		if (uri != null && uri.isPlatformResource() && uri.segmentCount() > 1) {
+			return ResourcesPlugin.getWorkspace().getRoot().getProject(URI.decode(uri.segment(1)));
+		}
+		return null;
+	}
+}
@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtend.ide.builder;
 
+import java.lang.ref.SoftReference;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +22,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.xtend.core.resource.XtendResourceDescriptionManager;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IContainer;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceDescriptions;
@@ -37,6 +40,8 @@ public class XtendUIResourceDescriptionManager extends XtendResourceDescriptionM
 	@Inject
 	private IWorkspaceRoot workspaceRoot;
 	
+	private volatile SoftReference<DeltaIndex> deltaIndex = new SoftReference<DeltaIndex>(null);
+
 	@Override
 	public boolean isAffected(Collection<Delta> deltas, IResourceDescription candidate, IResourceDescriptions context) {
 		// skip collecting the outgoing references since we don't index references anyway
@@ -47,16 +52,15 @@ public class XtendUIResourceDescriptionManager extends XtendResourceDescriptionM
 //					return true;
 //		}
 		
-		// this is a tradeoff - we could either check whether a given delta uri is contained
-		// in a reachable container and check for intersecting names afterwards, or we can do
-		// the other way round
-		// unfortunately there is no way to decide reliably which algorithm scales better
-		// note that this method is called for each description so we have something like a 
-		// number of deltas x number of resources which is not really nice
+		// this method is called for each description with the same deltas, so the exported names of the deltas
+		// are indexed once and each candidate only looks up its imported names instead of intersecting them with
+		// every delta
+		DeltaIndex index = getDeltaIndex(deltas);
+		BitSet affectingDeltas = index.getDeltasExporting(getImportedNames(candidate));
 		List<IContainer> containers = null;
-		Collection<QualifiedName> importedNames = getImportedNames(candidate);
 		Map<String, Boolean> checkedProjects = Maps.newHashMap();
-		for (IResourceDescription.Delta delta : deltas) {
+		for (int i = affectingDeltas.nextSetBit(0); i >= 0; i = affectingDeltas.nextSetBit(i + 1)) {
+			IResourceDescription.Delta delta = index.getDelta(i);
 			if (hasChanges(delta, candidate)) {
 				// not a java resource - delta's resource should be contained in a visible container
 				// as long as we did not delete the resource
@@ -65,20 +69,90 @@ public class XtendUIResourceDescriptionManager extends XtendResourceDescriptionM
 					if (containers == null)
 						containers = getContainerManager().getVisibleContainers(candidate, context);
 					boolean descriptionIsContained = false;
-					for (int i = 0; i < containers.size() && !descriptionIsContained; i++) {
-						descriptionIsContained = containers.get(i).hasResourceDescription(uri);
+					for (int j = 0; j < containers.size() && !descriptionIsContained; j++) {
+						descriptionIsContained = containers.get(j).hasResourceDescription(uri);
 					}
 					if (!descriptionIsContained && !isProjectDependency(uri, candidate.getURI(), checkedProjects)) {
-						return false;
+						// an invisible delta must not hide the visible deltas that follow it
+						continue;
 					}
 				}
-				if (isAffected(importedNames, delta.getNew()) || isAffected(importedNames, delta.getOld())) {
-					return true;
-				}
+				return true;
 			}
 		}
 		return false;
-    }
+	}
+
+	private DeltaIndex getDeltaIndex(Collection<Delta> deltas) {
+		DeltaIndex result = deltaIndex.get();
+		if (result == null || !result.isIndexOf(deltas)) {
+			result = new DeltaIndex(deltas);
+			deltaIndex = new SoftReference<DeltaIndex>(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Maps the lower case names that are exported by the old or the new state of the deltas to the positions of the
+	 * deltas.
+	 */
+	private static class DeltaIndex {
+
+		private final IResourceDescription.Delta[] deltas;
+
+		private final Map<QualifiedName, BitSet> exportedNames = Maps.newHashMap();
+
+		DeltaIndex(Collection<Delta> deltas) {
+			this.deltas = deltas.toArray(new IResourceDescription.Delta[deltas.size()]);
+			for (int i = 0; i < this.deltas.length; i++) {
+				index(this.deltas[i].getOld(), i);
+				index(this.deltas[i].getNew(), i);
+			}
+		}
+
+		private void index(IResourceDescription description, int position) {
+			if (description == null) {
+				return;
+			}
+			for (IEObjectDescription exported : description.getExportedObjects()) {
+				QualifiedName name = exported.getName().toLowerCase();
+				BitSet positions = exportedNames.get(name);
+				if (positions == null) {
+					positions = new BitSet();
+					exportedNames.put(name, positions);
+				}
+				positions.set(position);
+			}
+		}
+
+		boolean isIndexOf(Collection<Delta> other) {
+			if (other.size() != deltas.length) {
+				return false;
+			}
+			int i = 0;
+			for (Delta delta : other) {
+				if (delta != deltas[i++]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		IResourceDescription.Delta getDelta(int position) {
+			return deltas[position];
+		}
+
+		BitSet getDeltasExporting(Iterable<QualifiedName> importedNames) {
+			BitSet result = new BitSet();
+			for (QualifiedName importedName : importedNames) {
+				BitSet positions = exportedNames.get(importedName);
+				if (positions != null) {
+					result.or(positions);
+				}
+			}
+			return result;
+		}
+	}
 
 	private boolean isProjectDependency(URI deltaURI, URI candidateURI, Map<String, Boolean> checkedProjects) {
 		if (deltaURI.isPlatformResource() && candidateURI.isPlatformResource()) {
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.contentassist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A workspace wide index of the types that are visible in the Java projects. The {@link TypeNameTable table} of a
+ * project is computed in the background the first time it is requested and is kept up to date from the Java element
+ * deltas afterwards: saved compilation units update the tables of all projects that see them, class path changes
+ * recompute the affected tables. The tables also record the access restrictions of the class path, such that
+ * forbidden or discouraged types can be filtered like in the type search.
+ *
+ * Clients fall back to a regular type search as long as the table of a project is not available. The background jobs
+ * of the index belong to the job family of the index.
+ *
+ * @since 2.14
+ */
+@Singleton
+public class TypeNameIndex implements IElementChangedListener {
+
+	private static final Logger LOG = Logger.getLogger(TypeNameIndex.class);
+
+	private final Map<IJavaProject, TypeNameTable> tables = new ConcurrentHashMap<IJavaProject, TypeNameTable>();
+
+	private final Map<IJavaProject, ComputeJob> computeJobs = new ConcurrentHashMap<IJavaProject, ComputeJob>();
+
+	private final Queue<ICompilationUnit> changedUnits = new ConcurrentLinkedQueue<ICompilationUnit>();
+
+	private final Job updateJob = new Job("Updating type name index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			ICompilationUnit unit;
+			while ((unit = changedUnits.poll()) != null) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				update(unit);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TypeNameIndex.this;
+		}
+	};
+
+	@Inject
+	public void init() {
+		updateJob.setSystem(true);
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the table of the given project or <code>null</code> if it is not computed yet. The computation is
+	 * scheduled in the latter case.
+	 */
+	public TypeNameTable getTable(IJavaProject project) {
+		TypeNameTable result = tables.get(project);
+		if (result == null) {
+			schedule(project);
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the tables of all projects. They are recomputed when they are requested the next time.
+	 */
+	public void clear() {
+		for (ComputeJob job : computeJobs.values()) {
+			job.cancel();
+		}
+		computeJobs.clear();
+		tables.clear();
+	}
+
+	protected void schedule(IJavaProject project) {
+		ComputeJob job = new ComputeJob(project);
+		if (computeJobs.putIfAbsent(project, job) == null) {
+			job.schedule();
+		}
+	}
+
+	protected TypeNameTable computeTable(IJavaProject project, IProgressMonitor monitor) throws JavaModelException {
+		final List<TypeNameTable.Entry> entries = new ArrayList<TypeNameTable.Entry>();
+		// only type name matches report the access restrictions through public API
+		new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PREFIX_MATCH,
+				IJavaSearchConstants.TYPE, SearchEngine.createJavaSearchScope(new IJavaElement[] { project }),
+				new TypeNameMatchRequestor() {
+					@Override
+					public void acceptTypeNameMatch(TypeNameMatch match) {
+						String packageName = match.getPackageName();
+						// the type container is the package or the qualified name of the enclosing type
+						String typeContainerName = match.getTypeContainerName();
+						String enclosingTypeName = typeContainerName.substring(
+								Math.min(typeContainerName.length(), packageName.isEmpty() ? 0 : packageName.length() + 1));
+						char[][] enclosingTypeNames = enclosingTypeName.isEmpty() ? CharOperation.NO_CHAR_CHAR
+								: CharOperation.splitOn('.', enclosingTypeName.toCharArray());
+						entries.add(new TypeNameTable.Entry(match.getModifiers(), packageName.toCharArray(),
+								match.getSimpleTypeName().toCharArray(), enclosingTypeNames, getPath(match),
+								match.getAccessibility()));
+					}
+				}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		return new TypeNameTable(entries);
+	}
+
+	/**
+	 * The path of the type as it is reported by a {@link org.eclipse.jdt.core.search.TypeNameRequestor}, i.e. the
+	 * path of the compilation unit or class file, or the path of the archive and the entry in the archive.
+	 */
+	private String getPath(TypeNameMatch match) {
+		IType type = match.getType();
+		IPackageFragmentRoot root = match.getPackageFragmentRoot();
+		if (type.getCompilationUnit() != null) {
+			return type.getCompilationUnit().getPath().toString();
+		}
+		if (root.isArchive()) {
+			String folder = type.getPackageFragment().getElementName().replace('.', '/');
+			return root.getPath().toString() + IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR + (folder.isEmpty() ? "" : folder + '/')
+					+ type.getClassFile().getElementName();
+		}
+		return type.getClassFile().getPath().toString();
+	}
+
+	protected List<TypeNameTable.Entry> computeEntries(ICompilationUnit unit) throws JavaModelException {
+		List<TypeNameTable.Entry> result = new ArrayList<TypeNameTable.Entry>();
+		if (!unit.exists()) {
+			return result;
+		}
+		char[] packageName = unit.getParent().getElementName().toCharArray();
+		String path = unit.getPath().toString();
+		for (IType type : unit.getAllTypes()) {
+			List<char[]> enclosingTypeNames = new ArrayList<char[]>();
+			for (IType declaringType = type.getDeclaringType(); declaringType != null; declaringType = declaringType.getDeclaringType()) {
+				enclosingTypeNames.add(0, declaringType.getElementName().toCharArray());
+			}
+			result.add(new TypeNameTable.Entry(type.getFlags(), packageName, type.getElementName().toCharArray(),
+					enclosingTypeNames.toArray(new char[enclosingTypeNames.size()][]), path));
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces the entries of the given compilation unit in the tables of all projects that see it. The unit is also
+	 * recorded for the tables that are currently computed.
+	 */
+	protected void update(ICompilationUnit unit) {
+		try {
+			List<TypeNameTable.Entry> entries = null;
+			String path = unit.getPath().toString();
+			for (Map.Entry<IJavaProject, TypeNameTable> table : tables.entrySet()) {
+				IJavaProject project = table.getKey();
+				if (project.isOnClasspath(unit)) {
+					if (entries == null) {
+						entries = computeEntries(unit);
+					}
+					int accessibility = IAccessRule.K_ACCESSIBLE;
+					if (!project.equals(unit.getJavaProject())) {
+						// the access rules of the referenced project apply to the packages
+						accessibility = table.getValue().getAccessibility(unit.getParent().getElementName().toCharArray());
+						if (accessibility == -1) {
+							// a new package, so the access rules are unknown
+							tables.remove(project, table.getValue());
+							continue;
+						}
+					}
+					List<TypeNameTable.Entry> projectEntries = new ArrayList<TypeNameTable.Entry>(entries.size());
+					for (TypeNameTable.Entry entry : entries) {
+						projectEntries.add(entry.withAccessibility(accessibility));
+					}
+					tables.replace(project, table.getValue(), table.getValue().replace(path, projectEntries));
+				}
+			}
+			for (ComputeJob job : computeJobs.values()) {
+				job.missedUnits.add(unit);
+			}
+		} catch (JavaModelException e) {
+			LOG.error(e.getMessage(), e);
+			clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (tables.isEmpty() && computeJobs.isEmpty()) {
+			return;
+		}
+		if (processDelta(event.getDelta())) {
+			clear();
+		} else if (!changedUnits.isEmpty()) {
+			updateJob.schedule();
+		}
+	}
+
+	/**
+	 * Queues the changed compilation units and returns <code>true</code> if the delta invalidates the tables.
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED
+								| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+								| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				// the compilation units of a removed package are not reported
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit unit = (ICompilationUnit) element;
+				if (!unit.isWorkingCopy() || delta.getKind() == IJavaElementDelta.REMOVED
+						|| (flags & IJavaElementDelta.F_PRIMARY_RESOURCE) != 0) {
+					changedUnits.add(unit);
+				}
+				return false;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (processDelta(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private class ComputeJob extends Job {
+
+		private final IJavaProject project;
+
+		/**
+		 * The units that changed while the table was computed.
+		 */
+		private final Queue<ICompilationUnit> missedUnits = new ConcurrentLinkedQueue<ICompilationUnit>();
+
+		private ComputeJob(IJavaProject project) {
+			super("Indexing type names of " + project.getElementName());
+			this.project = project;
+			setSystem(true);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TypeNameIndex.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				TypeNameTable table = computeTable(project, monitor);
+				// a cleared index discards the tables that were computed from an outdated class path
+				if (computeJobs.get(project) == this) {
+					tables.put(project, table);
+					computeJobs.remove(project, this);
+					if (!missedUnits.isEmpty()) {
+						changedUnits.addAll(missedUnits);
+						updateJob.schedule();
+					}
+				}
+				return Status.OK_STATUS;
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				LOG.error(e.getMessage(), e);
+				return Status.OK_STATUS;
+			} finally {
+				computeJobs.remove(project, this);
+			}
+		}
+	}
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.contentassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+import com.google.common.collect.Maps;
+
+/**
+ * An immutable table of type names that is sorted by the simple names of the types. It answers the types whose simple
+ * name matches a prefix the same way the JDT type search does, i.e. case insensitive or as a camel case pattern.
+ *
+ * @since 2.14
+ */
+public class TypeNameTable {
+
+	/**
+	 * A type as it is reported by a {@link org.eclipse.jdt.core.search.TypeNameRequestor} together with its
+	 * accessibility in the project of the table.
+	 */
+	public static class Entry {
+
+		private final int modifiers;
+
+		private final char[] packageName;
+
+		private final char[] simpleTypeName;
+
+		private final char[][] enclosingTypeNames;
+
+		private final String path;
+
+		private final String simpleName;
+
+		private final int accessibility;
+
+		public Entry(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, String path) {
+			this(modifiers, packageName, simpleTypeName, enclosingTypeNames, path, IAccessRule.K_ACCESSIBLE);
+		}
+
+		/**
+		 * @param accessibility one of {@link IAccessRule#K_ACCESSIBLE}, {@link IAccessRule#K_DISCOURAGED} or
+		 *            {@link IAccessRule#K_NON_ACCESSIBLE}.
+		 */
+		public Entry(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, String path,
+				int accessibility) {
+			this.modifiers = modifiers;
+			this.accessibility = accessibility;
+			this.packageName = packageName;
+			this.simpleTypeName = simpleTypeName;
+			this.enclosingTypeNames = enclosingTypeNames;
+			this.path = path;
+			this.simpleName = String.valueOf(simpleTypeName);
+		}
+
+		public int getModifiers() {
+			return modifiers;
+		}
+
+		public char[] getPackageName() {
+			return packageName;
+		}
+
+		public char[] getSimpleTypeName() {
+			return simpleTypeName;
+		}
+
+		public char[][] getEnclosingTypeNames() {
+			return enclosingTypeNames;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public String getSimpleName() {
+			return simpleName;
+		}
+
+		public int getAccessibility() {
+			return accessibility;
+		}
+
+		/**
+		 * Returns a copy of this entry with the given accessibility.
+		 */
+		public Entry withAccessibility(int accessibility) {
+			if (accessibility == this.accessibility) {
+				return this;
+			}
+			return new Entry(modifiers, packageName, simpleTypeName, enclosingTypeNames, path, accessibility);
+		}
+
+		public boolean isInnerType() {
+			return enclosingTypeNames.length > 0;
+		}
+
+		/**
+		 * Returns <code>true</code> if the type is of the kind that is searched for, i.e. one of the type constants of
+		 * {@link IJavaSearchConstants}.
+		 */
+		public boolean isKindOf(int searchFor) {
+			return TypeNameTable.isKindOf(modifiers, searchFor);
+		}
+
+		/**
+		 * The dot separated name of the type including its package and enclosing types.
+		 */
+		public String getQualifiedName() {
+			StringBuilder result = new StringBuilder(packageName.length + simpleTypeName.length + 1);
+			if (packageName.length != 0) {
+				result.append(packageName).append('.');
+			}
+			for (char[] enclosingTypeName : enclosingTypeNames) {
+				result.append(enclosingTypeName).append('.');
+			}
+			result.append(simpleTypeName);
+			return result.toString();
+		}
+
+		@Override
+		public String toString() {
+			return getQualifiedName();
+		}
+	}
+
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return String.CASE_INSENSITIVE_ORDER.compare(o1.simpleName, o2.simpleName);
+		}
+	};
+
+	private final Entry[] entries;
+
+	/**
+	 * The accessibility of the types by their package names. Computed on first access.
+	 */
+	private volatile Map<String, Integer> packageAccessibilities;
+
+	public TypeNameTable(Collection<Entry> entries) {
+		this.entries = entries.toArray(new Entry[entries.size()]);
+		Arrays.sort(this.entries, ORDER);
+	}
+
+	private TypeNameTable(Entry[] sortedEntries) {
+		this.entries = sortedEntries;
+	}
+
+	public int size() {
+		return entries.length;
+	}
+
+	/**
+	 * Returns the types whose simple name starts with the given prefix, ignoring case, or matches it as a camel case
+	 * pattern. All types are returned for an empty prefix.
+	 */
+	public List<Entry> find(String prefix) {
+		if (prefix.isEmpty()) {
+			return Collections.unmodifiableList(Arrays.asList(entries));
+		}
+		List<Entry> result = new ArrayList<Entry>();
+		// camel case patterns have to match the first character, so only the range of that character is scanned
+		for (int i = lowerBound(prefix.substring(0, 1)); i < entries.length; i++) {
+			String name = entries[i].simpleName;
+			if (!name.regionMatches(true, 0, prefix, 0, 1)) {
+				break;
+			}
+			if (matches(prefix, name)) {
+				result.add(entries[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns <code>true</code> if a type with the given modifiers is of the kind that is searched for, i.e. one of the
+	 * type constants of {@link IJavaSearchConstants}.
+	 */
+	public static boolean isKindOf(int modifiers, int searchFor) {
+		boolean isAnnotation = Flags.isAnnotation(modifiers);
+		boolean isInterface = Flags.isInterface(modifiers) && !isAnnotation;
+		boolean isEnum = Flags.isEnum(modifiers);
+		boolean isClass = !isInterface && !isAnnotation && !isEnum;
+		switch (searchFor) {
+			case IJavaSearchConstants.CLASS:
+				return isClass;
+			case IJavaSearchConstants.INTERFACE:
+				return isInterface;
+			case IJavaSearchConstants.ENUM:
+				return isEnum;
+			case IJavaSearchConstants.ANNOTATION_TYPE:
+				return isAnnotation;
+			case IJavaSearchConstants.CLASS_AND_INTERFACE:
+				return isClass || isInterface;
+			case IJavaSearchConstants.CLASS_AND_ENUM:
+				return isClass || isEnum;
+			case IJavaSearchConstants.INTERFACE_AND_ANNOTATION:
+				return isInterface || isAnnotation;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Returns the accessibility of the types of the given package or <code>-1</code> if the table does not contain
+	 * any type of that package.
+	 */
+	public int getAccessibility(char[] packageName) {
+		Map<String, Integer> accessibilities = packageAccessibilities;
+		if (accessibilities == null) {
+			accessibilities = Maps.newHashMap();
+			for (Entry entry : entries) {
+				String key = String.valueOf(entry.packageName);
+				if (!accessibilities.containsKey(key)) {
+					accessibilities.put(key, entry.accessibility);
+				}
+			}
+			packageAccessibilities = accessibilities;
+		}
+		Integer result = accessibilities.get(String.valueOf(packageName));
+		return result != null ? result : -1;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given simple type name starts with the prefix, ignoring case, or matches it as
+	 * a camel case pattern.
+	 */
+	public static boolean matches(String prefix, String simpleName) {
+		return simpleName.regionMatches(true, 0, prefix, 0, prefix.length()) || SearchPattern.camelCaseMatch(prefix, simpleName);
+	}
+
+	/**
+	 * Returns a table where the types of the given path are replaced by the given entries.
+	 */
+	public TypeNameTable replace(String path, Collection<Entry> newEntries) {
+		Entry[] added = newEntries.toArray(new Entry[newEntries.size()]);
+		Arrays.sort(added, ORDER);
+		Entry[] result = new Entry[entries.length + added.length];
+		int size = 0;
+		int j = 0;
+		for (Entry entry : entries) {
+			if (path.equals(entry.path)) {
+				continue;
+			}
+			while (j < added.length && ORDER.compare(added[j], entry) < 0) {
+				result[size++] = added[j++];
+			}
+			result[size++] = entry;
+		}
+		while (j < added.length) {
+			result[size++] = added[j++];
+		}
+		return new TypeNameTable(Arrays.copyOf(result, size));
+	}
+
+	private int lowerBound(String name) {
+		int low = 0;
+		int high = entries.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (String.CASE_INSENSITIVE_ORDER.compare(entries[mid].simpleName, name) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
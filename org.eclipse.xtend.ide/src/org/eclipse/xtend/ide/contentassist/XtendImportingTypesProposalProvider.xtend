@@ -7,12 +7,26 @@
  *******************************************************************************/
 package org.eclipse.xtend.ide.contentassist
 
+import com.google.inject.Inject
+import org.eclipse.emf.ecore.EReference
+import org.eclipse.jdt.core.IAccessRule
+import org.eclipse.jdt.core.JavaCore
+import org.eclipse.jdt.core.JavaModelException
+import org.eclipse.jdt.core.compiler.CharOperation
+import org.eclipse.jdt.core.search.IJavaSearchScope
 import org.eclipse.xtend.core.scoping.XtendImportedNamespaceScopeProvider
+import org.eclipse.xtext.common.types.TypesPackage
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider
+import org.eclipse.xtext.common.types.access.jdt.IJavaProjectProvider
+import org.eclipse.xtext.common.types.xtext.ui.ITypesProposalProvider.Filter
 import org.eclipse.xtext.conversion.IValueConverter
 import org.eclipse.xtext.naming.IQualifiedNameConverter
 import org.eclipse.xtext.scoping.IScope
 import org.eclipse.xtext.scoping.impl.FilteringScope
+import org.eclipse.xtext.ui.editor.IDirtyStateManager
 import org.eclipse.xtext.ui.editor.contentassist.ContentAssistContext
+import org.eclipse.xtext.ui.editor.contentassist.ICompletionProposalAcceptor
+import org.eclipse.xtext.ui.editor.contentassist.ICompletionProposalFactory
 import org.eclipse.xtext.xbase.ui.contentassist.ImportingTypesProposalProvider
 
 /**
@@ -20,9 +34,80 @@ import org.eclipse.xtext.xbase.ui.contentassist.ImportingTypesProposalProvider
  */
 class XtendImportingTypesProposalProvider extends ImportingTypesProposalProvider {
 	
+	@Inject TypeNameIndex typeNameIndex
+	
+	@Inject IJavaProjectProvider projectProvider
+	
+	@Inject IJvmTypeProvider.Factory typeProviderFactory
+	
+	@Inject IDirtyStateManager dirtyStateManager
+	
 	override protected createTextApplier(ContentAssistContext context, IScope typeScope, IQualifiedNameConverter qualifiedNameConverter, IValueConverter<String> valueConverter) {
 		val scope = new FilteringScope(typeScope)[name != XtendImportedNamespaceScopeProvider.OLD_DATA_ANNOTATION]
 		return super.createTextApplier(context, scope, qualifiedNameConverter, valueConverter)
 	}
 	
+	/**
+	 * Looks up the types in the {@link TypeNameIndex} instead of running a type search once the index of the project
+	 * is available. Qualified prefixes are still answered by the type search. Forbidden and discouraged types are
+	 * filtered according to the code assist options of the project.
+	 * 
+	 * @since 2.14
+	 */
+	override protected searchAndCreateProposals(IJavaSearchScope scope, ICompletionProposalFactory proposalFactory,
+		ContentAssistContext context, EReference typeReference, Filter filter, IValueConverter<String> valueConverter,
+		ICompletionProposalAcceptor acceptor) throws JavaModelException {
+		val resourceSet = context.resource.resourceSet
+		val prefix = context.prefix
+		val project = projectProvider.getJavaProject(resourceSet)
+		val table = if (project !== null && !prefix.contains('.')) typeNameIndex.getTable(project)
+		if (table === null) {
+			super.searchAndCreateProposals(scope, proposalFactory, context, typeReference, filter, valueConverter, acceptor)
+			return
+		}
+		val typeProvider = typeProviderFactory.findOrCreateTypeProvider(resourceSet)
+		// the types of dirty editors shadow the saved ones
+		val dirtyTypes = dirtyStateManager.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE).toList
+		val dirtyTypeNames = dirtyTypes.map[qualifiedName.toString].toSet
+		val checkForbidden = JavaCore.ENABLED == project.getOption(JavaCore.CODEASSIST_FORBIDDEN_REFERENCE_CHECK, true)
+		val checkDiscouraged = JavaCore.ENABLED == project.getOption(JavaCore.CODEASSIST_DISCOURAGED_REFERENCE_CHECK, true)
+		for (entry : table.find(prefix)) {
+			if (!acceptor.canAcceptMoreProposals) {
+				return
+			}
+			val qualifiedName = entry.qualifiedName
+			if (entry.isKindOf(filter.searchFor) && !dirtyTypeNames.contains(qualifiedName)
+				&& !entry.isRestricted(checkForbidden, checkDiscouraged)
+				&& filter.accept(entry.modifiers, entry.packageName, entry.simpleTypeName, entry.enclosingTypeNames, entry.path)
+				&& scope.encloses(entry.path)) {
+				createTypeProposal(qualifiedName, entry.modifiers, entry.innerType, proposalFactory, context, acceptor, typeProvider, valueConverter)
+			}
+		}
+		for (description : dirtyTypes) {
+			if (!acceptor.canAcceptMoreProposals) {
+				return
+			}
+			val qualifiedName = description.qualifiedName
+			val simpleName = qualifiedName.lastSegment
+			if (TypeNameTable.matches(prefix, simpleName)) {
+				val modifiers = getDirtyStateModifiers(context, description)
+				val path = description.EObjectURI.toPlatformString(true)
+				if (TypeNameTable.isKindOf(modifiers, filter.searchFor)
+					&& filter.accept(modifiers, qualifiedName.skipLast(1).toString.toCharArray, simpleName.toCharArray,
+						CharOperation.NO_CHAR_CHAR, path)
+					&& path !== null && scope.encloses(path)) {
+					createTypeProposal(qualifiedName.toString, modifiers, false, proposalFactory, context, acceptor, typeProvider, valueConverter)
+				}
+			}
+		}
+	}
+	
+	def private isRestricted(TypeNameTable.Entry entry, boolean checkForbidden, boolean checkDiscouraged) {
+		switch entry.accessibility {
+			case IAccessRule.K_NON_ACCESSIBLE: checkForbidden
+			case IAccessRule.K_DISCOURAGED: checkDiscouraged
+			default: false
+		}
+	}
+	
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.Position;
@@ -33,16 +34,20 @@ import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.eclipse.xtend.core.jvmmodel.IXtendJvmAssociations;
 import org.eclipse.xtend.core.xtend.XtendFile;
 import org.eclipse.xtend.core.xtend.XtendFunction;
+import org.eclipse.xtend.core.xtend.XtendMember;
 import org.eclipse.xtend.core.xtend.XtendPackage;
+import org.eclipse.xtend.core.xtend.XtendTypeDeclaration;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.ui.editor.IXtextEditorCallback.NullImpl;
 import org.eclipse.xtext.ui.editor.SchedulingRuleFactory;
 import org.eclipse.xtext.ui.editor.XtextEditor;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.editor.model.IXtextModelListener;
+import org.eclipse.xtext.ui.notification.IStateChangeEventBroker;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 import org.eclipse.xtext.xbase.typesystem.IBatchTypeResolver;
@@ -53,19 +58,44 @@ import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 
 /**
+ * Updates the override indicators of an editor shortly after the last change of its model. The overridden operation
+ * of a function is only looked up again if the signature of the function, the header of its declaring type or the
+ * imports changed. All operations are looked up again if any type or member declaration of the file changed apart
+ * from the bodies of the functions, or if other resources changed. The annotations of unchanged indicators are kept
+ * in the annotation model.
+ * 
  * @author Michael Clay - Initial contribution and API
  */
-public class OverrideIndicatorModelListener extends NullImpl implements IXtextModelListener {
+public class OverrideIndicatorModelListener extends NullImpl implements IXtextModelListener, IResourceDescription.Event.Listener {
 	
 	private final static Logger LOG = Logger.getLogger(OverrideIndicatorModelListener.class);
 	public static final String JOB_NAME = "Override Indicator Updater";
 	private static ISchedulingRule SCHEDULING_RULE = SchedulingRuleFactory.INSTANCE.newSequence();
+	private static final long UPDATE_DELAY = 200;
 
 	private XtextEditor xtextEditor;
 	private Set<Annotation> overrideIndicatorAnnotations = Sets.newHashSet();
 
 	private Job currentJob;
 
+	/**
+	 * The overridden operations of the functions of the last update by their signatures.
+	 */
+	private volatile Map<String, OverrideInfo> overrideInfos = Maps.newHashMap();
+
+	/**
+	 * Incremented whenever the overridden operations are dropped, so a running update does not store the results it
+	 * computed from the dropped ones. Guarded by {@code this}.
+	 */
+	private int generation;
+
+	/**
+	 * The declarations of the file without the bodies of the functions as of the last update.
+	 */
+	private volatile String declarations;
+
+	private volatile URI resourceURI;
+
 	@Inject
 	private IXtendJvmAssociations associations;
 	
@@ -75,9 +105,13 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 	@Inject
 	private IBatchTypeResolver typeResolver;
 	
+	@Inject
+	private IStateChangeEventBroker stateChangeEventBroker;
+	
 	@Override
 	public void afterCreatePartControl(XtextEditor xtextEditor) {
 		this.xtextEditor = xtextEditor;
+		stateChangeEventBroker.addListener(this);
 		installModelListener(xtextEditor);
 	}
 
@@ -86,8 +120,15 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 		installModelListener(xtextEditor);
 	}
 
+	@Override
+	public void afterSave(XtextEditor xtextEditor) {
+		// the supertypes may have been changed in other editors in the meantime
+		resetOverrideInfos();
+	}
+
 	@Override
 	public void beforeDispose(XtextEditor xtextEditor) {
+		stateChangeEventBroker.removeListener(this);
 		if (this.xtextEditor != null) {
 			this.xtextEditor = null;
 		}
@@ -95,31 +136,68 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 
 	@Override
 	public void modelChanged(XtextResource resource) {
+		resourceURI = resource.getURI();
 		asyncUpdateAnnotationModel();
 	}
 
-	private void asyncUpdateAnnotationModel() {
-		if (currentJob != null) {
-			currentJob.cancel();
+	/**
+	 * Drops the overridden operations and updates the indicators if other resources changed, e.g. the supertypes in
+	 * another editor or on the class path. The dirty state of this editor's own resource is covered by
+	 * {@link #modelChanged(XtextResource)}.
+	 */
+	@Override
+	public void descriptionsChanged(IResourceDescription.Event event) {
+		for (IResourceDescription.Delta delta : event.getDeltas()) {
+			if (!delta.getUri().equals(resourceURI)) {
+				resetOverrideInfos();
+				if (xtextEditor != null) {
+					asyncUpdateAnnotationModel();
+				}
+				return;
+			}
+		}
+	}
+
+	private synchronized void resetOverrideInfos() {
+		generation++;
+		overrideInfos = Maps.newHashMap();
+	}
+
+	private synchronized int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Stores the overridden operations of an update unless they were dropped while it was running.
+	 */
+	private synchronized void setOverrideInfos(Map<String, OverrideInfo> infos, int expectedGeneration) {
+		if (generation == expectedGeneration) {
+			overrideInfos = infos;
 		}
+	}
 
-		currentJob = new Job(JOB_NAME) {
-			@Override
-			public IStatus run(IProgressMonitor monitor) {
-				try {
-					return updateAnnotationModel(monitor);
-				} catch (OperationCanceledException e) {
-					return Status.CANCEL_STATUS;
-				} catch(Exception e) {
-					LOG.error("Error updating override indicator", e);
-					return Status.OK_STATUS;
+	private synchronized void asyncUpdateAnnotationModel() {
+		if (currentJob == null) {
+			currentJob = new Job(JOB_NAME) {
+				@Override
+				public IStatus run(IProgressMonitor monitor) {
+					try {
+						return updateAnnotationModel(monitor);
+					} catch (OperationCanceledException e) {
+						return Status.CANCEL_STATUS;
+					} catch(Exception e) {
+						LOG.error("Error updating override indicator", e);
+						return Status.OK_STATUS;
+					}
 				}
-			}
-		};
-		currentJob.setRule(SCHEDULING_RULE);
-		currentJob.setPriority(Job.DECORATE);
-		currentJob.setSystem(true);
-		currentJob.schedule();
+			};
+			currentJob.setRule(SCHEDULING_RULE);
+			currentJob.setPriority(Job.DECORATE);
+			currentJob.setSystem(true);
+		}
+		// coalesce the updates of subsequent reconciles
+		currentJob.cancel();
+		currentJob.schedule(UPDATE_DELAY);
 	}
 
 	private IStatus updateAnnotationModel(IProgressMonitor monitor) {
@@ -144,15 +222,44 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 			IAnnotationModelExtension annotationModelExtension = (IAnnotationModelExtension) annotationModel;
 			Object lockObject = getLockObject(annotationModel);
 			synchronized (lockObject) {
-				annotationModelExtension.replaceAnnotations(
-						overrideIndicatorAnnotations.toArray(new Annotation[overrideIndicatorAnnotations.size()]),
-						annotationToPosition);
+				Map<String, Annotation> addedByKey = Maps.newHashMap();
+				for (Map.Entry<Annotation, Position> entry : annotationToPosition.entrySet()) {
+					addedByKey.put(getKey(entry.getKey(), entry.getValue()), entry.getKey());
+				}
+				Set<Annotation> annotations = Sets.newHashSet();
+				List<Annotation> removed = newArrayList();
+				for (Annotation annotation : overrideIndicatorAnnotations) {
+					Position position = annotationModel.getPosition(annotation);
+					if (position != null && addedByKey.remove(getKey(annotation, position)) != null) {
+						annotations.add(annotation);
+					} else {
+						removed.add(annotation);
+					}
+				}
+				Map<Annotation, Position> added = Maps.newHashMap();
+				for (Annotation annotation : addedByKey.values()) {
+					added.put(annotation, annotationToPosition.get(annotation));
+				}
+				if (!removed.isEmpty() || !added.isEmpty()) {
+					annotationModelExtension.replaceAnnotations(removed.toArray(new Annotation[removed.size()]), added);
+				}
+				annotations.addAll(added.keySet());
+				overrideIndicatorAnnotations = annotations;
 			}
-			overrideIndicatorAnnotations = annotationToPosition.keySet();
 		}
 		return Status.OK_STATUS;
 	}
 
+	private String getKey(Annotation annotation, Position position) {
+		StringBuilder result = new StringBuilder();
+		if (annotation instanceof OverrideIndicatorAnnotation) {
+			OverrideIndicatorAnnotation overrideIndicator = (OverrideIndicatorAnnotation) annotation;
+			result.append(overrideIndicator.getFunctionURIFragment()).append('|');
+			result.append(overrideIndicator.isOverwriteIndicator()).append('|');
+		}
+		return result.append(annotation.getText()).append('|').append(position.getOffset()).toString();
+	}
+
 	private Object getLockObject(IAnnotationModel annotationModel) {
 		if (annotationModel instanceof ISynchronizable) {
 			Object lock = ((ISynchronizable) annotationModel).getLockObject();
@@ -172,30 +279,135 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 		}
 		XtendFile xtendFile = (XtendFile) eObject;
 		Map<Annotation, Position> annotationToPosition = Maps.newHashMap();
+		int expectedGeneration = getGeneration();
+		Map<String, OverrideInfo> previousInfos = overrideInfos;
+		String newDeclarations = getDeclarations(xtendFile);
+		if (!newDeclarations.equals(declarations)) {
+			// a supertype in the same file may have changed
+			previousInfos = Collections.emptyMap();
+		}
+		declarations = newDeclarations;
+		Map<String, OverrideInfo> infos = Maps.newHashMap();
+		Map<EObject, String> headers = Maps.newHashMap();
+		String imports = getText(xtendFile.getImportSection());
 		for (XtendFunction xtendFunction : getXtendFunctions(xtendFile)) {
 			if(cancelIndicator.isCanceled())
 				throw new OperationCanceledException();
 			if (xtendFunction.isOverride()) {
-				typeResolver.resolveTypes(xtendFunction);
 				INode node = NodeModelUtils.getNode(xtendFunction);
-				JvmOperation inferredOperation = associations.getDirectlyInferredOperation(xtendFunction);
-				if (inferredOperation != null) {
-					JvmOperation jvmOperation = overrideHelper.findOverriddenOperation(inferredOperation);
-					if (node != null && jvmOperation != null) {
-						boolean overwriteIndicator = isOverwriteIndicator(jvmOperation);
-						String text = (overwriteIndicator ? "overrides " : "implements ") + jvmOperation.getQualifiedName(); //$NON-NLS-1$ //$NON-NLS-2$
-						node = getFirst(findNodesForFeature(xtendFunction, XtendPackage.eINSTANCE.getXtendFunction_Name()),
-								node);
-						annotationToPosition.put(
-								new OverrideIndicatorAnnotation(overwriteIndicator, text, xtextResource
-										.getURIFragment(xtendFunction)), new Position(node.getOffset()));
-					}
+				if (node == null) {
+					continue;
+				}
+				EObject container = xtendFunction.eContainer();
+				String header = headers.get(container);
+				if (header == null) {
+					header = getHeader(container);
+					headers.put(container, header);
+				}
+				String signature = imports + header + getSignature(xtendFunction, node);
+				OverrideInfo info = previousInfos.get(signature);
+				if (info == null) {
+					info = computeOverrideInfo(xtendFunction);
+				}
+				infos.put(signature, info);
+				if (info != OverrideInfo.NONE) {
+					node = getFirst(findNodesForFeature(xtendFunction, XtendPackage.eINSTANCE.getXtendFunction_Name()),
+							node);
+					annotationToPosition.put(
+							new OverrideIndicatorAnnotation(info.overwriteIndicator, info.text, xtextResource
+									.getURIFragment(xtendFunction)), new Position(node.getOffset()));
 				}
 			}
 		}
+		setOverrideInfos(infos, expectedGeneration);
 		return annotationToPosition;
 	}
 
+	private OverrideInfo computeOverrideInfo(XtendFunction xtendFunction) {
+		typeResolver.resolveTypes(xtendFunction);
+		JvmOperation inferredOperation = associations.getDirectlyInferredOperation(xtendFunction);
+		if (inferredOperation != null) {
+			JvmOperation jvmOperation = overrideHelper.findOverriddenOperation(inferredOperation);
+			if (jvmOperation != null) {
+				boolean overwriteIndicator = isOverwriteIndicator(jvmOperation);
+				String text = (overwriteIndicator ? "overrides " : "implements ") + jvmOperation.getQualifiedName(); //$NON-NLS-1$ //$NON-NLS-2$
+				return new OverrideInfo(overwriteIndicator, text);
+			}
+		}
+		return OverrideInfo.NONE;
+	}
+
+	/**
+	 * The text of the imports and of all type and member declarations of the given file without the bodies of the
+	 * functions.
+	 */
+	private String getDeclarations(XtendFile xtendFile) {
+		StringBuilder result = new StringBuilder(getText(xtendFile.getImportSection()));
+		for (XtendTypeDeclaration type : xtendFile.getXtendTypes()) {
+			appendDeclaration(type, result);
+		}
+		return result.toString();
+	}
+
+	private void appendDeclaration(XtendTypeDeclaration type, StringBuilder result) {
+		result.append(getHeader(type));
+		for (XtendMember member : type.getMembers()) {
+			if (member instanceof XtendTypeDeclaration) {
+				appendDeclaration((XtendTypeDeclaration) member, result);
+			} else if (member instanceof XtendFunction) {
+				INode node = NodeModelUtils.getNode(member);
+				if (node != null) {
+					result.append(getSignature((XtendFunction) member, node));
+				}
+			} else {
+				result.append(getText(member));
+			}
+		}
+	}
+
+	/**
+	 * The text of the given type declaration up to its first member, i.e. its modifiers, name and supertypes.
+	 */
+	private String getHeader(EObject container) {
+		INode node = NodeModelUtils.getNode(container);
+		if (node == null) {
+			return "";
+		}
+		int endOffset = node.getEndOffset();
+		for (EObject child : container.eContents()) {
+			if (child instanceof XtendMember) {
+				INode memberNode = NodeModelUtils.getNode(child);
+				if (memberNode != null) {
+					endOffset = memberNode.getOffset();
+					break;
+				}
+			}
+		}
+		return getText(node, node.getOffset(), endOffset);
+	}
+
+	/**
+	 * The text of the given function without its body.
+	 */
+	private String getSignature(XtendFunction xtendFunction, INode node) {
+		int endOffset = node.getEndOffset();
+		INode bodyNode = xtendFunction.getExpression() != null ? NodeModelUtils.getNode(xtendFunction.getExpression()) : null;
+		if (bodyNode != null) {
+			endOffset = bodyNode.getOffset();
+		}
+		return getText(node, node.getOffset(), endOffset);
+	}
+
+	private String getText(EObject eObject) {
+		INode node = eObject != null ? NodeModelUtils.getNode(eObject) : null;
+		return node != null ? node.getText() : "";
+	}
+
+	private String getText(INode node, int offset, int endOffset) {
+		String text = node.getRootNode().getText();
+		return text.substring(offset, Math.max(offset, Math.min(endOffset, text.length())));
+	}
+
 	private Iterable<XtendFunction> getXtendFunctions(XtendFile xtendFile) {
 		List<XtendFunction> xtendFunctions = newArrayList();
 		for(Iterator<EObject> i = xtendFile.eAllContents(); i.hasNext();) {
@@ -212,10 +424,26 @@ public class OverrideIndicatorModelListener extends NullImpl implements IXtextMo
 	}
 	
 	private void installModelListener(XtextEditor xtextEditor) {
+		resetOverrideInfos();
+		resourceURI = null;
 		if (xtextEditor.getDocument() != null) {
 			asyncUpdateAnnotationModel();
 			xtextEditor.getDocument().addModelListener(this);
 		}
 	}
 
+	private static class OverrideInfo {
+
+		private static final OverrideInfo NONE = new OverrideInfo(false, null);
+
+		private final boolean overwriteIndicator;
+
+		private final String text;
+
+		private OverrideInfo(boolean overwriteIndicator, String text) {
+			this.overwriteIndicator = overwriteIndicator;
+			this.text = text;
+		}
+	}
+
 }
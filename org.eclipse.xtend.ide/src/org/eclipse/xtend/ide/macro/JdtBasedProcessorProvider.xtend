@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtend.ide.macro
 
+import com.google.inject.Inject
 import java.net.URL
 import java.net.URLClassLoader
 import java.util.LinkedHashSet
@@ -31,11 +32,11 @@ import org.eclipse.core.filesystem.EFS
 @Log
 class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
 	
+	@Inject ProcessorClassLoaderCache processorClassLoaderCache
+	
 	override getProcessorInstance(JvmType type) {
 		try {
-			val classLoader = getClassLoader(type)
-			val result = classLoader.loadClass(type.identifier)
-			return result.newInstance
+			return getProcessorInstance(type, getClassLoader(type))
 		} catch (Exception e) {
 			throw new IllegalStateException("Problem during instantiation of " + type.identifier + " : " + e.getMessage,
 				e);
@@ -64,7 +65,8 @@ class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
 			}
 		}
 		val project = rs.classpathURIContext as IJavaProject
-		val classloader = createClassLoaderForJavaProject(project)
+		// each build loads the processors anew and never shares them with editors
+		val classloader = if (isBuilder) createBuilderClassLoader(project) else createClassLoaderForJavaProject(project)
 		if (isBuilder) {
 			rs.eAdapters.add(new ProcessorClassloaderAdapter(classloader))
 		}
@@ -74,6 +76,17 @@ class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
 		return classloader
 	}
 	
+	override protected getProcessorClassloaderAdapter(EObject ctx) {
+		val rs = ctx.eResource.resourceSet
+		if (ResourceSetContext.get(rs).isBuilder) {
+			return rs.eAdapters.filter(ProcessorClassloaderAdapter).head
+		}
+		if (ResourceSetContext.get(rs).isEditor) {
+			return ctx.editorResource.eAdapters.filter(ProcessorClassloaderAdapter).head
+		}
+		return null
+	}
+
 	private def Resource getEditorResource(EObject ctx) {
 		// in editor it is resource #1
 		ctx.eResource.resourceSet.resources.head
@@ -81,9 +94,26 @@ class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
 
 	/**
 	 * Construct a Classloader with the classpathentries from the provided and all upstream-projects, 
-	 * except the output folders of the local project.
+	 * except the output folders of the local project. The loader is shared with all editors that
+	 * use the same classpath, see {@link ProcessorClassLoaderCache}.
 	 */
 	protected def createClassLoaderForJavaProject(IJavaProject projectToUse) {
+		return processorClassLoaderCache.acquire(getClasspathURLs(projectToUse), getParentClassLoader())
+	}
+
+	/**
+	 * Construct a Classloader with the same classpath as {@link #createClassLoaderForJavaProject(IJavaProject)}
+	 * that is used by a single build only. Like the batch compiler, the builder loads the processors for
+	 * each build, so their static state is neither shared with editors nor kept between builds.
+	 * 
+	 * @since 2.14
+	 */
+	protected def URLClassLoader createBuilderClassLoader(IJavaProject projectToUse) {
+		val urls = getClasspathURLs(projectToUse)
+		return new URLClassLoader(urls.toArray(<URL>newArrayOfSize(urls.size)), getParentClassLoader())
+	}
+
+	private def getClasspathURLs(IJavaProject projectToUse) {
 		val urls = newLinkedHashSet()
 		try {
 			collectClasspathURLs(projectToUse, urls, isOutputFolderIncluded(), newHashSet)
@@ -91,7 +121,7 @@ class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
 			if (!e.isDoesNotExist)
 				LOG.error(e.message, e)
 		}
-		return new URLClassLoader(urls, getParentClassLoader())
+		return urls
 	}
 
 	protected def isOutputFolderIncluded() {
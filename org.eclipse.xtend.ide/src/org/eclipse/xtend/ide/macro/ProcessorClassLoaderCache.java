@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.ide.macro;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A workspace wide cache of the class loaders for active annotation processors in editors. All editors that resolve
+ * the same class path share one loader, which is closed when the last client {@link URLClassLoader#close() closed} it
+ * and it was evicted from the cache. A limited number of unused loaders is kept for the next editor. The builder does
+ * not use this cache, it loads the processors for each build, see
+ * {@link JdtBasedProcessorProvider#createBuilderClassLoader(org.eclipse.jdt.core.IJavaProject)}.
+ *
+ * Editors that share a loader share the static state of the processor classes, but each editor has its own processor
+ * instances, see {@link org.eclipse.xtend.core.macro.NonReusableProcessor}.
+ *
+ * A loader is identified by its class path URLs and the time stamps of the jars. It is evicted as soon as a class
+ * folder in the workspace, e.g. the output folder of an upstream project, changes or a resolved class path of a Java
+ * project changes.
+ *
+ * @since 2.14
+ */
+@Singleton
+public class ProcessorClassLoaderCache implements IResourceChangeListener, IElementChangedListener {
+
+	private static final Logger LOG = Logger.getLogger(ProcessorClassLoaderCache.class);
+
+	private static final int MAX_UNUSED_LOADERS = 8;
+
+	/**
+	 * The cached loaders in access order. Guarded by <code>this</code>.
+	 */
+	private final Map<Key, SharedClassLoader> loaders = new LinkedHashMap<Key, SharedClassLoader>(16, 0.75f, true);
+
+	private int liveLoaders;
+
+	@Inject
+	public void init(IWorkspace workspace) {
+		workspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns a loader for the given class path. Clients have to {@link URLClassLoader#close() close} the loader when
+	 * they do no longer use it.
+	 */
+	public synchronized URLClassLoader acquire(Collection<URL> classPath, ClassLoader parent) {
+		Key key = new Key(classPath, parent);
+		SharedClassLoader result = loaders.get(key);
+		if (result == null) {
+			result = new SharedClassLoader(key, classPath.toArray(new URL[classPath.size()]), parent);
+			loaders.put(key, result);
+			liveLoaders++;
+		}
+		result.references++;
+		evictUnused();
+		return result;
+	}
+
+	protected synchronized void release(SharedClassLoader loader) {
+		if (loader.references == 0) {
+			return;
+		}
+		loader.references--;
+		if (loader.references == 0) {
+			if (loaders.get(loader.key) != loader) {
+				dispose(loader);
+			} else {
+				evictUnused();
+			}
+		}
+	}
+
+	/**
+	 * Evicts all cached loaders. Loaders that are still in use are closed when they are released.
+	 */
+	public synchronized void clear() {
+		for (SharedClassLoader loader : new ArrayList<SharedClassLoader>(loaders.values())) {
+			evict(loader);
+		}
+	}
+
+	/**
+	 * The number of loaders that were not closed yet, including the evicted ones that are still in use.
+	 */
+	public synchronized int getLiveLoaderCount() {
+		return liveLoaders;
+	}
+
+	/**
+	 * The number of loaders that can be reused.
+	 */
+	public synchronized int getCachedLoaderCount() {
+		return loaders.size();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		synchronized (this) {
+			for (SharedClassLoader loader : new ArrayList<SharedClassLoader>(loaders.values())) {
+				for (IPath folder : loader.key.workspaceFolders) {
+					if (delta.findMember(folder) != null) {
+						evict(loader);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (isClasspathChange(event.getDelta())) {
+			clear();
+		}
+	}
+
+	private boolean isClasspathChange(IJavaElementDelta delta) {
+		if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+			return true;
+		}
+		if (delta.getElement().getElementType() == IJavaElement.JAVA_MODEL) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (isClasspathChange(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void evict(SharedClassLoader loader) {
+		loaders.remove(loader.key);
+		if (loader.references == 0) {
+			dispose(loader);
+		}
+	}
+
+	private void evictUnused() {
+		int unused = 0;
+		for (SharedClassLoader loader : loaders.values()) {
+			if (loader.references == 0) {
+				unused++;
+			}
+		}
+		Iterator<SharedClassLoader> iterator = loaders.values().iterator();
+		while (unused > MAX_UNUSED_LOADERS && iterator.hasNext()) {
+			SharedClassLoader loader = iterator.next();
+			if (loader.references == 0) {
+				iterator.remove();
+				dispose(loader);
+				unused--;
+			}
+		}
+	}
+
+	private void dispose(SharedClassLoader loader) {
+		if (loader.disposed) {
+			return;
+		}
+		loader.disposed = true;
+		liveLoaders--;
+		try {
+			loader.dispose();
+		} catch (IOException e) {
+			LOG.error(e.getMessage(), e);
+		}
+	}
+
+	protected static class Key {
+
+		private final List<String> entries;
+
+		private final ClassLoader parent;
+
+		private final List<IPath> workspaceFolders;
+
+		protected Key(Collection<URL> classPath, ClassLoader parent) {
+			this.parent = parent;
+			this.entries = new ArrayList<String>(classPath.size());
+			List<IPath> folders = new ArrayList<IPath>();
+			for (URL url : classPath) {
+				String entry = url.toString();
+				URI uri = URI.createURI(entry);
+				if (uri.isPlatformResource()) {
+					folders.add(new Path(uri.toPlatformString(true)));
+				} else if (uri.isFile()) {
+					File file = toFile(url);
+					if (file != null && file.isFile()) {
+						entry = entry + '@' + file.lastModified() + '@' + file.length();
+					}
+				}
+				entries.add(entry);
+			}
+			this.workspaceFolders = Collections.unmodifiableList(folders);
+		}
+
+		private static File toFile(URL url) {
+			try {
+				return new File(url.toURI());
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return entries.hashCode() * 31 + System.identityHashCode(parent);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return parent == other.parent && entries.equals(other.entries);
+		}
+	}
+
+	/**
+	 * A loader that is shared by multiple clients. {@link #close() Closing} it releases the reference of one client.
+	 */
+	protected class SharedClassLoader extends URLClassLoader {
+
+		private final Key key;
+
+		private int references;
+
+		private boolean disposed;
+
+		protected SharedClassLoader(Key key, URL[] urls, ClassLoader parent) {
+			super(urls, parent);
+			this.key = key;
+		}
+
+		@Override
+		public void close() {
+			release(this);
+		}
+
+		protected void dispose() throws IOException {
+			super.close();
+		}
+	}
+}
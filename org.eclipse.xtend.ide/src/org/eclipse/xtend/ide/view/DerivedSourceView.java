@@ -11,7 +11,10 @@ import static com.google.common.collect.Iterables.*;
 import static org.eclipse.jface.resource.JFaceResources.*;
 import static org.eclipse.ui.editors.text.EditorsUI.*;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.internal.utils.WrappedRuntimeException;
@@ -47,6 +50,7 @@ import org.eclipse.jface.text.source.CompositeRuler;
 import org.eclipse.jface.text.source.DefaultAnnotationHover;
 import org.eclipse.jface.text.source.IAnnotationHover;
 import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.eclipse.jface.text.source.IOverviewRuler;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.jface.text.source.LineNumberRulerColumn;
@@ -89,8 +93,11 @@ import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.util.TextRegion;
 
 import com.google.common.base.Function;
+import com.google.common.base.Objects;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 
@@ -105,6 +112,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 	protected static final int OVERVIEW_RULER_WIDTH = 12;
 	private static final String SEARCH_ANNOTATION_TYPE = "org.eclipse.search.results"; //$NON-NLS-1$
 	private static final ISchedulingRule SEQUENCE_RULE = SchedulingRuleFactory.INSTANCE.newSequence();
+	private static final int MAX_CACHED_SOURCES = 16;
 	@Inject
 	private ITraceForStorageProvider traceInformation;
 	@Inject
@@ -125,6 +133,23 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 			.getMarkerAnnotationPreferences();
 	private OpenEditorAction openEditorAction;
 	private LineNumberRulerColumn lineNumberRulerColumn;
+	/**
+	 * The contents of recently shown derived sources in access order, validated by their modification stamps.
+	 */
+	private final Map<IFile, CachedContents> contentsCache = new LinkedHashMap<IFile, CachedContents>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IFile, CachedContents> eldest) {
+			return size() > MAX_CACHED_SOURCES;
+		}
+	};
+	/**
+	 * The trace of the last selected editor resource. It is discarded on every resource change.
+	 */
+	private volatile CachedTrace cachedTrace;
+	private String currentInput;
+	private IFile currentFile;
 
 	IStorage getSelectedSource() {
 		return selectedSource;
@@ -245,7 +270,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 	@Override
 	protected boolean isValidSelection(IWorkbenchPartSelection workbenchPartSelection) {
 		return super.isValidSelection(workbenchPartSelection)
-				&& traceInformation.getTraceToTarget(getEditorResource(workbenchPartSelection)) != null;
+				&& getTraceToTarget(workbenchPartSelection) != null;
 	}
 
 	@Override
@@ -262,7 +287,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 	protected String computeInput(IWorkbenchPartSelection workbenchPartSelection) {
 		openEditorAction.setInputFile(null);
 		openEditorAction.setSelectedRegion(null);
-		IEclipseTrace trace = traceInformation.getTraceToTarget(getEditorResource(workbenchPartSelection));
+		IEclipseTrace trace = getTraceToTarget(workbenchPartSelection);
 		if (trace != null) {
 			if (workbenchPartSelection instanceof DerivedSourceSelection) {
 				DerivedSourceSelection derivedSourceSelection = (DerivedSourceSelection) workbenchPartSelection;
@@ -292,7 +317,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 				file.refreshLocal(1, new NullProgressMonitor());
 				if (file.exists()) {
 					openEditorAction.setInputFile(file);
-					return Files.readStreamIntoString(file.getContents());
+					return getContents(file);
 				}
 			} catch (CoreException e) {
 				throw new WrappedRuntimeException(e);
@@ -301,6 +326,91 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 		return null;
 	}
 
+	/**
+	 * Returns the contents of the given derived source. The same string is returned as long as the file is not
+	 * modified, so {@link #setInput(String)} can keep the rendered document.
+	 * 
+	 * @since 2.14
+	 */
+	protected String getContents(IFile file) throws CoreException {
+		long modificationStamp = file.getModificationStamp();
+		synchronized (contentsCache) {
+			CachedContents cached = contentsCache.get(file);
+			if (cached != null && cached.modificationStamp == modificationStamp) {
+				return cached.contents;
+			}
+		}
+		String contents = Files.readStreamIntoString(file.getContents());
+		synchronized (contentsCache) {
+			contentsCache.put(file, new CachedContents(modificationStamp, contents));
+		}
+		return contents;
+	}
+
+	/**
+	 * Returns the trace of the editor resource of the given selection. The trace is reused until the next resource
+	 * change.
+	 * 
+	 * @since 2.14
+	 */
+	protected IEclipseTrace getTraceToTarget(IWorkbenchPartSelection workbenchPartSelection) {
+		IStorage storage = getEditorResource(workbenchPartSelection);
+		if (storage == null) {
+			return null;
+		}
+		CachedTrace cached = cachedTrace;
+		if (cached != null && cached.storage.equals(storage)) {
+			return cached.trace;
+		}
+		IEclipseTrace result = traceInformation.getTraceToTarget(storage);
+		if (result != null) {
+			cachedTrace = new CachedTrace(storage, result);
+		}
+		return result;
+	}
+
+	@Override
+	protected void setInput(String input) {
+		IFile file = getSelectedFile();
+		// the contents cache returns the identical string for an unchanged derived source
+		if (input != null && input == currentInput && Objects.equal(file, currentFile)
+				&& getSourceViewer().getDocument() != null) {
+			return;
+		}
+		currentInput = input;
+		currentFile = file;
+		super.setInput(input);
+	}
+
+	/**
+	 * Returns the document of the shown derived source. Accessible for testing only.
+	 * 
+	 * @since 2.14
+	 */
+	public IDocument getDerivedSourceDocument() {
+		return javaSourceViewer != null ? javaSourceViewer.getDocument() : null;
+	}
+
+	/**
+	 * Returns the regions of the shown derived source that are highlighted for the selection in the editor. Accessible
+	 * for testing only.
+	 * 
+	 * @since 2.14
+	 */
+	public List<ITextRegion> getHighlightedRegions() {
+		List<ITextRegion> result = Lists.newArrayList();
+		IAnnotationModel annotationModel = javaSourceViewer != null ? javaSourceViewer.getAnnotationModel() : null;
+		if (annotationModel != null) {
+			for (Annotation annotation : getSearchAnnotations(annotationModel)) {
+				Position position = annotationModel.getPosition(annotation);
+				if (position != null) {
+					result.add(new TextRegion(position.getOffset(), position.getLength()));
+				}
+			}
+		}
+		return result;
+	}
+
 	protected XtendImages getXtendImages() {
 		return xtendImages;
 	}
@@ -331,6 +441,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 		super.partHidden(workbenchPartReference);
 		if (workbenchPartReference.getId().equals(getSite().getId())) {
 			workspace.removeResourceChangeListener(this);
+			cachedTrace = null;
 		}
 		if (getWorkbenchPartSelection() != null && workbenchPartReference.getPart(false) == getWorkbenchPartSelection().getWorkbenchPart()) {
 			selectedSource = null;
@@ -344,6 +455,7 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
+		cachedTrace = null;
 		if (selectedSource == null || getWorkbenchPartSelection() == null) {
 			return;
 		}
@@ -396,8 +508,10 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 	protected void selectAndReveal(IWorkbenchPartSelection workbenchPartSelection) {
 		if (selectedSource != null) {
 			IAnnotationModel annotationModel = getSourceViewer().getAnnotationModel();
+			List<Annotation> previousAnnotations = getSearchAnnotations(annotationModel);
+			Map<Annotation, Position> newAnnotations = Maps.newLinkedHashMap();
 			TextRegion localRegion = mapTextRegion(workbenchPartSelection);
-			IEclipseTrace trace = traceInformation.getTraceToTarget(getEditorResource(workbenchPartSelection));
+			IEclipseTrace trace = getTraceToTarget(workbenchPartSelection);
 			if (trace != null) {
 				Iterable<? extends ILocationInEclipseResource> allAssociatedLocations = trace.getAllAssociatedLocations(localRegion,
 						selectedSource);
@@ -412,11 +526,39 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 				for (ILocationInResource locationInResource : allAssociatedLocations) {
 					ITextRegion textRegion = locationInResource.getTextRegion();
 					if (textRegion != null) {
-						annotationModel.addAnnotation(new Annotation(SEARCH_ANNOTATION_TYPE, true, null), new Position(
+						newAnnotations.put(new Annotation(SEARCH_ANNOTATION_TYPE, true, null), new Position(
 								textRegion.getOffset(), textRegion.getLength()));
 					}
 				}
 			}
+			replaceAnnotations(annotationModel, previousAnnotations, newAnnotations);
+		}
+	}
+
+	private List<Annotation> getSearchAnnotations(IAnnotationModel annotationModel) {
+		List<Annotation> result = Lists.newArrayList();
+		Iterator<?> iterator = annotationModel.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			Annotation annotation = (Annotation) iterator.next();
+			if (SEARCH_ANNOTATION_TYPE.equals(annotation.getType())) {
+				result.add(annotation);
+			}
+		}
+		return result;
+	}
+
+	private void replaceAnnotations(IAnnotationModel annotationModel, List<Annotation> previousAnnotations,
+			Map<Annotation, Position> newAnnotations) {
+		if (annotationModel instanceof IAnnotationModelExtension) {
+			((IAnnotationModelExtension) annotationModel).replaceAnnotations(
+					previousAnnotations.toArray(new Annotation[previousAnnotations.size()]), newAnnotations);
+		} else {
+			for (Annotation annotation : previousAnnotations) {
+				annotationModel.removeAnnotation(annotation);
+			}
+			for (Map.Entry<Annotation, Position> entry : newAnnotations.entrySet()) {
+				annotationModel.addAnnotation(entry.getKey(), entry.getValue());
+			}
 		}
 	}
 
@@ -448,6 +590,30 @@ public class DerivedSourceView extends AbstractSourceView implements IResourceCh
 		}
 	}
 
+	private static class CachedContents {
+
+		private final long modificationStamp;
+
+		private final String contents;
+
+		private CachedContents(long modificationStamp, String contents) {
+			this.modificationStamp = modificationStamp;
+			this.contents = contents;
+		}
+	}
+
+	private static class CachedTrace {
+
+		private final IStorage storage;
+
+		private final IEclipseTrace trace;
+
+		private CachedTrace(IStorage storage, IEclipseTrace trace) {
+			this.storage = storage;
+			this.trace = trace;
+		}
+	}
+
 	@Override
 	public boolean show(ShowInContext context) {
 		selectionChanged(getSite().getPage().getActiveEditor(), context.getSelection());
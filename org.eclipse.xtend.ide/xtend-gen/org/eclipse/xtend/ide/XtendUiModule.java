@@ -23,7 +23,9 @@ import org.eclipse.xtend.ide.autoedit.AutoEditStrategyProvider;
 import org.eclipse.xtend.ide.autoedit.TokenTypeToPartitionMapper;
 import org.eclipse.xtend.ide.builder.JavaProjectPreferencesInitializer;
 import org.eclipse.xtend.ide.builder.SourceRelativeFileSystemAccess;
+import org.eclipse.xtend.ide.builder.TypeLookupCacheInvalidator;
 import org.eclipse.xtend.ide.builder.UIResourceChangeRegistry;
+import org.eclipse.xtend.ide.builder.XtendEclipseGeneratorConfigProvider;
 import org.eclipse.xtend.ide.builder.XtendParallelBuilderParticipant;
 import org.eclipse.xtend.ide.builder.XtendUIResourceDescriptionManager;
 import org.eclipse.xtend.ide.codetemplates.ui.highlighting.FlexerBasedTemplateBodyHighlighter;
@@ -164,6 +166,7 @@ import org.eclipse.xtext.ui.resource.IResourceUIServiceProvider;
 import org.eclipse.xtext.ui.validation.AbstractValidatorConfigurationBlock;
 import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.IssueSeveritiesProvider;
+import org.eclipse.xtext.xbase.compiler.IGeneratorConfigProvider;
 import org.eclipse.xtext.xbase.ui.contentassist.ParameterContextInformationProvider;
 import org.eclipse.xtext.xbase.ui.editor.actions.IClipboardActionFactory;
 import org.eclipse.xtext.xbase.ui.editor.actions.ImportsAwareClipboardAction;
@@ -401,6 +404,11 @@ public class XtendUiModule extends AbstractXtendUiModule {
     return JavaProjectPreferencesInitializer.class;
   }
   
+  @SingletonBinding(eager = true)
+  public Class<? extends TypeLookupCacheInvalidator> bindTypeLookupCacheInvalidator() {
+    return TypeLookupCacheInvalidator.class;
+  }
+  
   @Override
   public void configureSmartCaretPreferenceInitializer(final Binder binder) {
     binder.<IPreferenceStoreInitializer>bind(IPreferenceStoreInitializer.class).annotatedWith(Names.named("smartCaretPreferenceInitializer")).to(XtendPreferenceStoreInitializer.class);
@@ -426,6 +434,14 @@ public class XtendUiModule extends AbstractXtendUiModule {
     return JdtBasedProcessorProvider.class;
   }
   
+  /**
+   * @since 2.14
+   */
+  @Override
+  public Class<? extends IGeneratorConfigProvider> bindIGeneratorConfigProvider() {
+    return XtendEclipseGeneratorConfigProvider.class;
+  }
+  
   @Override
   public Class<? extends IContentAssistantFactory> bindIContentAssistantFactory() {
     return XtendContentAssistFactory.class;
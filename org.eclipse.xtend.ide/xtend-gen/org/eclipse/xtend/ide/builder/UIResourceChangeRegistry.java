@@ -7,7 +7,7 @@
  */
 package org.eclipse.xtend.ide.builder;
 
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.BufferedInputStream;
@@ -20,6 +20,8 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.log4j.Logger;
@@ -67,74 +69,101 @@ public class UIResourceChangeRegistry implements IResourceChangeListener, IResou
   private IWorkspace workspace;
   
   @Accessors
-  private final HashMultimap<String, URI> existsListeners = HashMultimap.<String, URI>create();
+  private final PathTrieMultimap existsListeners = new PathTrieMultimap();
   
   @Accessors
-  private final HashMultimap<String, URI> charsetListeners = HashMultimap.<String, URI>create();
+  private final PathTrieMultimap charsetListeners = new PathTrieMultimap();
   
   @Accessors
-  private final HashMultimap<String, URI> childrenListeners = HashMultimap.<String, URI>create();
+  private final PathTrieMultimap childrenListeners = new PathTrieMultimap();
   
   @Accessors
-  private final HashMultimap<String, URI> contentsListeners = HashMultimap.<String, URI>create();
+  private final PathTrieMultimap contentsListeners = new PathTrieMultimap();
   
   @Accessors
-  private final HashMultimap<String, URI> changesNotRelevantListeners = HashMultimap.<String, URI>create();
+  private final PathTrieMultimap changesNotRelevantListeners = new PathTrieMultimap();
   
-  @Override
-  public synchronized void registerExists(final String path, final URI uri) {
-    boolean _containsEntry = this.changesNotRelevantListeners.containsEntry(path, uri);
-    boolean _not = (!_containsEntry);
-    if (_not) {
-      this.existsListeners.put(path, uri);
+  private final static int PATH_LOCK_STRIPES = 32;
+  
+  private final Object[] pathLocks = new Object[UIResourceChangeRegistry.PATH_LOCK_STRIPES];
+  
+  public UIResourceChangeRegistry() {
+    for (int i = 0; (i < UIResourceChangeRegistry.PATH_LOCK_STRIPES); i++) {
+      Object _object = new Object();
+      this.pathLocks[i] = _object;
     }
   }
   
   @Override
-  public synchronized void registerGetCharset(final String path, final URI uri) {
-    boolean _containsEntry = this.changesNotRelevantListeners.containsEntry(path, uri);
-    boolean _not = (!_containsEntry);
-    if (_not) {
-      this.charsetListeners.put(path, uri);
-    }
+  public void registerExists(final String path, final URI uri) {
+    this.register(this.existsListeners, path, uri);
   }
   
   @Override
-  public synchronized void registerGetChildren(final String path, final URI uri) {
-    boolean _containsEntry = this.changesNotRelevantListeners.containsEntry(path, uri);
-    boolean _not = (!_containsEntry);
-    if (_not) {
-      this.childrenListeners.put(path, uri);
-    }
+  public void registerGetCharset(final String path, final URI uri) {
+    this.register(this.charsetListeners, path, uri);
   }
   
   @Override
-  public synchronized void registerGetContents(final String path, final URI uri) {
-    boolean _containsEntry = this.changesNotRelevantListeners.containsEntry(path, uri);
-    boolean _not = (!_containsEntry);
-    if (_not) {
-      this.contentsListeners.put(path, uri);
+  public void registerGetChildren(final String path, final URI uri) {
+    this.register(this.childrenListeners, path, uri);
+  }
+  
+  @Override
+  public void registerGetContents(final String path, final URI uri) {
+    this.register(this.contentsListeners, path, uri);
+  }
+  
+  /**
+   * Registers the listener unless changes of the path are not relevant for the URI.
+   * The check and the registration are atomic for the path.
+   */
+  private void register(final PathTrieMultimap listeners, final String path, final URI uri) {
+    synchronized (this.getLock(path)) {
+      boolean _containsEntry = this.changesNotRelevantListeners.containsEntry(path, uri);
+      boolean _not = (!_containsEntry);
+      if (_not) {
+        listeners.put(path, uri);
+      }
     }
   }
   
   @Override
-  public synchronized void registerCreateOrModify(final String string, final URI uri) {
-    this.existsListeners.remove(string, uri);
-    this.charsetListeners.remove(string, uri);
-    this.childrenListeners.remove(string, uri);
-    this.contentsListeners.remove(string, uri);
-    this.changesNotRelevantListeners.put(string, uri);
+  public void registerCreateOrModify(final String path, final URI uri) {
+    synchronized (this.getLock(path)) {
+      this.existsListeners.remove(path, uri);
+      this.charsetListeners.remove(path, uri);
+      this.childrenListeners.remove(path, uri);
+      this.contentsListeners.remove(path, uri);
+      this.changesNotRelevantListeners.put(path, uri);
+    }
+  }
+  
+  private Object getLock(final String path) {
+    return this.pathLocks[(path.hashCode() & (UIResourceChangeRegistry.PATH_LOCK_STRIPES - 1))];
   }
   
   @Override
-  public synchronized void discardCreateOrModifyInformation(final URI uri) {
-    this.changesNotRelevantListeners.values().removeAll(Collections.<URI>singleton(uri));
+  public void discardCreateOrModifyInformation(final URI uri) {
+    this.changesNotRelevantListeners.removeValue(uri);
   }
   
+  /**
+   * Queues the URIs of all listeners that are affected by the delta with a single call.
+   */
   @Override
-  public synchronized void resourceChanged(final IResourceChangeEvent event) {
+  public void resourceChanged(final IResourceChangeEvent event) {
     try {
-      event.getDelta().accept(this);
+      final LinkedHashSet<URI> interestedFiles = CollectionLiterals.<URI>newLinkedHashSet();
+      final IResourceDeltaVisitor _function = (IResourceDelta it) -> {
+        return this.collectInterestedFiles(it, interestedFiles);
+      };
+      event.getDelta().accept(_function);
+      boolean _isEmpty = interestedFiles.isEmpty();
+      boolean _not = (!_isEmpty);
+      if (_not) {
+        this.queueURIs(interestedFiles);
+      }
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
@@ -142,39 +171,40 @@ public class UIResourceChangeRegistry implements IResourceChangeListener, IResou
   
   @Override
   public boolean visit(final IResourceDelta delta) throws CoreException {
-    if (((!this.existsListeners.isEmpty()) && this.hasExistsChanged(delta))) {
-      final Set<URI> interestedFiles = this.existsListeners.removeAll(delta.getResource().getFullPath().toString());
-      boolean _isEmpty = interestedFiles.isEmpty();
-      boolean _not = (!_isEmpty);
-      if (_not) {
-        this.queueURIs(interestedFiles);
-      }
+    final LinkedHashSet<URI> interestedFiles = CollectionLiterals.<URI>newLinkedHashSet();
+    final boolean result = this.collectInterestedFiles(delta, interestedFiles);
+    boolean _isEmpty = interestedFiles.isEmpty();
+    boolean _not = (!_isEmpty);
+    if (_not) {
+      this.queueURIs(interestedFiles);
     }
-    if (((!this.childrenListeners.isEmpty()) && (this.hasExistsChanged(delta) || this.hasChildrenChanged(delta)))) {
-      final Set<URI> interestedFiles_1 = this.childrenListeners.removeAll(delta.getResource().getFullPath().toString());
-      boolean _isEmpty_1 = interestedFiles_1.isEmpty();
-      boolean _not_1 = (!_isEmpty_1);
-      if (_not_1) {
-        this.queueURIs(interestedFiles_1);
-      }
+    return result;
+  }
+  
+  /**
+   * Removes the listeners that are affected by the given delta and adds their URIs to the result.
+   * Returns <code>true</code> if there are listeners for the children of the delta.
+   */
+  protected boolean collectInterestedFiles(final IResourceDelta delta, final Set<URI> result) {
+    final String path = delta.getResource().getFullPath().toString();
+    boolean _hasExistsChanged = this.hasExistsChanged(delta);
+    if (_hasExistsChanged) {
+      Set<URI> _removeAll = this.existsListeners.removeAll(path);
+      Iterables.<URI>addAll(result, _removeAll);
     }
-    if (((!this.charsetListeners.isEmpty()) && (this.hasExistsChanged(delta) || this.hasCharsetChanged(delta)))) {
-      final Set<URI> interestedFiles_2 = this.charsetListeners.removeAll(delta.getResource().getFullPath().toString());
-      boolean _isEmpty_2 = interestedFiles_2.isEmpty();
-      boolean _not_2 = (!_isEmpty_2);
-      if (_not_2) {
-        this.queueURIs(interestedFiles_2);
-      }
+    if ((this.hasExistsChanged(delta) || this.hasChildrenChanged(delta))) {
+      Set<URI> _removeAll_1 = this.childrenListeners.removeAll(path);
+      Iterables.<URI>addAll(result, _removeAll_1);
     }
-    if (((!this.contentsListeners.isEmpty()) && (this.hasExistsChanged(delta) || this.hasContentsChanged(delta)))) {
-      final Set<URI> interestedFiles_3 = this.contentsListeners.removeAll(delta.getResource().getFullPath().toString());
-      boolean _isEmpty_3 = interestedFiles_3.isEmpty();
-      boolean _not_3 = (!_isEmpty_3);
-      if (_not_3) {
-        this.queueURIs(interestedFiles_3);
-      }
+    if ((this.hasExistsChanged(delta) || this.hasCharsetChanged(delta))) {
+      Set<URI> _removeAll_2 = this.charsetListeners.removeAll(path);
+      Iterables.<URI>addAll(result, _removeAll_2);
+    }
+    if ((this.hasExistsChanged(delta) || this.hasContentsChanged(delta))) {
+      Set<URI> _removeAll_3 = this.contentsListeners.removeAll(path);
+      Iterables.<URI>addAll(result, _removeAll_3);
     }
-    return true;
+    return (((this.existsListeners.containsPrefix(path) || this.childrenListeners.containsPrefix(path)) || this.charsetListeners.containsPrefix(path)) || this.contentsListeners.containsPrefix(path));
   }
   
   protected void queueURIs(final Set<URI> interestedFiles) {
@@ -274,7 +304,7 @@ public class UIResourceChangeRegistry implements IResourceChangeListener, IResou
   public void readState(final InputStream in) {
     try {
       final DataInputStream reader = new DataInputStream(in);
-      for (final HashMultimap<String, URI> map : Collections.<HashMultimap<String, URI>>unmodifiableList(CollectionLiterals.<HashMultimap<String, URI>>newArrayList(this.existsListeners, this.charsetListeners, this.childrenListeners, this.contentsListeners))) {
+      for (final PathTrieMultimap map : Collections.<PathTrieMultimap>unmodifiableList(CollectionLiterals.<PathTrieMultimap>newArrayList(this.existsListeners, this.charsetListeners, this.childrenListeners, this.contentsListeners))) {
         {
           final int urisForExists = reader.readInt();
           for (int i = 0; (i < urisForExists); i++) {
@@ -314,9 +344,9 @@ public class UIResourceChangeRegistry implements IResourceChangeListener, IResou
   public void writeState(final OutputStream out) {
     try {
       final DataOutputStream writer = new DataOutputStream(out);
-      for (final HashMultimap<String, URI> map : Collections.<HashMultimap<String, URI>>unmodifiableList(CollectionLiterals.<HashMultimap<String, URI>>newArrayList(this.existsListeners, this.charsetListeners, this.childrenListeners, this.contentsListeners))) {
+      for (final PathTrieMultimap map : Collections.<PathTrieMultimap>unmodifiableList(CollectionLiterals.<PathTrieMultimap>newArrayList(this.existsListeners, this.charsetListeners, this.childrenListeners, this.contentsListeners))) {
         {
-          final Set<Map.Entry<String, URI>> entries = map.entries();
+          final List<Map.Entry<String, URI>> entries = map.entries();
           writer.writeInt(entries.size());
           for (final Map.Entry<String, URI> entry : entries) {
             {
@@ -348,27 +378,27 @@ public class UIResourceChangeRegistry implements IResourceChangeListener, IResou
   }
   
   @Pure
-  public HashMultimap<String, URI> getExistsListeners() {
+  public PathTrieMultimap getExistsListeners() {
     return this.existsListeners;
   }
   
   @Pure
-  public HashMultimap<String, URI> getCharsetListeners() {
+  public PathTrieMultimap getCharsetListeners() {
     return this.charsetListeners;
   }
   
   @Pure
-  public HashMultimap<String, URI> getChildrenListeners() {
+  public PathTrieMultimap getChildrenListeners() {
     return this.childrenListeners;
   }
   
   @Pure
-  public HashMultimap<String, URI> getContentsListeners() {
+  public PathTrieMultimap getContentsListeners() {
     return this.contentsListeners;
   }
   
   @Pure
-  public HashMultimap<String, URI> getChangesNotRelevantListeners() {
+  public PathTrieMultimap getChangesNotRelevantListeners() {
     return this.changesNotRelevantListeners;
   }
 }
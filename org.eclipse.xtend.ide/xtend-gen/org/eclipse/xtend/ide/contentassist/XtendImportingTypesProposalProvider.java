@@ -9,15 +9,38 @@ package org.eclipse.xtend.ide.contentassist;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
+import com.google.inject.Inject;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.xtend.core.scoping.XtendImportedNamespaceScopeProvider;
+import org.eclipse.xtend.ide.contentassist.TypeNameIndex;
+import org.eclipse.xtend.ide.contentassist.TypeNameTable;
+import org.eclipse.xtext.common.types.TypesPackage;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.common.types.access.jdt.IJavaProjectProvider;
+import org.eclipse.xtext.common.types.xtext.ui.ITypesProposalProvider;
 import org.eclipse.xtext.conversion.IValueConverter;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.scoping.impl.FilteringScope;
+import org.eclipse.xtext.ui.editor.IDirtyStateManager;
 import org.eclipse.xtext.ui.editor.contentassist.ConfigurableCompletionProposal;
 import org.eclipse.xtext.ui.editor.contentassist.ContentAssistContext;
+import org.eclipse.xtext.ui.editor.contentassist.ICompletionProposalAcceptor;
+import org.eclipse.xtext.ui.editor.contentassist.ICompletionProposalFactory;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.ui.contentassist.ImportingTypesProposalProvider;
 
 /**
@@ -25,6 +48,18 @@ import org.eclipse.xtext.xbase.ui.contentassist.ImportingTypesProposalProvider;
  */
 @SuppressWarnings("all")
 public class XtendImportingTypesProposalProvider extends ImportingTypesProposalProvider {
+  @Inject
+  private TypeNameIndex typeNameIndex;
+  
+  @Inject
+  private IJavaProjectProvider projectProvider;
+  
+  @Inject
+  private IJvmTypeProvider.Factory typeProviderFactory;
+  
+  @Inject
+  private IDirtyStateManager dirtyStateManager;
+  
   @Override
   protected ConfigurableCompletionProposal.IReplacementTextApplier createTextApplier(final ContentAssistContext context, final IScope typeScope, final IQualifiedNameConverter qualifiedNameConverter, final IValueConverter<String> valueConverter) {
     final Predicate<IEObjectDescription> _function = (IEObjectDescription it) -> {
@@ -34,4 +69,88 @@ public class XtendImportingTypesProposalProvider extends ImportingTypesProposalP
     final FilteringScope scope = new FilteringScope(typeScope, _function);
     return super.createTextApplier(context, scope, qualifiedNameConverter, valueConverter);
   }
+  
+  /**
+   * Looks up the types in the {@link TypeNameIndex} instead of running a type search once the index of the project
+   * is available. Qualified prefixes are still answered by the type search. Forbidden and discouraged types are
+   * filtered according to the code assist options of the project.
+   * 
+   * @since 2.14
+   */
+  @Override
+  protected void searchAndCreateProposals(final IJavaSearchScope scope, final ICompletionProposalFactory proposalFactory, final ContentAssistContext context, final EReference typeReference, final ITypesProposalProvider.Filter filter, final IValueConverter<String> valueConverter, final ICompletionProposalAcceptor acceptor) throws JavaModelException {
+    final ResourceSet resourceSet = context.getResource().getResourceSet();
+    final String prefix = context.getPrefix();
+    final IJavaProject project = this.projectProvider.getJavaProject(resourceSet);
+    TypeNameTable _xifexpression = null;
+    if (((project != null) && (!prefix.contains(".")))) {
+      _xifexpression = this.typeNameIndex.getTable(project);
+    }
+    final TypeNameTable table = _xifexpression;
+    if ((table == null)) {
+      super.searchAndCreateProposals(scope, proposalFactory, context, typeReference, filter, valueConverter, acceptor);
+      return;
+    }
+    final IJvmTypeProvider typeProvider = this.typeProviderFactory.findOrCreateTypeProvider(resourceSet);
+    final List<IEObjectDescription> dirtyTypes = IterableExtensions.<IEObjectDescription>toList(this.dirtyStateManager.getExportedObjectsByType(TypesPackage.Literals.JVM_DECLARED_TYPE));
+    final Function1<IEObjectDescription, String> _function = (IEObjectDescription it) -> {
+      return it.getQualifiedName().toString();
+    };
+    final Set<String> dirtyTypeNames = IterableExtensions.<String>toSet(ListExtensions.<IEObjectDescription, String>map(dirtyTypes, _function));
+    String _option = project.getOption(JavaCore.CODEASSIST_FORBIDDEN_REFERENCE_CHECK, true);
+    final boolean checkForbidden = Objects.equal(JavaCore.ENABLED, _option);
+    String _option_1 = project.getOption(JavaCore.CODEASSIST_DISCOURAGED_REFERENCE_CHECK, true);
+    final boolean checkDiscouraged = Objects.equal(JavaCore.ENABLED, _option_1);
+    List<TypeNameTable.Entry> _find = table.find(prefix);
+    for (final TypeNameTable.Entry entry : _find) {
+      {
+        boolean _canAcceptMoreProposals = acceptor.canAcceptMoreProposals();
+        boolean _not = (!_canAcceptMoreProposals);
+        if (_not) {
+          return;
+        }
+        final String qualifiedName = entry.getQualifiedName();
+        if (((((entry.isKindOf(filter.getSearchFor()) && (!dirtyTypeNames.contains(qualifiedName))) && (!this.isRestricted(entry, checkForbidden, checkDiscouraged))) && filter.accept(entry.getModifiers(), entry.getPackageName(), entry.getSimpleTypeName(), entry.getEnclosingTypeNames(), entry.getPath())) && scope.encloses(entry.getPath()))) {
+          this.createTypeProposal(qualifiedName, entry.getModifiers(), entry.isInnerType(), proposalFactory, context, acceptor, typeProvider, valueConverter);
+        }
+      }
+    }
+    for (final IEObjectDescription description : dirtyTypes) {
+      {
+        boolean _canAcceptMoreProposals = acceptor.canAcceptMoreProposals();
+        boolean _not = (!_canAcceptMoreProposals);
+        if (_not) {
+          return;
+        }
+        final QualifiedName qualifiedName = description.getQualifiedName();
+        final String simpleName = qualifiedName.getLastSegment();
+        boolean _matches = TypeNameTable.matches(prefix, simpleName);
+        if (_matches) {
+          final int modifiers = this.getDirtyStateModifiers(context, description);
+          final String path = description.getEObjectURI().toPlatformString(true);
+          if ((((TypeNameTable.isKindOf(modifiers, filter.getSearchFor()) && filter.accept(modifiers, qualifiedName.skipLast(1).toString().toCharArray(), simpleName.toCharArray(), 
+            CharOperation.NO_CHAR_CHAR, path)) && (path != null)) && scope.encloses(path))) {
+            this.createTypeProposal(qualifiedName.toString(), modifiers, false, proposalFactory, context, acceptor, typeProvider, valueConverter);
+          }
+        }
+      }
+    }
+  }
+  
+  private boolean isRestricted(final TypeNameTable.Entry entry, final boolean checkForbidden, final boolean checkDiscouraged) {
+    boolean _switchResult = false;
+    int _accessibility = entry.getAccessibility();
+    switch (_accessibility) {
+      case IAccessRule.K_NON_ACCESSIBLE:
+        _switchResult = checkForbidden;
+        break;
+      case IAccessRule.K_DISCOURAGED:
+        _switchResult = checkDiscouraged;
+        break;
+      default:
+        _switchResult = false;
+        break;
+    }
+    return _switchResult;
+  }
 }
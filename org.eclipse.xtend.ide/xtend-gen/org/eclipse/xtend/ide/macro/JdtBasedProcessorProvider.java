@@ -9,6 +9,7 @@ package org.eclipse.xtend.ide.macro;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
+import com.google.inject.Inject;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.LinkedHashSet;
@@ -35,19 +36,19 @@ import org.eclipse.xtext.resource.ResourceSetContext;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
-import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 
 @Log
 @SuppressWarnings("all")
 public class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvider {
+  @Inject
+  private ProcessorClassLoaderCache processorClassLoaderCache;
+  
   @Override
   public Object getProcessorInstance(final JvmType type) {
     try {
-      final ClassLoader classLoader = this.getClassLoader(type);
-      final Class<?> result = classLoader.loadClass(type.getIdentifier());
-      return result.newInstance();
+      return this.getProcessorInstance(type, this.getClassLoader(type));
     } catch (final Throwable _t) {
       if (_t instanceof Exception) {
         final Exception e = (Exception)_t;
@@ -89,7 +90,13 @@ public class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvid
     }
     Object _classpathURIContext = rs.getClasspathURIContext();
     final IJavaProject project = ((IJavaProject) _classpathURIContext);
-    final URLClassLoader classloader = this.createClassLoaderForJavaProject(project);
+    URLClassLoader _xifexpression = null;
+    if (isBuilder) {
+      _xifexpression = this.createBuilderClassLoader(project);
+    } else {
+      _xifexpression = this.createClassLoaderForJavaProject(project);
+    }
+    final URLClassLoader classloader = _xifexpression;
     if (isBuilder) {
       EList<Adapter> _eAdapters = rs.eAdapters();
       ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter _processorClassloaderAdapter = new ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter(classloader);
@@ -103,15 +110,50 @@ public class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvid
     return classloader;
   }
   
+  @Override
+  protected ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter getProcessorClassloaderAdapter(final EObject ctx) {
+    final ResourceSet rs = ctx.eResource().getResourceSet();
+    boolean _isBuilder = ResourceSetContext.get(rs).isBuilder();
+    if (_isBuilder) {
+      return IterableExtensions.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>head(Iterables.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>filter(rs.eAdapters(), ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.class));
+    }
+    boolean _isEditor = ResourceSetContext.get(rs).isEditor();
+    if (_isEditor) {
+      return IterableExtensions.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>head(Iterables.<ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter>filter(this.getEditorResource(ctx).eAdapters(), ProcessorInstanceForJvmTypeProvider.ProcessorClassloaderAdapter.class));
+    }
+    return null;
+  }
+  
   private Resource getEditorResource(final EObject ctx) {
     return IterableExtensions.<Resource>head(ctx.eResource().getResourceSet().getResources());
   }
   
   /**
    * Construct a Classloader with the classpathentries from the provided and all upstream-projects,
-   * except the output folders of the local project.
+   * except the output folders of the local project. The loader is shared with all editors that
+   * use the same classpath, see {@link ProcessorClassLoaderCache}.
    */
   protected URLClassLoader createClassLoaderForJavaProject(final IJavaProject projectToUse) {
+    return this.processorClassLoaderCache.acquire(this.getClasspathURLs(projectToUse), this.getParentClassLoader());
+  }
+  
+  /**
+   * Construct a Classloader with the same classpath as {@link #createClassLoaderForJavaProject(IJavaProject)}
+   * that is used by a single build only. Like the batch compiler, the builder loads the processors for
+   * each build, so their static state is neither shared with editors nor kept between builds.
+   * 
+   * @since 2.14
+   */
+  protected URLClassLoader createBuilderClassLoader(final IJavaProject projectToUse) {
+    final LinkedHashSet<URL> urls = this.getClasspathURLs(projectToUse);
+    int _size = urls.size();
+    URL[] _newArrayOfSize = new URL[_size];
+    URL[] _array = urls.<URL>toArray(_newArrayOfSize);
+    ClassLoader _parentClassLoader = this.getParentClassLoader();
+    return new URLClassLoader(_array, _parentClassLoader);
+  }
+  
+  private LinkedHashSet<URL> getClasspathURLs(final IJavaProject projectToUse) {
     final LinkedHashSet<URL> urls = CollectionLiterals.<URL>newLinkedHashSet();
     try {
       this.collectClasspathURLs(projectToUse, urls, this.isOutputFolderIncluded(), CollectionLiterals.<IJavaProject>newHashSet());
@@ -127,8 +169,7 @@ public class JdtBasedProcessorProvider extends ProcessorInstanceForJvmTypeProvid
         throw Exceptions.sneakyThrow(_t);
       }
     }
-    ClassLoader _parentClassLoader = this.getParentClassLoader();
-    return new URLClassLoader(((URL[])Conversions.unwrapArray(urls, URL.class)), _parentClassLoader);
+    return urls;
   }
   
   protected boolean isOutputFolderIncluded() {
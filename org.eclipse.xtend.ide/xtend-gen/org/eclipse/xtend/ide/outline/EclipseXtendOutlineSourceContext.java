@@ -57,8 +57,9 @@ public class EclipseXtendOutlineSourceContext extends EclipseXtendOutlineContext
           return Boolean.valueOf((!Objects.equal(it, member)));
         };
         final Function1<JvmFeature, Boolean> _function_1 = (JvmFeature it) -> {
-          return Boolean.valueOf((it.getSimpleName().startsWith(XtendJvmModelInferrer.CREATE_CHACHE_VARIABLE_PREFIX) || 
-            it.getSimpleName().startsWith(XtendJvmModelInferrer.CREATE_INITIALIZER_PREFIX)));
+          return Boolean.valueOf(((it.getSimpleName().startsWith(XtendJvmModelInferrer.CREATE_CHACHE_VARIABLE_PREFIX) || 
+            it.getSimpleName().startsWith(XtendJvmModelInferrer.CREATE_INITIALIZER_PREFIX)) || 
+            it.getSimpleName().startsWith(XtendJvmModelInferrer.CREATE_CACHE_NULL_KEY_PREFIX)));
         };
         Iterable<JvmFeature> _filter = IterableExtensions.<JvmFeature>filter(IterableExtensions.<JvmFeature>filter(Iterables.<JvmFeature>filter(this._iXtendJvmAssociations.getJvmElements(function), JvmFeature.class), _function), _function_1);
         for (final JvmFeature jvmFeature : _filter) {
@@ -16,6 +16,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.m2e.core.project.configurator.AbstractProjectConfigurator;
 import org.eclipse.m2e.core.project.configurator.ProjectConfigurationRequest;
+import org.eclipse.xtend.core.compiler.XtendGeneratorConfig;
 import org.eclipse.xtend.core.compiler.XtendOutputConfigurationProvider;
 import org.eclipse.xtext.builder.preferences.BuilderConfigurationBlock;
 import org.eclipse.xtext.generator.OutputConfiguration;
@@ -37,11 +38,13 @@ public class XtendProjectConfigurator extends AbstractProjectConfigurator {
 
 		OutputConfiguration config = new XtendOutputConfigurationProvider()
 				.getOutputConfigurations().iterator().next();
+		XtendGeneratorConfig generatorConfig = new XtendGeneratorConfig();
 
 		for (MojoExecution execution : getMojoExecutions(request, monitor)) {
 			String goal = execution.getGoal();
 			if (goal.equals("compile")) {
 				readCompileConfig(config, request, execution);
+				readGeneratorConfig(generatorConfig, request, execution);
 			} else if (goal.equals("testCompile")) {
 				readTestCompileConfig(config, request, execution);
 			} else if (goal.equals("xtend-install-debug-info")) {
@@ -51,11 +54,11 @@ public class XtendProjectConfigurator extends AbstractProjectConfigurator {
 			}
 		}
 
-		writePreferences(config, request.getProject());
+		writePreferences(config, generatorConfig, request.getProject());
 	}
 
 	private void writePreferences(OutputConfiguration configuration,
-			IProject project) {
+			XtendGeneratorConfig generatorConfig, IProject project) {
 		ProjectScope projectPreferences = new ProjectScope(project);
 		IEclipsePreferences languagePreferences = projectPreferences
 				.getNode("org.eclipse.xtend.core.Xtend");
@@ -70,6 +73,10 @@ public class XtendProjectConfigurator extends AbstractProjectConfigurator {
 		languagePreferences.putBoolean(
 				getKey(configuration, USE_OUTPUT_PER_SOURCE_FOLDER),
 				true);
+		languagePreferences.put(XtendGeneratorConfig.CREATE_CACHE_KIND_KEY,
+				generatorConfig.getCreateCacheKind().name());
+		languagePreferences.putInt(XtendGeneratorConfig.DISPATCH_TABLE_THRESHOLD_KEY,
+				generatorConfig.getDispatchTableThreshold());
 		for (SourceMapping sourceMapping : configuration.getSourceMappings()) {
 			languagePreferences.put(
 					getOutputForSourceFolderKey(configuration,
@@ -94,6 +101,18 @@ public class XtendProjectConfigurator extends AbstractProjectConfigurator {
 		}
 	}
 
+	private void readGeneratorConfig(XtendGeneratorConfig config, ProjectConfigurationRequest request,
+			MojoExecution execution) throws CoreException {
+		String createCacheKind = mojoParameterValue("createCacheKind", String.class, request, execution);
+		if (createCacheKind != null) {
+			config.setCreateCacheKind(XtendGeneratorConfig.parseCreateCacheKind(createCacheKind));
+		}
+		Integer dispatchTableThreshold = mojoParameterValue("dispatchTableThreshold", Integer.class, request, execution);
+		if (dispatchTableThreshold != null) {
+			config.setDispatchTableThreshold(dispatchTableThreshold);
+		}
+	}
+
 	private void readTestCompileConfig(OutputConfiguration config, ProjectConfigurationRequest request,
 			MojoExecution execution) throws CoreException {
 		for (String source : request.getMavenProject().getTestCompileSourceRoots()) {
@@ -38,6 +38,10 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 /**
+ * The class loaders for the jars of the class path and the boot class path are shared by all executions in a reactor
+ * that use the same jars, see {@link LibraryClassLoaderCache}. The library types are still loaded into the resource set
+ * of each execution, i.e. once per module and goal. Active annotation processors are loaded per execution.
+ * 
  * @author Michael Clay - Initial contribution and API
  */
 public abstract class AbstractXtendCompilerMojo extends AbstractXtendMojo {
@@ -124,6 +128,48 @@ public abstract class AbstractXtendCompilerMojo extends AbstractXtendMojo {
 	 */
 	private String generatedAnnotationComment;
 
+	/**
+	 * Set this to true to skip the validation and generation of the Xtend sources that neither changed since the last
+	 * build nor depend on changed sources. The whole compilation is skipped if nothing changed. Otherwise all sources
+	 * are still parsed and pre-compiled, since the unaffected ones are needed for linking. The state of the last build
+	 * is kept in the temporary compiler directory.
+	 * 
+	 * @parameter default-value="false" expression="${xtend.compiler.skipUnaffected}"
+	 */
+	private boolean skipUnaffected;
+
+	/**
+	 * The kind of cache that is generated for create functions: 'synchronized', 'concurrent' or 'weak_keys'.
+	 * 
+	 * @parameter default-value="synchronized" expression="${xtend.compiler.createCache}"
+	 */
+	private String createCacheKind;
+
+	/**
+	 * Single parameter dispatch methods with at least this number of cases look up the case by the runtime class of
+	 * the argument instead of a chain of instanceof checks. 0 disables the lookup.
+	 * 
+	 * @parameter default-value="0" expression="${xtend.compiler.dispatchTableThreshold}"
+	 */
+	private int dispatchTableThreshold;
+
+	/**
+	 * Set this to true to pre-compile the Java stubs of the Xtend sources and the Java sources in memory instead of
+	 * writing them to temporary directories.
+	 * 
+	 * @parameter default-value="false" expression="${xtend.compiler.inMemoryStubs}"
+	 */
+	private boolean compileStubsInMemory;
+
+	/**
+	 * Set this to true to write the wall time, the CPU time and the allocated memory of each compiler phase, of the
+	 * active annotation processors and of the slowest files to <code>compilation-report.json</code> in the temporary
+	 * compiler directory.
+	 * 
+	 * @parameter default-value="false" expression="${xtend.compiler.report}"
+	 */
+	private boolean writeReport;
+
 	@Inject
 	private Provider<XtendBatchCompiler> xtendBatchCompilerProvider;
 
@@ -171,6 +217,22 @@ public abstract class AbstractXtendCompilerMojo extends AbstractXtendMojo {
 		compiler.setFileEncoding(encoding);
 		log.debug("Set writeTraceFiles: " + writeTraceFiles);
 		compiler.setWriteTraceFiles(writeTraceFiles);
+		log.debug("Set createCacheKind: " + createCacheKind);
+		compiler.setCreateCacheKind(createCacheKind);
+		log.debug("Set dispatchTableThreshold: " + dispatchTableThreshold);
+		compiler.setDispatchTableThreshold(dispatchTableThreshold);
+		if (skipUnaffected) {
+			String skipUnaffectedStateFile = new File(getTempDirectory(), "build.state").getAbsolutePath();
+			log.debug("Set skipUnaffectedStateFile: " + skipUnaffectedStateFile);
+			compiler.setSkipUnaffectedStateFile(skipUnaffectedStateFile);
+		}
+		log.debug("Set compileStubsInMemory: " + compileStubsInMemory);
+		compiler.setCompileStubsInMemory(compileStubsInMemory);
+		if (writeReport) {
+			String reportFile = new File(getTempDirectory(), "compilation-report.json").getAbsolutePath();
+			log.debug("Set reportFile: " + reportFile);
+			compiler.setReportFile(reportFile);
+		}
 		if (!compiler.compile()) {
 			String dir = concat(File.pathSeparator, newArrayList(filtered));
 			throw new MojoExecutionException("Error compiling xtend sources in '" + dir + "'.");
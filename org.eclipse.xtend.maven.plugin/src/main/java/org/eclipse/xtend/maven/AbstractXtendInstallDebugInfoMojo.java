@@ -5,10 +5,25 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.xtend.maven.ClassFileDebugSourceExtractor.DebugSource;
 
 import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
 import org.eclipse.xtext.generator.trace.ITraceToBytecodeInstaller;
@@ -19,10 +34,10 @@ import org.eclipse.xtext.smap.TraceAsSmapInstaller;
 import org.eclipse.xtext.util.Strings;
 
 import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
-import com.google.common.io.Files;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -63,22 +78,39 @@ public abstract class AbstractXtendInstallDebugInfoMojo extends AbstractXtendMoj
 	 */
 	protected boolean xtendAsPrimaryDebugSource;
 
-	protected void collectJavaSourceFile2traceFile(String root, String subdir,
-			Map<String, File> javaSourceFile2traceFile) {
-		File file = new File(root + "/" + subdir);
-		File[] listFiles = file.listFiles();
-		if (listFiles == null) {
-			getLog().warn("Directory "+ file.getPath() +" is empty. Can't process.");
+	private final AtomicInteger upToDateClassFiles = new AtomicInteger();
+
+	private final AtomicInteger installedClassFiles = new AtomicInteger();
+
+	protected void collectJavaSourceFile2traceFile(final String root, final String subdir,
+			final Map<String, File> javaSourceFile2traceFile) {
+		final Path start = Paths.get(root + "/" + subdir);
+		if (!Files.isDirectory(start)) {
+			getLog().warn("Directory "+ start +" is empty. Can't process.");
 			return;
 		}
-		for (File child : listFiles) {
-			String name = child.getName();
-			if (child.isDirectory())
-				collectJavaSourceFile2traceFile(root, subdir + "/" + name, javaSourceFile2traceFile);
-			else if (name.endsWith(TraceFileNameProvider.TRACE_FILE_EXTENSION)) {
-				String javaSourceFile = subdir + "/" + traceFileNameProvider.getJavaFromTrace(name);
-				javaSourceFile2traceFile.put(javaSourceFile, child);
-			}
+		try {
+			Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					String name = file.getFileName().toString();
+					if (attrs.isRegularFile() && name.endsWith(TraceFileNameProvider.TRACE_FILE_EXTENSION)) {
+						String packageDir = start.relativize(file.getParent()).toString().replace(File.separatorChar, '/');
+						String parent = packageDir.isEmpty() ? subdir : subdir + "/" + packageDir;
+						String javaSourceFile = parent + "/" + traceFileNameProvider.getJavaFromTrace(name);
+						javaSourceFile2traceFile.put(javaSourceFile, file.toFile());
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) {
+					getLog().warn("Cannot read " + file + ": " + exc.getMessage());
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			getLog().error("Error reading " + start, e);
 		}
 	}
 
@@ -95,6 +127,7 @@ public abstract class AbstractXtendInstallDebugInfoMojo extends AbstractXtendMoj
 	}
 
 	protected Multimap<File, File> createTraceToClassFileMap(List<String> sourceFolders, String outputFolder) {
+		long startTime = System.currentTimeMillis();
 		Map<String, File> javaSourceFile2traceFile = Maps.newLinkedHashMap();
 
 		for (String sourceRoot : sourceFolders)
@@ -104,30 +137,76 @@ public abstract class AbstractXtendInstallDebugInfoMojo extends AbstractXtendMoj
 		for (String javaSourceFile : javaSourceFile2traceFile.keySet())
 			packageDirs.add(Strings.skipLastToken(javaSourceFile, "/"));
 
-		Multimap<File, File> trace2class = LinkedHashMultimap.create();
-
+		List<Callable<Map.Entry<File, File>>> tasks = Lists.newArrayList();
 		for (String packageDirName : packageDirs) {
-			File packageDir = new File(outputFolder + "/" + packageDirName);
-			if (packageDir.isDirectory()) {
-				for (File classFile : packageDir.listFiles())
-					if (classFile.getName().endsWith(".class"))
-						try {
-							String sourceFileName = classFileDebugSourceExtractor.getDebugSourceFileName(classFile);
-							if (Strings.isEmpty(sourceFileName))
-								continue;
-							if (!sourceFileName.toLowerCase().endsWith(".java"))
-								continue;
-							File traceFile = javaSourceFile2traceFile.get(packageDirName + "/" + sourceFileName);
-							if (traceFile != null)
-								trace2class.put(traceFile, classFile);
-						} catch (IOException e) {
-							getLog().error("Error reading " + classFile, e);
-						}
+			Path packageDir = Paths.get(outputFolder + "/" + packageDirName);
+			if (Files.isDirectory(packageDir)) {
+				try (DirectoryStream<Path> classFiles = Files.newDirectoryStream(packageDir, "*.class")) {
+					for (Path classFile : classFiles)
+						tasks.add(createFindTraceTask(classFile, packageDirName, javaSourceFile2traceFile));
+				} catch (IOException e) {
+					getLog().error("Error reading " + packageDir, e);
+				}
 			}
 		}
+
+		upToDateClassFiles.set(0);
+		Multimap<File, File> trace2class = LinkedHashMultimap.create();
+		for (Map.Entry<File, File> traceAndClass : runInParallel(tasks)) {
+			if (traceAndClass != null)
+				trace2class.put(traceAndClass.getKey(), traceAndClass.getValue());
+		}
+		if (getLog().isDebugEnabled())
+			getLog().debug("Scanned " + tasks.size() + " class files in " + (System.currentTimeMillis() - startTime) + "ms");
 		return trace2class;
 	}
 
+	/**
+	 * Creates a task that returns the trace file for the given class file or <code>null</code> if there is no trace
+	 * file or the trace is already installed into the class file.
+	 * 
+	 * @since 2.14
+	 */
+	protected Callable<Map.Entry<File, File>> createFindTraceTask(final Path classFile, final String packageDirName,
+			final Map<String, File> javaSourceFile2traceFile) {
+		return new Callable<Map.Entry<File, File>>() {
+			@Override
+			public Map.Entry<File, File> call() {
+				try {
+					DebugSource debugSource = classFileDebugSourceExtractor.getDebugSource(classFile);
+					String sourceFileName = debugSource.getSourceFileName();
+					if (Strings.isEmpty(sourceFileName))
+						return null;
+					if (!sourceFileName.toLowerCase().endsWith(".java"))
+						return null;
+					File traceFile = javaSourceFile2traceFile.get(packageDirName + "/" + sourceFileName);
+					if (traceFile == null)
+						return null;
+					if (isTraceInstalled(debugSource, traceFile, classFile)) {
+						upToDateClassFiles.incrementAndGet();
+						return null;
+					}
+					return Maps.immutableEntry(traceFile, classFile.toFile());
+				} catch (IOException e) {
+					getLog().error("Error reading " + classFile, e);
+					return null;
+				}
+			}
+		};
+	}
+
+	/**
+	 * A SMAP that was installed after the trace file was written is still valid. Class files with Xtend as the primary
+	 * source are never passed since their source file is not a Java file anymore.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isTraceInstalled(DebugSource debugSource, File traceFile, Path classFile) throws IOException {
+		if (xtendAsPrimaryDebugSource || !debugSource.hasSourceDebugExtension())
+			return false;
+		return Files.getLastModifiedTime(classFile).toMillis() >= traceFile.lastModified();
+	}
+
 	protected void installTrace(File traceFile, Collection<File> classFiles) throws FileNotFoundException, IOException {
 		ITraceToBytecodeInstaller traceToBytecodeInstaller = createTraceToBytecodeInstaller();
 		InputStream in = new FileInputStream(traceFile);
@@ -139,9 +218,12 @@ public abstract class AbstractXtendInstallDebugInfoMojo extends AbstractXtendMoj
 			for (File classFile : classFiles) {
 				if (getLog().isDebugEnabled())
 					getLog().debug("  " + classFile);
-				byte[] bytecodeWithTraces = traceToBytecodeInstaller.installTrace(Files.toByteArray(classFile));
-				if (bytecodeWithTraces != null)
-					Files.write(bytecodeWithTraces, classFile);
+				Path classFilePath = classFile.toPath();
+				byte[] bytecodeWithTraces = traceToBytecodeInstaller.installTrace(Files.readAllBytes(classFilePath));
+				if (bytecodeWithTraces != null) {
+					Files.write(classFilePath, bytecodeWithTraces);
+					installedClassFiles.incrementAndGet();
+				}
 			}
 		} finally {
 			in.close();
@@ -149,20 +231,64 @@ public abstract class AbstractXtendInstallDebugInfoMojo extends AbstractXtendMoj
 	}
 
 	protected void installTraces(Multimap<File, File> trace2class) {
-		for (Map.Entry<File, Collection<File>> e : trace2class.asMap().entrySet()) {
-			try {
-				installTrace(e.getKey(), e.getValue());
-			} catch (Exception e1) {
-				getLog().error(e1);
+		long startTime = System.currentTimeMillis();
+		installedClassFiles.set(0);
+		List<Callable<Void>> tasks = Lists.newArrayList();
+		for (final Map.Entry<File, Collection<File>> e : trace2class.asMap().entrySet()) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					try {
+						installTrace(e.getKey(), e.getValue());
+					} catch (Exception e1) {
+						getLog().error(e1);
+					}
+					return null;
+				}
+			});
+		}
+		runInParallel(tasks);
+		getLog().info("Installed " + tasks.size() + " traces into " + installedClassFiles.get() + " class files in "
+				+ (System.currentTimeMillis() - startTime) + "ms");
+	}
+
+	/**
+	 * Runs the given tasks on {@link Runtime#availableProcessors() all processors} and returns their results in the
+	 * order of the tasks.
+	 * 
+	 * @since 2.14
+	 */
+	protected <T> List<T> runInParallel(List<? extends Callable<T>> tasks) {
+		List<T> result = Lists.newArrayListWithCapacity(tasks.size());
+		if (tasks.isEmpty())
+			return result;
+		int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (Future<T> future : executor.invokeAll(tasks)) {
+				try {
+					result.add(future.get());
+				} catch (ExecutionException e) {
+					getLog().error(e.getCause());
+					result.add(null);
+				}
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} finally {
+			executor.shutdownNow();
 		}
+		return result;
 	}
 
 	protected void logStatus(String folder, Multimap<File, File> trace2class) {
 		String p = xtendAsPrimaryDebugSource ? "primary" : "secondary (via SMAP)";
 		int n = trace2class.size();
 		getLog().info("Installing Xtend files into " + n + " class files as " + p + " debug sources in: " + folder);
+		if (upToDateClassFiles.get() > 0)
+			getLog().info("Skipped " + upToDateClassFiles.get() + " class files with up-to-date debug sources");
 		getLog().debug("xtendAsPrimaryDebugSource=" + xtendAsPrimaryDebugSource);
 		getLog().debug("hideSyntheticVariables=" + hideSyntheticVariables);
 	}
-}
\ No newline at end of file
+}
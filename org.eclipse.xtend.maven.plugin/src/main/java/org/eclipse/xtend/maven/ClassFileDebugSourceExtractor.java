@@ -2,13 +2,13 @@ package org.eclipse.xtend.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Opcodes;
 
-import com.google.common.io.Files;
-
 public class ClassFileDebugSourceExtractor {
 
 	protected static class Visitor extends ClassVisitor {
@@ -18,16 +18,59 @@ public class ClassFileDebugSourceExtractor {
 
 		protected String source;
 
+		/**
+		 * @since 2.14
+		 */
+		protected String debug;
+
 		@Override
 		public void visitSource(String arg0, String arg1) {
 			this.source = arg0;
+			this.debug = arg1;
+		}
+	}
+
+	/**
+	 * The debug information of a class file.
+	 * 
+	 * @since 2.14
+	 */
+	public static class DebugSource {
+		private final String sourceFileName;
+		private final boolean hasSourceDebugExtension;
+
+		public DebugSource(String sourceFileName, boolean hasSourceDebugExtension) {
+			this.sourceFileName = sourceFileName;
+			this.hasSourceDebugExtension = hasSourceDebugExtension;
+		}
+
+		public String getSourceFileName() {
+			return sourceFileName;
+		}
+
+		/**
+		 * Whether the class file has a SourceDebugExtension attribute, e.g. an installed SMAP.
+		 */
+		public boolean hasSourceDebugExtension() {
+			return hasSourceDebugExtension;
 		}
 	}
 
 	public String getDebugSourceFileName(File classFile) throws IOException {
-		ClassReader cr = new ClassReader(Files.toByteArray(classFile));
+		return getDebugSource(Files.readAllBytes(classFile.toPath())).getSourceFileName();
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public DebugSource getDebugSource(Path classFile) throws IOException {
+		return getDebugSource(Files.readAllBytes(classFile));
+	}
+
+	protected DebugSource getDebugSource(byte[] classFile) {
+		ClassReader cr = new ClassReader(classFile);
 		Visitor visitor = new Visitor();
 		cr.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
-		return visitor.source;
+		return new DebugSource(visitor.source, visitor.debug != null);
 	}
 }
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.xtext.util.internal.AlternateJdkLoader;
+
+import com.google.inject.Singleton;
+
+/**
+ * Keeps the class loaders for the jars of a build alive between the executions of the compiler. The
+ * {@link XtendMavenStandaloneSetup injector} of the plugin lives as long as the reactor, so all modules with the same
+ * dependencies and the same boot class path share one loader, so the jars are opened and indexed once per reactor. The
+ * loaders do not cache the contents of class files, and the {@link org.eclipse.xtext.common.types.JvmType JvmTypes}
+ * that are created from them still belong to the resource set of a single execution, so each module reads and
+ * converts the library types it uses again.
+ *
+ * A jar is identified by its path, length and time stamp. A jar that was rebuilt by an earlier module of the reactor
+ * yields a new loader.
+ *
+ * The shared loaders are reference counted. A loader is closed when the last client {@link URLClassLoader#close()
+ * closed} it and it was evicted from the cache. A limited number of unused loaders is kept for the next execution.
+ *
+ * @since 2.14
+ */
+@Singleton
+public class LibraryClassLoaderCache {
+
+	private static final Logger log = Logger.getLogger(LibraryClassLoaderCache.class);
+
+	private static final int MAX_UNUSED_LOADERS = 4;
+
+	/**
+	 * The cached loaders in access order. Guarded by <code>this</code>.
+	 */
+	private final Map<Key, Entry> loaders = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+	private int liveLoaders;
+
+	/**
+	 * Returns a shared loader for the given boot class path. Clients have to {@link URLClassLoader#close() close} the
+	 * loader when they do no longer use it.
+	 */
+	public synchronized URLClassLoader acquireBootClassLoader(List<File> bootClassPathEntries) {
+		Key key = new Key(true, null, bootClassPathEntries);
+		Entry entry = loaders.get(key);
+		if (entry == null) {
+			entry = new Entry(key, null);
+			entry.loader = new SharedBootClassLoader(entry, bootClassPathEntries);
+			loaders.put(key, entry);
+			liveLoaders++;
+		}
+		entry.references++;
+		evictUnused();
+		return entry.loader;
+	}
+
+	/**
+	 * Returns a shared loader for the given jars. Clients have to {@link URLClassLoader#close() close} the loader when
+	 * they do no longer use it. All other entries of a class path, e.g. the output folders of the current module, have
+	 * to be loaded by a {@link #createClassLoader(Iterable, ClassLoader) child} of that loader.
+	 */
+	public synchronized URLClassLoader acquireLibraryClassLoader(List<File> jars, ClassLoader parent) {
+		Key key = new Key(false, parent, jars);
+		Entry entry = loaders.get(key);
+		if (entry == null) {
+			if (log.isDebugEnabled()) {
+				log.debug("Creating a shared class loader for " + jars);
+			}
+			// a shared parent is kept alive as long as its children
+			Entry parentEntry = getEntry(parent);
+			if (parentEntry != null) {
+				parentEntry.references++;
+			}
+			entry = new Entry(key, parentEntry);
+			entry.loader = new SharedLibraryClassLoader(entry, toURLs(jars), parent);
+			loaders.put(key, entry);
+			liveLoaders++;
+		}
+		entry.references++;
+		evictUnused();
+		return entry.loader;
+	}
+
+	/**
+	 * Creates a class loader for the given class path. The jars are loaded by a shared parent loader, the remaining
+	 * entries by the returned loader, which prefers its own entries so the classes of the current module shadow the
+	 * ones from the jars like they would on a flat class path. Closing the returned loader releases the shared one.
+	 */
+	public URLClassLoader createClassLoader(Iterable<File> jarsAndFolders, ClassLoader parent) {
+		List<File> jars = new ArrayList<File>();
+		List<File> folders = new ArrayList<File>();
+		for (File file : jarsAndFolders) {
+			if (file.isFile()) {
+				jars.add(file);
+			} else {
+				folders.add(file);
+			}
+		}
+		if (jars.isEmpty()) {
+			return createProjectClassLoader(folders, parent, null);
+		}
+		URLClassLoader libraries = acquireLibraryClassLoader(jars, parent);
+		return createProjectClassLoader(folders, libraries, libraries);
+	}
+
+	/**
+	 * @param sharedLoader
+	 *            the shared loader that is released when the project loader is closed, may be <code>null</code>.
+	 */
+	protected URLClassLoader createProjectClassLoader(List<File> folders, ClassLoader parent, URLClassLoader sharedLoader) {
+		return new ProjectClassLoader(toURLs(folders), parent, sharedLoader);
+	}
+
+	/**
+	 * Evicts all cached loaders. Loaders that are still in use are closed when they are released.
+	 */
+	public synchronized void clear() {
+		for (Entry entry : new ArrayList<Entry>(loaders.values())) {
+			evict(entry);
+		}
+	}
+
+	/**
+	 * The number of loaders that were not closed yet, including the evicted ones that are still in use.
+	 */
+	public synchronized int getLiveLoaderCount() {
+		return liveLoaders;
+	}
+
+	/**
+	 * The number of loaders that can be reused.
+	 */
+	public synchronized int getCachedLoaderCount() {
+		return loaders.size();
+	}
+
+	protected synchronized void release(Entry entry) {
+		if (entry.references == 0) {
+			return;
+		}
+		entry.references--;
+		if (entry.references == 0) {
+			if (loaders.get(entry.key) != entry) {
+				dispose(entry);
+			} else {
+				evictUnused();
+			}
+		}
+	}
+
+	private Entry getEntry(ClassLoader loader) {
+		if (loader instanceof SharedBootClassLoader) {
+			return ((SharedBootClassLoader) loader).entry;
+		}
+		if (loader instanceof SharedLibraryClassLoader) {
+			return ((SharedLibraryClassLoader) loader).entry;
+		}
+		return null;
+	}
+
+	private void evict(Entry entry) {
+		loaders.remove(entry.key);
+		if (entry.references == 0) {
+			dispose(entry);
+		}
+	}
+
+	private void evictUnused() {
+		int unused = 0;
+		for (Entry entry : loaders.values()) {
+			if (entry.references == 0) {
+				unused++;
+			}
+		}
+		List<Entry> evicted = new ArrayList<Entry>();
+		Iterator<Entry> iterator = loaders.values().iterator();
+		while (unused > MAX_UNUSED_LOADERS && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.references == 0) {
+				iterator.remove();
+				evicted.add(entry);
+				unused--;
+			}
+		}
+		// disposing a loader releases its parent, which may evict it, too
+		for (Entry entry : evicted) {
+			dispose(entry);
+		}
+	}
+
+	private void dispose(Entry entry) {
+		if (entry.disposed) {
+			return;
+		}
+		entry.disposed = true;
+		liveLoaders--;
+		try {
+			entry.loader.close();
+		} catch (IOException e) {
+			log.error(e.getMessage(), e);
+		}
+		if (entry.parent != null) {
+			release(entry.parent);
+		}
+	}
+
+	private static URL[] toURLs(List<File> files) {
+		URL[] result = new URL[files.size()];
+		for (int i = 0; i < result.length; i++) {
+			try {
+				result[i] = files.get(i).toURI().toURL();
+			} catch (MalformedURLException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return result;
+	}
+
+	private static class Key {
+
+		private final boolean boot;
+
+		private final ClassLoader parent;
+
+		private final List<String> entries;
+
+		Key(boolean boot, ClassLoader parent, List<File> files) {
+			this.boot = boot;
+			this.parent = parent;
+			this.entries = new ArrayList<String>(files.size());
+			for (File file : files) {
+				entries.add(file.getAbsolutePath() + '@' + file.length() + '@' + file.lastModified());
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(parent) * 31 + entries.hashCode()) * 31 + (boot ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return boot == other.boot && parent == other.parent && entries.equals(other.entries);
+		}
+	}
+
+	/**
+	 * The bookkeeping of a shared loader. Guarded by the cache.
+	 */
+	protected static class Entry {
+
+		private final Key key;
+
+		private final Entry parent;
+
+		private URLClassLoader loader;
+
+		private int references;
+
+		private boolean disposed;
+
+		private Entry(Key key, Entry parent) {
+			this.key = key;
+			this.parent = parent;
+		}
+	}
+
+	/**
+	 * A shared loader for the boot class path. {@link #close() Closing} it releases the reference of one client.
+	 */
+	protected class SharedBootClassLoader extends AlternateJdkLoader {
+
+		private final Entry entry;
+
+		protected SharedBootClassLoader(Entry entry, List<File> files) {
+			super(files);
+			this.entry = entry;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (entry.disposed) {
+				super.close();
+			} else {
+				release(entry);
+			}
+		}
+	}
+
+	/**
+	 * A shared loader for jars that do not change while it is in use. {@link #close() Closing} it releases the
+	 * reference of one client.
+	 */
+	protected class SharedLibraryClassLoader extends URLClassLoader {
+
+		private final Entry entry;
+
+		protected SharedLibraryClassLoader(Entry entry, URL[] urls, ClassLoader parent) {
+			super(urls, parent);
+			this.entry = entry;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (entry.disposed) {
+				super.close();
+			} else {
+				release(entry);
+			}
+		}
+	}
+
+	/**
+	 * A loader that looks up classes and resources in its own folders before it asks the shared parent.
+	 * {@link #close() Closing} it releases the shared loader it was created with.
+	 */
+	protected static class ProjectClassLoader extends URLClassLoader {
+
+		private URLClassLoader sharedLoader;
+
+		public ProjectClassLoader(URL[] urls, ClassLoader parent, URLClassLoader sharedLoader) {
+			super(urls, parent);
+			this.sharedLoader = sharedLoader;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> result = findLoadedClass(name);
+				if (result == null && !name.startsWith("java.")) {
+					try {
+						result = findClass(name);
+					} catch (ClassNotFoundException e) {
+						// delegate to the parent
+					}
+				}
+				if (result == null) {
+					result = getParent().loadClass(name);
+				}
+				if (resolve) {
+					resolveClass(result);
+				}
+				return result;
+			}
+		}
+
+		@Override
+		public URL getResource(String name) {
+			URL result = findResource(name);
+			if (result != null) {
+				return result;
+			}
+			return getParent().getResource(name);
+		}
+
+		@Override
+		public InputStream getResourceAsStream(String name) {
+			URL result = findResource(name);
+			if (result != null) {
+				try {
+					return result.openStream();
+				} catch (IOException e) {
+					return null;
+				}
+			}
+			return getParent().getResourceAsStream(name);
+		}
+
+		/**
+		 * Closes this loader and releases the shared loader once, even if it is called multiple times.
+		 */
+		@Override
+		public void close() throws IOException {
+			URLClassLoader toRelease;
+			synchronized (this) {
+				toRelease = sharedLoader;
+				sharedLoader = null;
+			}
+			try {
+				super.close();
+			} finally {
+				if (toRelease != null) {
+					toRelease.close();
+				}
+			}
+		}
+	}
+}
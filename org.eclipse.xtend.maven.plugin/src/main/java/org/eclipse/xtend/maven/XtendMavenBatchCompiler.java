@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.maven;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.eclipse.xtend.core.compiler.batch.XtendBatchCompiler;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+/**
+ * A batch compiler that loads the jars of the class path and the boot class path through the loaders of the
+ * {@link LibraryClassLoaderCache}, which are shared by all executions in the reactor. The loaders for the active
+ * annotation processors are created per execution. All references to shared loaders are released when the
+ * compilation is done. Only the loaders are shared: the JvmTypes of the libraries are still created per execution.
+ *
+ * @since 2.14
+ */
+public class XtendMavenBatchCompiler extends XtendBatchCompiler {
+
+	@Inject
+	private LibraryClassLoaderCache libraryClassLoaderCache;
+
+	private final List<URLClassLoader> acquiredClassLoaders = Lists.newArrayList();
+
+	@Override
+	public boolean compile() {
+		try {
+			return super.compile();
+		} finally {
+			// the type provider of the first phase is replaced without closing its loader
+			for (URLClassLoader classLoader : acquiredClassLoaders) {
+				destroyClassLoader(classLoader);
+			}
+			acquiredClassLoaders.clear();
+		}
+	}
+
+	@Override
+	protected ClassLoader createBootClassLoader(Iterable<File> bootClassPathEntries) {
+		URLClassLoader result = libraryClassLoaderCache.acquireBootClassLoader(Lists.newArrayList(bootClassPathEntries));
+		acquiredClassLoaders.add(result);
+		return result;
+	}
+
+	@Override
+	protected ClassLoader createClassLoader(Iterable<File> jarsAndFolders, ClassLoader parentClassLoader) {
+		URLClassLoader result = libraryClassLoaderCache.createClassLoader(jarsAndFolders, parentClassLoader);
+		acquiredClassLoaders.add(result);
+		return result;
+	}
+
+	/**
+	 * Processors may keep state in static fields, so they are not shared with other executions.
+	 */
+	@Override
+	protected ClassLoader createAnnotationProcessingClassLoader(Iterable<File> jarsAndFolders, ClassLoader parentClassLoader) {
+		return super.createClassLoader(jarsAndFolders, parentClassLoader);
+	}
+
+}
@@ -1,6 +1,7 @@
 package org.eclipse.xtend.maven;
 
 import org.eclipse.xtend.core.XtendRuntimeModule;
+import org.eclipse.xtend.core.compiler.batch.XtendBatchCompiler;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
 
 public class XtendMavenModule extends XtendRuntimeModule {
@@ -8,4 +9,8 @@ public class XtendMavenModule extends XtendRuntimeModule {
 	public Class<? extends ResourceDescriptionsProvider> bindResourceDescriptionsProvider() {
 		return MavenProjectAwareResourceDescriptionsProvider.class;
 	}
+
+	public Class<? extends XtendBatchCompiler> bindXtendBatchCompiler() {
+		return XtendMavenBatchCompiler.class;
+	}
 }
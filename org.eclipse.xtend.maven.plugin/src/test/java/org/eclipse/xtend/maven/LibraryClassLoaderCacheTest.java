@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtend.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+public class LibraryClassLoaderCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private LibraryClassLoaderCache cache;
+
+	private File jar;
+
+	private File folder;
+
+	@Before
+	public void setUp() throws IOException {
+		cache = new LibraryClassLoaderCache();
+		jar = temporaryFolder.newFile("library.jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new ZipEntry("library/Library.class"));
+			out.write("library".getBytes(Charsets.UTF_8));
+			out.closeEntry();
+		}
+		folder = temporaryFolder.newFolder("classes");
+	}
+
+	@Test
+	public void testLibraryLoaderIsShared() throws IOException {
+		ClassLoader parent = getClass().getClassLoader();
+		URLClassLoader first = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		URLClassLoader second = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		Assert.assertNotSame(first, second);
+		Assert.assertSame(first.getParent(), second.getParent());
+		Assert.assertEquals(1, cache.getLiveLoaderCount());
+		Assert.assertEquals("library", read(first.getResourceAsStream("library/Library.class")));
+		first.close();
+		second.close();
+		Assert.assertEquals(1, cache.getCachedLoaderCount());
+		Assert.assertEquals(1, cache.getLiveLoaderCount());
+		cache.clear();
+		Assert.assertEquals(0, cache.getCachedLoaderCount());
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+	}
+
+	@Test
+	public void testEvictedLoaderIsClosedWhenReleased() throws IOException {
+		URLClassLoader classLoader = cache.createClassLoader(Arrays.asList(jar, folder), getClass().getClassLoader());
+		cache.clear();
+		Assert.assertEquals(0, cache.getCachedLoaderCount());
+		Assert.assertEquals(1, cache.getLiveLoaderCount());
+		Assert.assertEquals("library", read(classLoader.getResourceAsStream("library/Library.class")));
+		classLoader.close();
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+	}
+
+	@Test
+	public void testProjectLoaderReleasesOnce() throws IOException {
+		ClassLoader parent = getClass().getClassLoader();
+		URLClassLoader first = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		URLClassLoader second = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		cache.clear();
+		first.close();
+		first.close();
+		Assert.assertEquals(1, cache.getLiveLoaderCount());
+		second.close();
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+	}
+
+	@Test
+	public void testChangedJarYieldsNewLoader() throws IOException {
+		ClassLoader parent = getClass().getClassLoader();
+		URLClassLoader first = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		Assert.assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+		URLClassLoader second = cache.createClassLoader(Arrays.asList(jar, folder), parent);
+		Assert.assertNotSame(first.getParent(), second.getParent());
+		Assert.assertEquals(2, cache.getLiveLoaderCount());
+		first.close();
+		second.close();
+	}
+
+	@Test
+	public void testUnusedLoadersAreBounded() throws IOException {
+		ClassLoader parent = getClass().getClassLoader();
+		for (int i = 0; i < 10; i++) {
+			File copy = new File(jar.getParentFile(), "library" + i + ".jar");
+			Files.copy(jar, copy);
+			cache.createClassLoader(Arrays.asList(copy, folder), parent).close();
+		}
+		Assert.assertTrue(cache.getCachedLoaderCount() < 10);
+		Assert.assertEquals(cache.getCachedLoaderCount(), cache.getLiveLoaderCount());
+		cache.clear();
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+	}
+
+	@Test
+	public void testBootLoaderIsKeptAliveByLibraryLoader() throws IOException {
+		URLClassLoader bootClassLoader = cache.acquireBootClassLoader(Collections.<File>emptyList());
+		Assert.assertSame(bootClassLoader, cache.acquireBootClassLoader(Collections.<File>emptyList()));
+		bootClassLoader.close();
+		URLClassLoader classLoader = cache.createClassLoader(Arrays.asList(jar, folder), bootClassLoader);
+		bootClassLoader.close();
+		cache.clear();
+		Assert.assertEquals(2, cache.getLiveLoaderCount());
+		classLoader.close();
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+	}
+
+	@Test
+	public void testFoldersOnlyNeedNoSharedLoader() throws IOException {
+		ClassLoader parent = getClass().getClassLoader();
+		URLClassLoader classLoader = cache.createClassLoader(Collections.singletonList(folder), parent);
+		Assert.assertSame(parent, classLoader.getParent());
+		Assert.assertEquals(0, cache.getLiveLoaderCount());
+		classLoader.close();
+	}
+
+	@Test
+	public void testAnnotationProcessingLoaderIsNotShared() throws IOException {
+		ClassLoader classLoader = new XtendMavenBatchCompiler().createAnnotationProcessingClassLoader(
+				Arrays.asList(jar, folder), getClass().getClassLoader());
+		Assert.assertFalse(classLoader instanceof LibraryClassLoaderCache.ProjectClassLoader);
+		Assert.assertSame(getClass().getClassLoader(), classLoader.getParent());
+		((URLClassLoader) classLoader).close();
+	}
+
+	private String read(InputStream in) throws IOException {
+		try {
+			return new String(ByteStreams.toByteArray(in), Charsets.UTF_8);
+		} finally {
+			in.close();
+		}
+	}
+}
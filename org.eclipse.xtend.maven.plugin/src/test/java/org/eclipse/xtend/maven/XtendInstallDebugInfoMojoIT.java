@@ -1,5 +1,6 @@
 package org.eclipse.xtend.maven;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.apache.maven.it.VerificationException;
@@ -222,6 +223,45 @@ public class XtendInstallDebugInfoMojoIT {
 		Assert.assertEquals(xpt2.toString(), info2);
 	}
 
+	@Test
+	public void rerunSkipsInstalledTraces() throws Exception {
+		Verifier verifier = newVerifier(ROOT + "/rerun_smap");
+		verifier.deleteDirectory("target");
+		verifier.deleteDirectory("src/main/generated-sources");
+		String classesDir = verifier.getBasedir() + "/target/classes/test";
+
+		verifyErrorFreeLog(verifier, "log-install.txt");
+		verifier.verifyTextInLog("Installed 2 traces into 3 class files");
+		String debugInfo = new ClassFileDebugInfoExtractor().getDebugInfo(classesDir);
+		Assert.assertTrue(debugInfo, debugInfo.contains("XtendA.java:13 -> XtendA.xtend:6"));
+
+		// neither the traces nor the class files changed
+		verifyErrorFreeLog(verifier, "log-rerun.txt");
+		verifier.verifyTextInLog("Skipped 3 class files with up-to-date debug sources");
+		verifier.verifyTextInLog("Installed 0 traces into 0 class files");
+		Assert.assertEquals(debugInfo, new ClassFileDebugInfoExtractor().getDebugInfo(classesDir));
+
+		// a trace that is newer than its class file is installed again
+		File trace = new File(verifier.getBasedir(), "src/main/generated-sources/xtend/test/.XtendA2.java._trace");
+		Assert.assertTrue(trace.setLastModified(System.currentTimeMillis() + 10000));
+		verifyErrorFreeLog(verifier, "log-trace.txt");
+		verifier.verifyTextInLog("Skipped 2 class files with up-to-date debug sources");
+		verifier.verifyTextInLog("Installed 1 traces into 1 class files");
+		Assert.assertEquals(debugInfo, new ClassFileDebugInfoExtractor().getDebugInfo(classesDir));
+
+		// a recompiled class file has no SMAP and is installed again
+		Assert.assertTrue(new File(classesDir, "XtendA.class").delete());
+		verifyErrorFreeLog(verifier, "log-recompile.txt");
+		Assert.assertEquals(debugInfo, new ClassFileDebugInfoExtractor().getDebugInfo(classesDir));
+	}
+
+	private void verifyErrorFreeLog(Verifier verifier, String logFileName) throws VerificationException {
+		verifier.setLogFileName(logFileName);
+		verifier.executeGoal("verify");
+		verifier.verifyErrorFreeLog();
+		verifier.resetStreams();
+	}
+
 	private Verifier verifyErrorFreeLog(String pathToTestProject) throws IOException, VerificationException {
 		return verifyErrorFreeLog(pathToTestProject, "verify");
 	}
@@ -0,0 +1,14 @@
+package test
+
+class XtendA {
+	new() {
+		println("..1...2...3...can you hear me?")
+		println(newArrayList(1,2,3).map[it < 2].join)
+	}
+}
+
+class XtendA2 {
+	new() {
+		println("foo bar baz")
+	}
+}